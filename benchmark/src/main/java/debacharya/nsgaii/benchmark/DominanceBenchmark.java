@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.benchmark;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.DominanceComparator;
+import debacharya.nsgaii.plugin.sorting.DominanceComparatorProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SCH 两目标种群上 `NSGA2.fastNonDominatedSort` 使用不同支配关系比较器的耗时.
+ * `twoPass` is the previous behaviour, calling `NSGA2.isDominant` in both directions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominanceBenchmark {
+
+    @Param({"twoPass", "general", "unrolled"})
+    public String comparatorName;
+
+    @Param({"200", "2000"})
+    public int populationSize;
+
+    private NSGA2 nsga2;
+    private Population population;
+
+    @Setup
+    public void setup() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setDominanceComparator(this.comparator());
+        this.nsga2 = new NSGA2(configuration);
+        this.population = configuration.getPopulationProducer().produce(this.populationSize,
+                configuration.getChromosomeLength(), configuration.getGeneticCodeProducer(), null);
+        Service.calculateObjectiveValues(this.population);
+
+    }
+
+    @Benchmark
+    public Population fastNonDominatedSort() {
+        this.nsga2.fastNonDominatedSort(this.population);
+        return this.population;
+    }
+
+    private DominanceComparator comparator() {
+
+        switch (this.comparatorName) {
+            case "twoPass":
+                return (chromosome1, chromosome2) -> {
+                    if (this.nsga2.isDominant(chromosome1, chromosome2)) {
+                        return NSGA2.DOMINANT;
+                    } else if (this.nsga2.isDominant(chromosome2, chromosome1)) {
+                        return NSGA2.INFERIOR;
+                    }
+                    return NSGA2.NON_DOMINATED;
+                };
+            case "general":
+                return DominanceComparatorProvider.general(Configuration.objectives.size());
+            case "unrolled":
+                return DominanceComparatorProvider.forObjectiveCount(Configuration.objectives.size());
+            default:
+                throw new UnsupportedOperationException("Unknown comparator: " + this.comparatorName);
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.benchmark;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.NonDominatedSorter;
+import debacharya.nsgaii.plugin.sorting.BestOrderSort;
+import debacharya.nsgaii.plugin.sorting.DominanceComparatorProvider;
+import debacharya.nsgaii.plugin.sorting.EfficientNonDominatedSort;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同非支配排序策略在随机种群上的耗时, 包括从种群复制目标值的开销.
+ * `fast` is `NSGA2.fastNonDominatedSort`, `ens` is `EfficientNonDominatedSort` and `bos` is `BestOrderSort`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NonDominatedSortBenchmark {
+
+    @Param({"fast", "ens", "bos"})
+    public String strategy;
+
+    @Param({"200", "1000"})
+    public int populationSize;
+
+    @Param({"2", "3", "5", "10"})
+    public int objectiveCount;
+
+    private NSGA2 nsga2;
+    private Population population;
+
+    @Setup
+    public void setup() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setDominanceComparator(DominanceComparatorProvider.forObjectiveCount(this.objectiveCount));
+        configuration.setNonDominatedSorter(this.sorter());
+        this.nsga2 = new NSGA2(configuration);
+
+        Random random = new Random(1);
+        List<Chromosome> populace = new ArrayList<>();
+        for (int i = 0; i < this.populationSize; i++) {
+            Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+            for (int k = 0; k < this.objectiveCount; k++) {
+                chromosome.addObjectiveValue(k, random.nextDouble());
+            }
+            populace.add(chromosome);
+        }
+        this.population = new Population(populace);
+
+    }
+
+    @Benchmark
+    public Population nonDominatedSort() {
+        this.nsga2.nonDominatedSort(this.population);
+        return this.population;
+    }
+
+    private NonDominatedSorter sorter() {
+
+        switch (this.strategy) {
+            case "fast":
+                return null;
+            case "ens":
+                return new EfficientNonDominatedSort();
+            case "bos":
+                return new BestOrderSort();
+            default:
+                throw new UnsupportedOperationException("Unknown strategy: " + this.strategy);
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.benchmark;
+
+import debacharya.nsgaii.problem.BenchmarkProblem;
+import debacharya.nsgaii.problem.DTLZ2;
+import debacharya.nsgaii.problem.WFG4;
+import debacharya.nsgaii.problem.ZDT1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试问题的批量计算与逐个计算.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemEvaluationBenchmark {
+
+    @Param({"ZDT1", "DTLZ2", "WFG4"})
+    public String problemName;
+
+    @Param({"100", "1000"})
+    public int populationSize;
+
+    private BenchmarkProblem problem;
+    private double[] columns;
+    private double[][] rows;
+    private double[] objectives;
+    private double[] row;
+
+    @Setup
+    public void setup() {
+
+        this.problem = ProblemEvaluationBenchmark.problem(this.problemName);
+        int n = this.problem.getNumberOfVariables();
+        double[] lower = this.problem.getLowerBounds();
+        double[] upper = this.problem.getUpperBounds();
+        Random random = new Random(1);
+
+        this.columns = new double[n * this.populationSize];
+        this.rows = new double[this.populationSize][n];
+        for (int c = 0; c < this.populationSize; c++) {
+            for (int j = 0; j < n; j++) {
+                double value = lower[j] + random.nextDouble() * (upper[j] - lower[j]);
+                this.columns[j * this.populationSize + c] = value;
+                this.rows[c][j] = value;
+            }
+        }
+        this.objectives = new double[this.problem.getNumberOfObjectives() * this.populationSize];
+        this.row = new double[this.problem.getNumberOfObjectives()];
+
+    }
+
+    @Benchmark
+    public double[] batch() {
+        this.problem.evaluate(this.columns, this.populationSize, this.objectives);
+        return this.objectives;
+    }
+
+    @Benchmark
+    public double[] individual() {
+        for (double[] variables : this.rows) {
+            this.problem.evaluate(variables, this.row);
+        }
+        return this.row;
+    }
+
+    static BenchmarkProblem problem(String name) {
+
+        switch (name) {
+            case "ZDT1":
+                return new ZDT1();
+            case "DTLZ2":
+                return new DTLZ2(3);
+            case "WFG4":
+                return new WFG4(3);
+            default:
+                throw new UnsupportedOperationException("Unknown problem: " + name);
+        }
+
+    }
+
+}
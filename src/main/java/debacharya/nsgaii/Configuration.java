@@ -24,20 +24,36 @@
 
 package debacharya.nsgaii;
 
+import debacharya.nsgaii.archive.SolutionArchive;
+import debacharya.nsgaii.objectivefunction.AbstractConstraintFunction;
 import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+import debacharya.nsgaii.objectivefunction.VectorObjectiveFunction;
 import debacharya.nsgaii.plugin.AbstractCrossover;
 import debacharya.nsgaii.plugin.AbstractMutation;
 import debacharya.nsgaii.plugin.ChildPopulationProducer;
 import debacharya.nsgaii.plugin.DefaultPluginProvider;
+import debacharya.nsgaii.plugin.DominanceComparator;
 import debacharya.nsgaii.plugin.FitnessCalculator;
+import debacharya.nsgaii.plugin.GenerationListener;
 import debacharya.nsgaii.plugin.GeneticCodeProducer;
+import debacharya.nsgaii.plugin.NonDominatedSorter;
 import debacharya.nsgaii.plugin.ObjectiveProvider;
+import debacharya.nsgaii.plugin.PopulationEvaluator;
 import debacharya.nsgaii.plugin.PopulationProducer;
+import debacharya.nsgaii.plugin.SurvivorSelector;
+import debacharya.nsgaii.plugin.TerminationCriterion;
 import debacharya.nsgaii.plugin.fitness.FitnessCalculatorProvider;
 import debacharya.nsgaii.plugin.crossover.CrossoverParticipantCreatorProvider;
 import debacharya.nsgaii.plugin.crossover.UniformCrossover;
+import debacharya.nsgaii.plugin.evaluation.PopulationEvaluatorProvider;
+import debacharya.nsgaii.plugin.listener.GenerationListenerProvider;
 import debacharya.nsgaii.plugin.mutation.SinglePointMutation;
+import debacharya.nsgaii.plugin.sorting.DominanceComparatorProvider;
+import debacharya.nsgaii.plugin.termination.TerminationCriterionProvider;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -51,6 +67,8 @@ public class Configuration {
     public static final int DEFAULT_CHROMOSOME_LENGTH = 20;
 
     public static List<AbstractObjectiveFunction> objectives;
+    // 按计算代价从小到大排列的约束, 默认没有约束.
+    public static List<AbstractConstraintFunction> constraints = Collections.emptyList();
     public static String FITNESS_CALCULATOR_NULL = "The fitness calculation operation has not been setup. " +
             "You need to set the AbstractObjectiveFunction#fitnessCalculator " +
             "with an instance of FitnessCalculator!";
@@ -64,6 +82,18 @@ public class Configuration {
     private AbstractCrossover crossover;
     private AbstractMutation mutation;
     private FitnessCalculator fitnessCalculator;
+    private final List<GenerationListener> generationListeners = new ArrayList<>();
+    private boolean monitoring = false;
+    private double[] hypervolumeReferencePoint;
+    private Long randomSeed;
+    private TerminationCriterion terminationCriterion;
+    private SolutionArchive archive;
+    private SurvivorSelector survivorSelector;
+    private PopulationEvaluator populationEvaluator;
+    private DominanceComparator dominanceComparator;
+    private NonDominatedSorter nonDominatedSorter;
+    private boolean skippingInfeasibleObjectives = false;
+    private boolean incrementalRanking = false;
 
     public Configuration() {
         this(Configuration.DEFAULT_POPULATION_SIZE,
@@ -198,12 +228,15 @@ public class Configuration {
         this.childPopulationProducer = childPopulationProducer;
         this.geneticCodeProducer = geneticCodeProducer;
         Configuration.objectives = objectives;
+        Configuration.constraints = Collections.emptyList();
         this.crossover = crossover;
         this.mutation = mutation;
 
         Reporter.silent = silent;
         Reporter.plotGraph = plotGraph;
         Reporter.writeToDisk = writeToDisk;
+
+        this.generationListeners.add(GenerationListenerProvider.reporter());
     }
 
     public Configuration(int populationSize,
@@ -322,6 +355,245 @@ public class Configuration {
         this.fitnessCalculator = fitnessCalculator;
     }
 
+    public List<GenerationListener> getGenerationListeners() {
+        return Collections.unmodifiableList(this.generationListeners);
+    }
+
+    /**
+     * 注册运行过程监听器, 默认已注册 `GenerationListenerProvider.reporter()`.
+     *
+     * @param generationListener 监听器.
+     */
+    public void addGenerationListener(GenerationListener generationListener) {
+        this.generationListeners.add(generationListener);
+    }
+
+    public void removeGenerationListener(GenerationListener generationListener) {
+        this.generationListeners.remove(generationListener);
+    }
+
+    /**
+     * 移除所有监听器, 包括默认的 reporter, 此后运行过程不再产生任何输出.
+     */
+    public void clearGenerationListeners() {
+        this.generationListeners.clear();
+    }
+
+    public boolean isMonitoring() {
+        return monitoring;
+    }
+
+    /**
+     * 是否为每次运行注册 JMX 监控 `NSGA2Monitor`, 默认不注册.
+     * The monitor computes the hypervolume on the generation loop thread every generation, so it is opt-in.
+     *
+     * @param monitoring
+     */
+    public void setMonitoring(boolean monitoring) {
+        this.monitoring = monitoring;
+    }
+
+    public double[] getHypervolumeReferencePoint() {
+        return hypervolumeReferencePoint;
+    }
+
+    /**
+     * 超体积参考点, 每个目标上都必须比所有解差（目标取大为优）. 未设置时不计算超体积.
+     *
+     * @param hypervolumeReferencePoint
+     */
+    public void setHypervolumeReferencePoint(double[] hypervolumeReferencePoint) {
+        if (hypervolumeReferencePoint != null && hypervolumeReferencePoint.length != Configuration.objectives.size())
+            throw new UnsupportedOperationException("Reference point must have one value per objective.");
+        this.hypervolumeReferencePoint = hypervolumeReferencePoint;
+    }
+
+    public Long getRandomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * 随机种子, 设置后每次运行开始时以它初始化 `RandomSource`, 使运行可复现, 其状态也会写入断点. 默认为 null,
+     * 即使用 `ThreadLocalRandom`.
+     *
+     * @param randomSeed
+     */
+    public void setRandomSeed(Long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    /**
+     * 未设置终止条件时, 返回运行 `getGenerations()` 代的默认条件.
+     *
+     * @return termination criterion.
+     */
+    public TerminationCriterion getTerminationCriterion() {
+        if (this.terminationCriterion == null) {
+            return TerminationCriterionProvider.maxGenerations(this.generations);
+        }
+        return terminationCriterion;
+    }
+
+    /**
+     * 终止条件, 可以用 `TerminationCriterion.and` / `or` 组合 `TerminationCriterionProvider` 中的条件.
+     * Setting `null` restores the default of running `getGenerations()` generations.
+     *
+     * @param terminationCriterion
+     */
+    public void setTerminationCriterion(TerminationCriterion terminationCriterion) {
+        this.terminationCriterion = terminationCriterion;
+    }
+
+    /**
+     * 使用一次计算全部目标的目标函数, 每个染色体只调用一次.
+     *
+     * @param objectiveCount          目标数.
+     * @param vectorObjectiveFunction 目标函数.
+     */
+    public void setObjectives(int objectiveCount, VectorObjectiveFunction vectorObjectiveFunction) {
+        Configuration.objectives = vectorObjectiveFunction.split(objectiveCount);
+    }
+
+    /**
+     * 设置约束, 按 `AbstractConstraintFunction.getCost()` 从小到大排序后计算.
+     *
+     * @param constraints
+     */
+    public void setConstraints(List<AbstractConstraintFunction> constraints) {
+        List<AbstractConstraintFunction> ordered = new ArrayList<>(constraints);
+        ordered.sort(Comparator.comparingDouble(AbstractConstraintFunction::getCost));
+        Configuration.constraints = Collections.unmodifiableList(ordered);
+    }
+
+    public boolean isSkippingInfeasibleObjectives() {
+        return skippingInfeasibleObjectives;
+    }
+
+    /**
+     * 不可行解是否跳过目标函数计算, 默认计算.
+     * Under constrained domination the objectives of an infeasible chromosome never decide its rank, so they can be
+     * skipped; skipped chromosomes get the worst value of each objective in their population, so that crowding,
+     * reporting and plotting still see complete objective vectors.
+     *
+     * @param skippingInfeasibleObjectives
+     */
+    public void setSkippingInfeasibleObjectives(boolean skippingInfeasibleObjectives) {
+        this.skippingInfeasibleObjectives = skippingInfeasibleObjectives;
+    }
+
+    public boolean isIncrementalRanking() {
+        return incrementalRanking;
+    }
+
+    /**
+     * 是否跨代复用支配关系进行增量排名, 默认不复用.
+     * With `IncrementalRanking` the relations among the surviving parents are taken from the previous generation and
+     * only the offspring are compared. It takes precedence over the `NonDominatedSorter`. Unless a `DominanceComparator`
+     * is set or `NSGA2.isDominant` is overridden, the uncached pairs are compared by `DominanceKernelProvider.best()`.
+     *
+     * @param incrementalRanking
+     */
+    public void setIncrementalRanking(boolean incrementalRanking) {
+        this.incrementalRanking = incrementalRanking;
+    }
+
+    public SolutionArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * 外部存档, 每代都会收到新计算的子种群. 默认不使用存档.
+     * Use `ParetoArchive` to keep the exact non-dominated set, bounded or not, or `EpsilonDominanceArchive` for a
+     * grid-bounded ε-approximation with near constant-time insertion.
+     * The archive is not cleared between runs, so one archive can collect the solutions of several runs.
+     *
+     * @param archive
+     */
+    public void setArchive(SolutionArchive archive) {
+        this.archive = archive;
+    }
+
+    public SurvivorSelector getSurvivorSelector() {
+        return survivorSelector;
+    }
+
+    /**
+     * 环境选择策略, 从合并种群中选出下一代父种群. 默认为空, 即 NSGA-II 的拥挤距离截断.
+     * Set a `ReferencePointSurvivorSelection` for NSGA-III style niching on runs with many objectives.
+     *
+     * @param survivorSelector
+     */
+    public void setSurvivorSelector(SurvivorSelector survivorSelector) {
+        this.survivorSelector = survivorSelector;
+    }
+
+    /**
+     * 未设置时, 返回在当前线程调用 `Configuration.objectives` 的默认计算引擎.
+     *
+     * @return population evaluator.
+     */
+    public PopulationEvaluator getPopulationEvaluator() {
+        if (this.populationEvaluator == null) {
+            return PopulationEvaluatorProvider.local();
+        }
+        return populationEvaluator;
+    }
+
+    /**
+     * 目标值计算引擎, 例如把计算交给外部进程的 `ProcessPoolEvaluator`. Setting `null` restores the default.
+     * The default evaluation is synchronous and has no timeout; a `ParallelEvaluator` with a deadline keeps a hung
+     * objective function from blocking the run.
+     *
+     * @param populationEvaluator
+     */
+    public void setPopulationEvaluator(PopulationEvaluator populationEvaluator) {
+        this.populationEvaluator = populationEvaluator;
+    }
+
+    /**
+     * 未设置时, 按 `Configuration.objectives` 当前的目标数选择比较器, 2 到 4 个目标时使用展开的版本.
+     *
+     * @return dominance comparator.
+     */
+    public DominanceComparator getDominanceComparator() {
+        if (this.dominanceComparator == null) {
+            return DominanceComparatorProvider.forObjectiveCount(Configuration.objectives.size());
+        }
+        return dominanceComparator;
+    }
+
+    /**
+     * @return 是否未设置比较器, 即使用默认的支配规则.
+     */
+    public boolean isDefaultDominanceComparator() {
+        return this.dominanceComparator == null;
+    }
+
+    /**
+     * 非支配排序所用的支配关系比较器. `NSGA2` reads it once at the start of every run. Setting `null` restores the
+     * default.
+     *
+     * @param dominanceComparator
+     */
+    public void setDominanceComparator(DominanceComparator dominanceComparator) {
+        this.dominanceComparator = dominanceComparator;
+    }
+
+    public NonDominatedSorter getNonDominatedSorter() {
+        return nonDominatedSorter;
+    }
+
+    /**
+     * 非支配排序策略. 默认为空, 即 `NSGA2.fastNonDominatedSort`.
+     * `EfficientNonDominatedSort` is usually the fastest with two or three objectives, `BestOrderSort` with five or
+     * more; the `NonDominatedSortBenchmark` in the benchmark module compares them for a given population size.
+     *
+     * @param nonDominatedSorter
+     */
+    public void setNonDominatedSorter(NonDominatedSorter nonDominatedSorter) {
+        this.nonDominatedSorter = nonDominatedSorter;
+    }
+
     /**
      * 启动参数校验.
      *
@@ -24,10 +24,24 @@
 
 package debacharya.nsgaii;
 
+import debacharya.nsgaii.archive.SolutionArchive;
+import debacharya.nsgaii.checkpoint.Checkpoint;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
 import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
 import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.monitor.FlightRecorderEvents;
+import debacharya.nsgaii.monitor.NSGA2Monitor;
+import debacharya.nsgaii.plugin.DominanceComparator;
+import debacharya.nsgaii.plugin.GenerationListener;
+import debacharya.nsgaii.plugin.NonDominatedSorter;
+import debacharya.nsgaii.plugin.SurvivorSelector;
+import debacharya.nsgaii.plugin.TerminationCriterion;
+import debacharya.nsgaii.plugin.sorting.DominanceKernelProvider;
+import debacharya.nsgaii.plugin.sorting.IncrementalRanking;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -43,6 +57,20 @@ public class NSGA2 {
     public static final int NON_DOMINATED = 3;
 
     private final Configuration configuration;
+    private final long[] phaseNanos = new long[GenerationReport.Phase.values().length];
+
+    private long runStartNanos;
+    private long generationStartNanos;
+    private long generationEvaluations;
+    private long totalEvaluations;
+    private List<GenerationListener> listeners = new ArrayList<>();
+    private Object generationEvent;
+    private DominanceComparator dominanceComparator;
+    private IncrementalRanking incrementalRanking;
+
+    private final Object pauseLock = new Object();
+    private volatile boolean paused = false;
+    private volatile boolean stopRequested = false;
 
     /**
      * creates an instance of `NSGA2` with a default configuration object that provides a default implementation of every plugin
@@ -73,35 +101,152 @@ public class NSGA2 {
      * @return the final population as the Pareto Front
      */
     public Population run() {
+        return this.evolve(null);
+    }
+
+    /**
+     * 从断点继续运行.
+     * Continues a run from the populations, generation counter, evaluation count and elapsed time stored in the
+     * checkpoint, until the configured `TerminationCriterion` is satisfied. A run seeded with
+     * `Configuration.setRandomSeed(Long)` also continues the random stream stored in the checkpoint. Listeners receive `onStart` again, followed
+     * by reports for the generations after the checkpointed one.
+     *
+     * @param checkpoint the checkpoint written by `CheckpointWriter` or `Checkpoint.write(Path)`
+     * @return the final population as the Pareto Front
+     */
+    public Population resume(Checkpoint checkpoint) {
+
+        if (checkpoint.getChromosomeLength() != this.configuration.getChromosomeLength() ||
+                checkpoint.getObjectiveCount() != Configuration.objectives.size() ||
+                checkpoint.getParent().size() != this.configuration.getPopulationSize()) {
+            throw new UnsupportedOperationException(Checkpoint.CHECKPOINT_MISMATCH);
+        }
+        return this.evolve(checkpoint);
+
+    }
+
+    private Population evolve(Checkpoint checkpoint) {
 
         if (!this.configuration.isSetup()) {
             throw new UnsupportedOperationException(Configuration.CONFIGURATION_NOT_SETUP + "\n" + this.configuration.toString());
         }
-        Reporter.init(this.configuration);
+        if (this.configuration.getRandomSeed() != null) {
+            RandomSource.setSeed(this.configuration.getRandomSeed());
+        } else {
+            RandomSource.clearSeed();
+        }
+        if (checkpoint != null && checkpoint.getRandomState() != null) {
+            RandomSource.setState(checkpoint.getRandomState());
+        }
+        this.runStartNanos = System.nanoTime() - (checkpoint == null ? 0 : checkpoint.getElapsedNanos());
+        this.generationStartNanos = System.nanoTime();
+        this.totalEvaluations = checkpoint == null ? 0 : checkpoint.getTotalEvaluations();
+        this.generationEvent = FlightRecorderEvents.beginGeneration();
+        this.stopRequested = false;
+        this.listeners = new ArrayList<>(this.configuration.getGenerationListeners());
+        this.dominanceComparator = this.resolveDominanceComparator();
+        this.incrementalRanking = null;
+        TerminationCriterion terminationCriterion = this.configuration.getTerminationCriterion();
+        terminationCriterion.reset(this.configuration);
+
+        NSGA2Monitor monitor = null;
+        if (this.configuration.isMonitoring()) {
+            monitor = new NSGA2Monitor(this);
+            monitor.register();
+            this.listeners.add(monitor);
+        }
 
-        Population parent = this.preparePopulation(
-                this.configuration.getPopulationProducer().produce(this.configuration.getPopulationSize(),
-                        this.configuration.getChromosomeLength(), this.configuration.getGeneticCodeProducer(), null));
+        try {
+
+            this.notifyStart();
+
+            Population parent;
+            Population child;
+            GenerationReport report;
+
+            if (checkpoint == null) {
+                parent = this.preparePopulation(
+                        this.configuration.getPopulationProducer().produce(this.configuration.getPopulationSize(),
+                                this.configuration.getChromosomeLength(), this.configuration.getGeneticCodeProducer(), null));
+                child = this.preparePopulation(this.produceChildPopulation(parent));
+                this.archive(parent);
+                this.archive(child);
+                report = this.notifyGeneration(parent, child, 0);
+            } else {
+                // 断点所在代已经报告过, 这里只为终止条件重建报告.
+                parent = checkpoint.getParent();
+                child = checkpoint.getChild();
+                report = new GenerationReport(checkpoint.getGeneration(), parent, child,
+                        new long[GenerationReport.Phase.values().length], 0, 0,
+                        this.totalEvaluations, checkpoint.getElapsedNanos());
+                this.archive(parent);
+                this.archive(child);
+            }
 
-        Population child = this.preparePopulation(
-                this.configuration.getChildPopulationProducer().produce(parent, this.configuration.getCrossover(),
-                        this.configuration.getMutation(), this.configuration.getPopulationSize()));
+            for (int generation = report.getGeneration() + 1; !terminationCriterion.isSatisfied(report); generation++) {
 
-        Reporter.reportGeneration(parent, child, 0);
+                if (this.awaitResumeOrStop()) {
+                    break;
+                }
+                // 截取父子两个种群排名前种群额定大小个数（N）的前N个染色体，作为新的父种群.
+                parent = this.selectNextParent(this.preparePopulation(Service.combinePopulation(parent, child)));
+                child = this.preparePopulation(this.produceChildPopulation(parent));
+                this.archive(child);
+                report = this.notifyGeneration(parent, child, generation);
 
-        for (int generation = 1; generation <= this.configuration.getGenerations(); generation++) {
+            }
 
-            // 截取父子两个种群排名前种群额定大小个数（N）的前N个染色体，作为新的父种群.
-            parent = this.getChildFromCombinedPopulation(this.preparePopulation(Service.combinePopulation(parent, child)));
-            child = this.preparePopulation(this.configuration.getChildPopulationProducer().produce(parent,
-                    this.configuration.getCrossover(), this.configuration.getMutation(), this.configuration.getPopulationSize()));
-            Reporter.reportGeneration(parent, child, generation);
+            this.notifyTerminate(child);
+            // 返回历代种群中排名前100（种群额定大小）的染色体作作为输出.
+            return child;
 
+        } finally {
+            if (monitor != null) {
+                monitor.unregister();
+            }
         }
+    }
 
-        Reporter.terminate(child);
-        // 返回历代种群中排名前100（种群额定大小）的染色体作作为输出.
-        return child;
+    /**
+     * 暂停运行, 当前代计算完成后算法线程阻塞, 直到 `resume()` 或 `requestStop()` 被调用.
+     */
+    public void pause() {
+        this.paused = true;
+    }
+
+    public void resume() {
+        synchronized (this.pauseLock) {
+            this.paused = false;
+            this.pauseLock.notifyAll();
+        }
+    }
+
+    /**
+     * 请求提前结束, 当前代计算完成后 `run()` 返回最近一代的子种群.
+     */
+    public void requestStop() {
+        synchronized (this.pauseLock) {
+            this.stopRequested = true;
+            this.pauseLock.notifyAll();
+        }
+    }
+
+    /**
+     * 运行结束后存档中的解, 与 `run()` 返回的最终子种群不同, 它们都互不支配, 且可能来自任何一代.
+     *
+     * @return 存档中的解, 未配置存档时返回 null.
+     */
+    public Population getArchivedSolutions() {
+        SolutionArchive archive = this.configuration.getArchive();
+        return archive == null ? null : archive.getSolutions();
+    }
+
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    public boolean isStopRequested() {
+        return this.stopRequested;
     }
 
     /**
@@ -119,14 +264,35 @@ public class NSGA2 {
      * @return the same population instance that was passed as an argument
      */
     public Population preparePopulation(Population population) {
+
+        // 去重后可能没有新的子代.
+        if (population.size() == 0) {
+            return population;
+        }
+
+        long start = System.nanoTime();
+        Object event = FlightRecorderEvents.beginPhase();
         // 逐个计算每个染色体的适应度
-        Service.calculateObjectiveValues(population);
+        this.generationEvaluations += Service.calculateObjectiveValues(population,
+                this.configuration.isSkippingInfeasibleObjectives(), this.configuration.getPopulationEvaluator());
+        FlightRecorderEvents.endPhase(event, GenerationReport.Phase.EVALUATION, population);
+        long evaluated = System.nanoTime();
         // 获取排名和支配关系
-        this.fastNonDominatedSort(population);
+        event = FlightRecorderEvents.beginPhase();
+        this.nonDominatedSort(population);
+        FlightRecorderEvents.endPhase(event, GenerationReport.Phase.RANKING, population);
+        long ranked = System.nanoTime();
         // 获取种群拥挤度
+        event = FlightRecorderEvents.beginPhase();
         this.crowdingDistanceAssignment(population);
+        FlightRecorderEvents.endPhase(event, GenerationReport.Phase.CROWDING, population);
+        long crowded = System.nanoTime();
         // 种群按照排名进行快排, 从小到大
         Service.randomizedQuickSortForRank(population.getPopulace(), 0, population.size() - 1);
+
+        this.phaseNanos[GenerationReport.Phase.EVALUATION.ordinal()] += evaluated - start;
+        this.phaseNanos[GenerationReport.Phase.RANKING.ordinal()] += (ranked - evaluated) + (System.nanoTime() - crowded);
+        this.phaseNanos[GenerationReport.Phase.CROWDING.ordinal()] += crowded - ranked;
         return population;
 
     }
@@ -137,11 +303,18 @@ public class NSGA2 {
      * selecting the first `N` chromosomes from the combined population, based on their rank. If it has to choose `M` chromosomes
      * of rank `N` such that `M &gt; N`, it then sorts the `M` chromosomes based on their crowding distance.
      *
+     * A combined population of at most `N` chromosomes, which happens when a de-duplicating child producer drops
+     * offspring, is returned whole.
+     *
      * @param combinedPopulation the combined population of parent and child of size 2N
      * @return the new population of size N chosen from the combined population passed as parameter
      */
     public Population getChildFromCombinedPopulation(Population combinedPopulation) {
 
+        if (combinedPopulation.size() <= this.configuration.getPopulationSize()) {
+            return new Population(new ArrayList<>(combinedPopulation.getPopulace()));
+        }
+
         int lastNonDominatedSetRank = combinedPopulation.get(this.configuration.getPopulationSize() - 1).getRank();
         List<Chromosome> childPopulace = new ArrayList<>();
 
@@ -156,6 +329,44 @@ public class NSGA2 {
         return new Population(childPopulace);
     }
 
+    /**
+     * 按配置的策略为种群排名.
+     * Uses `IncrementalRanking` when the `Configuration` enables it, then the `NonDominatedSorter` of the
+     * `Configuration` when one is set, and `fastNonDominatedSort` otherwise. The first two only assign ranks; the
+     * domination lists of the chromosomes are left empty.
+     *
+     * @param population the population to rank
+     */
+    public void nonDominatedSort(Population population) {
+
+        int[] ranks;
+        NonDominatedSorter sorter = this.configuration.getNonDominatedSorter();
+
+        if (this.configuration.isIncrementalRanking()) {
+            if (this.incrementalRanking == null) {
+                if (this.dominanceComparator == null) {
+                    this.dominanceComparator = this.resolveDominanceComparator();
+                }
+                this.incrementalRanking = this.configuration.isDefaultDominanceComparator() &&
+                        !this.overridesIsDominant() ?
+                        new IncrementalRanking(DominanceKernelProvider.best()) :
+                        new IncrementalRanking(this.dominanceComparator);
+            }
+            ranks = this.incrementalRanking.rank(population.getPopulace());
+        } else if (sorter != null) {
+            ranks = sorter.sort(ArrayObjectiveMatrix.of(population));
+        } else {
+            this.fastNonDominatedSort(population);
+            return;
+        }
+
+        for (int i = 0; i < ranks.length; i++) {
+            population.get(i).reset();
+            population.get(i).setRank(ranks[i]);
+        }
+
+    }
+
     /**
      * 获取排名、支配关系,使用快排.
      * This is an implementation of the fast non-dominated sorting algorithm as defined in the
@@ -265,18 +476,41 @@ public class NSGA2 {
      * `com.debacharya.nsgaii.NSGA2.DOMINANT`, `com.debacharya.nsgaii.NSGA2.INFERIOR` or
      * `com.debacharya.nsgaii.NSGA2.NON_DOMINATED` respectively.
      *
+     * <p>
+     * The classification is delegated to the `DominanceComparator` of the `Configuration`, read once per run, which
+     * applies the same rule as `isDominant` in a single pass over the objectives. When a subclass overrides
+     * `isDominant`, the override is honoured instead by calling it in both directions, at the cost of the second pass.
+     *
      * @param chromosome1 the chromosome to check whether it is dominating, inferior or non-dominated
      * @param chromosome2 the chromosome against which chromosome1 is checked
      * @return either NSGA2.DOMINANT, NSGA2.INFERIOR or NSGA2.NON_DOMINATED
      */
     public int dominates(Chromosome chromosome1, Chromosome chromosome2) {
 
-        if (this.isDominant(chromosome1, chromosome2)) {
-            return NSGA2.DOMINANT;
-        } else if (this.isDominant(chromosome2, chromosome1)) {
-            return NSGA2.INFERIOR;
-        } else {
-            return NSGA2.NON_DOMINATED;
+        if (this.dominanceComparator == null) {
+            this.dominanceComparator = this.resolveDominanceComparator();
+        }
+        return this.dominanceComparator.compare(chromosome1, chromosome2);
+
+    }
+
+    private DominanceComparator resolveDominanceComparator() {
+
+        if (this.overridesIsDominant()) {
+            return (chromosome1, chromosome2) -> this.isDominant(chromosome1, chromosome2) ? NSGA2.DOMINANT :
+                    this.isDominant(chromosome2, chromosome1) ? NSGA2.INFERIOR : NSGA2.NON_DOMINATED;
+        }
+        return this.configuration.getDominanceComparator();
+
+    }
+
+    private boolean overridesIsDominant() {
+
+        try {
+            return this.getClass().getMethod("isDominant", Chromosome.class, Chromosome.class).getDeclaringClass()
+                    != NSGA2.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
         }
 
     }
@@ -289,12 +523,31 @@ public class NSGA2 {
      * at least one of the values of the objective function of chromosome1 is greater than
      * the corresponding value of the objective function of chromosome2.
      *
+     * <p>
+     * When constraints are configured, Deb's constrained-domination rule is applied first, comparing only the summed
+     * constraint violations: a feasible chromosome dominates an infeasible one, and of two infeasible chromosomes the
+     * one with the smaller violation dominates. The objectives are compared only when both chromosomes are feasible.
+     *
+     * <p>
+     * The built-in ranking paths use the configured `DominanceComparator` rather than this method. Overriding it in a
+     * subclass still takes effect: `dominates` then classifies every pair through the override, and a different rule
+     * can also be supplied without subclassing through `Configuration.setDominanceComparator`.
+     *
      * @param chromosome1 the chromosome that may dominate
      * @param chromosome2 the chromosome that may be dominated
      * @return boolean logic whether chromosome1 dominates chromosome2.
      */
     public boolean isDominant(Chromosome chromosome1, Chromosome chromosome2) {
 
+        double violation1 = chromosome1.getConstraintViolation();
+        double violation2 = chromosome2.getConstraintViolation();
+        if (violation1 != violation2) {
+            return violation1 < violation2;
+        }
+        if (violation1 > 0) {
+            return false;
+        }
+
         boolean atLeastOneIsBetter = false;
 
         for (int i = 0; i < Configuration.objectives.size(); i++) {
@@ -308,4 +561,102 @@ public class NSGA2 {
 
     }
 
+    private Population produceChildPopulation(Population parent) {
+
+        long start = System.nanoTime();
+        Object event = FlightRecorderEvents.beginPhase();
+        Population child = this.configuration.getChildPopulationProducer().produce(parent,
+                this.configuration.getCrossover(), this.configuration.getMutation(), this.configuration.getPopulationSize());
+        FlightRecorderEvents.endPhase(event, GenerationReport.Phase.OFFSPRING, child);
+        this.phaseNanos[GenerationReport.Phase.OFFSPRING.ordinal()] += System.nanoTime() - start;
+        return child;
+
+    }
+
+    private void archive(Population population) {
+        SolutionArchive archive = this.configuration.getArchive();
+        if (archive == null) {
+            return;
+        }
+        // 跳过的不可行解与超时的染色体只有占位的目标值.
+        for (Chromosome chromosome : population.getPopulace()) {
+            if (chromosome.isEvaluated()) {
+                archive.offer(chromosome);
+            }
+        }
+    }
+
+    private Population selectNextParent(Population combinedPopulation) {
+
+        long start = System.nanoTime();
+        Object event = FlightRecorderEvents.beginPhase();
+        SurvivorSelector survivorSelector = this.configuration.getSurvivorSelector();
+        Population parent = survivorSelector == null ?
+                this.getChildFromCombinedPopulation(combinedPopulation) :
+                survivorSelector.select(combinedPopulation, this.configuration.getPopulationSize());
+        FlightRecorderEvents.endPhase(event, GenerationReport.Phase.SELECTION, parent);
+        this.phaseNanos[GenerationReport.Phase.SELECTION.ordinal()] += System.nanoTime() - start;
+        return parent;
+
+    }
+
+    private boolean awaitResumeOrStop() {
+
+        if (this.paused) {
+            synchronized (this.pauseLock) {
+                while (this.paused && !this.stopRequested) {
+                    try {
+                        this.pauseLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return true;
+                    }
+                }
+            }
+        }
+        return this.stopRequested;
+
+    }
+
+    private void notifyStart() {
+        for (GenerationListener listener : this.listeners) {
+            listener.onStart(this.configuration);
+        }
+    }
+
+    private GenerationReport notifyGeneration(Population parent, Population child, int generation) {
+
+        long now = System.nanoTime();
+        this.totalEvaluations += this.generationEvaluations;
+
+        // 报告只包装种群而不复制, 终止条件每代都需要它.
+        GenerationReport report = new GenerationReport(
+                generation,
+                parent,
+                child,
+                this.phaseNanos.clone(),
+                now - this.generationStartNanos,
+                this.generationEvaluations,
+                this.totalEvaluations,
+                now - this.runStartNanos
+        );
+        FlightRecorderEvents.endGeneration(this.generationEvent, report);
+        for (GenerationListener listener : this.listeners) {
+            listener.onGeneration(report);
+        }
+
+        Arrays.fill(this.phaseNanos, 0);
+        this.generationEvaluations = 0;
+        this.generationStartNanos = System.nanoTime();
+        this.generationEvent = FlightRecorderEvents.beginGeneration();
+        return report;
+
+    }
+
+    private void notifyTerminate(Population finalChild) {
+        for (GenerationListener listener : this.listeners) {
+            listener.onTerminate(finalChild);
+        }
+    }
+
 }
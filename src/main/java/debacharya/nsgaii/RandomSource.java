@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 随机数来源.
+ * Every random decision of the algorithm and of the bundled operators goes through `current()`. Unseeded, it is the
+ * calling thread's `ThreadLocalRandom`. After `setSeed(long)`, which `NSGA2` calls at the start of a run when
+ * `Configuration.setRandomSeed(Long)` was given a seed, it is a single shared generator whose whole state is one
+ * `long`: `getState()` captures it for a `Checkpoint` and `setState(long)` continues the same stream after a resume.
+ * <p>
+ * The seeded generator is thread-safe, but operators that draw from several threads at once consume it in an
+ * unspecified order, so only single-threaded offspring production is reproducible.
+ */
+public final class RandomSource {
+
+    public static final String NOT_SEEDED = "The random source has not been seeded.";
+
+    private static volatile SeededRandom seeded;
+
+    private RandomSource() {
+    }
+
+    public static Random current() {
+        SeededRandom random = RandomSource.seeded;
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    /**
+     * 使用固定种子, 此后 `current()` 返回同一个可复现的生成器.
+     *
+     * @param seed 随机种子.
+     */
+    public static void setSeed(long seed) {
+        RandomSource.seeded = new SeededRandom(seed);
+    }
+
+    /**
+     * 恢复为线程本地的 `ThreadLocalRandom`.
+     */
+    public static void clearSeed() {
+        RandomSource.seeded = null;
+    }
+
+    public static boolean isSeeded() {
+        return RandomSource.seeded != null;
+    }
+
+    /**
+     * @return 种子生成器的当前状态.
+     */
+    public static long getState() {
+
+        SeededRandom random = RandomSource.seeded;
+        if (random == null)
+            throw new UnsupportedOperationException(RandomSource.NOT_SEEDED);
+
+        return random.state.get();
+    }
+
+    /**
+     * 从 `getState()` 得到的状态继续生成, 未设置种子时同时启用种子生成器.
+     *
+     * @param state 生成器状态.
+     */
+    public static void setState(long state) {
+        RandomSource.seeded = new SeededRandom(state);
+    }
+
+    /**
+     * SplitMix64 生成器, 状态只有一个 `long`.
+     * `Random.nextGaussian()` keeps a cached second value outside of the state, so it is replaced by the polar method
+     * without the cache.
+     */
+    static final class SeededRandom extends Random {
+
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+        private final AtomicLong state = new AtomicLong();
+
+        SeededRandom(long state) {
+            this.state.set(state);
+        }
+
+        @Override
+        public void setSeed(long seed) {
+            // Random 的构造函数会在字段初始化之前调用 setSeed.
+            if (this.state != null) {
+                this.state.set(seed);
+            }
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (SeededRandom.mix(this.state.addAndGet(SeededRandom.GOLDEN_GAMMA)) >>> (64 - bits));
+        }
+
+        @Override
+        public long nextLong() {
+            return SeededRandom.mix(this.state.addAndGet(SeededRandom.GOLDEN_GAMMA));
+        }
+
+        @Override
+        public double nextGaussian() {
+
+            double v1;
+            double v2;
+            double s;
+
+            do {
+                v1 = 2 * this.nextDouble() - 1;
+                v2 = 2 * this.nextDouble() - 1;
+                s = v1 * v1 + v2 * v2;
+            } while (s >= 1 || s == 0);
+
+            return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+    }
+
+}
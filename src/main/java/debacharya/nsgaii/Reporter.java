@@ -40,7 +40,7 @@ public class Reporter {
 
     private static final int fileHash = ThreadLocalRandom.current().nextInt(10000, 100000);
     private static final StringBuilder writeContent = new StringBuilder();
-    private static final GraphPlot allGenerationGraph = new GraphPlot("ALL GENERATIONS");
+    private static GraphPlot allGenerationGraph;
 
     public static boolean silent = false;
     public static boolean plotGraph = true;
@@ -87,8 +87,8 @@ public class Reporter {
 
     public static void reportGeneration(Population parent, Population child, int generation) {
 
-        if (plotGraph && plotCompiledGraphForEveryGeneration) {
-            Reporter.allGenerationGraph.addData(child, "gen. " + generation);
+        if (plotGraph && plotCompiledGraphForEveryGeneration && GraphPlot.isCompatible()) {
+            Reporter.getAllGenerationGraph().addData(child, "gen. " + generation);
         }
         if (plotGraph && plotGraphForEveryGeneration) {
             Reporter.plot2DPopulation(child, "GENERATION " + generation);
@@ -163,7 +163,17 @@ public class Reporter {
         if (!GraphPlot.isCompatible()) {
             return;
         }
-        Reporter.allGenerationGraph.plot();
+        Reporter.getAllGenerationGraph().plot();
+
+    }
+
+    // 图形窗口在无图形界面的环境中无法创建, 因此在第一次使用时才创建.
+    private static synchronized GraphPlot getAllGenerationGraph() {
+
+        if (Reporter.allGenerationGraph == null) {
+            Reporter.allGenerationGraph = new GraphPlot("ALL GENERATIONS");
+        }
+        return Reporter.allGenerationGraph;
 
     }
 
@@ -24,15 +24,25 @@
 
 package debacharya.nsgaii;
 
+import debacharya.nsgaii.datastructure.AbstractAllele;
 import debacharya.nsgaii.datastructure.BooleanAllele;
 import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
 import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.objectivefunction.AbstractConstraintFunction;
+import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+import debacharya.nsgaii.objectivefunction.BatchObjectiveFunction;
+import debacharya.nsgaii.plugin.PopulationEvaluator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class Service {
 
+    public static final String UNSUPPORTED_BATCH_ALLELE =
+            "Batch objective functions support only DoubleAllele or BooleanAllele genetic codes.";
+
     /**
      * 染色体选择器.
      * 选择的策略为: 排名靠前且当前的染色体邻域附近未被搜索过的染色体.
@@ -43,9 +53,9 @@ public class Service {
     public static Chromosome crowdedBinaryTournamentSelection(Population population) {
 
         Chromosome participant1 =
-                population.getPopulace().get(ThreadLocalRandom.current().nextInt(0, population.size()));
+                population.getPopulace().get(RandomSource.current().nextInt(population.size()));
         Chromosome participant2 =
-                population.getPopulace().get(ThreadLocalRandom.current().nextInt(0, population.size()));
+                population.getPopulace().get(RandomSource.current().nextInt(population.size()));
 
         if (participant1.getRank() < participant2.getRank()) {
 
@@ -63,7 +73,7 @@ public class Service {
 
             } else {
 
-                return ThreadLocalRandom.current().nextBoolean() ? participant1 : participant2;
+                return RandomSource.current().nextBoolean() ? participant1 : participant2;
 
             }
         } else {
@@ -76,6 +86,7 @@ public class Service {
 
     /**
      * 合并种群.
+     * 合并结果放在新的列表中, 父子种群本身不被修改, 已经交给监听器的种群视图因此保持不变.
      *
      * @param parent
      * @param child
@@ -83,7 +94,8 @@ public class Service {
      */
     public static Population combinePopulation(Population parent, Population child) {
 
-        List<Chromosome> populace = parent.getPopulace();
+        List<Chromosome> populace = new ArrayList<>(parent.size() + child.size());
+        populace.addAll(parent.getPopulace());
         populace.addAll(child.getPopulace());
         return new Population(populace);
 
@@ -143,17 +155,244 @@ public class Service {
     }
 
     public static void calculateObjectiveValues(Chromosome chromosome) {
-        // 逐个计算每个目标与其对应的适应度.
+        // 先计算约束, 再逐个计算每个目标与其对应的适应度.
+        Service.calculateConstraintViolation(chromosome);
         for (int i = 0; i < Configuration.objectives.size(); i++) {
             chromosome.addObjectiveValue(i, Configuration.objectives.get(i).getValue(chromosome));
         }
+        chromosome.setEvaluated(true);
+
+    }
+
+    /**
+     * 按代价从小到大计算所有约束, 并把违反量之和记录到染色体上, 同时标记约束已计算.
+     *
+     * @param chromosome 染色体.
+     * @return 约束违反量之和.
+     */
+    public static double calculateConstraintViolation(Chromosome chromosome) {
+
+        double violation = 0;
+        for (AbstractConstraintFunction constraint : Configuration.constraints) {
+            violation += constraint.getViolation(chromosome);
+        }
+        chromosome.setConstraintViolation(violation);
+        chromosome.setConstraintsEvaluated(true);
+        return violation;
+
+    }
+
+    /**
+     * 与 `calculateConstraintViolation` 相同, 但约束已经计算过时直接返回记录的违反量.
+     * Infeasible chromosomes skipped by `calculateObjectiveValues(Population, boolean)` stay unevaluated and are
+     * revisited every generation they survive; the cached violation keeps that from re-running every constraint.
+     *
+     * @param chromosome 染色体.
+     * @return 约束违反量之和.
+     */
+    private static double constraintViolation(Chromosome chromosome) {
+        return chromosome.isConstraintsEvaluated() ?
+                chromosome.getConstraintViolation() :
+                Service.calculateConstraintViolation(chromosome);
+    }
+
+    /**
+     * 计算种群中尚未计算过的染色体的约束与目标值. 有 `BatchObjectiveFunction` 时整个种群一次计算该目标.
+     *
+     * @param population 种群.
+     * @return 实际计算了目标函数的染色体个数.
+     */
+    public static int calculateObjectiveValues(Population population) {
+        return Service.calculateObjectiveValues(population, Service::evaluateObjectives);
+    }
+
+    /**
+     * 计算种群中尚未计算过的染色体的约束, 并交给 `evaluator` 计算目标值.
+     *
+     * @param population 种群.
+     * @param evaluator  目标值计算引擎.
+     * @return 实际计算了目标函数的染色体个数.
+     */
+    public static int calculateObjectiveValues(Population population, PopulationEvaluator evaluator) {
+
+        List<Chromosome> pending = new ArrayList<>();
+        for (Chromosome chromosome : population.getPopulace()) {
+            if (!chromosome.isEvaluated()) {
+                Service.constraintViolation(chromosome);
+                pending.add(chromosome);
+            }
+        }
+        Service.evaluateObjectives(pending, evaluator);
+        return pending.size();
+
+    }
 
+    /**
+     * 计算种群的约束与目标值, 可以跳过不可行解的目标函数计算.
+     * Chromosomes evaluated in an earlier call keep their values, so every individual is evaluated once over its
+     * lifetime even though parents take part in several combined populations. Skipped chromosomes get the worst
+     * (smallest) value of each objective among the feasible chromosomes of the population, or 0 when there is none,
+     * and are not marked as evaluated.
+     *
+     * @param population     种群.
+     * @param skipInfeasible 不可行解是否跳过目标函数计算.
+     * @return 实际计算了目标函数的染色体个数.
+     */
+    public static int calculateObjectiveValues(Population population, boolean skipInfeasible) {
+        return Service.calculateObjectiveValues(population, skipInfeasible, Service::evaluateObjectives);
     }
 
-    public static void calculateObjectiveValues(Population population) {
+    /**
+     * 与 `calculateObjectiveValues(Population, boolean)` 相同, 目标值由 `evaluator` 计算.
+     *
+     * @param population     种群.
+     * @param skipInfeasible 不可行解是否跳过目标函数计算.
+     * @param evaluator      目标值计算引擎.
+     * @return 实际计算了目标函数的染色体个数.
+     */
+    public static int calculateObjectiveValues(Population population,
+                                               boolean skipInfeasible,
+                                               PopulationEvaluator evaluator) {
+
+        if (!skipInfeasible || Configuration.constraints.isEmpty()) {
+            return Service.calculateObjectiveValues(population, evaluator);
+        }
+
+        int objectiveCount = Configuration.objectives.size();
+        double[] worst = new double[objectiveCount];
+        Arrays.fill(worst, Double.POSITIVE_INFINITY);
+        List<Chromosome> feasible = new ArrayList<>();
+        List<Chromosome> pending = new ArrayList<>();
+        List<Chromosome> infeasible = new ArrayList<>();
 
         for (Chromosome chromosome : population.getPopulace()) {
-            Service.calculateObjectiveValues(chromosome);
+            if (chromosome.isEvaluated()) {
+                if (chromosome.isFeasible()) {
+                    feasible.add(chromosome);
+                }
+            } else if (Service.constraintViolation(chromosome) > 0) {
+                infeasible.add(chromosome);
+            } else {
+                feasible.add(chromosome);
+                pending.add(chromosome);
+            }
+        }
+
+        Service.evaluateObjectives(pending, evaluator);
+        for (Chromosome chromosome : feasible) {
+            for (int i = 0; i < objectiveCount; i++) {
+                worst[i] = Math.min(worst[i], chromosome.getObjectiveValues().get(i));
+            }
+        }
+
+        for (Chromosome chromosome : infeasible) {
+            for (int i = 0; i < objectiveCount; i++) {
+                chromosome.addObjectiveValue(i, feasible.isEmpty() ? 0 : worst[i]);
+            }
+        }
+        return pending.size();
+
+    }
+
+    /**
+     * 把染色体的基因解码为按列存放的决策变量矩阵, `DoubleAllele` 取其值, `BooleanAllele` 取 1 或 0.
+     *
+     * @param chromosomes 等长的染色体.
+     * @return 第 i 条染色体的第 j 个基因位于 `[j * count + i]`.
+     */
+    public static double[] decisionVariables(List<Chromosome> chromosomes) {
+
+        int count = chromosomes.size();
+        int length = count == 0 ? 0 : chromosomes.get(0).getLength();
+        double[] variables = new double[length * count];
+
+        for (int i = 0; i < count; i++) {
+            List<AbstractAllele> geneticCode = chromosomes.get(i).getGeneticCode();
+            for (int j = 0; j < length; j++) {
+                AbstractAllele allele = geneticCode.get(j);
+                if (allele instanceof DoubleAllele) {
+                    variables[j * count + i] = ((DoubleAllele) allele).getGene();
+                } else if (allele instanceof BooleanAllele) {
+                    variables[j * count + i] = ((BooleanAllele) allele).getGene() ? 1 : 0;
+                } else {
+                    throw new UnsupportedOperationException(Service.UNSUPPORTED_BATCH_ALLELE);
+                }
+            }
+        }
+        return variables;
+
+    }
+
+    // 先标记为已计算, 计算引擎可以撤销无法计算的染色体的标记.
+    private static void evaluateObjectives(List<Chromosome> chromosomes, PopulationEvaluator evaluator) {
+
+        if (chromosomes.isEmpty()) {
+            return;
+        }
+        for (Chromosome chromosome : chromosomes) {
+            chromosome.setEvaluated(true);
+        }
+        try {
+            evaluator.evaluate(chromosomes);
+        } catch (RuntimeException | Error e) {
+            for (Chromosome chromosome : chromosomes) {
+                chromosome.setEvaluated(false);
+            }
+            throw e;
+        }
+
+    }
+
+    /**
+     * 默认的进程内目标值计算: 批量目标一次算完整个列表, 其余目标逐个染色体计算.
+     *
+     * @param chromosomes 等长的染色体.
+     */
+    public static void evaluateObjectives(List<Chromosome> chromosomes) {
+
+        List<AbstractObjectiveFunction> objectives = Configuration.objectives;
+        int objectiveCount = objectives.size();
+        int count = chromosomes.size();
+        boolean batch = false;
+        for (AbstractObjectiveFunction objective : objectives) {
+            batch |= objective instanceof BatchObjectiveFunction;
+        }
+
+        if (!batch || count == 0) {
+            for (Chromosome chromosome : chromosomes) {
+                for (int i = 0; i < objectiveCount; i++) {
+                    chromosome.addObjectiveValue(i, objectives.get(i).getValue(chromosome));
+                }
+            }
+            return;
+        }
+
+        double[] variables = Service.decisionVariables(chromosomes);
+        double[] values = new double[objectiveCount * count];
+
+        for (int i = 0; i < objectiveCount; i++) {
+            AbstractObjectiveFunction objective = objectives.get(i);
+            if (objective instanceof BatchObjectiveFunction) {
+                ((BatchObjectiveFunction) objective).getValues(variables, count, values, i * count);
+            }
+        }
+
+        // 其余目标逐个染色体计算, 与无批量目标时的顺序相同, VectorObjectiveFunction 拆分出的目标才能共用一次计算.
+        for (int c = 0; c < count; c++) {
+            Chromosome chromosome = chromosomes.get(c);
+            for (int i = 0; i < objectiveCount; i++) {
+                AbstractObjectiveFunction objective = objectives.get(i);
+                if (!(objective instanceof BatchObjectiveFunction)) {
+                    values[i * count + c] = objective.getValue(chromosome);
+                }
+            }
+        }
+
+        for (int c = 0; c < count; c++) {
+            Chromosome chromosome = chromosomes.get(c);
+            for (int i = 0; i < objectiveCount; i++) {
+                chromosome.addObjectiveValue(i, values[i * count + c]);
+            }
         }
 
     }
@@ -248,6 +487,10 @@ public class Service {
             return value;
         }
         decimalPlace = Math.pow(10, decimalPlace);
+        // 超出 long 范围的值（例如 -Double.MAX_VALUE）不需要也无法舍入.
+        if (!(Math.abs(value * decimalPlace) < Long.MAX_VALUE)) {
+            return value;
+        }
         return (Math.round(value * decimalPlace) / decimalPlace);
 
     }
@@ -327,21 +570,21 @@ public class Service {
 
     private static int randomizedPartitionForRank(List<Chromosome> populace, int head, int tail) {
 
-        Service.swapForRank(populace, head, ThreadLocalRandom.current().nextInt(head, tail + 1));
+        Service.swapForRank(populace, head, head + RandomSource.current().nextInt(tail - head + 1));
         return Service.partitionForRank(populace, head, tail);
 
     }
 
     private static int randomizedPartitionForObjective(List<Chromosome> populace, int head, int tail, int objIndex) {
 
-        Service.swapForObjective(populace, head, ThreadLocalRandom.current().nextInt(head, tail + 1));
+        Service.swapForObjective(populace, head, head + RandomSource.current().nextInt(tail - head + 1));
         return Service.partitionForObjective(populace, head, tail, objIndex);
 
     }
 
     private static int randomizedPartitionForCrowdingDistance(List<Chromosome> populace, int head, int tail) {
 
-        Service.swapForCrowdingDistance(populace, head, ThreadLocalRandom.current().nextInt(head, tail + 1));
+        Service.swapForCrowdingDistance(populace, head, head + RandomSource.current().nextInt(tail - head + 1));
         return Service.partitionForCrowdingDistance(populace, head, tail);
 
     }
@@ -0,0 +1,210 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.archive;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ε-支配网格存档 [DOI: 10.1162/106365602760234108].
+ * Every objective vector is mapped to the hyperbox `floor(value / ε)` of an ε grid, and the archive keeps at most one
+ * solution per box in a hash map keyed by the integer box coordinates; boxes that are dominated by another occupied
+ * box are not kept at all. The archive therefore holds an ε-approximation of every solution ever offered, and its size
+ * is bounded by the grid resolution instead of growing with the front.
+ * <p>
+ * A newcomer that falls into an occupied box costs a single hash lookup: it replaces the occupant only if it dominates
+ * it, or if neither dominates the other and it is closer to the box's best corner. Only a newcomer that opens a new
+ * box is compared against the other occupied boxes, whose number is bounded by the grid.
+ */
+public class EpsilonDominanceArchive implements SolutionArchive {
+
+    private final double[] epsilons;
+    private final Map<Box, Entry> boxes = new HashMap<>();
+
+    /**
+     * @param epsilons 每个目标的网格宽度; 只给一个值时用于所有目标. 否则个数必须等于目标数, 在 `offer` 时检查.
+     */
+    public EpsilonDominanceArchive(double... epsilons) {
+
+        if (epsilons.length == 0)
+            throw new UnsupportedOperationException("At least one epsilon is required.");
+        for (double epsilon : epsilons) {
+            if (!(epsilon > 0))
+                throw new UnsupportedOperationException("Epsilon must be positive.");
+        }
+        this.epsilons = epsilons.clone();
+
+    }
+
+    @Override
+    public boolean offer(Chromosome chromosome) {
+
+        if (!chromosome.isFeasible()) {
+            return false;
+        }
+        double[] point = ParetoArchive.objectives(chromosome);
+        if (this.epsilons.length != 1 && this.epsilons.length != point.length)
+            throw new UnsupportedOperationException("Expected one epsilon or " + point.length + " epsilons, one per " +
+                    "objective, but " + this.epsilons.length + " were given.");
+        Box box = this.box(point);
+        Entry occupant = this.boxes.get(box);
+
+        if (occupant != null) {
+
+            if (ParetoArchive.weaklyDominates(occupant.point, point)) {
+                return false;
+            }
+            if (!ParetoArchive.weaklyDominates(point, occupant.point) &&
+                    this.distanceToCorner(occupant.point, box) <= this.distanceToCorner(point, box)) {
+                return false;
+            }
+
+            this.boxes.put(box, new Entry(chromosome.getCopy(), point));
+            return true;
+
+        }
+
+        for (Box other : this.boxes.keySet()) {
+            if (other.dominates(box)) {
+                return false;
+            }
+        }
+
+        Iterator<Box> iterator = this.boxes.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (box.dominates(iterator.next())) {
+                iterator.remove();
+            }
+        }
+
+        this.boxes.put(box, new Entry(chromosome.getCopy(), point));
+        return true;
+
+    }
+
+    @Override
+    public int size() {
+        return this.boxes.size();
+    }
+
+    @Override
+    public Population getSolutions() {
+
+        List<Chromosome> populace = new ArrayList<>(this.boxes.size());
+        for (Entry entry : this.boxes.values()) {
+            populace.add(entry.chromosome.getCopy());
+        }
+        return new Population(populace);
+
+    }
+
+    @Override
+    public void clear() {
+        this.boxes.clear();
+    }
+
+    private Box box(double[] point) {
+
+        long[] coordinates = new long[point.length];
+        for (int k = 0; k < point.length; k++) {
+            coordinates[k] = (long) Math.floor(point[k] / this.epsilon(k));
+        }
+        return new Box(coordinates);
+
+    }
+
+    // 目标取大为优, 网格的最好角是每个目标上的上边界.
+    private double distanceToCorner(double[] point, Box box) {
+
+        double sum = 0;
+        for (int k = 0; k < point.length; k++) {
+            double difference = (box.coordinates[k] + 1) * this.epsilon(k) - point[k];
+            sum += difference * difference;
+        }
+        return sum;
+
+    }
+
+    private double epsilon(int objective) {
+        return this.epsilons.length == 1 ? this.epsilons[0] : this.epsilons[objective];
+    }
+
+    private static final class Box {
+
+        private final long[] coordinates;
+        private final int hash;
+
+        private Box(long[] coordinates) {
+            this.coordinates = coordinates;
+            this.hash = Arrays.hashCode(coordinates);
+        }
+
+        // 不同的网格之间的支配关系.
+        private boolean dominates(Box other) {
+
+            boolean atLeastOneIsBetter = false;
+            for (int k = 0; k < this.coordinates.length; k++) {
+                if (this.coordinates[k] < other.coordinates[k]) {
+                    return false;
+                } else if (this.coordinates[k] > other.coordinates[k]) {
+                    atLeastOneIsBetter = true;
+                }
+            }
+            return atLeastOneIsBetter;
+
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Box && Arrays.equals(this.coordinates, ((Box) object).coordinates);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final Chromosome chromosome;
+        private final double[] point;
+
+        private Entry(Chromosome chromosome, double[] point) {
+            this.chromosome = chromosome;
+            this.point = point;
+        }
+
+    }
+
+}
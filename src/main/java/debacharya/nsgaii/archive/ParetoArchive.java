@@ -0,0 +1,677 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.archive;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.metrics.Hypervolume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 基于 ND-Tree 的 Pareto 存档 [DOI: 10.1109/TEVC.2018.2799684].
+ * The archive keeps only mutually non-dominated solutions in a tree whose nodes carry an ideal and a nadir bound of
+ * the points below them. A newcomer is rejected as soon as a node's nadir covers it and whole subtrees are skipped
+ * when their ideal cannot cover it; likewise, a subtree whose ideal the newcomer covers is evicted at once, and a
+ * subtree whose nadir it cannot reach is never visited. This keeps insertion sub-linear in the archive size for the
+ * usual, well spread fronts. Bounds are only widened, never shrunk, after removals; they stay valid, just looser.
+ * <p>
+ * When a capacity is given, the archive may grow up to half a capacity beyond it and is then cut back to the capacity
+ * in one batch, as is any excess left when `size()` or `getSolutions()` is called. The batch repeatedly removes the
+ * member with the smallest crowding distance, or with the smallest exclusive hypervolume contribution if a reference
+ * point is given. Both scores of a member depend only on its neighbours along each objective (for the contribution,
+ * with two objectives), so after a removal only those neighbours are rescored and the cost per pruned member is
+ * logarithmic instead of a full recomputation. Exclusive contributions with three or more objectives are not local and
+ * are still recomputed after every removal, though the tree is flattened only once per batch. Because pruning is
+ * deferred, `offer` reports a newcomer as accepted even if the next batch prunes it.
+ */
+public class ParetoArchive implements SolutionArchive {
+
+    public static final int DEFAULT_LEAF_SIZE = 20;
+
+    private final int capacity;
+    private final int slack;
+    private final double[] referencePoint;
+    private final int leafSize;
+
+    private Node root;
+    private int size;
+
+    /**
+     * 不限大小的存档.
+     */
+    public ParetoArchive() {
+        this(Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * 超出容量时按拥挤度裁剪的存档.
+     *
+     * @param capacity 容量.
+     */
+    public ParetoArchive(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param capacity       容量.
+     * @param referencePoint 超体积参考点, 不为 null 时按超体积贡献裁剪, 否则按拥挤度裁剪.
+     */
+    public ParetoArchive(int capacity, double[] referencePoint) {
+
+        if (capacity < 1)
+            throw new UnsupportedOperationException("Archive capacity cannot be less than 1.");
+
+        this.capacity = capacity;
+        this.slack = Math.max(1, capacity / 2);
+        this.referencePoint = referencePoint == null ? null : referencePoint.clone();
+        this.leafSize = ParetoArchive.DEFAULT_LEAF_SIZE;
+
+    }
+
+    @Override
+    public boolean offer(Chromosome chromosome) {
+
+        if (!chromosome.isFeasible()) {
+            return false;
+        }
+        double[] point = ParetoArchive.objectives(chromosome);
+
+        if (this.root != null) {
+            if (ParetoArchive.isCovered(this.root, point)) {
+                return false;
+            }
+            this.size -= this.evictDominated(this.root, point);
+            if (this.root.isEmpty()) {
+                this.root = null;
+            }
+        }
+
+        Entry entry = new Entry(chromosome.getCopy(), point);
+        if (this.root == null) {
+            this.root = new Node(null, point);
+        }
+        this.insert(this.root, entry);
+        this.size++;
+
+        if (this.size - this.capacity > this.slack) {
+            this.prune();
+        }
+        return true;
+
+    }
+
+    @Override
+    public int size() {
+        this.prune();
+        return this.size;
+    }
+
+    @Override
+    public Population getSolutions() {
+
+        this.prune();
+        List<Chromosome> populace = new ArrayList<>(this.size);
+        for (Entry entry : this.entries()) {
+            populace.add(entry.chromosome.getCopy());
+        }
+        return new Population(populace);
+
+    }
+
+    @Override
+    public void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    private static boolean isCovered(Node node, double[] point) {
+
+        if (!ParetoArchive.weaklyDominates(node.ideal, point)) {
+            return false;
+        }
+        if (ParetoArchive.weaklyDominates(node.nadir, point)) {
+            return true;
+        }
+
+        if (node.children == null) {
+            for (Entry entry : node.entries) {
+                if (ParetoArchive.weaklyDominates(entry.point, point)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (Node child : node.children) {
+            if (ParetoArchive.isCovered(child, point)) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    // 新点未被覆盖, 因此它弱支配的成员都与它不同, 即被它支配.
+    private int evictDominated(Node node, double[] point) {
+
+        if (!ParetoArchive.weaklyDominates(point, node.nadir)) {
+            return 0;
+        }
+
+        if (ParetoArchive.weaklyDominates(point, node.ideal)) {
+            List<Entry> evicted = new ArrayList<>();
+            ParetoArchive.collect(node, evicted);
+            for (Entry entry : evicted) {
+                entry.leaf = null;
+            }
+            node.entries = new ArrayList<>();
+            node.children = null;
+            return evicted.size();
+        }
+
+        int evicted = 0;
+
+        if (node.children == null) {
+            for (int i = node.entries.size() - 1; i >= 0; i--) {
+                Entry entry = node.entries.get(i);
+                if (ParetoArchive.weaklyDominates(point, entry.point)) {
+                    node.entries.remove(i);
+                    entry.leaf = null;
+                    evicted++;
+                }
+            }
+            return evicted;
+        }
+
+        for (int i = node.children.size() - 1; i >= 0; i--) {
+            Node child = node.children.get(i);
+            evicted += this.evictDominated(child, point);
+            if (child.isEmpty()) {
+                node.children.remove(i);
+            }
+        }
+        ParetoArchive.collapse(node);
+        return evicted;
+
+    }
+
+    private void insert(Node node, Entry entry) {
+
+        while (true) {
+
+            node.include(entry.point);
+            if (node.children == null) {
+                break;
+            }
+
+            Node closest = null;
+            double closestDistance = Double.POSITIVE_INFINITY;
+            for (Node child : node.children) {
+                double distance = child.distanceToMidpoint(entry.point);
+                if (distance < closestDistance) {
+                    closestDistance = distance;
+                    closest = child;
+                }
+            }
+            node = closest;
+
+        }
+
+        node.entries.add(entry);
+        entry.leaf = node;
+        if (node.entries.size() > this.leafSize) {
+            this.split(node);
+        }
+
+    }
+
+    // 以最分散的若干个点为种子把叶子分裂成 (目标数 + 1) 个子节点.
+    private void split(Node leaf) {
+
+        List<Entry> entries = leaf.entries;
+        int childCount = Math.min(entries.size(), entries.get(0).point.length + 1);
+        List<Entry> seeds = new ArrayList<>(childCount);
+
+        Entry first = null;
+        double largestTotal = -1;
+        for (Entry candidate : entries) {
+            double total = 0;
+            for (Entry other : entries) {
+                total += ParetoArchive.distance(candidate.point, other.point);
+            }
+            if (total > largestTotal) {
+                largestTotal = total;
+                first = candidate;
+            }
+        }
+        seeds.add(first);
+
+        while (seeds.size() < childCount) {
+            Entry farthest = null;
+            double farthestDistance = -1;
+            for (Entry candidate : entries) {
+                double nearest = Double.POSITIVE_INFINITY;
+                for (Entry seed : seeds) {
+                    nearest = Math.min(nearest, ParetoArchive.distance(candidate.point, seed.point));
+                }
+                if (nearest > farthestDistance) {
+                    farthestDistance = nearest;
+                    farthest = candidate;
+                }
+            }
+            seeds.add(farthest);
+        }
+
+        List<Node> children = new ArrayList<>(childCount);
+        for (Entry seed : seeds) {
+            children.add(new Node(leaf, seed.point));
+        }
+
+        for (Entry entry : entries) {
+            int closest = 0;
+            for (int s = 1; s < seeds.size(); s++) {
+                if (ParetoArchive.distance(entry.point, seeds.get(s).point) <
+                        ParetoArchive.distance(entry.point, seeds.get(closest).point)) {
+                    closest = s;
+                }
+            }
+            Node child = children.get(closest);
+            child.include(entry.point);
+            child.entries.add(entry);
+            entry.leaf = child;
+        }
+
+        leaf.entries = null;
+        leaf.children = children;
+
+    }
+
+    private void prune() {
+
+        if (this.size <= this.capacity) {
+            return;
+        }
+
+        List<Entry> entries = this.entries();
+        int excess = entries.size() - this.capacity;
+        double[][] points = new double[entries.size()][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = entries.get(i).point;
+        }
+
+        if (this.referencePoint == null || this.referencePoint.length == 2) {
+            PruningOrder order = new PruningOrder(points, this.referencePoint);
+            for (int removed = 0; removed < excess; removed++) {
+                this.remove(entries.get(order.removeWeakest()));
+            }
+            return;
+        }
+
+        List<Entry> remaining = new ArrayList<>(entries);
+        for (int removed = 0; removed < excess; removed++) {
+            double[][] current = new double[remaining.size()][];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = remaining.get(i).point;
+            }
+            double[] scores = Hypervolume.contributions(current, this.referencePoint);
+            int weakest = 0;
+            for (int i = 1; i < scores.length; i++) {
+                if (scores[i] < scores[weakest]) {
+                    weakest = i;
+                }
+            }
+            this.remove(remaining.remove(weakest));
+        }
+
+    }
+
+    private void remove(Entry entry) {
+
+        Node node = entry.leaf;
+        node.entries.remove(entry);
+        entry.leaf = null;
+        this.size--;
+
+        while (node.isEmpty() && node.parent != null) {
+            Node parent = node.parent;
+            parent.children.remove(node);
+            ParetoArchive.collapse(parent);
+            node = parent;
+        }
+        if (this.root != null && this.root.isEmpty()) {
+            this.root = null;
+        }
+
+    }
+
+    // 只剩一个子节点的内部节点直接接管该子节点的内容.
+    private static void collapse(Node node) {
+
+        if (node.children == null || node.children.size() != 1) {
+            return;
+        }
+
+        Node child = node.children.get(0);
+        node.children = child.children;
+        node.entries = child.entries;
+        if (node.children != null) {
+            for (Node grandchild : node.children) {
+                grandchild.parent = node;
+            }
+        } else {
+            for (Entry entry : node.entries) {
+                entry.leaf = node;
+            }
+        }
+
+    }
+
+    private List<Entry> entries() {
+
+        List<Entry> entries = new ArrayList<>(this.size);
+        if (this.root != null) {
+            ParetoArchive.collect(this.root, entries);
+        }
+        return entries;
+
+    }
+
+    private static void collect(Node node, List<Entry> entries) {
+
+        if (node.children == null) {
+            entries.addAll(node.entries);
+            return;
+        }
+        for (Node child : node.children) {
+            ParetoArchive.collect(child, entries);
+        }
+
+    }
+
+    static double[] objectives(Chromosome chromosome) {
+
+        List<Double> objectiveValues = chromosome.getObjectiveValues();
+        double[] point = new double[objectiveValues.size()];
+        for (int k = 0; k < point.length; k++) {
+            point[k] = objectiveValues.get(k);
+        }
+        return point;
+
+    }
+
+    // 目标取大为优: left 在每个目标上都不差于 right.
+    static boolean weaklyDominates(double[] left, double[] right) {
+
+        for (int k = 0; k < left.length; k++) {
+            if (left[k] < right[k]) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    private static double distance(double[] left, double[] right) {
+
+        double sum = 0;
+        for (int k = 0; k < left.length; k++) {
+            double difference = left[k] - right[k];
+            sum += difference * difference;
+        }
+        return sum;
+
+    }
+
+    /**
+     * 逐个给出得分最低的成员: 拥挤度, 或给定参考点时的二维独占超体积贡献.
+     * Members are linked in order of each objective (only the first objective, and only the members inside the
+     * reference point, for the contribution). Removing a member unlinks it, so only its neighbours need rescoring;
+     * ties go to the lower index, as in a full recomputation.
+     */
+    private static final class PruningOrder {
+
+        private final double[][] points;
+        private final double[] referencePoint;
+        private final int[][] previous;
+        private final int[][] next;
+        private final int[] first;
+        private final int[] last;
+        private final boolean[] linked;
+        private final boolean[] removed;
+        private final double[] scores;
+        private final TreeSet<Integer> order;
+        private int remaining;
+
+        private PruningOrder(double[][] points, double[] referencePoint) {
+
+            int size = points.length;
+            int lists = referencePoint == null ? points[0].length : 1;
+            this.points = points;
+            this.referencePoint = referencePoint;
+            this.previous = new int[lists][size];
+            this.next = new int[lists][size];
+            this.first = new int[lists];
+            this.last = new int[lists];
+            this.linked = new boolean[size];
+            this.removed = new boolean[size];
+            this.scores = new double[size];
+            this.remaining = size;
+
+            List<Integer> members = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                // 只有严格优于参考点的成员才有贡献, 也才影响邻居的贡献.
+                this.linked[i] = referencePoint == null || PruningOrder.isInside(points[i], referencePoint);
+                if (this.linked[i]) {
+                    members.add(i);
+                }
+            }
+
+            for (int list = 0; list < lists; list++) {
+                int objective = list;
+                Arrays.fill(this.previous[list], -1);
+                Arrays.fill(this.next[list], -1);
+                this.first[list] = -1;
+                this.last[list] = -1;
+                members.sort(Comparator.comparingDouble(i -> points[i][objective]));
+                for (int position = 0; position < members.size(); position++) {
+                    int member = members.get(position);
+                    if (position > 0) {
+                        this.previous[list][member] = members.get(position - 1);
+                        this.next[list][members.get(position - 1)] = member;
+                    }
+                }
+                if (!members.isEmpty()) {
+                    this.first[list] = members.get(0);
+                    this.last[list] = members.get(members.size() - 1);
+                }
+            }
+
+            this.order = new TreeSet<>((left, right) -> {
+                int comparison = Double.compare(this.scores[left], this.scores[right]);
+                return comparison != 0 ? comparison : Integer.compare(left, right);
+            });
+            this.rescoreAll();
+
+        }
+
+        private int removeWeakest() {
+
+            int weakest = this.order.pollFirst();
+            boolean boundary = this.scores[weakest] == Double.MAX_VALUE;
+            List<Integer> neighbours = new ArrayList<>();
+
+            if (this.linked[weakest]) {
+                for (int list = 0; list < this.first.length; list++) {
+                    int before = this.previous[list][weakest];
+                    int after = this.next[list][weakest];
+                    if (before == -1) {
+                        this.first[list] = after;
+                    } else {
+                        this.next[list][before] = after;
+                        neighbours.add(before);
+                    }
+                    if (after == -1) {
+                        this.last[list] = before;
+                    } else {
+                        this.previous[list][after] = before;
+                        neighbours.add(after);
+                    }
+                }
+                this.linked[weakest] = false;
+            }
+            this.removed[weakest] = true;
+            this.remaining--;
+
+            // 拥挤度按各目标的极差归一化, 删除端点后所有分数都要重算.
+            if (this.referencePoint == null && boundary) {
+                this.order.clear();
+                this.rescoreAll();
+                return weakest;
+            }
+            for (int neighbour : neighbours) {
+                if (this.order.remove(neighbour)) {
+                    this.scores[neighbour] = this.score(neighbour);
+                    this.order.add(neighbour);
+                }
+            }
+            return weakest;
+
+        }
+
+        private void rescoreAll() {
+
+            for (int i = 0; i < this.points.length; i++) {
+                if (!this.removed[i]) {
+                    this.scores[i] = this.score(i);
+                    this.order.add(i);
+                }
+            }
+
+        }
+
+        private static boolean isInside(double[] point, double[] referencePoint) {
+
+            for (int k = 0; k < point.length; k++) {
+                if (point[k] <= referencePoint[k]) {
+                    return false;
+                }
+            }
+            return true;
+
+        }
+
+        private double score(int index) {
+
+            if (this.referencePoint != null) {
+                if (!this.linked[index]) {
+                    return 0;
+                }
+                int left = this.previous[0][index];
+                int right = this.next[0][index];
+                double[] point = this.points[index];
+                double width = (left == -1 ? 0 : this.referencePoint[0] - this.points[left][0]) -
+                        (this.referencePoint[0] - point[0]);
+                double height = (right == -1 ? 0 : this.referencePoint[1] - this.points[right][1]) -
+                        (this.referencePoint[1] - point[1]);
+                return width * height;
+            }
+
+            if (this.remaining <= 2) {
+                return Double.MAX_VALUE;
+            }
+            double distance = 0;
+            for (int k = 0; k < this.first.length; k++) {
+                int before = this.previous[k][index];
+                int after = this.next[k][index];
+                if (before == -1 || after == -1) {
+                    return Double.MAX_VALUE;
+                }
+                double range = this.points[this.last[k]][k] - this.points[this.first[k]][k];
+                if (range != 0) {
+                    distance += (this.points[after][k] - this.points[before][k]) / range;
+                }
+            }
+            return distance;
+
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final Chromosome chromosome;
+        private final double[] point;
+        private Node leaf;
+
+        private Entry(Chromosome chromosome, double[] point) {
+            this.chromosome = chromosome;
+            this.point = point;
+        }
+
+    }
+
+    private static final class Node {
+
+        private Node parent;
+        private List<Node> children;
+        private List<Entry> entries = new ArrayList<>();
+        // 节点内所有点在每个目标上的最好值与最差值.
+        private final double[] ideal;
+        private final double[] nadir;
+
+        private Node(Node parent, double[] point) {
+            this.parent = parent;
+            this.ideal = point.clone();
+            this.nadir = point.clone();
+        }
+
+        private void include(double[] point) {
+            for (int k = 0; k < point.length; k++) {
+                this.ideal[k] = Math.max(this.ideal[k], point[k]);
+                this.nadir[k] = Math.min(this.nadir[k], point[k]);
+            }
+        }
+
+        private boolean isEmpty() {
+            return this.children == null ? this.entries.isEmpty() : this.children.isEmpty();
+        }
+
+        private double distanceToMidpoint(double[] point) {
+            double sum = 0;
+            for (int k = 0; k < point.length; k++) {
+                double difference = point[k] - (this.ideal[k] + this.nadir[k]) / 2;
+                sum += difference * difference;
+            }
+            return sum;
+        }
+
+    }
+
+}
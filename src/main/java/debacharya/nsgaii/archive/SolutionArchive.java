@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.archive;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+
+/**
+ * 解存档.
+ * `NSGA2` offers the initial population and every evaluated child population to the archive configured with
+ * `Configuration.setArchive(SolutionArchive)`, so that good solutions of earlier generations survive the run.
+ * Objectives are maximised, like `NSGA2.isDominant`, and only feasible chromosomes are archived. Archives store
+ * copies; the chromosomes offered are not retained.
+ */
+public interface SolutionArchive {
+
+    /**
+     * @param chromosome 已计算目标值的染色体.
+     * @return 染色体（的副本）是否被存档接纳.
+     */
+    boolean offer(Chromosome chromosome);
+
+    default void offerAll(Population population) {
+        for (Chromosome chromosome : population.getPopulace()) {
+            this.offer(chromosome);
+        }
+    }
+
+    int size();
+
+    /**
+     * @return 存档中的解的副本.
+     */
+    Population getSolutions();
+
+    void clear();
+
+}
@@ -0,0 +1,403 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.checkpoint;
+
+import debacharya.nsgaii.RandomSource;
+import debacharya.nsgaii.datastructure.AbstractAllele;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 运行断点.
+ * Holds everything `NSGA2.resume(Checkpoint)` needs to continue a run: the parent and child populations of the last
+ * completed generation (genes, objective values, constraint violation, rank, crowding distance and whether the
+ * objectives and constraints were computed), the generation counter, the cumulative evaluation count, the elapsed
+ * time, the hypervolume at that generation and the state of a seeded `RandomSource`.
+ * <p>
+ * The binary layout is: magic, format version, the scalar fields, then both populations with boolean genes bit-packed
+ * into longs or real genes as doubles, and finally a CRC32 of everything before it, so a truncated or corrupted file
+ * is rejected instead of being resumed. `write(Path)` writes to a temporary sibling file, forces it to disk and
+ * renames it over the target, so the target always holds either the previous or the new checkpoint.
+ * <p>
+ * With `Configuration.setRandomSeed(Long)` the resumed run continues the random stream where the checkpointed one
+ * was; without a seed the operators use `ThreadLocalRandom`, which cannot be captured, so a resumed run continues
+ * with a fresh random stream.
+ */
+public class Checkpoint {
+
+    public static final String CHECKPOINT_CORRUPTED = "The checkpoint is corrupted or was not written by this version.";
+    public static final String CHECKPOINT_MISMATCH = "The checkpoint does not match the chromosome length, " +
+            "population size or number of objectives of the configuration.";
+    public static final String UNSUPPORTED_ALLELE =
+            "Checkpoints support only BooleanAllele or DoubleAllele genetic codes.";
+
+    private static final int MAGIC = 0x4E534743;
+    private static final short VERSION = 4;
+    private static final byte BOOLEAN_ALLELE = 0;
+    private static final byte DOUBLE_ALLELE = 1;
+    private static final byte EVALUATED = 1;
+    private static final byte CONSTRAINTS_EVALUATED = 2;
+
+    private final int generation;
+    private final long totalEvaluations;
+    private final long elapsedNanos;
+    private final double hypervolume;
+    private final Population parent;
+    private final Population child;
+    private final Long randomState;
+
+    public Checkpoint(int generation,
+                      long totalEvaluations,
+                      long elapsedNanos,
+                      double hypervolume,
+                      Population parent,
+                      Population child) {
+        this(generation, totalEvaluations, elapsedNanos, hypervolume, parent, child, null);
+    }
+
+    /**
+     * @param randomState `RandomSource.getState()` 的值, 未设置随机种子时为 null.
+     */
+    public Checkpoint(int generation,
+                      long totalEvaluations,
+                      long elapsedNanos,
+                      double hypervolume,
+                      Population parent,
+                      Population child,
+                      Long randomState) {
+
+        this.generation = generation;
+        this.totalEvaluations = totalEvaluations;
+        this.elapsedNanos = elapsedNanos;
+        this.hypervolume = hypervolume;
+        this.parent = parent;
+        this.child = child;
+        this.randomState = randomState;
+
+    }
+
+    /**
+     * @param report      当前代的报告.
+     * @param hypervolume 当前代父种群的超体积, 未计算时为 NaN.
+     * @return 由报告生成的断点, 与报告共享种群, 并记录 `RandomSource` 的当前状态.
+     */
+    public static Checkpoint of(GenerationReport report, double hypervolume) {
+        return new Checkpoint(
+                report.getGeneration(),
+                report.getTotalEvaluations(),
+                report.getElapsedNanos(),
+                hypervolume,
+                report.getParent(),
+                report.getChild(),
+                Checkpoint.currentRandomState()
+        );
+    }
+
+    /**
+     * @return 设置了随机种子时 `RandomSource` 的当前状态, 否则为 null.
+     */
+    public static Long currentRandomState() {
+        return RandomSource.isSeeded() ? RandomSource.getState() : null;
+    }
+
+    public static Checkpoint read(Path file) throws IOException {
+        return Checkpoint.decode(Files.readAllBytes(file));
+    }
+
+    public static Checkpoint decode(byte[] bytes) throws IOException {
+
+        if (bytes.length < Integer.BYTES * 2) {
+            throw new IOException(Checkpoint.CHECKPOINT_CORRUPTED);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        if (crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong()) {
+            throw new IOException(Checkpoint.CHECKPOINT_CORRUPTED);
+        }
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - Long.BYTES));
+        if (input.readInt() != Checkpoint.MAGIC || input.readShort() != Checkpoint.VERSION) {
+            throw new IOException(Checkpoint.CHECKPOINT_CORRUPTED);
+        }
+
+        int generation = input.readInt();
+        long totalEvaluations = input.readLong();
+        long elapsedNanos = input.readLong();
+        double hypervolume = input.readDouble();
+        Long randomState = input.readBoolean() ? input.readLong() : null;
+        Population parent = Checkpoint.readPopulation(input);
+        Population child = Checkpoint.readPopulation(input);
+
+        return new Checkpoint(generation, totalEvaluations, elapsedNanos, hypervolume, parent, child, randomState);
+
+    }
+
+    /**
+     * 编码为紧凑的二进制格式.
+     *
+     * @return encoded checkpoint.
+     */
+    public byte[] encode() {
+
+        int length = this.getChromosomeLength();
+        int objectives = this.getObjectiveCount();
+        Chromosome template = this.template();
+        boolean real = template != null && template.getGeneticCode().get(0) instanceof DoubleAllele;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                64 + 2 * this.parent.size() * (length / 8 + 64));
+
+        try {
+
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(Checkpoint.MAGIC);
+            output.writeShort(Checkpoint.VERSION);
+            output.writeInt(this.generation);
+            output.writeLong(this.totalEvaluations);
+            output.writeLong(this.elapsedNanos);
+            output.writeDouble(this.hypervolume);
+            output.writeBoolean(this.randomState != null);
+            if (this.randomState != null) {
+                output.writeLong(this.randomState);
+            }
+            Checkpoint.writePopulation(output, this.parent, length, objectives, real);
+            Checkpoint.writePopulation(output, this.child, length, objectives, real);
+
+            CRC32 crc = new CRC32();
+            byte[] body = bytes.toByteArray();
+            crc.update(body, 0, body.length);
+            output.writeLong(crc.getValue());
+
+        } catch (IOException e) {
+            // ByteArrayOutputStream 不会抛出 IOException.
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+
+    }
+
+    /**
+     * 原子写入: 先写临时文件, 再重命名覆盖目标文件.
+     *
+     * @param file 目标文件.
+     */
+    public void write(Path file) throws IOException {
+        Checkpoint.write(file, this.encode());
+    }
+
+    static void write(Path file, byte[] encoded) throws IOException {
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getTotalEvaluations() {
+        return totalEvaluations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getHypervolume() {
+        return hypervolume;
+    }
+
+    public Population getParent() {
+        return parent;
+    }
+
+    public Population getChild() {
+        return child;
+    }
+
+    public Long getRandomState() {
+        return randomState;
+    }
+
+    public int getChromosomeLength() {
+        Chromosome template = this.template();
+        return template == null ? 0 : template.getLength();
+    }
+
+    public int getObjectiveCount() {
+        Chromosome template = this.template();
+        return template == null ? 0 : template.getObjectiveValues().size();
+    }
+
+    // 子种群可以为空, 例如去重后没有新的子代, 所以长度与目标数优先取自父种群.
+    private Chromosome template() {
+        if (!this.parent.getPopulace().isEmpty()) {
+            return this.parent.get(0);
+        }
+        return this.child.getPopulace().isEmpty() ? null : this.child.get(0);
+    }
+
+    private static void writePopulation(DataOutputStream output,
+                                        Population population,
+                                        int length,
+                                        int objectives,
+                                        boolean real) throws IOException {
+
+        output.writeInt(population.size());
+        output.writeInt(length);
+        output.writeInt(objectives);
+        output.writeByte(real ? Checkpoint.DOUBLE_ALLELE : Checkpoint.BOOLEAN_ALLELE);
+
+        for (Chromosome chromosome : population.getPopulace()) {
+
+            if (chromosome.getLength() != length || chromosome.getObjectiveValues().size() != objectives)
+                throw new UnsupportedOperationException(Checkpoint.CHECKPOINT_MISMATCH);
+
+            List<AbstractAllele> geneticCode = chromosome.getGeneticCode();
+            long word = 0;
+
+            for (int i = 0; i < length && real; i++) {
+                AbstractAllele allele = geneticCode.get(i);
+                if (!(allele instanceof DoubleAllele))
+                    throw new UnsupportedOperationException(Checkpoint.UNSUPPORTED_ALLELE);
+                output.writeDouble(((DoubleAllele) allele).getGene());
+            }
+
+            for (int i = 0; i < length && !real; i++) {
+
+                AbstractAllele allele = geneticCode.get(i);
+                if (!(allele instanceof BooleanAllele))
+                    throw new UnsupportedOperationException(Checkpoint.UNSUPPORTED_ALLELE);
+
+                if (((BooleanAllele) allele).getGene()) {
+                    word |= 1L << (i & 63);
+                }
+                if ((i & 63) == 63 || i == length - 1) {
+                    output.writeLong(word);
+                    word = 0;
+                }
+
+            }
+
+            for (double value : chromosome.getObjectiveValues()) {
+                output.writeDouble(value);
+            }
+            output.writeDouble(chromosome.getFitness());
+            output.writeDouble(chromosome.getCrowdingDistance());
+            output.writeDouble(chromosome.getConstraintViolation());
+            output.writeInt(chromosome.getRank());
+            output.writeByte((chromosome.isEvaluated() ? Checkpoint.EVALUATED : 0) |
+                    (chromosome.isConstraintsEvaluated() ? Checkpoint.CONSTRAINTS_EVALUATED : 0));
+
+        }
+
+    }
+
+    private static Population readPopulation(DataInputStream input) throws IOException {
+
+        int size = input.readInt();
+        int length = input.readInt();
+        int objectives = input.readInt();
+
+        byte allele = input.readByte();
+
+        if (size < 0 || length < 0 || objectives < 0 ||
+                (allele != Checkpoint.BOOLEAN_ALLELE && allele != Checkpoint.DOUBLE_ALLELE)) {
+            throw new IOException(Checkpoint.CHECKPOINT_CORRUPTED);
+        }
+
+        List<Chromosome> populace = new ArrayList<>(size);
+
+        for (int c = 0; c < size; c++) {
+
+            List<AbstractAllele> geneticCode = new ArrayList<>(length);
+            long word = 0;
+
+            for (int i = 0; i < length && allele == Checkpoint.DOUBLE_ALLELE; i++) {
+                geneticCode.add(new DoubleAllele(input.readDouble()));
+            }
+
+            for (int i = 0; i < length && allele == Checkpoint.BOOLEAN_ALLELE; i++) {
+                if ((i & 63) == 0) {
+                    word = input.readLong();
+                }
+                geneticCode.add(new BooleanAllele((word >>> (i & 63) & 1L) == 1L));
+            }
+
+            Chromosome chromosome = new Chromosome(geneticCode);
+            for (int i = 0; i < objectives; i++) {
+                chromosome.addObjectiveValue(i, input.readDouble());
+            }
+            chromosome.setFitness(input.readDouble());
+            chromosome.setCrowdingDistance(input.readDouble());
+            chromosome.setConstraintViolation(input.readDouble());
+            chromosome.setRank(input.readInt());
+            byte flags = input.readByte();
+            chromosome.setEvaluated((flags & Checkpoint.EVALUATED) != 0);
+            chromosome.setConstraintsEvaluated((flags & Checkpoint.CONSTRAINTS_EVALUATED) != 0);
+            populace.add(chromosome);
+
+        }
+
+        return new Population(populace);
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.checkpoint;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.metrics.Hypervolume;
+import debacharya.nsgaii.plugin.GenerationListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 周期性写入断点的监听器.
+ * Every `interval` generations the populations are copied on the algorithm thread, which is the only work the
+ * generation loop pays for; the hypervolume, the encoding and the atomic write happen on a single background thread.
+ * If a write is still in progress when the next checkpoint is due, only the newest pending checkpoint is written.
+ * `onTerminate` waits for the last write to finish, so the file is complete once `NSGA2.run()` returns.
+ */
+@Slf4j
+public class CheckpointWriter implements GenerationListener {
+
+    private final Path file;
+    private final int interval;
+    private final AtomicReference<Checkpoint> pending = new AtomicReference<>();
+
+    private ExecutorService executor;
+    private double[] referencePoint;
+
+    /**
+     * @param file     断点文件.
+     * @param interval 每隔多少代写一次断点.
+     */
+    public CheckpointWriter(Path file, int interval) {
+
+        if (interval < 1)
+            throw new UnsupportedOperationException("Checkpoint interval cannot be less than 1.");
+
+        this.file = file;
+        this.interval = interval;
+
+    }
+
+    @Override
+    public void onStart(Configuration configuration) {
+
+        this.referencePoint = configuration.getHypervolumeReferencePoint();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nsga2-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+    @Override
+    public void onGeneration(GenerationReport report) {
+
+        if (report.getGeneration() % this.interval != 0) {
+            return;
+        }
+
+        Checkpoint checkpoint = new Checkpoint(
+                report.getGeneration(),
+                report.getTotalEvaluations(),
+                report.getElapsedNanos(),
+                Double.NaN,
+                CheckpointWriter.copy(report.getParent()),
+                CheckpointWriter.copy(report.getChild()),
+                Checkpoint.currentRandomState()
+        );
+
+        if (this.pending.getAndSet(checkpoint) == null) {
+            this.executor.execute(this::writePending);
+        }
+
+    }
+
+    @Override
+    public void onTerminate(Population finalChild) {
+
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void writePending() {
+
+        Checkpoint checkpoint = this.pending.getAndSet(null);
+        if (checkpoint == null) {
+            return;
+        }
+
+        if (this.referencePoint != null) {
+            checkpoint = new Checkpoint(
+                    checkpoint.getGeneration(),
+                    checkpoint.getTotalEvaluations(),
+                    checkpoint.getElapsedNanos(),
+                    Hypervolume.computeOrEstimate(checkpoint.getParent(), this.referencePoint),
+                    checkpoint.getParent(),
+                    checkpoint.getChild(),
+                    checkpoint.getRandomState()
+            );
+        }
+
+        try {
+            checkpoint.write(this.file);
+        } catch (IOException | RuntimeException e) {
+            log.error("could not write checkpoint of generation {} to {}", checkpoint.getGeneration(), this.file, e);
+        }
+
+    }
+
+    private static Population copy(Population population) {
+
+        List<Chromosome> populace = new ArrayList<>(population.size());
+        for (Chromosome chromosome : population.getPopulace()) {
+            populace.add(chromosome.getSnapshot());
+        }
+        return new Population(populace);
+
+    }
+
+}
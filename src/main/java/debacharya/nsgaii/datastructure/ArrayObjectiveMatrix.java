@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.datastructure;
+
+import java.util.List;
+
+/**
+ * 按行存放在一维数组中的目标值矩阵.
+ */
+public class ArrayObjectiveMatrix implements ObjectiveMatrix {
+
+    private final double[] values;
+    private final int size;
+    private final int objectiveCount;
+    private final double[] constraintViolations;
+
+    public ArrayObjectiveMatrix(double[] values, int size, int objectiveCount) {
+        this(values, size, objectiveCount, null);
+    }
+
+    /**
+     * @param values         按行存放的目标值, 长度为 size * objectiveCount.
+     * @param size           个体数.
+     * @param objectiveCount       目标数.
+     * @param constraintViolations 每个个体的约束违反量, 为 null 时所有个体都是可行解.
+     */
+    public ArrayObjectiveMatrix(double[] values, int size, int objectiveCount, double[] constraintViolations) {
+
+        if (values.length != size * objectiveCount)
+            throw new UnsupportedOperationException("Matrix must hold exactly size * objectiveCount values.");
+        if (constraintViolations != null && constraintViolations.length != size)
+            throw new UnsupportedOperationException("There must be exactly one constraint violation per individual.");
+
+        this.values = values;
+        this.size = size;
+        this.objectiveCount = objectiveCount;
+        this.constraintViolations = constraintViolations;
+
+    }
+
+    /**
+     * 把种群的目标值复制到矩阵中, 行号与 `Population.get(int)` 的索引一致.
+     *
+     * @param population 种群.
+     * @return objective matrix.
+     */
+    public static ArrayObjectiveMatrix of(Population population) {
+
+        int size = population.size();
+        int objectiveCount = size == 0 ? 0 : population.get(0).getObjectiveValues().size();
+        double[] values = new double[size * objectiveCount];
+        double[] constraintViolations = null;
+
+        for (int i = 0, offset = 0; i < size; i++, offset += objectiveCount) {
+            List<Double> objectiveValues = population.get(i).getObjectiveValues();
+            for (int k = 0; k < objectiveCount; k++) {
+                values[offset + k] = objectiveValues.get(k);
+            }
+            if (!population.get(i).isFeasible()) {
+                if (constraintViolations == null) {
+                    constraintViolations = new double[size];
+                }
+                constraintViolations[i] = population.get(i).getConstraintViolation();
+            }
+        }
+
+        return new ArrayObjectiveMatrix(values, size, objectiveCount, constraintViolations);
+
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int getObjectiveCount() {
+        return this.objectiveCount;
+    }
+
+    @Override
+    public double getObjective(int individual, int objective) {
+        return this.values[individual * this.objectiveCount + objective];
+    }
+
+    @Override
+    public double getConstraintViolation(int individual) {
+        return this.constraintViolations == null ? 0 : this.constraintViolations[individual];
+    }
+
+    /**
+     * @return 底层的行优先数组, 不复制.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+}
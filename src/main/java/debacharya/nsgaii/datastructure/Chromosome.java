@@ -51,6 +51,12 @@ public class Chromosome {
     private double fitness = Double.MIN_VALUE;
     // 当前染色体所在的层级排名.
     private int rank = -1;
+    // 约束违反量之和, 0 表示可行解.
+    private double constraintViolation = 0;
+    // 目标值已由目标函数计算, 之后的代中不再重复计算; 拷贝不继承该标记.
+    private boolean evaluated = false;
+    // 约束违反量已经计算; 不可行解不会被标记为 evaluated, 单独记录以免每代重复计算约束; 拷贝同样不继承该标记.
+    private boolean constraintsEvaluated = false;
 
     /**
      * 染色体构造函数.
@@ -80,6 +86,7 @@ public class Chromosome {
         this.dominatedCount = chromosome.dominatedCount;
         this.fitness = chromosome.fitness;
         this.rank = chromosome.rank;
+        this.constraintViolation = chromosome.constraintViolation;
 
     }
 
@@ -170,6 +177,34 @@ public class Chromosome {
         this.rank = rank;
     }
 
+    public double getConstraintViolation() {
+        return constraintViolation;
+    }
+
+    public void setConstraintViolation(double constraintViolation) {
+        this.constraintViolation = constraintViolation;
+    }
+
+    public boolean isFeasible() {
+        return this.constraintViolation == 0;
+    }
+
+    public boolean isEvaluated() {
+        return evaluated;
+    }
+
+    public void setEvaluated(boolean evaluated) {
+        this.evaluated = evaluated;
+    }
+
+    public boolean isConstraintsEvaluated() {
+        return constraintsEvaluated;
+    }
+
+    public void setConstraintsEvaluated(boolean constraintsEvaluated) {
+        this.constraintsEvaluated = constraintsEvaluated;
+    }
+
     public int getLength() {
         return this.geneticCode.size();
     }
@@ -178,6 +213,20 @@ public class Chromosome {
         return new Chromosome(this);
     }
 
+    /**
+     * 与 `getCopy()` 相同, 但保留 evaluated 与约束已计算的标记, 用于不会再被修改的快照（报告、断点）.
+     *
+     * @return 染色体快照.
+     */
+    public Chromosome getSnapshot() {
+
+        Chromosome snapshot = new Chromosome(this);
+        snapshot.evaluated = this.evaluated;
+        snapshot.constraintsEvaluated = this.constraintsEvaluated;
+        return snapshot;
+
+    }
+
     public void reset() {
         this.dominatedCount = 0;
         this.rank = Integer.MAX_VALUE;
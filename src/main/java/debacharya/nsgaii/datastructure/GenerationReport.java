@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.datastructure;
+
+import debacharya.nsgaii.metrics.Hypervolume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单代运行报告.
+ * A read-only view of one generation handed to every `GenerationListener`. The parent and child populations are
+ * wrapped without copying the chromosomes; the wrapped lists are never modified by the algorithm once the report
+ * has been published, but attributes of the chromosomes themselves (rank, crowding distance) are re-assigned in
+ * later generations, so a listener that reads the report from another thread should work on a `snapshot()`.
+ * <p>
+ * The hypervolume of the parent population is computed on first request and kept on the report, so a termination
+ * criterion and the monitor that both track it share a single computation per generation.
+ */
+public class GenerationReport {
+
+    /**
+     * 一代之中的各个计算阶段.
+     */
+    public enum Phase {
+        EVALUATION,
+        RANKING,
+        CROWDING,
+        SELECTION,
+        OFFSPRING
+    }
+
+    private final int generation;
+    private final Population parent;
+    private final Population child;
+    private final long[] phaseNanos;
+    private final long generationNanos;
+    private final long evaluations;
+    private final long totalEvaluations;
+    private final long elapsedNanos;
+
+    private double[] hypervolumeReference;
+    private double hypervolume;
+
+    /**
+     * @param generation       当前代数, 初代为 0.
+     * @param parent           父种群.
+     * @param child            子种群.
+     * @param phaseNanos       各阶段耗时（纳秒）, 按 `Phase.ordinal()` 索引.
+     * @param generationNanos  当前代总耗时（纳秒）.
+     * @param evaluations      当前代目标函数评价次数.
+     * @param totalEvaluations 截至当前代的累计评价次数.
+     * @param elapsedNanos     自运行开始的耗时（纳秒）.
+     */
+    public GenerationReport(int generation,
+                            Population parent,
+                            Population child,
+                            long[] phaseNanos,
+                            long generationNanos,
+                            long evaluations,
+                            long totalEvaluations,
+                            long elapsedNanos) {
+
+        this.generation = generation;
+        this.parent = new Population(Collections.unmodifiableList(parent.getPopulace()));
+        this.child = new Population(Collections.unmodifiableList(child.getPopulace()));
+        this.phaseNanos = phaseNanos;
+        this.generationNanos = generationNanos;
+        this.evaluations = evaluations;
+        this.totalEvaluations = totalEvaluations;
+        this.elapsedNanos = elapsedNanos;
+
+    }
+
+    /**
+     * 复制报告中的染色体.
+     * The copy no longer shares chromosomes with the algorithm, so it can be read at any time from any thread.
+     *
+     * @return 与运行中的种群相互独立的报告.
+     */
+    public GenerationReport snapshot() {
+
+        GenerationReport snapshot = new GenerationReport(
+                this.generation,
+                GenerationReport.copy(this.parent),
+                GenerationReport.copy(this.child),
+                this.phaseNanos.clone(),
+                this.generationNanos,
+                this.evaluations,
+                this.totalEvaluations,
+                this.elapsedNanos
+        );
+
+        synchronized (this) {
+            snapshot.hypervolumeReference = this.hypervolumeReference;
+            snapshot.hypervolume = this.hypervolume;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 父种群的超体积.
+     * Computed with `Hypervolume.computeOrEstimate` the first time it is asked for and cached for that reference point.
+     *
+     * @param referencePoint 参考点.
+     * @return 父种群的超体积或其估计值.
+     */
+    public synchronized double getHypervolume(double[] referencePoint) {
+
+        if (!Arrays.equals(this.hypervolumeReference, referencePoint)) {
+            this.hypervolume = Hypervolume.computeOrEstimate(this.parent, referencePoint);
+            this.hypervolumeReference = referencePoint.clone();
+        }
+        return this.hypervolume;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public Population getParent() {
+        return parent;
+    }
+
+    public Population getChild() {
+        return child;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return this.phaseNanos[phase.ordinal()];
+    }
+
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getTotalEvaluations() {
+        return totalEvaluations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder response = new StringBuilder("Generation: ").append(this.generation)
+                .append(" | Evaluations: ").append(this.evaluations)
+                .append(" | Time: ").append(this.generationNanos / 1_000_000).append("ms [");
+
+        for (Phase phase : Phase.values()) {
+            response.append(phase.name().toLowerCase()).append(": ")
+                    .append(this.phaseNanos[phase.ordinal()] / 1_000_000).append("ms ");
+        }
+
+        return response.append("]").toString();
+    }
+
+    private static Population copy(Population population) {
+
+        List<Chromosome> populace = new ArrayList<>(population.size());
+
+        for (Chromosome chromosome : population.getPopulace())
+            populace.add(chromosome.getSnapshot());
+
+        return new Population(populace);
+    }
+
+}
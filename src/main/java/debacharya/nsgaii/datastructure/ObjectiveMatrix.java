@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.datastructure;
+
+/**
+ * 目标值矩阵.
+ * A read-only, index-based view of the objective values of a population, so that the primitive sorting, crowding and
+ * selection engines in `debacharya.nsgaii.plugin.sorting` can work on any storage: a `Population` copied into an
+ * `ArrayObjectiveMatrix`, or an `OffHeapPopulation` read in place. Objectives are maximised and constraints follow
+ * the constrained-domination rule, like `NSGA2.isDominant`.
+ */
+public interface ObjectiveMatrix {
+
+    /**
+     * @return 个体数.
+     */
+    int size();
+
+    /**
+     * @return 目标数.
+     */
+    int getObjectiveCount();
+
+    /**
+     * @param individual 个体索引.
+     * @param objective  目标索引.
+     * @return 目标值.
+     */
+    double getObjective(int individual, int objective);
+
+    /**
+     * @param individual 个体索引.
+     * @return 约束违反量之和, 0 表示可行解; 没有约束时恒为 0.
+     */
+    default double getConstraintViolation(int individual) {
+        return 0;
+    }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.datastructure;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 堆外种群.
+ * Stores every individual as a fixed-stride record in direct or memory-mapped `ByteBuffer`s instead of one
+ * `Chromosome` with one `BooleanAllele` object per gene, so populations of millions of individuals neither exhaust the
+ * heap nor put pressure on the garbage collector. A record is laid out as
+ * <p>
+ * `[genome: ceil(length / 64) longs][objectives: doubles][crowding distance: double][constraint violation: double]
+ * [rank: int][padding]`
+ * <p>
+ * with gene `i` stored in bit `i % 64` of genome word `i / 64`. Records are grouped into segments of a power-of-two
+ * number of records, each segment smaller than 1 GiB, so the record count is not limited by the 2 GiB size of a single
+ * buffer. The class implements `ObjectiveMatrix`, so the engines in `debacharya.nsgaii.plugin.sorting` read the
+ * objective values in place. Byte order is native; mapped files are scratch space, not an interchange format.
+ * <p>
+ * Instances are not thread-safe for writes; concurrent writers must work on disjoint records.
+ */
+public class OffHeapPopulation implements ObjectiveMatrix {
+
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+    private final int capacity;
+    private final int chromosomeLength;
+    private final int objectiveCount;
+    private final int genomeWords;
+    private final int stride;
+    private final int objectiveOffset;
+    private final int crowdingOffset;
+    private final int violationOffset;
+    private final int rankOffset;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final ByteBuffer[] segments;
+
+    private OffHeapPopulation(int capacity, int chromosomeLength, int objectiveCount, FileChannel channel) throws IOException {
+
+        if (capacity < 1)
+            throw new UnsupportedOperationException("Capacity cannot be less than 1.");
+        if (chromosomeLength < 1)
+            throw new UnsupportedOperationException("Chromosome length cannot be less than 1.");
+
+        this.capacity = capacity;
+        this.chromosomeLength = chromosomeLength;
+        this.objectiveCount = objectiveCount;
+        this.genomeWords = (chromosomeLength + 63) >>> 6;
+        this.objectiveOffset = this.genomeWords * Long.BYTES;
+        this.crowdingOffset = this.objectiveOffset + objectiveCount * Double.BYTES;
+        this.violationOffset = this.crowdingOffset + Double.BYTES;
+        this.rankOffset = this.violationOffset + Double.BYTES;
+        this.stride = (this.rankOffset + Integer.BYTES + 7) & ~7;
+
+        if (this.stride > OffHeapPopulation.MAX_SEGMENT_BYTES)
+            throw new UnsupportedOperationException("A single record cannot be larger than 1 GiB.");
+
+        int recordsPerSegment = Integer.highestOneBit(OffHeapPopulation.MAX_SEGMENT_BYTES / this.stride);
+        this.segmentShift = Integer.numberOfTrailingZeros(recordsPerSegment);
+        this.segmentMask = recordsPerSegment - 1;
+        this.segments = new ByteBuffer[(int) (((long) capacity + recordsPerSegment - 1) >>> this.segmentShift)];
+
+        for (int s = 0; s < this.segments.length; s++) {
+
+            int records = Math.min(recordsPerSegment, capacity - (s << this.segmentShift));
+            long bytes = (long) records * this.stride;
+            ByteBuffer segment = channel == null
+                    ? ByteBuffer.allocateDirect((int) bytes)
+                    : channel.map(FileChannel.MapMode.READ_WRITE, (long) s * recordsPerSegment * this.stride, bytes);
+            this.segments[s] = segment.order(ByteOrder.nativeOrder());
+
+        }
+
+    }
+
+    /**
+     * 在直接内存中分配种群.
+     *
+     * @param capacity         个体数.
+     * @param chromosomeLength 染色体长度（位数）.
+     * @param objectiveCount   目标数.
+     * @return off-heap population.
+     */
+    public static OffHeapPopulation allocateDirect(int capacity, int chromosomeLength, int objectiveCount) {
+
+        try {
+            return new OffHeapPopulation(capacity, chromosomeLength, objectiveCount, null);
+        } catch (IOException e) {
+            // 不映射文件时不会发生.
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+    /**
+     * 把种群映射到文件, 文件不存在时创建. 数据由操作系统按需换入换出, 种群大小因此可以超过物理内存.
+     *
+     * @param file             映射文件.
+     * @param capacity         个体数.
+     * @param chromosomeLength 染色体长度（位数）.
+     * @param objectiveCount   目标数.
+     * @return off-heap population.
+     */
+    public static OffHeapPopulation map(Path file, int capacity, int chromosomeLength, int objectiveCount) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // 映射在通道关闭后仍然有效.
+            return new OffHeapPopulation(capacity, chromosomeLength, objectiveCount, channel);
+        }
+
+    }
+
+    @Override
+    public int size() {
+        return this.capacity;
+    }
+
+    @Override
+    public int getObjectiveCount() {
+        return this.objectiveCount;
+    }
+
+    @Override
+    public double getObjective(int individual, int objective) {
+        return this.segment(individual).getDouble(this.offset(individual) + this.objectiveOffset + objective * Double.BYTES);
+    }
+
+    public void setObjective(int individual, int objective, double value) {
+        this.segment(individual).putDouble(this.offset(individual) + this.objectiveOffset + objective * Double.BYTES, value);
+    }
+
+    public int getChromosomeLength() {
+        return chromosomeLength;
+    }
+
+    public int getGenomeWords() {
+        return genomeWords;
+    }
+
+    public boolean getGene(int individual, int gene) {
+        return (this.getGenomeWord(individual, gene >>> 6) >>> (gene & 63) & 1L) == 1L;
+    }
+
+    public void setGene(int individual, int gene, boolean value) {
+
+        long word = this.getGenomeWord(individual, gene >>> 6);
+        long mask = 1L << (gene & 63);
+        this.setGenomeWord(individual, gene >>> 6, value ? word | mask : word & ~mask);
+
+    }
+
+    public long getGenomeWord(int individual, int word) {
+        return this.segment(individual).getLong(this.offset(individual) + word * Long.BYTES);
+    }
+
+    public void setGenomeWord(int individual, int word, long value) {
+        this.segment(individual).putLong(this.offset(individual) + word * Long.BYTES, value);
+    }
+
+    public int getRank(int individual) {
+        return this.segment(individual).getInt(this.offset(individual) + this.rankOffset);
+    }
+
+    public void setRank(int individual, int rank) {
+        this.segment(individual).putInt(this.offset(individual) + this.rankOffset, rank);
+    }
+
+    public double getCrowdingDistance(int individual) {
+        return this.segment(individual).getDouble(this.offset(individual) + this.crowdingOffset);
+    }
+
+    public void setCrowdingDistance(int individual, double crowdingDistance) {
+        this.segment(individual).putDouble(this.offset(individual) + this.crowdingOffset, crowdingDistance);
+    }
+
+    @Override
+    public double getConstraintViolation(int individual) {
+        return this.segment(individual).getDouble(this.offset(individual) + this.violationOffset);
+    }
+
+    public void setConstraintViolation(int individual, double constraintViolation) {
+        this.segment(individual).putDouble(this.offset(individual) + this.violationOffset, constraintViolation);
+    }
+
+    /**
+     * 把一条记录整体复制到另一个种群（可以是自身）, 两者的染色体长度与目标数必须相同.
+     *
+     * @param individual 源记录索引.
+     * @param target     目标种群.
+     * @param position   目标记录索引.
+     */
+    public void copyTo(int individual, OffHeapPopulation target, int position) {
+
+        if (target.stride != this.stride || target.objectiveCount != this.objectiveCount)
+            throw new UnsupportedOperationException("Records can only be copied between populations of the same layout.");
+
+        // 通过 Buffer 调用 limit/position, 以免在 Java 8 上链接到 Java 9 才有的协变返回方法.
+        ByteBuffer source = this.segment(individual).duplicate();
+        int offset = this.offset(individual);
+        ((Buffer) source).limit(offset + this.stride);
+        ((Buffer) source).position(offset);
+
+        ByteBuffer destination = target.segment(position).duplicate();
+        ((Buffer) destination).position(target.offset(position));
+        destination.put(source);
+
+    }
+
+    /**
+     * 把染色体写入记录.
+     *
+     * @param individual 记录索引.
+     * @param chromosome 染色体, 基因必须是 `BooleanAllele`.
+     */
+    public void store(int individual, Chromosome chromosome) {
+
+        List<AbstractAllele> geneticCode = chromosome.getGeneticCode();
+        if (geneticCode.size() != this.chromosomeLength)
+            throw new UnsupportedOperationException("Chromosome length does not match the record layout.");
+
+        long word = 0;
+        for (int i = 0; i < this.chromosomeLength; i++) {
+            if (((BooleanAllele) geneticCode.get(i)).getGene()) {
+                word |= 1L << (i & 63);
+            }
+            if ((i & 63) == 63 || i == this.chromosomeLength - 1) {
+                this.setGenomeWord(individual, i >>> 6, word);
+                word = 0;
+            }
+        }
+
+        List<Double> objectiveValues = chromosome.getObjectiveValues();
+        for (int k = 0; k < this.objectiveCount; k++) {
+            this.setObjective(individual, k, k < objectiveValues.size() ? objectiveValues.get(k) : 0);
+        }
+        this.setCrowdingDistance(individual, chromosome.getCrowdingDistance());
+        this.setConstraintViolation(individual, chromosome.getConstraintViolation());
+        this.setRank(individual, chromosome.getRank());
+
+    }
+
+    /**
+     * 把记录还原为堆上的染色体, 用于与目标函数等基于 `Chromosome` 的组件交互.
+     *
+     * @param individual 记录索引.
+     * @return chromosome.
+     */
+    public Chromosome load(int individual) {
+
+        List<BooleanAllele> geneticCode = new ArrayList<>(this.chromosomeLength);
+        for (int i = 0; i < this.chromosomeLength; i++) {
+            geneticCode.add(new BooleanAllele(this.getGene(individual, i)));
+        }
+
+        Chromosome chromosome = new Chromosome(geneticCode);
+        for (int k = 0; k < this.objectiveCount; k++) {
+            chromosome.addObjectiveValue(k, this.getObjective(individual, k));
+        }
+        chromosome.setCrowdingDistance(this.getCrowdingDistance(individual));
+        chromosome.setConstraintViolation(this.getConstraintViolation(individual));
+        chromosome.setRank(this.getRank(individual));
+        return chromosome;
+
+    }
+
+    /**
+     * 把映射文件中的修改写回磁盘, 对直接内存分配的种群没有作用.
+     */
+    public void force() {
+        for (ByteBuffer segment : this.segments) {
+            if (segment instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+    }
+
+    private ByteBuffer segment(int individual) {
+        return this.segments[individual >>> this.segmentShift];
+    }
+
+    private int offset(int individual) {
+        return (individual & this.segmentMask) * this.stride;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.metrics;
+
+/**
+ * 世代距离 (GD) 与反世代距离 (IGD).
+ * GD is the mean Euclidean distance from each point of an approximation to its nearest point of a reference front and
+ * measures convergence; IGD is the mean distance from each reference point to its nearest approximation point and
+ * measures convergence and spread together. Both are the p = 1 variants, which unlike the original root-mean
+ * definitions do not shrink just because the approximation has more points.
+ * <p>
+ * Both sets must use the same sign convention: benchmark fronts from `BenchmarkProblem.getParetoFront(int)` are in
+ * minimisation form, so a population evaluated through `BenchmarkProblem.getObjectives()` has to be converted with
+ * `BenchmarkProblem.minimised(Population)` first.
+ */
+public class GenerationalDistance {
+
+    private GenerationalDistance() {
+    }
+
+    /**
+     * @param approximation 按行存放的近似前沿.
+     * @param reference     按行存放的参考前沿.
+     * @return GD.
+     */
+    public static double generational(double[][] approximation, double[][] reference) {
+        return GenerationalDistance.meanNearestDistance(approximation, reference);
+    }
+
+    /**
+     * @param approximation 按行存放的近似前沿.
+     * @param reference     按行存放的参考前沿.
+     * @return IGD.
+     */
+    public static double inverted(double[][] approximation, double[][] reference) {
+        return GenerationalDistance.meanNearestDistance(reference, approximation);
+    }
+
+    private static double meanNearestDistance(double[][] from, double[][] to) {
+
+        if (from.length == 0 || to.length == 0)
+            throw new UnsupportedOperationException("Generational distance needs non-empty point sets.");
+
+        int m = from[0].length;
+        double[] flat = new double[to.length * m];
+        for (int j = 0; j < to.length; j++) {
+            System.arraycopy(to[j], 0, flat, j * m, m);
+        }
+
+        double total = 0;
+        for (double[] point : from) {
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int offset = 0; offset < flat.length; offset += m) {
+                double distance = 0;
+                for (int k = 0; k < m && distance < nearest; k++) {
+                    double difference = point[k] - flat[offset + k];
+                    distance += difference * difference;
+                }
+                nearest = Math.min(nearest, distance);
+            }
+            total += Math.sqrt(nearest);
+        }
+        return total / from.length;
+
+    }
+
+}
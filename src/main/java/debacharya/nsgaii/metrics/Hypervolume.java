@@ -0,0 +1,424 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.metrics;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 超体积指标（精确计算）.
+ * The hypervolume of a set of points is the volume of the objective space they dominate, bounded by a reference point.
+ * Objectives are maximised, the same as `NSGA2.isDominant`, so the reference point must be worse (smaller) than every
+ * point in every objective; points that are not strictly better than the reference point in all objectives contribute
+ * nothing. Two and three objectives use O(n log n) sort-and-sweep algorithms, more objectives use the WFG algorithm
+ * [DOI: 10.1109/TEVC.2010.2077298] with dimension slicing, bottoming out in the three objective sweep.
+ * <p>
+ * Internally every point is mirrored to a minimisation problem (`reference - value`), which makes the reference point
+ * the origin-far corner and lets all algorithms below work with the usual "smaller is better" convention.
+ */
+public class Hypervolume {
+
+    /**
+     * 精确计算的最大目标数, 更多目标时 `computeOrEstimate` 改用蒙特卡洛估计.
+     */
+    public static final int MAX_EXACT_OBJECTIVES = 8;
+
+    /**
+     * 估计使用固定种子, 同一前沿每次得到相同的估计值, 逐代比较时不会混入采样噪声.
+     */
+    private static final long ESTIMATOR_SEED = 42L;
+
+    private static final MonteCarloHypervolume ESTIMATOR = new MonteCarloHypervolume(
+            MonteCarloHypervolume.DEFAULT_SAMPLES,
+            MonteCarloHypervolume.DEFAULT_CONFIDENCE,
+            Hypervolume.ESTIMATOR_SEED
+    );
+
+    private Hypervolume() {
+    }
+
+    public static double compute(Population population, double[] referencePoint) {
+        return Hypervolume.compute(Hypervolume.objectiveMatrix(population.getPopulace()), referencePoint);
+    }
+
+    /**
+     * @param points         按行存放的目标值, 每行一个解.
+     * @param referencePoint 参考点, 在每个目标上都比所有解差.
+     * @return 超体积.
+     */
+    public static double compute(double[][] points, double[] referencePoint) {
+
+        List<double[]> mirrored = Hypervolume.mirror(points, referencePoint);
+        return Hypervolume.volume(mirrored, referencePoint.length);
+
+    }
+
+    /**
+     * 目标数不超过 `MAX_EXACT_OBJECTIVES` 时精确计算, 否则返回固定种子的 `MonteCarloHypervolume` 估计值.
+     * Meant for per-generation tracking where the cost has to stay bounded regardless of the number of objectives.
+     *
+     * @param population     种群.
+     * @param referencePoint 参考点.
+     * @return 超体积或其估计值.
+     */
+    public static double computeOrEstimate(Population population, double[] referencePoint) {
+
+        if (referencePoint.length <= Hypervolume.MAX_EXACT_OBJECTIVES) {
+            return Hypervolume.compute(population, referencePoint);
+        }
+        return Hypervolume.ESTIMATOR.estimate(population, referencePoint).getValue();
+
+    }
+
+    /**
+     * 每个解的独占超体积贡献, 即移除该解后超体积减少的量. 被支配或重复的解贡献为 0.
+     *
+     * @param points         按行存放的目标值.
+     * @param referencePoint 参考点.
+     * @return 与 points 一一对应的贡献.
+     */
+    public static double[] contributions(double[][] points, double[] referencePoint) {
+
+        int dimensions = referencePoint.length;
+        double[] result = new double[points.length];
+        double[][] mirrored = new double[points.length][];
+
+        for (int i = 0; i < points.length; i++) {
+            mirrored[i] = Hypervolume.mirror(points[i], referencePoint);
+        }
+
+        if (dimensions == 2) {
+            Hypervolume.contributions2D(mirrored, result);
+            return result;
+        }
+
+        List<double[]> others = new ArrayList<>(points.length);
+        for (int i = 0; i < points.length; i++) {
+            if (!Hypervolume.isInside(mirrored[i])) {
+                continue;
+            }
+            others.clear();
+            for (int j = 0; j < points.length; j++) {
+                if (j != i && Hypervolume.isInside(mirrored[j])) {
+                    others.add(mirrored[j]);
+                }
+            }
+            result[i] = Hypervolume.exclusive(mirrored[i], others, dimensions);
+        }
+        return result;
+
+    }
+
+    static double[][] objectiveMatrix(List<Chromosome> populace) {
+
+        double[][] points = new double[populace.size()][];
+
+        for (int i = 0; i < populace.size(); i++) {
+            List<Double> values = populace.get(i).getObjectiveValues();
+            points[i] = new double[values.size()];
+            for (int j = 0; j < values.size(); j++) {
+                points[i][j] = values.get(j);
+            }
+        }
+        return points;
+
+    }
+
+    static double[] mirror(double[] point, double[] referencePoint) {
+
+        double[] mirrored = new double[referencePoint.length];
+        for (int i = 0; i < referencePoint.length; i++) {
+            mirrored[i] = referencePoint[i] - point[i];
+        }
+        return mirrored;
+
+    }
+
+    static boolean isInside(double[] mirrored) {
+
+        for (double value : mirrored) {
+            if (value >= 0) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    /**
+     * 独占贡献: inclusive volume of the point minus the volume of the others limited to the point's box.
+     * Arguments are mirrored points (reference point at the origin, smaller is better).
+     */
+    static double exclusive(double[] point, List<double[]> others, int dimensions) {
+
+        List<double[]> limited = new ArrayList<>(others.size());
+
+        for (double[] other : others) {
+            double[] limit = new double[dimensions];
+            for (int k = 0; k < dimensions; k++) {
+                limit[k] = Math.max(point[k], other[k]);
+            }
+            limited.add(limit);
+        }
+        return Hypervolume.inclusive(point, dimensions) - Hypervolume.volume(limited, dimensions);
+
+    }
+
+    static double inclusive(double[] point, int dimensions) {
+
+        double volume = 1;
+        for (int k = 0; k < dimensions; k++) {
+            volume *= -point[k];
+        }
+        return volume;
+
+    }
+
+    /**
+     * Volume dominated by mirrored points, bounded by the origin. Points outside the box must have been removed.
+     */
+    static double volume(List<double[]> points, int dimensions) {
+
+        if (points.isEmpty()) {
+            return 0;
+        }
+        switch (dimensions) {
+            case 1:
+                double best = 0;
+                for (double[] point : points) {
+                    best = Math.min(best, point[0]);
+                }
+                return -best;
+            case 2:
+                return Hypervolume.volume2D(points);
+            case 3:
+                return Hypervolume.volume3D(points);
+            default:
+                return Hypervolume.wfg(points, dimensions);
+        }
+
+    }
+
+    private static List<double[]> mirror(double[][] points, double[] referencePoint) {
+
+        List<double[]> mirrored = new ArrayList<>(points.length);
+
+        for (double[] point : points) {
+            double[] candidate = Hypervolume.mirror(point, referencePoint);
+            if (Hypervolume.isInside(candidate)) {
+                mirrored.add(candidate);
+            }
+        }
+        return mirrored;
+
+    }
+
+    private static double volume2D(List<double[]> points) {
+
+        double[][] sorted = points.toArray(new double[0][]);
+        Arrays.sort(sorted, Comparator.comparingDouble((double[] p) -> p[0]).thenComparingDouble(p -> p[1]));
+
+        double volume = 0;
+        double previousY = 0;
+
+        for (double[] point : sorted) {
+            if (point[1] < previousY) {
+                volume += -point[0] * (previousY - point[1]);
+                previousY = point[1];
+            }
+        }
+        return volume;
+
+    }
+
+    /**
+     * 三维扫描: sweep the points by the third objective while keeping the two dimensional staircase of the points seen so
+     * far in a tree, updating its area as points are inserted.
+     */
+    private static double volume3D(List<double[]> points) {
+
+        double[][] sorted = points.toArray(new double[0][]);
+        Arrays.sort(sorted, Comparator.comparingDouble(p -> p[2]));
+
+        // x -> y, y strictly decreasing as x increases.
+        TreeMap<Double, Double> staircase = new TreeMap<>();
+        double area = 0;
+        double volume = 0;
+
+        for (int i = 0; i < sorted.length; i++) {
+
+            area += Hypervolume.insert(staircase, sorted[i][0], sorted[i][1]);
+            double nextZ = i + 1 < sorted.length ? sorted[i + 1][2] : 0;
+            volume += area * (nextZ - sorted[i][2]);
+
+        }
+        return volume;
+
+    }
+
+    /**
+     * Inserts a point into a two dimensional staircase and returns the area it adds.
+     */
+    private static double insert(TreeMap<Double, Double> staircase, double x, double y) {
+
+        Map.Entry<Double, Double> floor = staircase.floorEntry(x);
+        if (floor != null && floor.getValue() <= y) {
+            return 0;
+        }
+
+        double height = floor != null ? floor.getValue() : 0;
+        double added = 0;
+        double segmentStart = x;
+
+        Map.Entry<Double, Double> next = staircase.ceilingEntry(x);
+        while (next != null && next.getValue() >= y) {
+            added += (next.getKey() - segmentStart) * (height - y);
+            segmentStart = next.getKey();
+            height = next.getValue();
+            staircase.remove(next.getKey());
+            next = staircase.higherEntry(segmentStart);
+        }
+
+        double segmentEnd = next != null ? next.getKey() : 0;
+        added += (segmentEnd - segmentStart) * (height - y);
+        staircase.put(x, y);
+        return added;
+
+    }
+
+    private static double wfg(List<double[]> points, int dimensions) {
+
+        int last = dimensions - 1;
+        List<double[]> sorted = new ArrayList<>(Hypervolume.nonDominated(points, dimensions));
+        // 按最后一个目标从差到好排序, 之后每个点的限制集在最后一个目标上取值相同, 可以降一维计算.
+        sorted.sort(Comparator.comparingDouble((double[] p) -> -p[last]));
+
+        double volume = 0;
+        List<double[]> limited = new ArrayList<>(sorted.size());
+
+        for (int i = 0; i < sorted.size(); i++) {
+
+            double[] point = sorted.get(i);
+            limited.clear();
+            for (int j = i + 1; j < sorted.size(); j++) {
+                double[] other = sorted.get(j);
+                double[] limit = new double[last];
+                for (int k = 0; k < last; k++) {
+                    limit[k] = Math.max(point[k], other[k]);
+                }
+                limited.add(limit);
+            }
+
+            double exclusive = Hypervolume.inclusive(point, last)
+                    - Hypervolume.volume(last > 3 ? Hypervolume.nonDominated(limited, last) : limited, last);
+            volume += -point[last] * exclusive;
+
+        }
+        return volume;
+
+    }
+
+    private static List<double[]> nonDominated(List<double[]> points, int dimensions) {
+
+        List<double[]> result = new ArrayList<>(points.size());
+
+        candidates:
+        for (double[] point : points) {
+            for (int i = 0; i < result.size(); i++) {
+                double[] kept = result.get(i);
+                if (Hypervolume.weaklyDominates(kept, point, dimensions)) {
+                    continue candidates;
+                }
+                if (Hypervolume.weaklyDominates(point, kept, dimensions)) {
+                    result.set(i, result.get(result.size() - 1));
+                    result.remove(result.size() - 1);
+                    i--;
+                }
+            }
+            result.add(point);
+        }
+        return result;
+
+    }
+
+    private static boolean weaklyDominates(double[] a, double[] b, int dimensions) {
+
+        for (int k = 0; k < dimensions; k++) {
+            if (a[k] > b[k]) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    private static void contributions2D(double[][] mirrored, double[] result) {
+
+        Integer[] order = new Integer[mirrored.length];
+        int count = 0;
+
+        for (int i = 0; i < mirrored.length; i++) {
+            if (Hypervolume.isInside(mirrored[i])) {
+                order[count++] = i;
+            }
+        }
+
+        Integer[] inside = Arrays.copyOf(order, count);
+        Arrays.sort(inside, Comparator.comparingDouble((Integer i) -> mirrored[i][0]).thenComparingDouble(i -> mirrored[i][1]));
+
+        // 剔除被支配的点后, 剩余点按 x 递增、y 递减排列, 每个点的贡献由左右邻居决定.
+        List<Integer> front = new ArrayList<>(count);
+        List<Boolean> duplicated = new ArrayList<>(count);
+        double previousY = 0;
+        for (Integer index : inside) {
+            if (mirrored[index][1] < previousY) {
+                front.add(index);
+                duplicated.add(false);
+                previousY = mirrored[index][1];
+            } else if (!front.isEmpty() && Arrays.equals(mirrored[index], mirrored[front.get(front.size() - 1)])) {
+                duplicated.set(front.size() - 1, true);
+            }
+        }
+
+        for (int i = 0; i < front.size(); i++) {
+            if (duplicated.get(i)) {
+                continue;
+            }
+            double[] point = mirrored[front.get(i)];
+            double rightX = i + 1 < front.size() ? mirrored[front.get(i + 1)][0] : 0;
+            double upperY = i > 0 ? mirrored[front.get(i - 1)][1] : 0;
+            result[front.get(i)] = (rightX - point[0]) * (upperY - point[1]);
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.metrics;
+
+/**
+ * 超体积估计值及其置信区间.
+ */
+public class HypervolumeEstimate {
+
+    private final double value;
+    private final double lowerBound;
+    private final double upperBound;
+    private final double confidence;
+    private final long samples;
+
+    public HypervolumeEstimate(double value, double lowerBound, double upperBound, double confidence, long samples) {
+        this.value = value;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.confidence = confidence;
+        this.samples = samples;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    @Override
+    public String toString() {
+        return this.value + " [" + this.lowerBound + ", " + this.upperBound + "] @ " + this.confidence
+                + " (" + this.samples + " samples)";
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 增量超体积.
+ * Keeps a non-dominated set of points together with its hypervolume and updates the value by the exclusive
+ * contribution of each point that is added or removed, instead of recomputing the whole volume. Conventions are the
+ * same as `Hypervolume`: objectives are maximised and the reference point is worse than every point.
+ */
+public class IncrementalHypervolume {
+
+    private final double[] referencePoint;
+    private final int dimensions;
+    // 镜像后的点, 参考点位于原点, 越小越好.
+    private final List<double[]> points = new ArrayList<>();
+
+    private double value = 0;
+
+    public IncrementalHypervolume(double[] referencePoint) {
+        this.referencePoint = referencePoint.clone();
+        this.dimensions = referencePoint.length;
+    }
+
+    /**
+     * 加入一个点, 被其支配的已有点同时被移除.
+     *
+     * @param point 目标值.
+     * @return 超体积的增量, 点被支配或不优于参考点时为 0 且不会被加入.
+     */
+    public double add(double[] point) {
+
+        double[] mirrored = Hypervolume.mirror(point, this.referencePoint);
+        if (!Hypervolume.isInside(mirrored)) {
+            return 0;
+        }
+        for (double[] member : this.points) {
+            if (IncrementalHypervolume.weaklyDominates(member, mirrored)) {
+                return 0;
+            }
+        }
+
+        double contribution = Hypervolume.exclusive(mirrored, this.points, this.dimensions);
+        this.points.removeIf(member -> IncrementalHypervolume.weaklyDominates(mirrored, member));
+        this.points.add(mirrored);
+        this.value += contribution;
+        return contribution;
+
+    }
+
+    /**
+     * @param point 目标值, 必须与加入时的取值完全相同.
+     * @return 超体积的减少量, 点不在集合中时为 0.
+     */
+    public double remove(double[] point) {
+
+        int index = this.indexOf(point);
+        if (index < 0) {
+            return 0;
+        }
+
+        double[] removed = this.points.remove(index);
+        double contribution = Hypervolume.exclusive(removed, this.points, this.dimensions);
+        this.value -= contribution;
+        return contribution;
+
+    }
+
+    /**
+     * @param point 目标值.
+     * @return 集合内的点返回其独占贡献, 集合外的点返回加入后会带来的增量.
+     */
+    public double contribution(double[] point) {
+
+        double[] mirrored = Hypervolume.mirror(point, this.referencePoint);
+        if (!Hypervolume.isInside(mirrored)) {
+            return 0;
+        }
+
+        int index = this.indexOf(point);
+        if (index < 0) {
+            return Hypervolume.exclusive(mirrored, this.points, this.dimensions);
+        }
+
+        List<double[]> others = new ArrayList<>(this.points);
+        others.remove(index);
+        return Hypervolume.exclusive(mirrored, others, this.dimensions);
+
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public int size() {
+        return this.points.size();
+    }
+
+    public List<double[]> getPoints() {
+
+        List<double[]> result = new ArrayList<>(this.points.size());
+        for (double[] mirrored : this.points) {
+            result.add(Hypervolume.mirror(mirrored, this.referencePoint));
+        }
+        return result;
+
+    }
+
+    private int indexOf(double[] point) {
+
+        double[] mirrored = Hypervolume.mirror(point, this.referencePoint);
+        for (int i = 0; i < this.points.size(); i++) {
+            if (Arrays.equals(this.points.get(i), mirrored)) {
+                return i;
+            }
+        }
+        return -1;
+
+    }
+
+    private static boolean weaklyDominates(double[] a, double[] b) {
+
+        for (int k = 0; k < a.length; k++) {
+            if (a[k] > b[k]) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.metrics;
+
+import debacharya.nsgaii.datastructure.Population;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 蒙特卡洛超体积估计.
+ * Samples points uniformly in the box spanned by the reference point and the ideal point of the front and counts the
+ * fraction that the front dominates. The cost is linear in the number of objectives, so it stays affordable where
+ * the exact algorithms in `Hypervolume` become exponential. Sampling is split into independent chunks that run on the
+ * common fork-join pool, each with its own `SplittableRandom`, so a fixed seed gives reproducible estimates.
+ * <p>
+ * The front is copied once into a flat row-major matrix sorted by the first objective; a sample can only be dominated
+ * by the rows before the first one that is worse than it in that objective, so the dominance scan stops there.
+ */
+public class MonteCarloHypervolume {
+
+    public static final long DEFAULT_SAMPLES = 100_000;
+    public static final double DEFAULT_CONFIDENCE = 0.95;
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final long samples;
+    private final double confidence;
+    private final double z;
+    private final long seed;
+
+    public MonteCarloHypervolume() {
+        this(MonteCarloHypervolume.DEFAULT_SAMPLES, MonteCarloHypervolume.DEFAULT_CONFIDENCE);
+    }
+
+    public MonteCarloHypervolume(long samples, double confidence) {
+        this(samples, confidence, System.nanoTime());
+    }
+
+    /**
+     * @param samples    采样点总数.
+     * @param confidence 置信水平, 例如 0.95.
+     * @param seed       随机种子.
+     */
+    public MonteCarloHypervolume(long samples, double confidence, long seed) {
+
+        if (samples < 1)
+            throw new UnsupportedOperationException("Sample budget cannot be less than 1.");
+        if (confidence <= 0 || confidence >= 1)
+            throw new UnsupportedOperationException("Confidence must be between 0 and 1.");
+
+        this.samples = samples;
+        this.confidence = confidence;
+        this.z = MonteCarloHypervolume.inverseNormal(0.5 + confidence / 2);
+        this.seed = seed;
+
+    }
+
+    public HypervolumeEstimate estimate(Population population, double[] referencePoint) {
+        return this.estimate(Hypervolume.objectiveMatrix(population.getPopulace()), referencePoint);
+    }
+
+    public HypervolumeEstimate estimate(double[][] points, double[] referencePoint) {
+
+        int dimensions = referencePoint.length;
+        List<double[]> inside = new ArrayList<>(points.length);
+
+        for (double[] point : points) {
+            double[] mirrored = Hypervolume.mirror(point, referencePoint);
+            if (Hypervolume.isInside(mirrored)) {
+                inside.add(mirrored);
+            }
+        }
+        if (inside.isEmpty()) {
+            return new HypervolumeEstimate(0, 0, 0, this.confidence, 0);
+        }
+
+        // 镜像后参考点在原点, 采样盒为 [ideal, 0].
+        inside.sort(Comparator.comparingDouble(p -> p[0]));
+        int rows = inside.size();
+        double[] front = new double[rows * dimensions];
+        double[] firstColumn = new double[rows];
+        double[] ideal = new double[dimensions];
+        Arrays.fill(ideal, 0);
+
+        for (int i = 0; i < rows; i++) {
+            double[] point = inside.get(i);
+            System.arraycopy(point, 0, front, i * dimensions, dimensions);
+            firstColumn[i] = point[0];
+            for (int k = 0; k < dimensions; k++) {
+                ideal[k] = Math.min(ideal[k], point[k]);
+            }
+        }
+
+        double boxVolume = 1;
+        for (int k = 0; k < dimensions; k++) {
+            boxVolume *= -ideal[k];
+        }
+
+        int chunks = (int) ((this.samples + MonteCarloHypervolume.CHUNK_SIZE - 1) / MonteCarloHypervolume.CHUNK_SIZE);
+        SplittableRandom root = new SplittableRandom(this.seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        long hits = IntStream.range(0, chunks).parallel().mapToLong(c -> {
+            long chunkSamples = Math.min(MonteCarloHypervolume.CHUNK_SIZE, this.samples - (long) c * MonteCarloHypervolume.CHUNK_SIZE);
+            return MonteCarloHypervolume.sample(front, firstColumn, dimensions, ideal, chunkSamples, randoms[c]);
+        }).sum();
+
+        // Wilson score interval of the hit ratio, scaled by the box volume.
+        double n = this.samples;
+        double ratio = hits / n;
+        double z2 = this.z * this.z;
+        double denominator = 1 + z2 / n;
+        double centre = (ratio + z2 / (2 * n)) / denominator;
+        double halfWidth = this.z * Math.sqrt(ratio * (1 - ratio) / n + z2 / (4 * n * n)) / denominator;
+
+        return new HypervolumeEstimate(
+                boxVolume * ratio,
+                boxVolume * Math.max(0, centre - halfWidth),
+                boxVolume * Math.min(1, centre + halfWidth),
+                this.confidence,
+                this.samples
+        );
+
+    }
+
+    private static long sample(double[] front,
+                               double[] firstColumn,
+                               int dimensions,
+                               double[] ideal,
+                               long count,
+                               SplittableRandom random) {
+
+        double[] sample = new double[dimensions];
+        long hits = 0;
+
+        for (long s = 0; s < count; s++) {
+
+            for (int k = 0; k < dimensions; k++) {
+                sample[k] = ideal[k] * random.nextDouble();
+            }
+
+            int limit = MonteCarloHypervolume.upperBound(firstColumn, sample[0]);
+            if (MonteCarloHypervolume.isDominated(front, dimensions, limit, sample)) {
+                hits++;
+            }
+
+        }
+        return hits;
+
+    }
+
+    private static boolean isDominated(double[] front, int dimensions, int rows, double[] sample) {
+
+        for (int row = 0, offset = 0; row < rows; row++, offset += dimensions) {
+            int k = 1;
+            while (k < dimensions && front[offset + k] <= sample[k]) {
+                k++;
+            }
+            if (k == dimensions) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    // 第一个大于 value 的位置.
+    private static int upperBound(double[] sorted, double value) {
+
+        int low = 0;
+        int high = sorted.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+
+    }
+
+    /**
+     * 标准正态分布分位数, Acklam's rational approximation (relative error below 1.2e-9).
+     */
+    static double inverseNormal(double p) {
+
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+
+    }
+
+}
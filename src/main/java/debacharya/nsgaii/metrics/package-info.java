@@ -0,0 +1,4 @@
+/**
+ * 质量指标: 超体积等用于判断收敛情况的指标.
+ */
+package debacharya.nsgaii.metrics;
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.monitor;
+
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+
+/**
+ * Java Flight Recorder 事件.
+ * This is the Java 8 variant and does nothing. On Java 11 and newer the multi-release jar provides a replacement from
+ * `src/main/java11` that emits `jdk.jfr` events for every generation and phase, so recordings taken with JMC can be
+ * correlated with the algorithm. Both variants must keep the same public API.
+ */
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * 开始记录一个阶段.
+     *
+     * @return 传给 `endPhase` 的句柄.
+     */
+    public static Object beginPhase() {
+        return null;
+    }
+
+    /**
+     * @param handle     `beginPhase()` 返回的句柄.
+     * @param phase      阶段.
+     * @param population 该阶段处理的种群.
+     */
+    public static void endPhase(Object handle, GenerationReport.Phase phase, Population population) {
+    }
+
+    public static Object beginGeneration() {
+        return null;
+    }
+
+    /**
+     * @param handle `beginGeneration()` 返回的句柄.
+     * @param report 当前代的报告.
+     */
+    public static void endGeneration(Object handle, GenerationReport report) {
+    }
+
+}
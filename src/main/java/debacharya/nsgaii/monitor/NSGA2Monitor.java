@@ -0,0 +1,259 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.monitor;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.GenerationListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单次运行的 JMX 监控.
+ * Once enabled with `Configuration.setMonitoring(true)`, `NSGA2.run()` registers one instance per run under
+ * `debacharya.nsgaii:type=NSGA2,name=run-N` and unregisters it when the run ends. The attributes are refreshed from
+ * every `GenerationReport`, so reading them never touches the populations while the algorithm is working on them.
+ */
+@Slf4j
+public class NSGA2Monitor implements NSGA2MonitorMBean, GenerationListener {
+
+    public static final String DOMAIN = "debacharya.nsgaii";
+
+    private static final AtomicInteger RUN_COUNTER = new AtomicInteger();
+
+    private final NSGA2 nsga2;
+    private final ObjectName objectName;
+
+    private volatile String state = "CREATED";
+    private volatile int generation;
+    private volatile int maxGenerations;
+    private volatile long totalEvaluations;
+    private volatile long elapsedNanos;
+    private volatile int firstFrontSize;
+    private volatile double hypervolume = Double.NaN;
+    private volatile long generationNanos;
+    private volatile long evaluationNanos;
+    private volatile long rankingNanos;
+    private volatile long crowdingNanos;
+    private volatile long selectionNanos;
+    private volatile long offspringNanos;
+    private double[] referencePoint;
+
+    public NSGA2Monitor(NSGA2 nsga2) {
+
+        this.nsga2 = nsga2;
+
+        try {
+            this.objectName = new ObjectName(
+                    NSGA2Monitor.DOMAIN + ":type=NSGA2,name=run-" + NSGA2Monitor.RUN_COUNTER.incrementAndGet()
+            );
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * 注册到平台 MBeanServer, 注册失败只记录日志, 不影响算法运行.
+     */
+    public void register() {
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.objectName);
+        } catch (JMException e) {
+            log.warn("could not register NSGA-II monitor {}", this.objectName, e);
+        }
+
+    }
+
+    public void unregister() {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            if (server.isRegistered(this.objectName)) {
+                server.unregisterMBean(this.objectName);
+            }
+        } catch (JMException e) {
+            log.warn("could not unregister NSGA-II monitor {}", this.objectName, e);
+        }
+
+    }
+
+    @Override
+    public void onStart(Configuration configuration) {
+        this.maxGenerations = configuration.getGenerations();
+        this.referencePoint = configuration.getHypervolumeReferencePoint();
+        this.state = "RUNNING";
+    }
+
+    @Override
+    public void onGeneration(GenerationReport report) {
+
+        this.generation = report.getGeneration();
+        this.totalEvaluations = report.getTotalEvaluations();
+        this.elapsedNanos = report.getElapsedNanos();
+        this.firstFrontSize = NSGA2Monitor.countFirstFront(report.getParent());
+        if (this.referencePoint != null) {
+            this.hypervolume = report.getHypervolume(this.referencePoint);
+        }
+        this.generationNanos = report.getGenerationNanos();
+        this.evaluationNanos = report.getPhaseNanos(GenerationReport.Phase.EVALUATION);
+        this.rankingNanos = report.getPhaseNanos(GenerationReport.Phase.RANKING);
+        this.crowdingNanos = report.getPhaseNanos(GenerationReport.Phase.CROWDING);
+        this.selectionNanos = report.getPhaseNanos(GenerationReport.Phase.SELECTION);
+        this.offspringNanos = report.getPhaseNanos(GenerationReport.Phase.OFFSPRING);
+
+    }
+
+    @Override
+    public void onTerminate(Population finalChild) {
+        this.state = "TERMINATED";
+    }
+
+    @Override
+    public String getState() {
+
+        if ("RUNNING".equals(this.state) && this.nsga2.isPaused()) {
+            return "PAUSED";
+        }
+        if ("RUNNING".equals(this.state) && this.nsga2.isStopRequested()) {
+            return "STOPPING";
+        }
+        return this.state;
+
+    }
+
+    @Override
+    public int getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public int getMaxGenerations() {
+        return maxGenerations;
+    }
+
+    @Override
+    public long getTotalEvaluations() {
+        return totalEvaluations;
+    }
+
+    @Override
+    public double getEvaluationsPerSecond() {
+
+        long elapsed = this.elapsedNanos;
+        return elapsed == 0 ? 0 : this.totalEvaluations / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+
+    }
+
+    @Override
+    public int getFirstFrontSize() {
+        return firstFrontSize;
+    }
+
+    @Override
+    public double getHypervolume() {
+        return hypervolume;
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos);
+    }
+
+    @Override
+    public long getGenerationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.generationNanos);
+    }
+
+    @Override
+    public long getEvaluationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.evaluationNanos);
+    }
+
+    @Override
+    public long getRankingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.rankingNanos);
+    }
+
+    @Override
+    public long getCrowdingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.crowdingNanos);
+    }
+
+    @Override
+    public long getSelectionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.selectionNanos);
+    }
+
+    @Override
+    public long getOffspringMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.offspringNanos);
+    }
+
+    @Override
+    public void pause() {
+        this.nsga2.pause();
+    }
+
+    @Override
+    public void resume() {
+        this.nsga2.resume();
+    }
+
+    @Override
+    public void requestStop() {
+        this.nsga2.requestStop();
+    }
+
+    private static int countFirstFront(Population population) {
+
+        int count = 0;
+        for (Chromosome chromosome : population.getPopulace()) {
+            if (chromosome.getRank() == 1) {
+                count++;
+            }
+        }
+        return count;
+
+    }
+
+}
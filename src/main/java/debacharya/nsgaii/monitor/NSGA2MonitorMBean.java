@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.monitor;
+
+/**
+ * 运行时监控接口, 通过 JMX 暴露正在运行的 NSGA-II 的进度, 并允许暂停、恢复或提前结束运行.
+ */
+public interface NSGA2MonitorMBean {
+
+    String getState();
+
+    int getGeneration();
+
+    int getMaxGenerations();
+
+    long getTotalEvaluations();
+
+    double getEvaluationsPerSecond();
+
+    int getFirstFrontSize();
+
+    /**
+     * @return 父种群的超体积, 未设置 `Configuration.setHypervolumeReferencePoint` 时为 NaN.
+     */
+    double getHypervolume();
+
+    long getElapsedMillis();
+
+    long getGenerationMillis();
+
+    long getEvaluationMillis();
+
+    long getRankingMillis();
+
+    long getCrowdingMillis();
+
+    long getSelectionMillis();
+
+    long getOffspringMillis();
+
+    void pause();
+
+    void resume();
+
+    void requestStop();
+
+}
@@ -0,0 +1,4 @@
+/**
+ * 运行时监控: JMX MBean 与运行过程事件.
+ */
+package debacharya.nsgaii.monitor;
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.objectivefunction;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+
+/**
+ * 抽象类, 约束函数.
+ * A constraint reports how far a chromosome is from satisfying it: 0 when it is satisfied, a positive amount
+ * otherwise. The violations of all constraints are summed into `Chromosome.getConstraintViolation()`, and `NSGA2`
+ * ranks with Deb's constrained-domination rule [DOI: 10.1016/S0045-7825(99)00389-8]: a feasible chromosome dominates
+ * an infeasible one, of two infeasible chromosomes the one with the smaller violation dominates, and two feasible
+ * chromosomes are compared by their objectives. Constraints are evaluated before the objectives, cheapest first
+ * according to `getCost()`.
+ */
+public abstract class AbstractConstraintFunction {
+
+    // 约束名称.
+    protected String constraintTitle = "Constraint Title Not Implemented";
+    // 相对计算代价, 代价小的约束先计算.
+    protected double cost = 1;
+
+    /**
+     * @param chromosome 染色体.
+     * @return 违反约束的程度, 满足约束时为 0, 否则为正数.
+     */
+    public abstract double getViolation(Chromosome chromosome);
+
+    public String getConstraintTitle() {
+        return this.constraintTitle;
+    }
+
+    public double getCost() {
+        return this.cost;
+    }
+
+}
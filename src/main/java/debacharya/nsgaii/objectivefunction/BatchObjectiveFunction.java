@@ -0,0 +1,45 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.objectivefunction;
+
+/**
+ * 批量目标函数.
+ * An `AbstractObjectiveFunction` that also implements this interface is evaluated by `Service` once per population
+ * instead of once per chromosome, which lets it amortise per-call overhead, vectorise over individuals or hand the
+ * whole population to an external solver at once. The decision variables are decoded from the genetic code
+ * (`DoubleAllele` values, `BooleanAllele` as 1 or 0) into one column-major matrix that is shared by all batch
+ * objectives of the same evaluation, so functions computing several objectives together can recognise it by identity.
+ */
+public interface BatchObjectiveFunction {
+
+    /**
+     * @param variables 按列存放的决策变量, 第 i 个个体的第 j 个基因为 `variables[j * count + i]`.
+     * @param count     个体数.
+     * @param values    预分配的目标矩阵, 按列存放.
+     * @param offset    本目标在 `values` 中的起始位置, 第 i 个个体的目标值写入 `values[offset + i]`.
+     */
+    void getValues(double[] variables, int count, double[] values, int offset);
+
+}
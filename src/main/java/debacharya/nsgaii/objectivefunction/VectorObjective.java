@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.objectivefunction;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+
+/**
+ * `VectorObjectiveFunction` 的单个目标.
+ */
+class VectorObjective extends AbstractObjectiveFunction {
+
+    private final VectorObjectiveFunction function;
+    private final int index;
+    private final ThreadLocal<LastEvaluation> cache;
+
+    VectorObjective(VectorObjectiveFunction function, int index, ThreadLocal<LastEvaluation> cache) {
+        this.function = function;
+        this.index = index;
+        this.cache = cache;
+        this.objectiveFunctionTitle = "Objective " + (index + 1);
+    }
+
+    @Override
+    public double getValue(Chromosome chromosome) {
+
+        LastEvaluation last = this.cache.get();
+        if (last.chromosome != chromosome) {
+            // 先清空, 计算抛出异常时不会留下半个结果.
+            last.chromosome = null;
+            this.function.getValues(chromosome, last.objectives);
+            last.chromosome = chromosome;
+        }
+        return last.objectives[this.index];
+
+    }
+
+    static class LastEvaluation {
+
+        private final double[] objectives;
+        private Chromosome chromosome;
+
+        LastEvaluation(int objectiveCount) {
+            this.objectives = new double[objectiveCount];
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.objectivefunction;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一次计算全部目标的目标函数.
+ * Many evaluators, a simulation for instance, produce every objective in one run. Register such a function with
+ * `Configuration.setObjectives(int, VectorObjectiveFunction)`: it is split into one `AbstractObjectiveFunction` per
+ * objective that share a per-thread cache of the last evaluated chromosome, and since `Service` evaluates all
+ * objectives of a chromosome in a row, the function runs once per chromosome. Together with the evaluated flag on
+ * `Chromosome`, that is once per individual over the whole run.
+ */
+@FunctionalInterface
+public interface VectorObjectiveFunction {
+
+    /**
+     * @param chromosome 染色体.
+     * @param objectives 预分配的目标值数组, 长度为目标数.
+     */
+    void getValues(Chromosome chromosome, double[] objectives);
+
+    /**
+     * 拆分为每个目标一个目标函数.
+     *
+     * @param objectiveCount 目标数.
+     * @return 共享同一次计算结果的目标函数.
+     */
+    default List<AbstractObjectiveFunction> split(int objectiveCount) {
+
+        ThreadLocal<VectorObjective.LastEvaluation> cache =
+                ThreadLocal.withInitial(() -> new VectorObjective.LastEvaluation(objectiveCount));
+        List<AbstractObjectiveFunction> objectives = new ArrayList<>(objectiveCount);
+        for (int i = 0; i < objectiveCount; i++) {
+            objectives.add(new VectorObjective(this, i, cache));
+        }
+        return objectives;
+
+    }
+
+}
@@ -24,11 +24,11 @@
 
 package debacharya.nsgaii.plugin;
 
+import debacharya.nsgaii.RandomSource;
 import debacharya.nsgaii.datastructure.Chromosome;
 import debacharya.nsgaii.datastructure.Population;
 
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 遗传交叉操作抽象类.
@@ -48,7 +48,7 @@ public abstract class AbstractCrossover {
     public abstract List<Chromosome> perform(Population population);
 
     public boolean shouldPerformCrossover() {
-        return ThreadLocalRandom.current().nextFloat() <= this.crossoverProbability;
+        return RandomSource.current().nextFloat() <= this.crossoverProbability;
     }
 
 }
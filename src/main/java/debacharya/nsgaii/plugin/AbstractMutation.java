@@ -24,10 +24,9 @@
 
 package debacharya.nsgaii.plugin;
 
+import debacharya.nsgaii.RandomSource;
 import debacharya.nsgaii.datastructure.Chromosome;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 /**
  * 变异抽象类.
  */
@@ -55,7 +54,7 @@ public abstract class AbstractMutation {
     public abstract Chromosome perform(Chromosome chromosome);
 
     public boolean shouldPerformMutation() {
-        return ThreadLocalRandom.current().nextFloat() <= this.mutationProbability;
+        return RandomSource.current().nextFloat() <= this.mutationProbability;
     }
 
 }
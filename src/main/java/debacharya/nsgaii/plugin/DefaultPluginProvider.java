@@ -27,11 +27,11 @@ package debacharya.nsgaii.plugin;
 import debacharya.nsgaii.datastructure.BooleanAllele;
 import debacharya.nsgaii.datastructure.Chromosome;
 import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.RandomSource;
 import debacharya.nsgaii.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 
 public class DefaultPluginProvider {
@@ -48,7 +48,7 @@ public class DefaultPluginProvider {
             List<BooleanAllele> geneticCode = new ArrayList<>();
             for (int i = 0; i < length; i++) {
                 // 随机产生.
-                geneticCode.add(i, new BooleanAllele(ThreadLocalRandom.current().nextBoolean()));
+                geneticCode.add(i, new BooleanAllele(RandomSource.current().nextBoolean()));
             }
             return geneticCode;
 
@@ -0,0 +1,45 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+
+/**
+ * 支配关系比较器.
+ * Classifies both directions of the domination test in one call, following the constrained-domination rule of
+ * `NSGA2.isDominant`: objectives are maximised and compared only when both chromosomes are feasible.
+ */
+@FunctionalInterface
+public interface DominanceComparator {
+
+    /**
+     * @param chromosome1 可能支配对方的染色体.
+     * @param chromosome2 与之比较的染色体.
+     * @return `NSGA2.DOMINANT`, `NSGA2.INFERIOR` 或 `NSGA2.NON_DOMINATED`.
+     */
+    int compare(Chromosome chromosome1, Chromosome chromosome2);
+
+}
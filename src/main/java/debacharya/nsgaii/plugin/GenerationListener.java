@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+
+/**
+ * 运行过程监听器.
+ * Listeners registered on the `Configuration` are called by `NSGA2` on the thread running the algorithm, in the order
+ * they were registered. A listener that does expensive work should be wrapped with
+ * `GenerationListenerProvider.async(GenerationListener)` so that it does not stall the generation loop.
+ */
+@FunctionalInterface
+public interface GenerationListener {
+
+    /**
+     * 算法开始运行前调用.
+     *
+     * @param configuration 当前运行的配置.
+     */
+    default void onStart(Configuration configuration) {
+    }
+
+    /**
+     * 每一代（包括初代 0）结束时调用.
+     *
+     * @param report 当前代的只读报告.
+     */
+    void onGeneration(GenerationReport report);
+
+    /**
+     * 算法结束时调用.
+     *
+     * @param finalChild 最终返回的子种群.
+     */
+    default void onTerminate(Population finalChild) {
+    }
+
+}
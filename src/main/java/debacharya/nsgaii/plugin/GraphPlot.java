@@ -16,6 +16,7 @@ import org.jfree.ui.RefineryUtilities;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
+import java.awt.GraphicsEnvironment;
 import java.awt.Paint;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -145,6 +146,9 @@ public class GraphPlot extends ApplicationFrame {
 
     public static boolean isCompatible() {
 
+        if (GraphicsEnvironment.isHeadless()) {
+            return false;
+        }
         if (Configuration.objectives.size() > 2) {
 
             System.out.println("\n\n!! There are more than two objective functions present "
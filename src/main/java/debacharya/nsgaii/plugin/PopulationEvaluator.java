@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+
+import java.util.List;
+
+/**
+ * 目标值计算引擎.
+ * Called by `Service.calculateObjectiveValues` with the chromosomes that still need objective values, after their
+ * constraints have been computed. An evaluator must assign every objective of every chromosome through
+ * `Chromosome.addObjectiveValue(int, double)` before it returns. The chromosomes are marked as evaluated before the
+ * call, and unmarked again if it throws; an evaluator that could only assign placeholder values to a chromosome, for
+ * instance after a timeout, calls `setEvaluated(false)` on it so that it is evaluated again in a later generation and
+ * is kept out of archives and surrogate training data. The number of objectives is always
+ * `Configuration.objectives.size()`.
+ */
+@FunctionalInterface
+public interface PopulationEvaluator {
+
+    /**
+     * @param chromosomes 尚未计算目标值的染色体, 长度相同.
+     */
+    void evaluate(List<Chromosome> chromosomes);
+
+}
@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin;
+
+import debacharya.nsgaii.datastructure.Population;
+
+/**
+ * 环境选择 --> 从父子合并种群中选出下一代父种群.
+ * The combined population handed to the selector has already been evaluated, ranked and assigned crowding distances
+ * by `NSGA2.preparePopulation`. When no selector is configured, `NSGA2.getChildFromCombinedPopulation` is used.
+ */
+@FunctionalInterface
+public interface SurvivorSelector {
+
+    /**
+     * @param combinedPopulation 父子合并种群.
+     * @param populationSize     选出的个体数.
+     * @return 下一代父种群.
+     */
+    Population select(Population combinedPopulation, int populationSize);
+
+}
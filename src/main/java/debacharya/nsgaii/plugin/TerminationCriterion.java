@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.datastructure.GenerationReport;
+
+/**
+ * 终止条件.
+ * `NSGA2` checks the criterion once after every generation (including the initial generation 0) with the same
+ * `GenerationReport` that is handed to the listeners, and stops as soon as it is satisfied. Criteria may keep state
+ * across generations; that state must be cleared in `reset(Configuration)`, which is called at the start of every run.
+ */
+@FunctionalInterface
+public interface TerminationCriterion {
+
+    /**
+     * 每次运行开始时调用, 用于清除上一次运行留下的状态.
+     *
+     * @param configuration 当前运行的配置.
+     */
+    default void reset(Configuration configuration) {
+    }
+
+    /**
+     * @param report 当前代的报告.
+     * @return 是否结束运行.
+     */
+    boolean isSatisfied(GenerationReport report);
+
+    /**
+     * 两个条件同时满足时结束. Both criteria are always evaluated so that stateful criteria see every generation.
+     *
+     * @param other 另一个条件.
+     * @return composed criterion.
+     */
+    default TerminationCriterion and(TerminationCriterion other) {
+
+        TerminationCriterion self = this;
+
+        return new TerminationCriterion() {
+
+            @Override
+            public void reset(Configuration configuration) {
+                self.reset(configuration);
+                other.reset(configuration);
+            }
+
+            @Override
+            public boolean isSatisfied(GenerationReport report) {
+                return self.isSatisfied(report) & other.isSatisfied(report);
+            }
+
+        };
+
+    }
+
+    /**
+     * 任一条件满足时结束. Both criteria are always evaluated so that stateful criteria see every generation.
+     *
+     * @param other 另一个条件.
+     * @return composed criterion.
+     */
+    default TerminationCriterion or(TerminationCriterion other) {
+
+        TerminationCriterion self = this;
+
+        return new TerminationCriterion() {
+
+            @Override
+            public void reset(Configuration configuration) {
+                self.reset(configuration);
+                other.reset(configuration);
+            }
+
+            @Override
+            public boolean isSatisfied(GenerationReport report) {
+                return self.isSatisfied(report) | other.isSatisfied(report);
+            }
+
+        };
+
+    }
+
+}
@@ -24,6 +24,7 @@
 
 package debacharya.nsgaii.plugin.crossover;
 
+import debacharya.nsgaii.RandomSource;
 import debacharya.nsgaii.datastructure.AbstractAllele;
 import debacharya.nsgaii.datastructure.Chromosome;
 import debacharya.nsgaii.datastructure.Population;
@@ -75,7 +76,7 @@ public class UniformCrossover extends AbstractCrossover {
 
         List<AbstractAllele> geneticCode = new ArrayList<>();
         for (int i = 0; i < chromosome1.getLength(); i++) {
-            switch (Math.random() <= 0.5 ? 1 : 2) {
+            switch (RandomSource.current().nextDouble() <= 0.5 ? 1 : 2) {
                 case 1:
                     geneticCode.add(i, chromosome1.getGeneticCode().get(i).getCopy());
                     break;
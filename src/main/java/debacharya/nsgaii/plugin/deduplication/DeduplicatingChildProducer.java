@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.deduplication;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.AbstractCrossover;
+import debacharya.nsgaii.plugin.AbstractMutation;
+import debacharya.nsgaii.plugin.ChildPopulationProducer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 去除重复子代的子种群生成器.
+ * Keeps a set of the `GenomeFingerprint`s of the parent population and of the children accepted so far, rebuilt for
+ * every generation, and drops every child of the wrapped producer whose genome is already in it, so that plain copies
+ * of parents (crossover not performed, mutation flipping nothing) and repeated children are never evaluated.
+ * <p>
+ * In `regenerate` mode the wrapped producer is called again, at most `maxRounds` times in all, until the population
+ * is full; otherwise, or when the rounds run out, the child population is returned smaller than `populationSize`,
+ * which the survivor selection accepts.
+ */
+public class DeduplicatingChildProducer implements ChildPopulationProducer {
+
+    public static final int DEFAULT_MAX_ROUNDS = 8;
+
+    private final ChildPopulationProducer delegate;
+    private final boolean regenerate;
+    private final int maxRounds;
+
+    private LongHashSet fingerprints;
+    private long duplicates = 0;
+
+    /**
+     * 重新生成重复的子代, 最多调用被包装的生成器 `DEFAULT_MAX_ROUNDS` 次.
+     *
+     * @param delegate 产生子代的生成器.
+     */
+    public DeduplicatingChildProducer(ChildPopulationProducer delegate) {
+        this(delegate, true, DeduplicatingChildProducer.DEFAULT_MAX_ROUNDS);
+    }
+
+    /**
+     * @param delegate   产生子代的生成器.
+     * @param regenerate 是否重新生成以补足被去掉的子代.
+     * @param maxRounds  每代最多调用被包装的生成器的次数.
+     */
+    public DeduplicatingChildProducer(ChildPopulationProducer delegate, boolean regenerate, int maxRounds) {
+
+        if (maxRounds < 1)
+            throw new UnsupportedOperationException("Rounds cannot be less than 1.");
+
+        this.delegate = delegate;
+        this.regenerate = regenerate;
+        this.maxRounds = maxRounds;
+
+    }
+
+    @Override
+    public Population produce(Population parentPopulation,
+                              AbstractCrossover crossover,
+                              AbstractMutation mutation,
+                              int populationSize) {
+
+        if (this.fingerprints == null) {
+            this.fingerprints = new LongHashSet(parentPopulation.size() + populationSize);
+        } else {
+            this.fingerprints.clear();
+        }
+        for (Chromosome parent : parentPopulation.getPopulace()) {
+            this.fingerprints.add(GenomeFingerprint.of(parent));
+        }
+
+        List<Chromosome> children = new ArrayList<>(populationSize);
+        int rounds = this.regenerate ? this.maxRounds : 1;
+
+        for (int round = 0; round < rounds && children.size() < populationSize; round++) {
+            for (Chromosome child : this.delegate.produce(parentPopulation, crossover, mutation, populationSize)
+                    .getPopulace()) {
+                if (children.size() == populationSize) {
+                    break;
+                }
+                if (this.fingerprints.add(GenomeFingerprint.of(child))) {
+                    children.add(child);
+                } else {
+                    this.duplicates++;
+                }
+            }
+        }
+
+        return new Population(children);
+
+    }
+
+    /**
+     * @return 被去掉的重复子代总数.
+     */
+    public long getDuplicates() {
+        return this.duplicates;
+    }
+
+}
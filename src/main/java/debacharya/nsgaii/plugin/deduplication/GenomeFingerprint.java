@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.deduplication;
+
+import debacharya.nsgaii.datastructure.AbstractAllele;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+
+import java.util.List;
+
+/**
+ * 基因组指纹.
+ * A 64-bit hash of the genetic code: `BooleanAllele` genes contribute one bit each, `DoubleAllele` genes the bits of
+ * their value (with -0.0 read as 0.0), other alleles the hash code of their gene. Two different genomes share a
+ * fingerprint with a probability of about 2^-64 per pair, which is what makes it safe to compare fingerprints only.
+ */
+public class GenomeFingerprint {
+
+    private static final long SEED = 0x243F6A8885A308D3L;
+
+    /**
+     * @param chromosome 染色体.
+     * @return 指纹.
+     */
+    public static long of(Chromosome chromosome) {
+
+        List<AbstractAllele> geneticCode = chromosome.getGeneticCode();
+        long hash = GenomeFingerprint.SEED ^ geneticCode.size();
+        long bits = 0;
+        int packed = 0;
+
+        for (AbstractAllele allele : geneticCode) {
+            if (allele instanceof BooleanAllele) {
+                bits = (bits << 1) | (((BooleanAllele) allele).getGene() ? 1 : 0);
+                if (++packed == Long.SIZE) {
+                    hash = GenomeFingerprint.mix(hash, bits);
+                    bits = 0;
+                    packed = 0;
+                }
+                continue;
+            }
+            if (packed > 0) {
+                hash = GenomeFingerprint.mix(hash, bits ^ ((long) packed << 56));
+                bits = 0;
+                packed = 0;
+            }
+            hash = GenomeFingerprint.mix(hash, allele instanceof DoubleAllele
+                    ? Double.doubleToLongBits(((DoubleAllele) allele).getGene() + 0.0)
+                    : allele.getGene().hashCode());
+        }
+
+        return packed > 0 ? GenomeFingerprint.mix(hash, bits ^ ((long) packed << 56)) : hash;
+
+    }
+
+    // SplitMix64 的终结步骤, 把新的 64 位并入散列值.
+    private static long mix(long hash, long value) {
+
+        long mixed = (hash ^ value) + 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.deduplication;
+
+import java.util.Arrays;
+
+/**
+ * 开放寻址的 long 集合.
+ * Linear probing over a power-of-two table kept at most half full, without boxing. The value 0 marks an empty slot,
+ * so it is stored through a separate flag.
+ */
+final class LongHashSet {
+
+    private long[] table;
+    private int size = 0;
+    private boolean containsZero = false;
+
+    LongHashSet(int expectedSize) {
+        this.table = new long[LongHashSet.capacityFor(expectedSize)];
+    }
+
+    /**
+     * @param value 值.
+     * @return 值此前不在集合中时为 true.
+     */
+    boolean add(long value) {
+
+        if (value == 0) {
+            boolean added = !this.containsZero;
+            this.containsZero = true;
+            return added;
+        }
+
+        int mask = this.table.length - 1;
+        int slot = LongHashSet.spread(value) & mask;
+        while (this.table[slot] != 0) {
+            if (this.table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        this.table[slot] = value;
+        if (++this.size * 2 > this.table.length) {
+            this.grow();
+        }
+        return true;
+
+    }
+
+    boolean contains(long value) {
+
+        if (value == 0) {
+            return this.containsZero;
+        }
+
+        int mask = this.table.length - 1;
+        int slot = LongHashSet.spread(value) & mask;
+        while (this.table[slot] != 0) {
+            if (this.table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+
+    }
+
+    /**
+     * 清空集合, 保留表的容量.
+     */
+    void clear() {
+        Arrays.fill(this.table, 0);
+        this.size = 0;
+        this.containsZero = false;
+    }
+
+    int size() {
+        return this.size + (this.containsZero ? 1 : 0);
+    }
+
+    private void grow() {
+
+        long[] old = this.table;
+        this.table = new long[old.length * 2];
+        this.size = 0;
+        for (long value : old) {
+            if (value != 0) {
+                this.add(value);
+            }
+        }
+
+    }
+
+    private static int capacityFor(int expectedSize) {
+        return Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+    }
+
+    private static int spread(long value) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+}
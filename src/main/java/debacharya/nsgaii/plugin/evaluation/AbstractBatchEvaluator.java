@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.plugin.PopulationEvaluator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 分批交给外部计算节点的计算引擎.
+ * Splits the chromosomes into batches on a queue shared by every connected node; each node pulls its next batch as
+ * soon as it has room in its pipeline, so faster nodes take more batches. Batches of a node that fails are put back
+ * at the head of the queue and computed by the others. Subclasses decide how nodes are connected and when the
+ * evaluation has to be given up.
+ */
+@Slf4j
+public abstract class AbstractBatchEvaluator implements PopulationEvaluator, AutoCloseable {
+
+    /**
+     * 所有节点都失败后, 剩余批次以带有该消息的 `UncheckedIOException` 结束, 其原因为最后一次节点失败.
+     */
+    public static final String NODES_FAILED = "No evaluation node is available to compute the remaining batches.";
+    /**
+     * 节点的响应帧与所答批次不符时的失败原因.
+     */
+    public static final String UNEXPECTED_RESPONSE = "An evaluation node answered with an unexpected frame.";
+    /**
+     * 关闭之后仍在计算或新开始的计算以带有该消息的 `UnsupportedOperationException` 结束.
+     */
+    public static final String EVALUATOR_CLOSED = "The evaluator has been closed.";
+    public static final int DEFAULT_PIPELINE_DEPTH = 2;
+    /**
+     * 不指定批大小时每个节点平均分到的批数.
+     */
+    public static final int BATCHES_PER_NODE = 4;
+
+    private static final long POLL_MILLIS = 100;
+
+    protected final BlockingDeque<EvaluationBatch> queue = new LinkedBlockingDeque<>();
+    protected final int batchSize;
+    /**
+     * 每个节点同时在途的最大批数: 节点算完一批时下一批已经发出, 节点因此不会空等请求.
+     */
+    protected final int pipelineDepth;
+
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private final boolean alleleKinds;
+
+    private volatile boolean closed = false;
+    private volatile Exception lastFailure;
+
+    /**
+     * @param batchSize     每批的染色体数, 0 表示平均分成约 `getNodeCount() * BATCHES_PER_NODE` 批.
+     * @param pipelineDepth 每个节点同时在途的最大批数.
+     * @param alleleKinds   请求帧是否带有每个基因位的类型.
+     */
+    protected AbstractBatchEvaluator(int batchSize, int pipelineDepth, boolean alleleKinds) {
+
+        if (batchSize < 0)
+            throw new UnsupportedOperationException("Batch size cannot be negative.");
+        if (pipelineDepth < 1)
+            throw new UnsupportedOperationException("Pipeline depth cannot be less than 1.");
+
+        this.batchSize = batchSize;
+        this.pipelineDepth = pipelineDepth;
+        this.alleleKinds = alleleKinds;
+
+    }
+
+    @Override
+    public synchronized void evaluate(List<Chromosome> chromosomes) {
+
+        if (this.closed)
+            throw new UnsupportedOperationException(AbstractBatchEvaluator.EVALUATOR_CLOSED);
+
+        this.connect();
+        if (this.closed) {
+            this.disconnect();
+            throw new UnsupportedOperationException(AbstractBatchEvaluator.EVALUATOR_CLOSED);
+        }
+
+        int count = chromosomes.size();
+        int batches = Math.max(1, this.getNodeCount()) * AbstractBatchEvaluator.BATCHES_PER_NODE;
+        int size = this.batchSize > 0 ? this.batchSize : Math.max(1, (count + batches - 1) / batches);
+        List<EvaluationBatch> pending = new ArrayList<>();
+
+        for (int from = 0; from < count; from += size) {
+            EvaluationBatch batch = new EvaluationBatch(this.requestIds.incrementAndGet(),
+                    chromosomes.subList(from, Math.min(count, from + size)), this.alleleKinds);
+            pending.add(batch);
+            this.queue.add(batch);
+        }
+
+        int objectiveCount = Configuration.objectives.size();
+        for (EvaluationBatch batch : pending) {
+            double[] values = this.await(batch);
+            for (int c = 0; c < batch.chromosomes.size(); c++) {
+                Chromosome chromosome = batch.chromosomes.get(c);
+                for (int i = 0; i < objectiveCount; i++) {
+                    chromosome.addObjectiveValue(i, values[c * objectiveCount + i]);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 关闭所有节点. 不与 `evaluate` 同步, 因此可以从另一个线程中止一次等不到结果的计算, 例如节点挂起时;
+     * 该次计算随即以 `EVALUATOR_CLOSED` 结束.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.disconnect();
+        this.failQueued();
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * 每次计算之前调用, 连接或重启节点.
+     */
+    protected abstract void connect();
+
+    /**
+     * 关闭所有节点.
+     */
+    protected abstract void disconnect();
+
+    /**
+     * @return 当前可用的节点数.
+     */
+    protected abstract int getNodeCount();
+
+    /**
+     * 等待中定期调用.
+     *
+     * @return 剩余的批次是否已经无法完成.
+     */
+    protected abstract boolean isStalled();
+
+    /**
+     * 节点失败时由其通道调用.
+     *
+     * @param cause 失败原因.
+     */
+    protected void onNodeFailure(Exception cause) {
+        this.lastFailure = cause;
+        log.warn("Evaluation node failed, its batches are re-queued.", cause);
+    }
+
+    private double[] await(EvaluationBatch batch) {
+
+        while (true) {
+            try {
+                return batch.result.get(AbstractBatchEvaluator.POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 关闭时在途批次的结果不会再来.
+                if (this.closed)
+                    throw new UnsupportedOperationException(AbstractBatchEvaluator.EVALUATOR_CLOSED);
+                if (this.isStalled()) {
+                    this.failQueued();
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+    private void failQueued() {
+
+        EvaluationBatch batch;
+        while ((batch = this.queue.poll()) != null) {
+            batch.result.completeExceptionally(this.closed
+                    ? new UnsupportedOperationException(AbstractBatchEvaluator.EVALUATOR_CLOSED)
+                    : new UncheckedIOException(AbstractBatchEvaluator.NODES_FAILED,
+                    this.lastFailure instanceof IOException
+                            ? (IOException) this.lastFailure
+                            : new IOException(this.lastFailure)));
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+
+/**
+ * 染色体计算代价的估计.
+ * Only the order of the estimates matters to `ParallelEvaluator`, so any unit will do as long as one estimator uses
+ * the same unit for every chromosome. An estimator that learns from measured costs, such as `OnlineCostModel`,
+ * overrides `observe`.
+ */
+@FunctionalInterface
+public interface CostEstimator {
+
+    /**
+     * @param chromosome 待计算的染色体.
+     * @return 估计的计算代价.
+     */
+    double estimate(Chromosome chromosome);
+
+    /**
+     * 计算完成后由 `ParallelEvaluator` 调用, 可能同时来自多个线程.
+     *
+     * @param chromosome 计算过的染色体.
+     * @param nanos      实际耗时（纳秒）.
+     */
+    default void observe(Chromosome chromosome, long nanos) {
+    }
+
+}
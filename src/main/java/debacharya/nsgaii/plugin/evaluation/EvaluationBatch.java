@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 一批待计算的染色体与编码好的请求帧.
+ */
+final class EvaluationBatch {
+
+    static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    static final byte BOOLEAN_ALLELE = 0;
+    static final byte DOUBLE_ALLELE = 1;
+
+    final int id;
+    final List<Chromosome> chromosomes;
+    final byte[] request;
+    final CompletableFuture<double[]> result = new CompletableFuture<>();
+
+    /**
+     * @param id          请求编号.
+     * @param chromosomes 等长的染色体.
+     * @param alleleKinds 是否在变量之前写出每个基因位的类型.
+     */
+    EvaluationBatch(int id, List<Chromosome> chromosomes, boolean alleleKinds) {
+
+        int count = chromosomes.size();
+        int variableCount = chromosomes.get(0).getLength();
+        double[] variables = Service.decisionVariables(chromosomes);
+        int length = HEADER_BYTES + (alleleKinds ? variableCount : 0) + Double.BYTES * count * variableCount;
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+
+        buffer.putInt(length)
+                .putInt(id)
+                .putInt(count)
+                .putInt(variableCount);
+        if (alleleKinds) {
+            for (int j = 0; j < variableCount; j++) {
+                buffer.put(chromosomes.get(0).getGeneticCode().get(j) instanceof BooleanAllele
+                        ? BOOLEAN_ALLELE
+                        : DOUBLE_ALLELE);
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            for (int j = 0; j < variableCount; j++) {
+                buffer.putDouble(variables[j * count + c]);
+            }
+        }
+
+        this.id = id;
+        this.chromosomes = chromosomes;
+        this.request = buffer.array();
+
+    }
+
+}
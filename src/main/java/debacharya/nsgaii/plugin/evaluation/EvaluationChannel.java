@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Configuration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * 与一个计算节点之间的双向字节流.
+ * A writer thread pulls batches from the queue shared by all channels of an evaluator and keeps up to
+ * `pipelineDepth` of them in flight, and a reader thread matches the answers, which arrive in request order. When
+ * either direction fails the channel closes its peer and puts its in-flight batches back at the head of the queue.
+ * A response is only read after its length has been checked against the batch it answers, and anything the reader
+ * throws, a malformed frame or a read timeout while batches are in flight, counts as a failure of the node.
+ */
+final class EvaluationChannel {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BlockingDeque<EvaluationBatch> queue;
+    private final OutputStream output;
+    private final DataInputStream input;
+    private final Semaphore permits;
+    private final BlockingQueue<EvaluationBatch> inFlight = new LinkedBlockingQueue<>();
+    private final Runnable disconnect;
+    private final Consumer<Exception> failureListener;
+    private final Thread writer;
+    private final Thread reader;
+
+    private volatile boolean alive = true;
+
+    /**
+     * @param name            线程名前缀.
+     * @param queue           共享的批次队列.
+     * @param input           节点的输出.
+     * @param output          节点的输入.
+     * @param pipelineDepth   同时在途的最大批数.
+     * @param disconnect      失败时断开节点.
+     * @param failureListener 失败时调用.
+     */
+    EvaluationChannel(String name,
+                      BlockingDeque<EvaluationBatch> queue,
+                      InputStream input,
+                      OutputStream output,
+                      int pipelineDepth,
+                      Runnable disconnect,
+                      Consumer<Exception> failureListener) {
+
+        this.queue = queue;
+        this.input = new DataInputStream(new BufferedInputStream(input, EvaluationChannel.BUFFER_SIZE));
+        this.output = new BufferedOutputStream(output, EvaluationChannel.BUFFER_SIZE);
+        this.permits = new Semaphore(pipelineDepth);
+        this.disconnect = disconnect;
+        this.failureListener = failureListener;
+
+        this.writer = new Thread(this::write, name + "-writer");
+        this.writer.setDaemon(true);
+        this.reader = new Thread(this::read, name + "-reader");
+        this.reader.setDaemon(true);
+
+    }
+
+    void start() {
+        this.writer.start();
+        this.reader.start();
+    }
+
+    boolean isAlive() {
+        return this.alive;
+    }
+
+    int getInFlight() {
+        return this.inFlight.size();
+    }
+
+    /**
+     * 不再取新的批次, 并关闭节点的输入.
+     */
+    void shutdown() {
+
+        synchronized (this) {
+            this.alive = false;
+        }
+        this.writer.interrupt();
+        try {
+            this.output.close();
+        } catch (IOException e) {
+            this.disconnect.run();
+        }
+
+    }
+
+    // 从共享队列取批次写给节点, 在途批数受 permits 限制.
+    private void write() {
+
+        try {
+            while (this.alive) {
+
+                this.permits.acquire();
+                EvaluationBatch batch = this.queue.take();
+
+                synchronized (this) {
+                    if (!this.alive) {
+                        this.queue.addFirst(batch);
+                        return;
+                    }
+                    this.inFlight.add(batch);
+                }
+
+                this.output.write(batch.request);
+                this.output.flush();
+
+            }
+        } catch (InterruptedException e) {
+            // stopped by fail() or shutdown().
+        } catch (IOException e) {
+            this.fail(e);
+        }
+
+    }
+
+    // 按发送顺序读回结果.
+    private void read() {
+
+        int objectiveCount = Configuration.objectives.size();
+
+        try {
+            while (true) {
+
+                int length;
+                try {
+                    length = this.input.readInt();
+                } catch (SocketTimeoutException e) {
+                    // 空闲的节点不算超时, 只有在途批次等不到结果才算.
+                    if (this.inFlight.isEmpty()) {
+                        continue;
+                    }
+                    throw e;
+                }
+
+                // 先按对应的批次检查长度, 再分配缓冲区.
+                EvaluationBatch batch = this.inFlight.peek();
+                if (batch == null ||
+                        length != 3 * Integer.BYTES + (long) Double.BYTES * batch.chromosomes.size() * objectiveCount)
+                    throw new IOException(AbstractBatchEvaluator.UNEXPECTED_RESPONSE);
+
+                byte[] frame = new byte[length];
+                this.input.readFully(frame);
+                ByteBuffer response = ByteBuffer.wrap(frame);
+                int id = response.getInt();
+                int count = response.getInt();
+                int objectives = response.getInt();
+
+                if (batch.id != id || batch.chromosomes.size() != count || objectives != objectiveCount)
+                    throw new IOException(AbstractBatchEvaluator.UNEXPECTED_RESPONSE);
+
+                double[] values = new double[count * objectives];
+                response.asDoubleBuffer().get(values);
+
+                synchronized (this) {
+                    this.inFlight.poll();
+                }
+                batch.result.complete(values);
+                this.permits.release();
+
+            }
+        } catch (IOException | RuntimeException e) {
+            this.fail(e);
+        } catch (Error e) {
+            this.fail(new IOException(AbstractBatchEvaluator.UNEXPECTED_RESPONSE, e));
+            throw e;
+        }
+
+    }
+
+    // 在途批次交还共享队列头部, 由其他节点重新计算.
+    private void fail(Exception cause) {
+
+        List<EvaluationBatch> retries;
+        synchronized (this) {
+            if (!this.alive) {
+                return;
+            }
+            this.alive = false;
+            retries = new ArrayList<>(this.inFlight);
+            this.inFlight.clear();
+        }
+
+        this.disconnect.run();
+        this.writer.interrupt();
+        for (int i = retries.size() - 1; i >= 0; i--) {
+            this.queue.addFirst(retries.get(i));
+        }
+        this.failureListener.accept(cause);
+
+    }
+
+}
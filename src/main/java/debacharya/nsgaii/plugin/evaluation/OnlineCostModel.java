@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.datastructure.AbstractAllele;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按决策空间区域在线学习的计算代价模型.
+ * Cuts every decision variable into `divisions` equal cells between its bounds and keeps an exponential moving
+ * average of the measured evaluation time of each occupied cell of the resulting grid. Chromosomes in a cell that has
+ * not been observed yet are estimated with the average over all observations, so the model starts out neutral and
+ * sharpens as the run explores the space. `BooleanAllele` genes are read as 0 or 1 within the bounds [0, 1].
+ * Pass the indices of the variables that drive the cost, a mesh size for instance, to keep the grid coarse.
+ */
+public class OnlineCostModel implements CostEstimator {
+
+    public static final String UNSUPPORTED_ALLELE = "The cost model supports only DoubleAllele or BooleanAllele genes.";
+    public static final double DEFAULT_SMOOTHING = 0.3;
+
+    private final int[] variables;
+    private final double[] lower;
+    private final double[] upper;
+    private final int divisions;
+    private final double smoothing;
+    private final Map<Long, double[]> cells = new HashMap<>();
+
+    private double totalNanos = 0;
+    private long observations = 0;
+
+    /**
+     * @param variables 参与划分区域的决策变量下标.
+     * @param lower     各决策变量的下界, 按 `variables` 的顺序.
+     * @param upper     各决策变量的上界, 按 `variables` 的顺序.
+     * @param divisions 每个变量划分的区间数.
+     */
+    public OnlineCostModel(int[] variables, double[] lower, double[] upper, int divisions) {
+        this(variables, lower, upper, divisions, OnlineCostModel.DEFAULT_SMOOTHING);
+    }
+
+    /**
+     * @param variables 参与划分区域的决策变量下标.
+     * @param lower     各决策变量的下界, 按 `variables` 的顺序.
+     * @param upper     各决策变量的上界, 按 `variables` 的顺序.
+     * @param divisions 每个变量划分的区间数.
+     * @param smoothing 新观测值的权重, 在 (0, 1] 之间.
+     */
+    public OnlineCostModel(int[] variables, double[] lower, double[] upper, int divisions, double smoothing) {
+
+        if (variables.length != lower.length || variables.length != upper.length)
+            throw new UnsupportedOperationException("Bounds must be given for every variable of the cost model.");
+        if (divisions < 1)
+            throw new UnsupportedOperationException("Divisions cannot be less than 1.");
+        if (smoothing <= 0 || smoothing > 1)
+            throw new UnsupportedOperationException("Smoothing must lie in (0, 1].");
+
+        this.variables = variables.clone();
+        this.lower = lower.clone();
+        this.upper = upper.clone();
+        this.divisions = divisions;
+        this.smoothing = smoothing;
+
+    }
+
+    @Override
+    public synchronized double estimate(Chromosome chromosome) {
+
+        double[] cell = this.cells.get(this.cellOf(chromosome));
+        if (cell != null) {
+            return cell[0];
+        }
+        return this.observations == 0 ? 0 : this.totalNanos / this.observations;
+
+    }
+
+    @Override
+    public synchronized void observe(Chromosome chromosome, long nanos) {
+
+        this.totalNanos += nanos;
+        this.observations++;
+
+        long key = this.cellOf(chromosome);
+        double[] cell = this.cells.get(key);
+        if (cell == null) {
+            this.cells.put(key, new double[]{nanos});
+        } else {
+            cell[0] += this.smoothing * (nanos - cell[0]);
+        }
+
+    }
+
+    /**
+     * @return 已经观测过的区域数.
+     */
+    public synchronized int getObservedCells() {
+        return this.cells.size();
+    }
+
+    // 区域编号: 各变量所在区间按 divisions 进制拼接, 变量多时溢出回绕, 相当于散列.
+    private long cellOf(Chromosome chromosome) {
+
+        List<AbstractAllele> geneticCode = chromosome.getGeneticCode();
+        long cell = 0;
+
+        for (int k = 0; k < this.variables.length; k++) {
+
+            AbstractAllele allele = geneticCode.get(this.variables[k]);
+            double value;
+            if (allele instanceof DoubleAllele) {
+                value = ((DoubleAllele) allele).getGene();
+            } else if (allele instanceof BooleanAllele) {
+                value = ((BooleanAllele) allele).getGene() ? 1 : 0;
+            } else {
+                throw new UnsupportedOperationException(OnlineCostModel.UNSUPPORTED_ALLELE);
+            }
+            int index = (int) ((value - this.lower[k]) / (this.upper[k] - this.lower[k]) * this.divisions);
+
+            cell = cell * this.divisions + Math.max(0, Math.min(this.divisions - 1, index));
+
+        }
+        return cell;
+
+    }
+
+}
@@ -0,0 +1,454 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+import debacharya.nsgaii.plugin.PopulationEvaluator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多线程计算引擎.
+ * Evaluates the chromosomes with `Configuration.objectives`, at most `threadCount` at a time, so the objective
+ * functions have to be thread-safe. The calling thread hands out one chromosome whenever a slot is free, so an idle
+ * slot always takes the next chromosome instead of waiting on a fixed share of the list.
+ * <p>
+ * With a `CostEstimator` the chromosomes are handed out longest-expected-first (LPT): long evaluations start at the
+ * beginning of the generation and short ones fill the gaps at its end, rather than one long evaluation running alone
+ * on the last busy thread. The measured time of every evaluation is handed back to the estimator, so that an
+ * `OnlineCostModel` improves from one generation to the next.
+ * <p>
+ * With a deadline, an evaluation running longer than `deadlineMillis` is interrupted and abandoned, its slot is
+ * given to the next chromosome, and the chromosome is handled according to the `TimeoutPolicy`. With hedging, once
+ * every chromosome has been handed out, idle slots start a second evaluation of any chromosome that has been running
+ * longer than the 95th percentile of the recent evaluation times, and the first of the two to finish wins. An
+ * objective function that ignores interrupts keeps its thread busy until it returns, but no longer holds up the
+ * generation; the pool grows by one thread for every such evaluation still running.
+ */
+public class ParallelEvaluator implements PopulationEvaluator, AutoCloseable {
+
+    public static final double HEDGE_PERCENTILE = 0.95;
+    public static final int HEDGE_MIN_SAMPLES = 20;
+    public static final int DEFAULT_MAX_RETRIES = 1;
+
+    private static final int LATENCY_WINDOW = 256;
+
+    private final ExecutorService executor;
+    private final int threadCount;
+    private final CostEstimator costEstimator;
+    private final long[] latencies = new long[ParallelEvaluator.LATENCY_WINDOW];
+
+    private long deadlineNanos = 0;
+    private TimeoutPolicy timeoutPolicy = TimeoutPolicy.MARK_INFEASIBLE;
+    private int maxRetries = ParallelEvaluator.DEFAULT_MAX_RETRIES;
+    private boolean hedging = false;
+    private long hedgeThresholdNanos = 0;
+    private long latencyCount = 0;
+    private long timeouts = 0;
+    private long hedges = 0;
+    private double[] worstObjectives = new double[0];
+
+    /**
+     * 每个处理器一个线程, 按染色体顺序计算.
+     */
+    public ParallelEvaluator() {
+        this(Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * 每个处理器一个线程, 按估计代价从大到小计算.
+     *
+     * @param costEstimator 计算代价估计.
+     */
+    public ParallelEvaluator(CostEstimator costEstimator) {
+        this(Runtime.getRuntime().availableProcessors(), costEstimator);
+    }
+
+    /**
+     * @param threadCount   同时计算的染色体数.
+     * @param costEstimator 计算代价估计, 为空时按染色体顺序计算.
+     */
+    public ParallelEvaluator(int threadCount, CostEstimator costEstimator) {
+
+        if (threadCount < 1)
+            throw new UnsupportedOperationException("Thread count cannot be less than 1.");
+
+        AtomicInteger threads = new AtomicInteger();
+        this.threadCount = threadCount;
+        this.costEstimator = costEstimator;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "nsga2-evaluator-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+    @Override
+    public void evaluate(List<Chromosome> chromosomes) {
+
+        int count = chromosomes.size();
+        int objectiveCount = Configuration.objectives.size();
+        double[][] values = new double[count][];
+        boolean[] timedOut = new boolean[count];
+        int[] running = new int[count];
+        int[] retries = new int[count];
+        boolean[] hedged = new boolean[count];
+
+        Deque<Integer> waiting = new ArrayDeque<>();
+        for (int index : this.schedule(chromosomes)) {
+            waiting.add(index);
+        }
+        List<Attempt> attempts = new ArrayList<>();
+        BlockingQueue<Attempt> finished = new LinkedBlockingQueue<>();
+        int resolved = 0;
+
+        try {
+            while (resolved < count) {
+
+                while (attempts.size() < this.threadCount && !waiting.isEmpty()) {
+                    int index = waiting.poll();
+                    attempts.add(this.launch(chromosomes.get(index), index, finished));
+                    running[index]++;
+                }
+
+                long now = System.nanoTime();
+                boolean canHedge = this.hedging && this.hedgeThresholdNanos > 0 && waiting.isEmpty();
+                if (canHedge) {
+                    for (Attempt attempt : new ArrayList<>(attempts)) {
+                        if (attempts.size() < this.threadCount
+                                && !hedged[attempt.index]
+                                && now - attempt.start > this.hedgeThresholdNanos) {
+                            hedged[attempt.index] = true;
+                            attempts.add(this.launch(chromosomes.get(attempt.index), attempt.index, finished));
+                            running[attempt.index]++;
+                            this.hedges++;
+                        }
+                    }
+                }
+
+                Attempt done = this.awaitNext(finished, attempts, hedged,
+                        canHedge && attempts.size() < this.threadCount);
+                if (done != null && attempts.remove(done)) {
+                    running[done.index]--;
+                    if (done.failure != null) {
+                        if (running[done.index] == 0 && values[done.index] == null && !timedOut[done.index]) {
+                            ParallelEvaluator.rethrow(done.failure);
+                        }
+                    } else if (values[done.index] == null && !timedOut[done.index]) {
+                        values[done.index] = done.values;
+                        resolved++;
+                        this.record(chromosomes.get(done.index), done.nanos);
+                        for (Attempt sibling : new ArrayList<>(attempts)) {
+                            if (sibling.index == done.index) {
+                                sibling.future.cancel(true);
+                                attempts.remove(sibling);
+                                running[done.index]--;
+                            }
+                        }
+                    }
+                }
+
+                if (this.deadlineNanos > 0) {
+                    now = System.nanoTime();
+                    for (Attempt attempt : new ArrayList<>(attempts)) {
+                        if (now - attempt.start >= this.deadlineNanos) {
+                            attempt.future.cancel(true);
+                            attempts.remove(attempt);
+                            if (--running[attempt.index] > 0) {
+                                continue;
+                            }
+                            this.timeouts++;
+                            if (this.timeoutPolicy == TimeoutPolicy.RETRY && retries[attempt.index] < this.maxRetries) {
+                                retries[attempt.index]++;
+                                waiting.addFirst(attempt.index);
+                            } else {
+                                timedOut[attempt.index] = true;
+                                resolved++;
+                            }
+                        }
+                    }
+                }
+
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            for (Attempt attempt : attempts) {
+                attempt.future.cancel(true);
+            }
+        }
+
+        // 最差值跨调用累计, 超时的染色体不会因为同一批里没有完成的染色体而得到偏好的值.
+        if (this.worstObjectives.length != objectiveCount) {
+            this.worstObjectives = new double[objectiveCount];
+            Arrays.fill(this.worstObjectives, Double.POSITIVE_INFINITY);
+        }
+        for (double[] row : values) {
+            for (int i = 0; row != null && i < objectiveCount; i++) {
+                this.worstObjectives[i] = Math.min(this.worstObjectives[i], row[i]);
+            }
+        }
+
+        for (int c = 0; c < count; c++) {
+            Chromosome chromosome = chromosomes.get(c);
+            for (int i = 0; i < objectiveCount; i++) {
+                chromosome.addObjectiveValue(i, values[c] != null ? values[c][i]
+                        : this.worstObjectives[i] == Double.POSITIVE_INFINITY ? -Double.MAX_VALUE
+                        : this.worstObjectives[i]);
+            }
+            if (timedOut[c]) {
+                chromosome.setEvaluated(false);
+                if (this.timeoutPolicy != TimeoutPolicy.WORST_OBJECTIVES) {
+                    chromosome.setConstraintViolation(Double.POSITIVE_INFINITY);
+                    chromosome.setConstraintsEvaluated(false);
+                }
+            }
+        }
+
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    public CostEstimator getCostEstimator() {
+        return this.costEstimator;
+    }
+
+    public long getDeadlineMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.deadlineNanos);
+    }
+
+    /**
+     * 单次计算的最长时间, 默认 0 表示不限.
+     *
+     * @param deadlineMillis 毫秒.
+     */
+    public void setDeadlineMillis(long deadlineMillis) {
+
+        if (deadlineMillis < 0)
+            throw new UnsupportedOperationException("Deadline cannot be negative.");
+
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+    }
+
+    public TimeoutPolicy getTimeoutPolicy() {
+        return this.timeoutPolicy;
+    }
+
+    /**
+     * 超时后的处理方式, 默认 `MARK_INFEASIBLE`.
+     *
+     * @param timeoutPolicy
+     */
+    public void setTimeoutPolicy(TimeoutPolicy timeoutPolicy) {
+        this.timeoutPolicy = timeoutPolicy;
+    }
+
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    /**
+     * `TimeoutPolicy.RETRY` 下每个染色体在一次调用中的最大重试次数.
+     *
+     * @param maxRetries
+     */
+    public void setMaxRetries(int maxRetries) {
+
+        if (maxRetries < 0)
+            throw new UnsupportedOperationException("Retries cannot be negative.");
+
+        this.maxRetries = maxRetries;
+
+    }
+
+    public boolean isHedging() {
+        return this.hedging;
+    }
+
+    /**
+     * 是否为超过 95 分位耗时的计算启动备份计算, 默认不启动.
+     *
+     * @param hedging
+     */
+    public void setHedging(boolean hedging) {
+        this.hedging = hedging;
+    }
+
+    /**
+     * @return 超时的计算次数.
+     */
+    public long getTimeouts() {
+        return this.timeouts;
+    }
+
+    /**
+     * @return 启动的备份计算次数.
+     */
+    public long getHedges() {
+        return this.hedges;
+    }
+
+    /**
+     * @param chromosomes 待计算的染色体.
+     * @return 计算顺序: 按估计代价从大到小排列的下标, 没有估计器时保持原顺序.
+     */
+    public int[] schedule(List<Chromosome> chromosomes) {
+
+        int count = chromosomes.size();
+        int[] order = new int[count];
+        Arrays.setAll(order, i -> i);
+        if (this.costEstimator == null) {
+            return order;
+        }
+
+        double[] estimates = new double[count];
+        Integer[] sorted = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            estimates[i] = this.costEstimator.estimate(chromosomes.get(i));
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (left, right) -> Double.compare(estimates[right], estimates[left]));
+        for (int i = 0; i < count; i++) {
+            order[i] = sorted[i];
+        }
+        return order;
+
+    }
+
+    private Attempt launch(Chromosome chromosome, int index, BlockingQueue<Attempt> finished) {
+
+        Attempt attempt = new Attempt(index);
+        attempt.future = this.executor.submit(() -> {
+            try {
+                List<AbstractObjectiveFunction> objectives = Configuration.objectives;
+                double[] values = new double[objectives.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = objectives.get(i).getValue(chromosome);
+                }
+                attempt.values = values;
+            } catch (Throwable e) {
+                // 包括 Error, 由 `evaluate` 在调用线程上重新抛出.
+                attempt.failure = e;
+            } finally {
+                attempt.nanos = System.nanoTime() - attempt.start;
+                finished.add(attempt);
+            }
+        });
+        return attempt;
+
+    }
+
+    private static void rethrow(Throwable failure) {
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IllegalStateException(failure);
+
+    }
+
+    // 等到下一个计算结束, 或下一个截止/备份时间点.
+    private Attempt awaitNext(BlockingQueue<Attempt> finished,
+                              List<Attempt> attempts,
+                              boolean[] hedged,
+                              boolean canHedge) throws InterruptedException {
+
+        long wake = Long.MAX_VALUE;
+        for (Attempt attempt : attempts) {
+            if (this.deadlineNanos > 0) {
+                wake = Math.min(wake, attempt.start + this.deadlineNanos);
+            }
+            if (canHedge && !hedged[attempt.index]) {
+                wake = Math.min(wake, attempt.start + this.hedgeThresholdNanos);
+            }
+        }
+
+        if (wake == Long.MAX_VALUE) {
+            return finished.take();
+        }
+        return finished.poll(Math.max(0, wake - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+    }
+
+    // 记录耗时, 更新备份计算的阈值与代价估计.
+    private void record(Chromosome chromosome, long nanos) {
+
+        this.latencies[(int) (this.latencyCount++ % ParallelEvaluator.LATENCY_WINDOW)] = nanos;
+        int samples = (int) Math.min(this.latencyCount, ParallelEvaluator.LATENCY_WINDOW);
+        if (samples >= ParallelEvaluator.HEDGE_MIN_SAMPLES) {
+            long[] sorted = Arrays.copyOf(this.latencies, samples);
+            Arrays.sort(sorted);
+            this.hedgeThresholdNanos = sorted[(int) Math.ceil(ParallelEvaluator.HEDGE_PERCENTILE * samples) - 1];
+        }
+
+        if (this.costEstimator != null) {
+            this.costEstimator.observe(chromosome, nanos);
+        }
+
+    }
+
+    private static final class Attempt {
+
+        private final int index;
+        private final long start = System.nanoTime();
+        private Future<?> future;
+        private volatile double[] values;
+        private volatile Throwable failure;
+        private volatile long nanos;
+
+        private Attempt(int index) {
+            this.index = index;
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.plugin.PopulationEvaluator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 常用的目标值计算引擎.
+ */
+public class PopulationEvaluatorProvider {
+
+    /**
+     * 在当前线程调用 `Configuration.objectives`, 这是 `Configuration` 的默认计算引擎.
+     *
+     * @return local evaluator.
+     */
+    public static PopulationEvaluator local() {
+        return Service::evaluateObjectives;
+    }
+
+    /**
+     * 每个处理器一个线程, 按代价模型估计的耗时从大到小计算, 代价模型随计算结果在线更新.
+     *
+     * @param costModel 计算代价模型.
+     * @return parallel evaluator, to be closed after the run.
+     */
+    public static ParallelEvaluator parallel(CostEstimator costModel) {
+        return new ParallelEvaluator(costModel);
+    }
+
+    /**
+     * 按可用处理器数启动常驻的外部计算进程.
+     *
+     * @param command 启动一个计算进程的命令行.
+     * @return process pool evaluator, to be closed after the run.
+     */
+    public static ProcessPoolEvaluator processPool(List<String> command) {
+        return new ProcessPoolEvaluator(command);
+    }
+
+    /**
+     * 在给定端口上等待 `SocketWorker` 计算节点连接.
+     *
+     * @param port 端口, 0 表示由系统分配.
+     * @return socket evaluator, to be closed after the run.
+     * @throws IOException 无法监听.
+     */
+    public static SocketEvaluator distributed(int port) throws IOException {
+        return new SocketEvaluator(port);
+    }
+
+}
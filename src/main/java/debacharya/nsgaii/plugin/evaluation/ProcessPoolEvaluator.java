@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 外部进程池计算引擎.
+ * Keeps `workerCount` long-lived processes, started from `command`, and streams batches of decision vectors to them
+ * over their stdin, reading objective vectors back from their stdout on a dedicated thread per worker. Every worker
+ * pulls its next batch from a shared queue and keeps up to `pipelineDepth` batches in flight, so a fast worker takes
+ * more batches and a worker never idles while its next request is on the way.
+ * <p>
+ * Both directions use length-prefixed big-endian frames:
+ * <pre>
+ * request:  int length | int id | int count | int variables  | double[count * variables]  (row by row)
+ * response: int length | int id | int count | int objectives | double[count * objectives] (row by row)
+ * </pre>
+ * where `length` counts the bytes after itself. Decision variables are encoded as in `Service.decisionVariables`,
+ * and a worker answers the requests in the order it received them with the values to maximise. A worker exits when
+ * its stdin is closed; anything it prints to stderr goes to the stderr of this process.
+ * <p>
+ * When a worker dies its in-flight batches are handed to the other workers and the worker is restarted at the next
+ * call; the evaluation fails only once every worker has died. The evaluator has to be closed after the run.
+ */
+public class ProcessPoolEvaluator extends AbstractBatchEvaluator {
+
+    private static final long SHUTDOWN_MILLIS = 5000;
+
+    private final List<String> command;
+    private final Process[] processes;
+    private final EvaluationChannel[] channels;
+
+    /**
+     * 每个处理器一个计算进程, 每个进程分到约 `BATCHES_PER_NODE` 批.
+     *
+     * @param command 启动一个计算进程的命令行.
+     */
+    public ProcessPoolEvaluator(List<String> command) {
+        this(command, Runtime.getRuntime().availableProcessors(), 0, AbstractBatchEvaluator.DEFAULT_PIPELINE_DEPTH);
+    }
+
+    /**
+     * @param command       启动一个计算进程的命令行.
+     * @param workerCount   计算进程数.
+     * @param batchSize     每批的染色体数, 0 表示按进程数平均分成 `workerCount * BATCHES_PER_NODE` 批.
+     * @param pipelineDepth 每个进程同时在途的最大批数.
+     */
+    public ProcessPoolEvaluator(List<String> command, int workerCount, int batchSize, int pipelineDepth) {
+
+        super(batchSize, pipelineDepth, false);
+
+        if (command.isEmpty())
+            throw new UnsupportedOperationException("Worker command cannot be empty.");
+        if (workerCount < 1)
+            throw new UnsupportedOperationException("Worker count cannot be less than 1.");
+
+        this.command = new ArrayList<>(command);
+        this.processes = new Process[workerCount];
+        this.channels = new EvaluationChannel[workerCount];
+
+    }
+
+    public int getWorkerCount() {
+        return this.channels.length;
+    }
+
+    // 启动尚未启动或已经退出的计算进程.
+    @Override
+    protected void connect() {
+
+        for (int i = 0; i < this.channels.length; i++) {
+            if (this.channels[i] == null || !this.channels[i].isAlive()) {
+
+                Process process;
+                try {
+                    process = new ProcessBuilder(this.command)
+                            .redirectError(ProcessBuilder.Redirect.INHERIT)
+                            .start();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                this.processes[i] = process;
+                this.channels[i] = new EvaluationChannel("nsga2-evaluator-" + i,
+                        this.queue,
+                        process.getInputStream(),
+                        process.getOutputStream(),
+                        this.pipelineDepth,
+                        process::destroyForcibly,
+                        this::onNodeFailure);
+                this.channels[i].start();
+
+            }
+        }
+
+    }
+
+    @Override
+    protected void disconnect() {
+
+        for (int i = 0; i < this.channels.length; i++) {
+            if (this.channels[i] != null) {
+                this.channels[i].shutdown();
+                try {
+                    if (!this.processes[i].waitFor(ProcessPoolEvaluator.SHUTDOWN_MILLIS, TimeUnit.MILLISECONDS)) {
+                        this.processes[i].destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    this.processes[i].destroyForcibly();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+    }
+
+    @Override
+    protected int getNodeCount() {
+        return this.channels.length;
+    }
+
+    @Override
+    protected boolean isStalled() {
+
+        for (EvaluationChannel channel : this.channels) {
+            if (channel.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+}
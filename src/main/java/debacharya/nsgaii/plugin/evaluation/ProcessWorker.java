@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.problem.BenchmarkProblem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+
+/**
+ * `ProcessPoolEvaluator` 计算进程的 Java 参考实现.
+ * Builds the problem from its class name and integer constructor arguments, answers the pool's requests with the
+ * values of `BenchmarkProblem.getObjectives()`, that is the negated objectives ready to be maximised, and exits when
+ * its stdin is closed. It is used to test the pool, and shows what a wrapper
+ * around a native simulator has to do.
+ * <pre>
+ * java -cp &lt;classpath&gt; debacharya.nsgaii.plugin.evaluation.ProcessWorker debacharya.nsgaii.problem.ZDT1 30
+ * </pre>
+ */
+public class ProcessWorker {
+
+    public static final String USAGE = "usage: ProcessWorker <benchmark problem class> [int constructor arguments]";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length < 1) {
+            System.err.println(ProcessWorker.USAGE);
+            System.exit(2);
+        }
+
+        Class<?>[] parameterTypes = new Class<?>[args.length - 1];
+        Object[] parameters = new Object[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            parameterTypes[i - 1] = int.class;
+            parameters[i - 1] = Integer.parseInt(args[i]);
+        }
+        BenchmarkProblem problem = (BenchmarkProblem) Class.forName(args[0])
+                .getConstructor(parameterTypes)
+                .newInstance(parameters);
+        PrintStream protocol = System.out;
+        // stdout carries the protocol, stray prints go to stderr.
+        System.setOut(System.err);
+        ProcessWorker.serve(problem, System.in, protocol);
+
+    }
+
+    /**
+     * 逐帧读取请求并写回结果, 直到输入结束.
+     *
+     * @param problem 测试问题.
+     * @param in      请求流.
+     * @param out     结果流.
+     * @throws IOException 读写失败, 或请求的变量数与测试问题不符.
+     */
+    public static void serve(BenchmarkProblem problem, InputStream in, OutputStream out) throws IOException {
+
+        DataInputStream input = new DataInputStream(new BufferedInputStream(in, ProcessWorker.BUFFER_SIZE));
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out, ProcessWorker.BUFFER_SIZE));
+        int objectiveCount = problem.getNumberOfObjectives();
+
+        while (true) {
+
+            int length;
+            try {
+                length = input.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+
+            byte[] frame = new byte[length];
+            input.readFully(frame);
+            ByteBuffer request = ByteBuffer.wrap(frame);
+            int id = request.getInt();
+            int count = request.getInt();
+            int variableCount = request.getInt();
+
+            if (variableCount != problem.getNumberOfVariables())
+                throw new IOException(BenchmarkProblem.GENETIC_CODE_LENGTH_MISMATCH);
+
+            double[] variables = new double[variableCount * count];
+            for (int c = 0; c < count; c++) {
+                for (int j = 0; j < variableCount; j++) {
+                    variables[j * count + c] = request.getDouble();
+                }
+            }
+
+            double[] objectives = new double[objectiveCount * count];
+            problem.evaluate(variables, count, objectives);
+
+            output.writeInt(3 * Integer.BYTES + Double.BYTES * objectiveCount * count);
+            output.writeInt(id);
+            output.writeInt(count);
+            output.writeInt(objectiveCount);
+            for (int c = 0; c < count; c++) {
+                for (int i = 0; i < objectiveCount; i++) {
+                    output.writeDouble(-objectives[i * count + c]);
+                }
+            }
+            output.flush();
+
+        }
+
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TCP 分布式计算引擎.
+ * Listens for `SocketWorker` nodes, which connect to this coordinator and compute their batches with the same
+ * `Configuration.objectives` as this process. Nodes can join, drop and reconnect at any time: every node pulls
+ * batches from a shared queue, so faster nodes take more of them, and the batches of a dropped connection are
+ * put back at the head of the queue for the remaining nodes.
+ * <p>
+ * Frames are those of `ProcessPoolEvaluator`, except that a request carries the kind of each gene before the
+ * variables, so that a node can rebuild the chromosomes:
+ * <pre>
+ * request:  int length | int id | int count | int variables | byte[variables] (0 boolean, 1 double) | double[count * variables]
+ * response: int length | int id | int count | int objectives | double[count * objectives]
+ * </pre>
+ * An evaluation fails when no node has been connected for `nodeTimeoutMillis`, and a connected node that has batches
+ * in flight but sends nothing for `nodeTimeoutMillis` is dropped like a lost one, so the timeout must exceed the time
+ * a node needs for one batch. The evaluator has to be closed after the run, which also closes the listening socket.
+ * <p>
+ * The protocol has no authentication: anyone who can connect can read the decision variables and answer with
+ * arbitrary objective values. Only listen on a trusted network.
+ */
+@Slf4j
+public class SocketEvaluator extends AbstractBatchEvaluator {
+
+    public static final long DEFAULT_NODE_TIMEOUT_MILLIS = 30_000;
+
+    private final ServerSocket server;
+    private final long nodeTimeoutNanos;
+    private final int socketTimeoutMillis;
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private volatile long lastConnected;
+
+    /**
+     * 只在本机回环地址的给定端口上监听, 接受其他主机上的节点时用带地址的构造函数.
+     *
+     * @param port 端口, 0 表示由系统分配.
+     * @throws IOException 无法监听.
+     */
+    public SocketEvaluator(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0, AbstractBatchEvaluator.DEFAULT_PIPELINE_DEPTH,
+                SocketEvaluator.DEFAULT_NODE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param address           监听地址.
+     * @param batchSize         每批的染色体数, 0 表示按节点数平均分成 `getNodeCount() * BATCHES_PER_NODE` 批.
+     * @param pipelineDepth     每个节点同时在途的最大批数.
+     * @param nodeTimeoutMillis 没有任何节点连接时, 计算最多等待的毫秒数; 也是节点在途批次无响应的最长时间.
+     * @throws IOException 无法监听.
+     */
+    public SocketEvaluator(SocketAddress address, int batchSize, int pipelineDepth, long nodeTimeoutMillis)
+            throws IOException {
+
+        super(batchSize, pipelineDepth, true);
+
+        if (nodeTimeoutMillis < 0)
+            throw new UnsupportedOperationException("Node timeout cannot be negative.");
+
+        this.nodeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(nodeTimeoutMillis);
+        this.socketTimeoutMillis = (int) Math.min(nodeTimeoutMillis, Integer.MAX_VALUE);
+        this.server = new ServerSocket();
+        this.server.bind(address);
+
+        Thread acceptor = new Thread(this::accept, "nsga2-coordinator-" + this.getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+    }
+
+    /**
+     * @return 实际监听的端口.
+     */
+    public int getPort() {
+        return this.server.getLocalPort();
+    }
+
+    @Override
+    public int getNodeCount() {
+
+        int count = 0;
+        for (Node node : this.nodes) {
+            if (node.channel.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+
+    }
+
+    @Override
+    protected void connect() {
+        this.nodes.removeIf(node -> !node.channel.isAlive());
+        this.lastConnected = System.nanoTime();
+    }
+
+    @Override
+    protected void disconnect() {
+
+        try {
+            this.server.close();
+        } catch (IOException e) {
+            log.warn("Could not close the coordinator socket.", e);
+        }
+        for (Node node : this.nodes) {
+            node.channel.shutdown();
+            node.close();
+        }
+
+    }
+
+    @Override
+    protected boolean isStalled() {
+
+        if (this.getNodeCount() > 0) {
+            this.lastConnected = System.nanoTime();
+            return false;
+        }
+        return System.nanoTime() - this.lastConnected > this.nodeTimeoutNanos;
+
+    }
+
+    private void accept() {
+
+        while (!this.isClosed()) {
+            try {
+                Socket socket = this.server.accept();
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(this.socketTimeoutMillis);
+                Node node = new Node(socket);
+                this.nodes.add(node);
+                node.channel.start();
+                log.debug("Evaluation node connected from {}.", socket.getRemoteSocketAddress());
+            } catch (IOException e) {
+                if (this.server.isClosed()) {
+                    return;
+                }
+                log.warn("Could not accept an evaluation node.", e);
+            }
+        }
+
+    }
+
+    private final class Node {
+
+        private final Socket socket;
+        private final EvaluationChannel channel;
+
+        private Node(Socket socket) throws IOException {
+            this.socket = socket;
+            this.channel = new EvaluationChannel(
+                    "nsga2-coordinator-node-" + SocketEvaluator.this.connections.incrementAndGet(),
+                    SocketEvaluator.this.queue,
+                    socket.getInputStream(),
+                    socket.getOutputStream(),
+                    SocketEvaluator.this.pipelineDepth,
+                    this::close,
+                    SocketEvaluator.this::onNodeFailure);
+        }
+
+        private void close() {
+            try {
+                this.socket.close();
+            } catch (IOException e) {
+                log.debug("Could not close an evaluation node socket.", e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.datastructure.AbstractAllele;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * `SocketEvaluator` 的计算节点.
+ * Connects to the coordinator and computes every batch it receives with `Configuration.objectives` of this process,
+ * through `Service.evaluateObjectives`. When the connection drops, the node keeps trying to reconnect, and gives up
+ * once the coordinator has been unreachable for `reconnectMillis`.
+ * <pre>
+ * java -cp &lt;classpath&gt; debacharya.nsgaii.plugin.evaluation.SocketWorker &lt;host&gt; &lt;port&gt; &lt;objectives supplier class&gt; [reconnect millis]
+ * </pre>
+ * where the supplier class implements `Supplier&lt;List&lt;AbstractObjectiveFunction&gt;&gt;` with a public no-argument
+ * constructor and returns the objectives of the coordinator.
+ */
+@Slf4j
+public class SocketWorker implements Runnable {
+
+    public static final String USAGE =
+            "usage: SocketWorker <host> <port> <objectives supplier class> [reconnect millis]";
+    public static final long DEFAULT_RECONNECT_MILLIS = 30_000;
+
+    private static final long RETRY_MILLIS = 200;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String host;
+    private final int port;
+    private final long reconnectNanos;
+
+    /**
+     * @param host            协调者地址.
+     * @param port            协调者端口.
+     * @param reconnectMillis 连接断开后尝试重连的最长毫秒数.
+     */
+    public SocketWorker(String host, int port, long reconnectMillis) {
+        this.host = host;
+        this.port = port;
+        this.reconnectNanos = TimeUnit.MILLISECONDS.toNanos(reconnectMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+
+        if (args.length < 3) {
+            System.err.println(SocketWorker.USAGE);
+            System.exit(2);
+        }
+
+        Configuration.objectives = ((Supplier<List<AbstractObjectiveFunction>>) Class.forName(args[2])
+                .getConstructor()
+                .newInstance())
+                .get();
+        new SocketWorker(args[0],
+                Integer.parseInt(args[1]),
+                args.length > 3 ? Long.parseLong(args[3]) : SocketWorker.DEFAULT_RECONNECT_MILLIS).run();
+
+    }
+
+    /**
+     * 连接协调者并计算, 直到协调者在 `reconnectMillis` 内都无法连接, 或线程被中断.
+     */
+    @Override
+    public void run() {
+
+        long deadline = System.nanoTime() + this.reconnectNanos;
+
+        while (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted()) {
+            try (Socket socket = new Socket(this.host, this.port)) {
+                socket.setTcpNoDelay(true);
+                SocketWorker.serve(socket.getInputStream(), socket.getOutputStream());
+            } catch (IOException e) {
+                log.debug("Connection to the coordinator at {}:{} failed.", this.host, this.port, e);
+                try {
+                    Thread.sleep(SocketWorker.RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                continue;
+            }
+            deadline = System.nanoTime() + this.reconnectNanos;
+        }
+
+    }
+
+    /**
+     * 逐帧读取请求并写回结果, 直到输入结束.
+     *
+     * @param in  请求流.
+     * @param out 结果流.
+     * @throws IOException 读写失败.
+     */
+    public static void serve(InputStream in, OutputStream out) throws IOException {
+
+        DataInputStream input = new DataInputStream(new BufferedInputStream(in, SocketWorker.BUFFER_SIZE));
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out, SocketWorker.BUFFER_SIZE));
+        int objectiveCount = Configuration.objectives.size();
+
+        while (true) {
+
+            int length;
+            try {
+                length = input.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+
+            byte[] frame = new byte[length];
+            input.readFully(frame);
+            ByteBuffer request = ByteBuffer.wrap(frame);
+            int id = request.getInt();
+            int count = request.getInt();
+            int variableCount = request.getInt();
+            byte[] kinds = new byte[variableCount];
+            request.get(kinds);
+
+            List<Chromosome> chromosomes = new ArrayList<>(count);
+            for (int c = 0; c < count; c++) {
+                List<AbstractAllele> geneticCode = new ArrayList<>(variableCount);
+                for (int j = 0; j < variableCount; j++) {
+                    double value = request.getDouble();
+                    geneticCode.add(kinds[j] == EvaluationBatch.BOOLEAN_ALLELE
+                            ? new BooleanAllele(value != 0)
+                            : new DoubleAllele(value));
+                }
+                chromosomes.add(new Chromosome(geneticCode));
+            }
+
+            Service.evaluateObjectives(chromosomes);
+
+            output.writeInt(EvaluationBatch.HEADER_BYTES + Double.BYTES * objectiveCount * count);
+            output.writeInt(id);
+            output.writeInt(count);
+            output.writeInt(objectiveCount);
+            for (Chromosome chromosome : chromosomes) {
+                for (int i = 0; i < objectiveCount; i++) {
+                    output.writeDouble(chromosome.getObjectiveValues().get(i));
+                }
+            }
+            output.flush();
+
+        }
+
+    }
+
+}
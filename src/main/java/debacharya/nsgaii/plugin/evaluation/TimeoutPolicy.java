@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+/**
+ * 计算超时后的处理方式.
+ * Timed-out chromosomes receive the worst value of each objective that the evaluator has seen finish so far, or
+ * `-Double.MAX_VALUE` before any did, so that ranking and crowding still see complete objective vectors that never
+ * dominate a real one. They are not marked as evaluated, so they are evaluated again if they survive.
+ */
+public enum TimeoutPolicy {
+
+    /**
+     * 取最差的目标值, 并把约束违反量设为正无穷, 在约束支配下排在所有可行解之后.
+     */
+    MARK_INFEASIBLE,
+
+    /**
+     * 只取最差的目标值.
+     */
+    WORST_OBJECTIVES,
+
+    /**
+     * 重新计算, 超过最大重试次数后按 `MARK_INFEASIBLE` 处理.
+     */
+    RETRY
+
+}
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.listener;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.GenerationListener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 异步监听器.
+ * Hands every event to a single daemon thread that calls the wrapped listener, so the generation loop only pays for
+ * an enqueue plus a copy of the report: the populations of a report are live and their ranks and crowding distances
+ * are re-assigned by the next generation, so the wrapped listener receives a `GenerationReport.snapshot()`.
+ * Generation reports are dropped (and counted) without being copied when the bounded queue is full, which means a slow
+ * listener can fall behind but never blocks the algorithm. Start and terminate events are always delivered.
+ * <p>
+ * The thread is started by `onStart` and stops once the terminate event has been handled, so an idle listener holds
+ * no thread between runs; `close()` stops it early, for example when a run ended with an exception.
+ */
+@Slf4j
+public class AsyncGenerationListener implements GenerationListener, AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private final GenerationListener delegate;
+    private final BlockingQueue<Runnable> queue;
+    private final AtomicLong droppedReports = new AtomicLong();
+
+    private volatile Thread worker;
+    private volatile CountDownLatch finished = new CountDownLatch(0);
+
+    public AsyncGenerationListener(GenerationListener delegate) {
+        this(delegate, AsyncGenerationListener.DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AsyncGenerationListener(GenerationListener delegate, int queueCapacity) {
+
+        if (queueCapacity < 1)
+            throw new UnsupportedOperationException("Queue capacity cannot be less than 1.");
+
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+    }
+
+    @Override
+    public void onStart(Configuration configuration) {
+        this.finished = new CountDownLatch(1);
+        this.enqueue(() -> this.delegate.onStart(configuration));
+        this.startWorker();
+    }
+
+    @Override
+    public void onGeneration(GenerationReport report) {
+        // 队列已满时不必复制报告.
+        if (this.queue.remainingCapacity() == 0) {
+            this.droppedReports.incrementAndGet();
+            return;
+        }
+        GenerationReport snapshot = report.snapshot();
+        if (!this.queue.offer(() -> this.delegate.onGeneration(snapshot))) {
+            this.droppedReports.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onTerminate(Population finalChild) {
+        this.enqueue(() -> this.delegate.onTerminate(finalChild));
+        this.enqueue(new Stop(this.finished));
+    }
+
+    /**
+     * 等待当前运行已提交的事件处理完毕.
+     *
+     * @param timeout 最长等待时间.
+     * @param unit    时间单位.
+     * @return 在超时前处理完所有事件则返回 true.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.finished.await(timeout, unit);
+    }
+
+    /**
+     * 立即停止线程, 丢弃尚未处理的事件.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (this.worker != null) {
+            this.worker.interrupt();
+            this.worker = null;
+        }
+        this.queue.clear();
+        this.finished.countDown();
+
+    }
+
+    public long getDroppedReports() {
+        return this.droppedReports.get();
+    }
+
+    /**
+     * @return 线程是否在运行.
+     */
+    public synchronized boolean isRunning() {
+        return this.worker != null;
+    }
+
+    private void enqueue(Runnable event) {
+
+        try {
+            this.queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+    private synchronized void startWorker() {
+
+        if (this.worker == null) {
+            this.worker = new Thread(this::dispatch, "nsga2-listener-" + this.delegate.getClass().getSimpleName());
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+    }
+
+    private void dispatch() {
+
+        while (this.worker == Thread.currentThread()) {
+
+            Runnable event;
+            try {
+                event = this.queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (event instanceof Stop) {
+                boolean idle;
+                synchronized (this) {
+                    // 下一次运行的事件已经入队时继续处理.
+                    idle = this.queue.isEmpty() && this.worker == Thread.currentThread();
+                    if (idle) {
+                        this.worker = null;
+                    }
+                }
+                // 只结束自己那次运行的等待, 下一次运行的 `onStart` 可能已经换上了新的 latch.
+                ((Stop) event).latch.countDown();
+                if (idle) {
+                    return;
+                }
+                continue;
+            }
+
+            try {
+                event.run();
+            } catch (RuntimeException e) {
+                log.error("generation listener {} failed", this.delegate.getClass().getName(), e);
+            }
+
+        }
+
+    }
+
+    /**
+     * 一次运行的结束标记, 携带该次运行的 latch.
+     */
+    private static final class Stop implements Runnable {
+
+        private final CountDownLatch latch;
+
+        private Stop(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+}
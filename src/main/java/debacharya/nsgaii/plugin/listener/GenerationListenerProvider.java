@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.listener;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.Reporter;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.GenerationListener;
+
+/**
+ * 常用的运行过程监听器.
+ */
+public class GenerationListenerProvider {
+
+    /**
+     * 把运行过程输出到 `Reporter`, 这是 `Configuration` 默认注册的监听器.
+     *
+     * @return reporter listener.
+     */
+    public static GenerationListener reporter() {
+
+        return new GenerationListener() {
+
+            @Override
+            public void onStart(Configuration configuration) {
+                Reporter.init(configuration);
+            }
+
+            @Override
+            public void onGeneration(GenerationReport report) {
+                Reporter.reportGeneration(report.getParent(), report.getChild(), report.getGeneration());
+            }
+
+            @Override
+            public void onTerminate(Population finalChild) {
+                Reporter.terminate(finalChild);
+            }
+
+        };
+
+    }
+
+    /**
+     * 在独立线程中调用给定的监听器.
+     *
+     * @param listener 被包装的监听器.
+     * @return asynchronous listener.
+     */
+    public static AsyncGenerationListener async(GenerationListener listener) {
+        return new AsyncGenerationListener(listener);
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.mutation;
+
+import debacharya.nsgaii.RandomSource;
+import debacharya.nsgaii.datastructure.AbstractAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+import debacharya.nsgaii.plugin.AbstractMutation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 多项式变异策略 [Deb and Goyal, 1996], 用于实数编码.
+ * Each gene mutates with `mutationProbability`, which usually is 1 / number of variables; the distribution index
+ * controls how far from the parent the mutated value lands, larger values staying closer. Mutated values always stay
+ * within the variable bounds.
+ */
+public class PolynomialMutation extends AbstractMutation {
+
+    private static final String DOUBLE_ALLELE_INSTANCE_ERROR =
+            "PolynomialMutation only works with DoubleAllele only. " +
+                    "Please implement your own Mutation class by extending the AbstractMutation class " +
+                    "to get your desired results.";
+
+    public static final double DEFAULT_DISTRIBUTION_INDEX = 20;
+
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final double distributionIndex;
+
+    /**
+     * @param lowerBounds 每个变量的下界.
+     * @param upperBounds 每个变量的上界.
+     */
+    public PolynomialMutation(double[] lowerBounds, double[] upperBounds) {
+        this(lowerBounds, upperBounds, 1f / lowerBounds.length, PolynomialMutation.DEFAULT_DISTRIBUTION_INDEX);
+    }
+
+    /**
+     * @param lowerBounds         每个变量的下界.
+     * @param upperBounds         每个变量的上界.
+     * @param mutationProbability 每个变量的变异概率.
+     * @param distributionIndex   分布指数.
+     */
+    public PolynomialMutation(double[] lowerBounds,
+                              double[] upperBounds,
+                              float mutationProbability,
+                              double distributionIndex) {
+
+        super(mutationProbability);
+        this.lowerBounds = lowerBounds.clone();
+        this.upperBounds = upperBounds.clone();
+        this.distributionIndex = distributionIndex;
+
+    }
+
+    @Override
+    public Chromosome perform(Chromosome chromosome) {
+
+        Random random = RandomSource.current();
+        List<DoubleAllele> doubleGeneticCode = new ArrayList<>(chromosome.getLength());
+        double exponent = 1 / (this.distributionIndex + 1);
+
+        for (int i = 0; i < chromosome.getLength(); i++) {
+
+            AbstractAllele allele = chromosome.getGeneticCode().get(i);
+            if (!(allele instanceof DoubleAllele))
+                throw new UnsupportedOperationException(PolynomialMutation.DOUBLE_ALLELE_INSTANCE_ERROR);
+
+            double value = ((DoubleAllele) allele).getGene();
+            double lower = this.lowerBounds[i];
+            double upper = this.upperBounds[i];
+
+            if (this.shouldPerformMutation() && upper > lower) {
+
+                double delta1 = (value - lower) / (upper - lower);
+                double delta2 = (upper - value) / (upper - lower);
+                double u = random.nextDouble();
+                double deltaq;
+
+                if (u < 0.5) {
+                    double base = 2 * u + (1 - 2 * u) * Math.pow(1 - delta1, this.distributionIndex + 1);
+                    deltaq = Math.pow(base, exponent) - 1;
+                } else {
+                    double base = 2 * (1 - u) + 2 * (u - 0.5) * Math.pow(1 - delta2, this.distributionIndex + 1);
+                    deltaq = 1 - Math.pow(base, exponent);
+                }
+
+                value = Math.min(upper, Math.max(lower, value + deltaq * (upper - lower)));
+
+            }
+
+            doubleGeneticCode.add(new DoubleAllele(value));
+
+        }
+
+        return new Chromosome(doubleGeneticCode);
+
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.datastructure.ObjectiveMatrix;
+import debacharya.nsgaii.plugin.NonDominatedSorter;
+
+import java.util.Arrays;
+
+/**
+ * 最佳顺序排序 Best Order Sort [DOI: 10.1145/2908961.2931684].
+ * Every objective column is sorted once (descending, ties broken by the lexicographic order, so a dominating
+ * individual always comes first), and the columns are then walked in parallel. An individual is ranked the first time
+ * it appears in any column, by comparing it only with the individuals already seen in that column, kept per rank. For
+ * the objectives in which such an individual has itself been seen it is known to be no worse, so only the remaining
+ * objectives are compared; with many objectives most of them are skipped, which is where ENS and the
+ * O(MN²) `NSGA2.fastNonDominatedSort` slow down.
+ * <p>
+ * Only feasible individuals go through the walk. Under the constrained-domination rule of `NSGA2.isDominant`
+ * infeasible individuals rank after every feasible one, one front per distinct constraint violation.
+ */
+public class BestOrderSort implements NonDominatedSorter {
+
+    @Override
+    public int[] sort(ObjectiveMatrix matrix) {
+
+        int size = matrix.size();
+        int objectiveCount = matrix.getObjectiveCount();
+        int[] ranks = new int[size];
+        int[] feasible = new int[size];
+        int[] infeasible = new int[size];
+        int feasibleCount = 0;
+        int infeasibleCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (matrix.getConstraintViolation(i) == 0) {
+                feasible[feasibleCount++] = i;
+            } else {
+                infeasible[infeasibleCount++] = i;
+            }
+        }
+
+        int frontCount = feasibleCount == 0 ? 0 :
+                BestOrderSort.sortFeasible(matrix, Arrays.copyOf(feasible, feasibleCount), objectiveCount, ranks);
+
+        IndexSorter.sort(infeasible, 0, infeasibleCount,
+                (left, right) -> Double.compare(matrix.getConstraintViolation(left), matrix.getConstraintViolation(right)));
+        for (int i = 0; i < infeasibleCount; i++) {
+            if (i == 0 || matrix.getConstraintViolation(infeasible[i]) != matrix.getConstraintViolation(infeasible[i - 1])) {
+                frontCount++;
+            }
+            ranks[infeasible[i]] = frontCount;
+        }
+
+        return ranks;
+
+    }
+
+    /**
+     * @return 可行解的前沿数.
+     */
+    private static int sortFeasible(ObjectiveMatrix matrix, int[] individuals, int objectiveCount, int[] ranks) {
+
+        int size = individuals.length;
+        // 按 individuals 中的位置复制目标值, 之后都用位置而不是矩阵中的索引.
+        double[] values = new double[size * objectiveCount];
+        for (int i = 0, offset = 0; i < size; i++, offset += objectiveCount) {
+            for (int k = 0; k < objectiveCount; k++) {
+                values[offset + k] = matrix.getObjective(individuals[i], k);
+            }
+        }
+
+        int[][] orders = new int[objectiveCount][];
+        int[] lexicographic = new int[size];
+        for (int i = 0; i < size; i++) {
+            lexicographic[i] = i;
+        }
+        IndexSorter.sort(lexicographic, 0, size, (left, right) -> {
+            for (int k = 0; k < objectiveCount; k++) {
+                int comparison = Double.compare(values[right * objectiveCount + k], values[left * objectiveCount + k]);
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        });
+        orders[0] = lexicographic;
+        for (int k = 1; k < objectiveCount; k++) {
+            int objective = k;
+            orders[k] = lexicographic.clone();
+            // 归并排序是稳定的, 目标值相同时保持字典序.
+            IndexSorter.sort(orders[k], 0, size, (left, right) ->
+                    Double.compare(values[right * objectiveCount + objective], values[left * objectiveCount + objective]));
+        }
+
+        // 每个目标、每个前沿中已经出现过的个体.
+        int[][][] sets = new int[objectiveCount][4][];
+        int[][] setSizes = new int[objectiveCount][4];
+        boolean[] seen = new boolean[size * objectiveCount];
+        int[] positionRanks = new int[size];
+        int frontCount = 0;
+        int rankedCount = 0;
+
+        for (int i = 0; i < size && rankedCount < size; i++) {
+            for (int k = 0; k < objectiveCount; k++) {
+
+                int individual = orders[k][i];
+                seen[individual * objectiveCount + k] = true;
+                int rank = positionRanks[individual];
+
+                if (rank == 0) {
+                    rank = 1;
+                    // 该目标上还没有出现过排名更靠后的个体时, 它们不可能支配当前个体.
+                    int limit = Math.min(frontCount, sets[k].length);
+                    while (rank <= limit && BestOrderSort.isDominatedBySet(values, seen, objectiveCount,
+                            sets[k][rank - 1], setSizes[k][rank - 1], individual)) {
+                        rank++;
+                    }
+                    if (rank > frontCount) {
+                        frontCount = rank;
+                    }
+                    positionRanks[individual] = rank;
+                    rankedCount++;
+                }
+
+                if (rank > sets[k].length) {
+                    sets[k] = Arrays.copyOf(sets[k], Math.max(rank, sets[k].length * 2));
+                    setSizes[k] = Arrays.copyOf(setSizes[k], sets[k].length);
+                }
+                int[] set = sets[k][rank - 1];
+                if (set == null) {
+                    set = new int[8];
+                } else if (setSizes[k][rank - 1] == set.length) {
+                    set = Arrays.copyOf(set, set.length * 2);
+                }
+                set[setSizes[k][rank - 1]++] = individual;
+                sets[k][rank - 1] = set;
+
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            ranks[individuals[i]] = positionRanks[i];
+        }
+        return frontCount;
+
+    }
+
+    private static boolean isDominatedBySet(double[] values,
+                                            boolean[] seen,
+                                            int objectiveCount,
+                                            int[] set,
+                                            int setSize,
+                                            int individual) {
+
+        for (int i = setSize - 1; i >= 0; i--) {
+            if (BestOrderSort.dominates(values, seen, objectiveCount, set[i], individual)) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    /**
+     * @return 第一次出现的 right 是否被 left 支配; left 在已出现过的目标上不比 right 差, 这些目标只在判断严格优于时检查.
+     */
+    private static boolean dominates(double[] values, boolean[] seen, int objectiveCount, int left, int right) {
+
+        int leftOffset = left * objectiveCount;
+        int rightOffset = right * objectiveCount;
+        boolean atLeastOneIsBetter = false;
+
+        for (int k = 0; k < objectiveCount; k++) {
+            if (!seen[leftOffset + k]) {
+                double leftValue = values[leftOffset + k];
+                double rightValue = values[rightOffset + k];
+                if (leftValue < rightValue) {
+                    return false;
+                } else if (leftValue > rightValue) {
+                    atLeastOneIsBetter = true;
+                }
+            }
+        }
+        if (atLeastOneIsBetter) {
+            return true;
+        }
+
+        for (int k = 0; k < objectiveCount; k++) {
+            if (seen[leftOffset + k] && values[leftOffset + k] != values[rightOffset + k]) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.RandomSource;
+
+import java.util.Random;
+
+/**
+ * 基于索引的拥挤选择.
+ * The index-based counterparts of `NSGA2.getChildFromCombinedPopulation` and
+ * `Service.crowdedBinaryTournamentSelection`, driven by the ranks and crowding distances computed by a
+ * `NonDominatedSorter` and `CrowdingDistance`.
+ */
+public class CrowdedSelection {
+
+    private CrowdedSelection() {
+    }
+
+    /**
+     * 按排名从小到大选出 count 个个体, 最后一个放不下的前沿按拥挤度从大到小截取.
+     *
+     * @param ranks    排名.
+     * @param crowding 拥挤度.
+     * @param count    选出的个体数.
+     * @return 选中个体的索引, 按排名排列.
+     */
+    public static int[] truncate(int[] ranks, double[] crowding, int count) {
+
+        if (count > ranks.length)
+            throw new UnsupportedOperationException("Cannot select more individuals than there are.");
+
+        int[] byRank = CrowdingDistance.groupByRank(ranks);
+        int[] frontStarts = CrowdingDistance.frontStarts(ranks);
+        int front = 1;
+
+        while (frontStarts[front] < count) {
+            front++;
+        }
+        if (frontStarts[front] > count) {
+            IndexSorter.sort(byRank, frontStarts[front - 1], frontStarts[front],
+                    (left, right) -> Double.compare(crowding[right], crowding[left]));
+        }
+
+        int[] survivors = new int[count];
+        System.arraycopy(byRank, 0, survivors, 0, count);
+        return survivors;
+
+    }
+
+    /**
+     * 拥挤二元锦标赛选择.
+     *
+     * @param ranks    排名.
+     * @param crowding 拥挤度.
+     * @return 胜出个体的索引.
+     */
+    public static int tournament(int[] ranks, double[] crowding) {
+
+        Random random = RandomSource.current();
+        int participant1 = random.nextInt(ranks.length);
+        int participant2 = random.nextInt(ranks.length);
+
+        if (ranks[participant1] != ranks[participant2]) {
+            return ranks[participant1] < ranks[participant2] ? participant1 : participant2;
+        }
+        if (crowding[participant1] != crowding[participant2]) {
+            return crowding[participant1] > crowding[participant2] ? participant1 : participant2;
+        }
+        return random.nextBoolean() ? participant1 : participant2;
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.datastructure.ObjectiveMatrix;
+
+import java.util.Arrays;
+
+/**
+ * 基于索引的拥挤度计算.
+ * The same assignment as `NSGA2.crowdingDistanceAssignment` (NSGA-II paper [DOI: 10.1109/4235.996017] Section III
+ * Part B), computed per front on an `ObjectiveMatrix`: boundary individuals get `Double.MAX_VALUE`, inner individuals
+ * the sum over all objectives of the normalised distance between their neighbours.
+ */
+public class CrowdingDistance {
+
+    private CrowdingDistance() {
+    }
+
+    /**
+     * @param matrix 目标值矩阵.
+     * @param ranks  `NonDominatedSorter.sort` 返回的排名.
+     * @return 每个个体的拥挤度, 与矩阵的行一一对应.
+     */
+    public static double[] compute(ObjectiveMatrix matrix, int[] ranks) {
+
+        double[] distances = new double[matrix.size()];
+        int[] byRank = CrowdingDistance.groupByRank(ranks);
+        int[] frontStarts = CrowdingDistance.frontStarts(ranks);
+
+        for (int front = 1; front < frontStarts.length; front++) {
+            CrowdingDistance.assign(matrix, byRank, frontStarts[front - 1], frontStarts[front], distances);
+        }
+        return distances;
+
+    }
+
+    /**
+     * 按排名分组的个体索引（计数排序, 组内保持原有顺序）.
+     */
+    static int[] groupByRank(int[] ranks) {
+
+        int[] starts = CrowdingDistance.frontStarts(ranks);
+        int[] positions = Arrays.copyOf(starts, starts.length);
+        int[] grouped = new int[ranks.length];
+
+        for (int i = 0; i < ranks.length; i++) {
+            grouped[positions[ranks[i] - 1]++] = i;
+        }
+        return grouped;
+
+    }
+
+    /**
+     * 每个前沿在 `groupByRank` 结果中的起始位置, 最后一个元素为个体总数.
+     */
+    static int[] frontStarts(int[] ranks) {
+
+        int maximumRank = 0;
+        for (int rank : ranks) {
+            maximumRank = Math.max(maximumRank, rank);
+        }
+
+        int[] starts = new int[maximumRank + 1];
+        for (int rank : ranks) {
+            starts[rank]++;
+        }
+        for (int front = 1; front <= maximumRank; front++) {
+            starts[front] += starts[front - 1];
+        }
+        return starts;
+
+    }
+
+    private static void assign(ObjectiveMatrix matrix, int[] byRank, int from, int to, double[] distances) {
+
+        if (to - from <= 2) {
+            for (int i = from; i < to; i++) {
+                distances[byRank[i]] = Double.MAX_VALUE;
+            }
+            return;
+        }
+
+        int[] front = Arrays.copyOfRange(byRank, from, to);
+        int last = front.length - 1;
+
+        for (int k = 0; k < matrix.getObjectiveCount(); k++) {
+
+            int objective = k;
+            IndexSorter.sort(front, 0, front.length,
+                    (left, right) -> Double.compare(matrix.getObjective(left, objective), matrix.getObjective(right, objective)));
+
+            distances[front[0]] = Double.MAX_VALUE;
+            distances[front[last]] = Double.MAX_VALUE;
+
+            double range = matrix.getObjective(front[last], k) - matrix.getObjective(front[0], k);
+            if (range == 0) {
+                continue;
+            }
+
+            for (int i = 1; i < last; i++) {
+                if (distances[front[i]] < Double.MAX_VALUE) {
+                    distances[front[i]] +=
+                            (matrix.getObjective(front[i + 1], k) - matrix.getObjective(front[i - 1], k)) / range;
+                }
+            }
+
+        }
+
+    }
+
+}
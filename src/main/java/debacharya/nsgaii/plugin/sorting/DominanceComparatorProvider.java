@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.plugin.DominanceComparator;
+
+import java.util.List;
+
+/**
+ * 常用的支配关系比较器.
+ * Every comparator reads each objective value once and keeps "better" and "worse" flags, instead of running
+ * `NSGA2.isDominant` in both directions. Two, three and four objectives have unrolled variants without a loop, so the
+ * objective count is fixed when the comparator is chosen rather than read from `Configuration.objectives` per call.
+ */
+public class DominanceComparatorProvider {
+
+    /**
+     * @param objectiveCount 目标数.
+     * @return 目标数为 2, 3, 4 时返回展开的比较器, 否则返回通用比较器.
+     */
+    public static DominanceComparator forObjectiveCount(int objectiveCount) {
+
+        switch (objectiveCount) {
+            case 2:
+                return DominanceComparatorProvider.twoObjectives();
+            case 3:
+                return DominanceComparatorProvider.threeObjectives();
+            case 4:
+                return DominanceComparatorProvider.fourObjectives();
+            default:
+                return DominanceComparatorProvider.general(objectiveCount);
+        }
+
+    }
+
+    /**
+     * @param objectiveCount 目标数.
+     * @return 逐个目标循环比较的比较器.
+     */
+    public static DominanceComparator general(int objectiveCount) {
+        return (chromosome1, chromosome2) -> {
+
+            int feasibility = DominanceComparatorProvider.compareViolations(chromosome1, chromosome2);
+            if (feasibility != 0) {
+                return feasibility;
+            }
+
+            List<Double> values1 = chromosome1.getObjectiveValues();
+            List<Double> values2 = chromosome2.getObjectiveValues();
+            boolean better = false;
+            boolean worse = false;
+
+            for (int i = 0; i < objectiveCount; i++) {
+                double value1 = values1.get(i);
+                double value2 = values2.get(i);
+                if (value1 > value2) {
+                    better = true;
+                } else if (value1 < value2) {
+                    worse = true;
+                }
+                if (better && worse) {
+                    return NSGA2.NON_DOMINATED;
+                }
+            }
+            return DominanceComparatorProvider.classify(better, worse);
+
+        };
+    }
+
+    /**
+     * @return 两个目标展开的比较器.
+     */
+    public static DominanceComparator twoObjectives() {
+        return (chromosome1, chromosome2) -> {
+
+            int feasibility = DominanceComparatorProvider.compareViolations(chromosome1, chromosome2);
+            if (feasibility != 0) {
+                return feasibility;
+            }
+
+            List<Double> values1 = chromosome1.getObjectiveValues();
+            List<Double> values2 = chromosome2.getObjectiveValues();
+            double a0 = values1.get(0);
+            double a1 = values1.get(1);
+            double b0 = values2.get(0);
+            double b1 = values2.get(1);
+
+            return DominanceComparatorProvider.classify(a0 > b0 || a1 > b1, a0 < b0 || a1 < b1);
+
+        };
+    }
+
+    /**
+     * @return 三个目标展开的比较器.
+     */
+    public static DominanceComparator threeObjectives() {
+        return (chromosome1, chromosome2) -> {
+
+            int feasibility = DominanceComparatorProvider.compareViolations(chromosome1, chromosome2);
+            if (feasibility != 0) {
+                return feasibility;
+            }
+
+            List<Double> values1 = chromosome1.getObjectiveValues();
+            List<Double> values2 = chromosome2.getObjectiveValues();
+            double a0 = values1.get(0);
+            double a1 = values1.get(1);
+            double a2 = values1.get(2);
+            double b0 = values2.get(0);
+            double b1 = values2.get(1);
+            double b2 = values2.get(2);
+
+            return DominanceComparatorProvider.classify(a0 > b0 || a1 > b1 || a2 > b2, a0 < b0 || a1 < b1 || a2 < b2);
+
+        };
+    }
+
+    /**
+     * @return 四个目标展开的比较器.
+     */
+    public static DominanceComparator fourObjectives() {
+        return (chromosome1, chromosome2) -> {
+
+            int feasibility = DominanceComparatorProvider.compareViolations(chromosome1, chromosome2);
+            if (feasibility != 0) {
+                return feasibility;
+            }
+
+            List<Double> values1 = chromosome1.getObjectiveValues();
+            List<Double> values2 = chromosome2.getObjectiveValues();
+            double a0 = values1.get(0);
+            double a1 = values1.get(1);
+            double a2 = values1.get(2);
+            double a3 = values1.get(3);
+            double b0 = values2.get(0);
+            double b1 = values2.get(1);
+            double b2 = values2.get(2);
+            double b3 = values2.get(3);
+
+            return DominanceComparatorProvider.classify(a0 > b0 || a1 > b1 || a2 > b2 || a3 > b3,
+                    a0 < b0 || a1 < b1 || a2 < b2 || a3 < b3);
+
+        };
+    }
+
+    /**
+     * @return 约束违反量决定了关系时返回该关系, 需要比较目标值时返回 0.
+     */
+    private static int compareViolations(Chromosome chromosome1, Chromosome chromosome2) {
+
+        double violation1 = chromosome1.getConstraintViolation();
+        double violation2 = chromosome2.getConstraintViolation();
+        if (violation1 != violation2) {
+            return violation1 < violation2 ? NSGA2.DOMINANT : NSGA2.INFERIOR;
+        }
+        return violation1 > 0 ? NSGA2.NON_DOMINATED : 0;
+
+    }
+
+    private static int classify(boolean better, boolean worse) {
+        if (better == worse) {
+            return NSGA2.NON_DOMINATED;
+        }
+        return better ? NSGA2.DOMINANT : NSGA2.INFERIOR;
+    }
+
+}
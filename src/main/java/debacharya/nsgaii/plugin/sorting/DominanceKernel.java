@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+/**
+ * 一行对一块行的支配关系内核.
+ * Blocks are stored column-major, so objective `k` of block row `j` is `block[k * stride + j]`; this lets one row be
+ * compared against many rows at once, one objective column at a time, which is what the SIMD variant in the Java 17
+ * layer of the multi-release jar does. Objectives are maximised and constraint violations follow the
+ * constrained-domination rule of `NSGA2.isDominant`. Obtain instances from `DominanceKernelProvider`.
+ */
+public interface DominanceKernel {
+
+    /**
+     * @param block          按列存放的目标值.
+     * @param violations     每行的约束违反量, 为 null 时所有行都是可行解.
+     * @param stride         列之间的间隔, 即块的容量.
+     * @param count          比较 [0, count) 行.
+     * @param objectiveCount 目标数.
+     * @param row            单独一行的目标值.
+     * @param violation      单独一行的约束违反量.
+     * @return 块中是否有某一行支配 row.
+     */
+    boolean isDominatedByAny(double[] block, double[] violations, int stride, int count, int objectiveCount,
+                             double[] row, double violation);
+
+    /**
+     * 计算 row 与块中 [from, to) 每一行的关系, 写入 relations 的相同下标:
+     * `NSGA2.DOMINANT` 表示 row 支配该行, `NSGA2.INFERIOR` 表示被该行支配, 否则为 `NSGA2.NON_DOMINATED`.
+     *
+     * @param block          按列存放的目标值.
+     * @param violations     每行的约束违反量, 为 null 时所有行都是可行解.
+     * @param stride         列之间的间隔, 即块的容量.
+     * @param from           起始行 (包含).
+     * @param to             结束行 (不包含).
+     * @param objectiveCount 目标数.
+     * @param row            单独一行的目标值.
+     * @param violation      单独一行的约束违反量.
+     * @param relations      输出.
+     */
+    void relate(double[] block, double[] violations, int stride, int from, int to, int objectiveCount,
+                double[] row, double violation, int[] relations);
+
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+/**
+ * 支配关系内核.
+ * This is the Java 8 variant and always returns the scalar kernel. On Java 17 and newer the multi-release jar provides
+ * a replacement from `src/main/java17` whose `best()` returns a Vector API kernel when the `jdk.incubator.vector`
+ * module is present at runtime (`--add-modules jdk.incubator.vector`), and the scalar kernel otherwise. Both variants
+ * must keep the same public API.
+ */
+public final class DominanceKernelProvider {
+
+    private static final DominanceKernel SCALAR = new ScalarDominanceKernel();
+
+    private DominanceKernelProvider() {
+    }
+
+    /**
+     * @return 当前运行环境下最快的内核.
+     */
+    public static DominanceKernel best() {
+        return DominanceKernelProvider.SCALAR;
+    }
+
+    /**
+     * @return 逐行比较的内核.
+     */
+    public static DominanceKernel scalar() {
+        return DominanceKernelProvider.SCALAR;
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.datastructure.ObjectiveMatrix;
+import debacharya.nsgaii.plugin.NonDominatedSorter;
+
+import java.util.Arrays;
+
+/**
+ * 高效非支配排序 ENS-BS [DOI: 10.1109/TEVC.2014.2308305].
+ * Individuals are first sorted by constraint violation and then lexicographically by their objectives (descending,
+ * since objectives are maximised), so under the constrained-domination rule of `NSGA2.isDominant` a dominating
+ * individual is always visited before the individuals it dominates. Each individual is then placed into the first
+ * existing front with no member dominating it, found by binary search over the fronts; within a front the most
+ * recently added members are compared first, as they are the most likely dominators. With two objectives only the
+ * last member can dominate, which makes the whole sort O(N log N). No domination lists are kept, unlike
+ * `NSGA2.fastNonDominatedSort`, so memory stays O(N) for populations whose objectives live off-heap.
+ * <p>
+ * With more objectives each front also keeps a column-major copy of its members' objectives, and a `DominanceKernel`
+ * tests the new individual against the whole front at once; the default is `DominanceKernelProvider.best()`.
+ */
+public class EfficientNonDominatedSort implements NonDominatedSorter {
+
+    private final DominanceKernel kernel;
+
+    public EfficientNonDominatedSort() {
+        this(DominanceKernelProvider.best());
+    }
+
+    /**
+     * @param kernel 多目标时前沿与个体比较所用的内核.
+     */
+    public EfficientNonDominatedSort(DominanceKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    @Override
+    public int[] sort(ObjectiveMatrix matrix) {
+
+        int size = matrix.size();
+        int objectiveCount = matrix.getObjectiveCount();
+        int[] ranks = new int[size];
+        int[] order = new int[size];
+        boolean constrained = false;
+
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            constrained |= matrix.getConstraintViolation(i) != 0;
+        }
+        IndexSorter.sort(order, 0, size, (left, right) -> {
+            int feasibility = Double.compare(matrix.getConstraintViolation(left), matrix.getConstraintViolation(right));
+            if (feasibility != 0) {
+                return feasibility;
+            }
+            for (int k = 0; k < objectiveCount; k++) {
+                int comparison = Double.compare(matrix.getObjective(right, k), matrix.getObjective(left, k));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        });
+
+        Fronts fronts = new Fronts(objectiveCount, constrained);
+        double[] row = new double[objectiveCount];
+
+        for (int individual : order) {
+
+            for (int k = 0; k < objectiveCount; k++) {
+                row[k] = matrix.getObjective(individual, k);
+            }
+            double violation = matrix.getConstraintViolation(individual);
+
+            int low = 0;
+            int high = fronts.count;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.isDominatedByFront(matrix, fronts, middle, individual, row, violation)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            fronts.add(low, individual, row, violation);
+            ranks[individual] = low + 1;
+
+        }
+
+        return ranks;
+
+    }
+
+    private boolean isDominatedByFront(ObjectiveMatrix matrix,
+                                       Fronts fronts,
+                                       int front,
+                                       int individual,
+                                       double[] row,
+                                       double violation) {
+
+        // 两个目标时, 前沿中按字典序最后加入的成员第二个目标最大, 只有它可能支配新个体.
+        // 可行解之前只有可行解, 因此这对带约束的种群中的可行解同样成立.
+        if (matrix.getObjectiveCount() == 2 && violation == 0) {
+            int[] members = fronts.members[front];
+            return EfficientNonDominatedSort.dominates(matrix, members[fronts.sizes[front] - 1], individual);
+        }
+
+        return this.kernel.isDominatedByAny(fronts.columns[front], fronts.violations[front], fronts.members[front].length,
+                fronts.sizes[front], matrix.getObjectiveCount(), row, violation);
+
+    }
+
+    /**
+     * @return left 是否支配 right.
+     */
+    static boolean dominates(ObjectiveMatrix matrix, int left, int right) {
+
+        double leftViolation = matrix.getConstraintViolation(left);
+        double rightViolation = matrix.getConstraintViolation(right);
+        if (leftViolation != rightViolation) {
+            return leftViolation < rightViolation;
+        }
+        if (leftViolation > 0) {
+            return false;
+        }
+
+        boolean atLeastOneIsBetter = false;
+
+        for (int k = 0; k < matrix.getObjectiveCount(); k++) {
+            double leftValue = matrix.getObjective(left, k);
+            double rightValue = matrix.getObjective(right, k);
+            if (leftValue < rightValue) {
+                return false;
+            } else if (leftValue > rightValue) {
+                atLeastOneIsBetter = true;
+            }
+        }
+        return atLeastOneIsBetter;
+
+    }
+
+    /**
+     * 各前沿的成员, 以及按列存放、容量与成员数组相同的目标值和约束违反量.
+     */
+    private static final class Fronts {
+
+        private final int objectiveCount;
+        private final boolean constrained;
+        private int[][] members = new int[4][];
+        private int[] sizes = new int[4];
+        private double[][] columns = new double[4][];
+        private double[][] violations = new double[4][];
+        private int count;
+
+        private Fronts(int objectiveCount, boolean constrained) {
+            this.objectiveCount = objectiveCount;
+            this.constrained = constrained;
+        }
+
+        private void add(int front, int individual, double[] row, double violation) {
+
+            if (front == this.count) {
+                if (this.count == this.members.length) {
+                    this.members = Arrays.copyOf(this.members, this.count * 2);
+                    this.sizes = Arrays.copyOf(this.sizes, this.count * 2);
+                    this.columns = Arrays.copyOf(this.columns, this.count * 2);
+                    this.violations = Arrays.copyOf(this.violations, this.count * 2);
+                }
+                this.members[front] = new int[8];
+                this.columns[front] = new double[8 * this.objectiveCount];
+                this.violations[front] = this.constrained ? new double[8] : null;
+                this.count++;
+            }
+
+            int size = this.sizes[front];
+            int capacity = this.members[front].length;
+
+            if (size == capacity) {
+                double[] columns = new double[capacity * 2 * this.objectiveCount];
+                for (int k = 0; k < this.objectiveCount; k++) {
+                    System.arraycopy(this.columns[front], k * capacity, columns, k * capacity * 2, size);
+                }
+                capacity *= 2;
+                this.members[front] = Arrays.copyOf(this.members[front], capacity);
+                this.columns[front] = columns;
+                if (this.constrained) {
+                    this.violations[front] = Arrays.copyOf(this.violations[front], capacity);
+                }
+            }
+
+            this.members[front][size] = individual;
+            for (int k = 0; k < this.objectiveCount; k++) {
+                this.columns[front][k * capacity + size] = row[k];
+            }
+            if (this.constrained) {
+                this.violations[front][size] = violation;
+            }
+            this.sizes[front] = size + 1;
+
+        }
+
+    }
+
+}
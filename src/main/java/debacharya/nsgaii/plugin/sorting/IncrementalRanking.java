@@ -0,0 +1,308 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.plugin.DominanceComparator;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * 跨代复用支配关系的增量排名.
+ * The domination relations of every ranked population are kept as a bit matrix, row `i` holding the members that
+ * member `i` dominates, with chromosomes identified by reference. When a population is ranked, a pair of chromosomes
+ * that were ranked together in one of the last two calls reuses the stored bit, and only the remaining pairs go through
+ * the `DominanceComparator`. In an `NSGA2` run the child population is ranked on its own and then together with the
+ * surviving parents, which were all ranked together in the previous combined population, so only the survivor ×
+ * offspring pairs of the combined population are compared: N² comparisons instead of about 2N².
+ * <p>
+ * Built from a `DominanceKernel` instead of a comparator, the uncached pairs are compared a row at a time: the members
+ * are laid out in a column-major block ordered by the snapshots they share, so the uncached partners of every row form
+ * one contiguous range that the kernel relates in a single call. The kernel applies the default constrained-domination
+ * rule, so a custom comparator needs the comparator constructor.
+ * <p>
+ * Relations are only valid while the objective values and constraint violations of a ranked chromosome stay unchanged,
+ * which holds for chromosomes that are not evaluated again. Only chromosomes marked as evaluated are cached: a chromosome
+ * that timed out or was skipped as infeasible carries placeholder objectives and is evaluated again later, so it is
+ * compared afresh in every ranking, including the first one after its evaluation.
+ */
+public class IncrementalRanking {
+
+    private final DominanceComparator comparator;
+    private final DominanceKernel kernel;
+    private Snapshot latest;
+    private Snapshot previous;
+    private long comparisons;
+
+    /**
+     * @param comparator 未缓存的个体对所用的比较器.
+     */
+    public IncrementalRanking(DominanceComparator comparator) {
+        this.comparator = comparator;
+        this.kernel = null;
+    }
+
+    /**
+     * @param kernel 按行成块比较未缓存个体对所用的内核, 例如 `DominanceKernelProvider.best()`.
+     */
+    public IncrementalRanking(DominanceKernel kernel) {
+        this.comparator = null;
+        this.kernel = kernel;
+    }
+
+    /**
+     * @param populace 需要排名的个体.
+     * @return 每个个体的排名, 第一前沿为 1, 与 populace 的下标一一对应.
+     */
+    public int[] rank(List<Chromosome> populace) {
+
+        int size = populace.size();
+        Snapshot current = new Snapshot(populace);
+        int[] latestIndices = IncrementalRanking.indicesIn(this.latest, populace);
+        int[] previousIndices = IncrementalRanking.indicesIn(this.previous, populace);
+
+        if (this.kernel != null) {
+            this.relateUncached(populace, latestIndices, previousIndices, current);
+        }
+
+        for (int i = 0; i < size; i++) {
+            Chromosome chromosome = populace.get(i);
+            for (int j = i + 1; j < size; j++) {
+
+                int relation;
+                if (latestIndices[i] >= 0 && latestIndices[j] >= 0) {
+                    relation = this.latest.relate(latestIndices[i], latestIndices[j]);
+                } else if (previousIndices[i] >= 0 && previousIndices[j] >= 0) {
+                    relation = this.previous.relate(previousIndices[i], previousIndices[j]);
+                } else if (this.kernel == null) {
+                    relation = this.comparator.compare(chromosome, populace.get(j));
+                    this.comparisons++;
+                } else {
+                    continue;
+                }
+
+                if (relation == NSGA2.DOMINANT) {
+                    current.set(i, j);
+                } else if (relation == NSGA2.INFERIOR) {
+                    current.set(j, i);
+                }
+
+            }
+        }
+
+        this.previous = this.latest;
+        this.latest = current;
+        return current.peel();
+
+    }
+
+    /**
+     * 用内核比较所有未缓存的个体对.
+     * Block rows are grouped as [latest only][neither][previous only][both], so a row in the latest snapshot only is
+     * uncached against the next two groups, and a row in neither snapshot against every row after it; the pairs of
+     * the other two groups are all covered by those rows.
+     */
+    private void relateUncached(List<Chromosome> populace, int[] latestIndices, int[] previousIndices,
+                                Snapshot current) {
+
+        int size = populace.size();
+        if (size < 2) {
+            return;
+        }
+        int objectiveCount = populace.get(0).getObjectiveValues().size();
+
+        int[] groups = new int[size];
+        int[] starts = new int[5];
+        for (int i = 0; i < size; i++) {
+            groups[i] = latestIndices[i] >= 0 ? (previousIndices[i] >= 0 ? 3 : 0) : (previousIndices[i] >= 0 ? 2 : 1);
+            starts[groups[i] + 1]++;
+        }
+        for (int g = 1; g < starts.length; g++) {
+            starts[g] += starts[g - 1];
+        }
+
+        int[] order = new int[size];
+        int[] next = starts.clone();
+        for (int i = 0; i < size; i++) {
+            order[next[groups[i]]++] = i;
+        }
+
+        double[] block = new double[objectiveCount * size];
+        double[] violations = new double[size];
+        for (int b = 0; b < size; b++) {
+            Chromosome chromosome = populace.get(order[b]);
+            List<Double> objectiveValues = chromosome.getObjectiveValues();
+            for (int k = 0; k < objectiveCount; k++) {
+                block[k * size + b] = objectiveValues.get(k);
+            }
+            violations[b] = chromosome.getConstraintViolation();
+        }
+
+        double[] row = new double[objectiveCount];
+        int[] relations = new int[size];
+        for (int b = 0; b < starts[2]; b++) {
+
+            int from = b < starts[1] ? starts[1] : b + 1;
+            int to = b < starts[1] ? starts[3] : size;
+            if (from >= to) {
+                continue;
+            }
+
+            for (int k = 0; k < objectiveCount; k++) {
+                row[k] = block[k * size + b];
+            }
+            this.kernel.relate(block, violations, size, from, to, objectiveCount, row, violations[b], relations);
+            this.comparisons += to - from;
+
+            for (int j = from; j < to; j++) {
+                if (relations[j] == NSGA2.DOMINANT) {
+                    current.set(order[b], order[j]);
+                } else if (relations[j] == NSGA2.INFERIOR) {
+                    current.set(order[j], order[b]);
+                }
+            }
+
+        }
+
+    }
+
+    /**
+     * @return 累计比较的未缓存个体对数.
+     */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * 清空缓存, 例如在同一个实例开始新的运行之前.
+     */
+    public void clear() {
+        this.latest = null;
+        this.previous = null;
+    }
+
+    private static int[] indicesIn(Snapshot snapshot, List<Chromosome> populace) {
+
+        int[] indices = new int[populace.size()];
+        for (int i = 0; i < indices.length; i++) {
+            Chromosome chromosome = populace.get(i);
+            Integer index = snapshot == null || !chromosome.isEvaluated() ? null : snapshot.indices.get(chromosome);
+            indices[i] = index == null ? -1 : index;
+        }
+        return indices;
+
+    }
+
+    /**
+     * 一次排名中的个体及其支配关系位矩阵.
+     */
+    private static final class Snapshot {
+
+        private final IdentityHashMap<Chromosome, Integer> indices;
+        private final int size;
+        private final int words;
+        private final long[] bits;
+
+        private Snapshot(List<Chromosome> populace) {
+
+            this.size = populace.size();
+            this.words = (this.size + 63) >>> 6;
+            this.bits = new long[this.size * this.words];
+            this.indices = new IdentityHashMap<>(this.size * 2);
+            // 未计算的个体的目标值只是占位, 不参与之后的复用.
+            for (int i = 0; i < this.size; i++) {
+                if (populace.get(i).isEvaluated()) {
+                    this.indices.put(populace.get(i), i);
+                }
+            }
+
+        }
+
+        /**
+         * 记录 i 支配 j.
+         */
+        private void set(int i, int j) {
+            this.bits[i * this.words + (j >>> 6)] |= 1L << j;
+        }
+
+        private boolean dominates(int i, int j) {
+            return (this.bits[i * this.words + (j >>> 6)] & 1L << j) != 0;
+        }
+
+        private int relate(int i, int j) {
+            if (this.dominates(i, j)) {
+                return NSGA2.DOMINANT;
+            }
+            return this.dominates(j, i) ? NSGA2.INFERIOR : NSGA2.NON_DOMINATED;
+        }
+
+        /**
+         * 按前沿逐层剥离.
+         */
+        private int[] peel() {
+
+            int[] ranks = new int[this.size];
+            int[] dominatedCounts = new int[this.size];
+            int[] queue = new int[this.size];
+            int tail = 0;
+
+            for (int i = 0, offset = 0; i < this.size; i++, offset += this.words) {
+                for (int w = 0; w < this.words; w++) {
+                    for (long word = this.bits[offset + w]; word != 0; word &= word - 1) {
+                        dominatedCounts[(w << 6) + Long.numberOfTrailingZeros(word)]++;
+                    }
+                }
+            }
+            for (int i = 0; i < this.size; i++) {
+                if (dominatedCounts[i] == 0) {
+                    ranks[i] = 1;
+                    queue[tail++] = i;
+                }
+            }
+
+            for (int head = 0; head < tail; head++) {
+                int i = queue[head];
+                int offset = i * this.words;
+                for (int w = 0; w < this.words; w++) {
+                    for (long word = this.bits[offset + w]; word != 0; word &= word - 1) {
+                        int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                        if (--dominatedCounts[j] == 0) {
+                            ranks[j] = ranks[i] + 1;
+                            queue[tail++] = j;
+                        }
+                    }
+                }
+            }
+
+            return ranks;
+
+        }
+
+    }
+
+}
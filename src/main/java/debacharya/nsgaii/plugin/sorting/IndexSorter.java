@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.sorting;
+
+/**
+ * 基本类型索引数组的稳定归并排序, 避免为百万级个体装箱成 `Integer`.
+ */
+class IndexSorter {
+
+    @FunctionalInterface
+    interface IndexComparator {
+        int compare(int left, int right);
+    }
+
+    private IndexSorter() {
+    }
+
+    static void sort(int[] indices, int from, int to, IndexComparator comparator) {
+
+        if (to - from < 2) {
+            return;
+        }
+        int[] buffer = new int[to - from];
+        IndexSorter.mergeSort(indices, buffer, from, to, comparator);
+
+    }
+
+    private static void mergeSort(int[] indices, int[] buffer, int from, int to, IndexComparator comparator) {
+
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int current = indices[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(indices[j], current) > 0) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = current;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        IndexSorter.mergeSort(indices, buffer, from, middle, comparator);
+        IndexSorter.mergeSort(indices, buffer, middle, to, comparator);
+
+        if (comparator.compare(indices[middle - 1], indices[middle]) <= 0) {
+            return;
+        }
+
+        int length = middle - from;
+        System.arraycopy(indices, from, buffer, 0, length);
+        int left = 0;
+        int right = middle;
+        int out = from;
+
+        while (left < length && right < to) {
+            indices[out++] = comparator.compare(buffer[left], indices[right]) <= 0 ? buffer[left++] : indices[right++];
+        }
+        System.arraycopy(buffer, left, indices, out, length - left);
+
+    }
+
+}
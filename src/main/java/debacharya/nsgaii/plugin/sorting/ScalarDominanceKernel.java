@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.NSGA2;
+
+/**
+ * 逐行比较的支配关系内核, 适用于 Java 8 及没有 Vector API 的运行环境.
+ */
+final class ScalarDominanceKernel implements DominanceKernel {
+
+    @Override
+    public boolean isDominatedByAny(double[] block, double[] violations, int stride, int count, int objectiveCount,
+                                    double[] row, double violation) {
+
+        for (int j = count - 1; j >= 0; j--) {
+            if (ScalarDominanceKernel.relate(block, violations, stride, j, objectiveCount, row, violation) ==
+                    NSGA2.INFERIOR) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    @Override
+    public void relate(double[] block, double[] violations, int stride, int from, int to, int objectiveCount,
+                       double[] row, double violation, int[] relations) {
+        for (int j = from; j < to; j++) {
+            relations[j] = ScalarDominanceKernel.relate(block, violations, stride, j, objectiveCount, row, violation);
+        }
+    }
+
+    static int relate(double[] block, double[] violations, int stride, int j, int objectiveCount,
+                      double[] row, double violation) {
+
+        double other = violations == null ? 0 : violations[j];
+        if (violation != other) {
+            return violation < other ? NSGA2.DOMINANT : NSGA2.INFERIOR;
+        }
+        if (violation > 0) {
+            return NSGA2.NON_DOMINATED;
+        }
+
+        boolean better = false;
+        boolean worse = false;
+
+        for (int k = 0, offset = j; k < objectiveCount; k++, offset += stride) {
+            double value = block[offset];
+            if (row[k] > value) {
+                better = true;
+            } else if (row[k] < value) {
+                worse = true;
+            }
+            if (better && worse) {
+                return NSGA2.NON_DOMINATED;
+            }
+        }
+
+        if (better == worse) {
+            return NSGA2.NON_DOMINATED;
+        }
+        return better ? NSGA2.DOMINANT : NSGA2.INFERIOR;
+
+    }
+
+}
@@ -0,0 +1,315 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.surrogate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 高斯过程回归代理模型.
+ * Predicts every objective from the decision variables with a Gaussian process with a squared-exponential kernel.
+ * All objectives share the inputs, so they share one Cholesky factor of the kernel matrix and only differ in their
+ * weights. A new sample extends the factor by one row in O(n²) instead of refactoring it in O(n³); the full fit,
+ * which also re-estimates the target scaling and, unless it was given, the length scale (median pairwise distance),
+ * only runs whenever the training set doubles, or when it exceeds `maxSamples` and the oldest quarter is dropped.
+ */
+public class GaussianProcessSurrogate {
+
+    public static final int DEFAULT_MAX_SAMPLES = 400;
+    public static final double DEFAULT_NOISE = 1e-6;
+
+    private final int objectiveCount;
+    private final boolean fixedLengthScale;
+    private final int maxSamples;
+    private final double noise;
+
+    private final List<double[]> inputs = new ArrayList<>();
+    private final List<double[]> targets = new ArrayList<>();
+    private double[][] factor = new double[0][];
+    private double[][] weights;
+    private double[] targetMean;
+    private double[] targetScale;
+    private double lengthScale;
+    private int nextFit = 2;
+
+    /**
+     * 长度尺度由数据估计.
+     *
+     * @param objectiveCount 目标数.
+     */
+    public GaussianProcessSurrogate(int objectiveCount) {
+        this(objectiveCount, 0, GaussianProcessSurrogate.DEFAULT_MAX_SAMPLES, GaussianProcessSurrogate.DEFAULT_NOISE);
+    }
+
+    /**
+     * @param objectiveCount 目标数.
+     * @param lengthScale    核函数的长度尺度, 0 表示由数据估计.
+     * @param maxSamples     训练集的最大样本数.
+     * @param noise          核矩阵对角线上的噪声方差, 相对于标准化后的目标值.
+     */
+    public GaussianProcessSurrogate(int objectiveCount, double lengthScale, int maxSamples, double noise) {
+
+        if (objectiveCount < 1)
+            throw new UnsupportedOperationException("Objective count cannot be less than 1.");
+        if (lengthScale < 0)
+            throw new UnsupportedOperationException("Length scale cannot be negative.");
+        if (maxSamples < 4)
+            throw new UnsupportedOperationException("Maximum samples cannot be less than 4.");
+        if (noise <= 0)
+            throw new UnsupportedOperationException("Noise must be positive.");
+
+        this.objectiveCount = objectiveCount;
+        this.fixedLengthScale = lengthScale > 0;
+        this.lengthScale = lengthScale;
+        this.maxSamples = maxSamples;
+        this.noise = noise;
+        this.weights = new double[objectiveCount][0];
+        this.targetMean = new double[objectiveCount];
+        this.targetScale = new double[objectiveCount];
+        Arrays.fill(this.targetScale, 1);
+
+    }
+
+    /**
+     * 加入一个已知样本.
+     *
+     * @param variables  决策变量.
+     * @param objectives 真实目标值.
+     */
+    public void add(double[] variables, double[] objectives) {
+
+        if (objectives.length != this.objectiveCount)
+            throw new UnsupportedOperationException("One value per objective is required.");
+
+        this.inputs.add(variables.clone());
+        this.targets.add(objectives.clone());
+        int size = this.inputs.size();
+
+        if (size > this.maxSamples) {
+            this.inputs.subList(0, size - this.maxSamples * 3 / 4).clear();
+            this.targets.subList(0, size - this.maxSamples * 3 / 4).clear();
+            this.fit();
+        } else if (size >= this.nextFit || this.factor.length != size - 1) {
+            this.nextFit = Math.max(this.nextFit, size) * 2;
+            this.fit();
+        } else if (!this.extend(variables)) {
+            this.fit();
+        } else {
+            this.solveWeights();
+        }
+
+    }
+
+    /**
+     * 预测目标值与其标准差. 没有样本时均值为 0, 标准差为正无穷.
+     *
+     * @param variables 决策变量.
+     * @param mean      写入预测均值.
+     * @param deviation 写入预测标准差.
+     */
+    public void predict(double[] variables, double[] mean, double[] deviation) {
+
+        int size = this.factor.length;
+        if (size == 0) {
+            Arrays.fill(mean, 0);
+            Arrays.fill(deviation, Double.POSITIVE_INFINITY);
+            return;
+        }
+
+        double[] covariance = new double[size];
+        for (int i = 0; i < size; i++) {
+            covariance[i] = this.kernel(this.inputs.get(i), variables);
+        }
+        double[] projection = this.forward(covariance, size);
+        double variance = Math.max(0, 1 - GaussianProcessSurrogate.dot(projection, projection, size));
+
+        for (int m = 0; m < this.objectiveCount; m++) {
+            mean[m] = this.targetMean[m]
+                    + this.targetScale[m] * GaussianProcessSurrogate.dot(covariance, this.weights[m], size);
+            deviation[m] = this.targetScale[m] * Math.sqrt(variance);
+        }
+
+    }
+
+    public int size() {
+        return this.inputs.size();
+    }
+
+    public int getObjectiveCount() {
+        return this.objectiveCount;
+    }
+
+    public double getLengthScale() {
+        return this.lengthScale;
+    }
+
+    /**
+     * @param objective 目标索引.
+     * @return 训练目标值的标准差, 用于在目标之间比较预测的不确定度.
+     */
+    public double getTargetScale(int objective) {
+        return this.targetScale[objective];
+    }
+
+    // 完整拟合: 重新估计目标缩放与长度尺度, 分解整个核矩阵.
+    private void fit() {
+
+        int size = this.inputs.size();
+
+        for (int m = 0; m < this.objectiveCount; m++) {
+            double sum = 0;
+            double squares = 0;
+            for (double[] target : this.targets) {
+                sum += target[m];
+                squares += target[m] * target[m];
+            }
+            this.targetMean[m] = sum / size;
+            double variance = squares / size - this.targetMean[m] * this.targetMean[m];
+            this.targetScale[m] = variance > 1e-24 ? Math.sqrt(variance) : 1;
+        }
+
+        if (!this.fixedLengthScale) {
+            this.lengthScale = this.medianDistance();
+        }
+
+        this.factor = new double[0][];
+        for (double[] input : this.inputs) {
+            if (!this.extend(input)) {
+                // 与已有样本几乎重合, 保留一行数值稳定的对角元.
+                this.factor[this.factor.length - 1][this.factor.length - 1] = Math.sqrt(this.noise);
+            }
+        }
+        this.solveWeights();
+
+    }
+
+    // Cholesky 因子增加一行; 新的对角元不为正时仍然加入该行, 返回 false.
+    private boolean extend(double[] variables) {
+
+        int size = this.factor.length;
+        double[] covariance = new double[size];
+        for (int i = 0; i < size; i++) {
+            covariance[i] = this.kernel(this.inputs.get(i), variables);
+        }
+
+        double[] row = Arrays.copyOf(this.forward(covariance, size), size + 1);
+        double diagonal = 1 + this.noise - GaussianProcessSurrogate.dot(row, row, size);
+        row[size] = diagonal > 0 ? Math.sqrt(diagonal) : 0;
+
+        double[][] extended = Arrays.copyOf(this.factor, size + 1);
+        extended[size] = row;
+        this.factor = extended;
+        return diagonal > 0;
+
+    }
+
+    // weights = K⁻¹ y, 通过前代与回代求解.
+    private void solveWeights() {
+
+        int size = this.factor.length;
+        for (int m = 0; m < this.objectiveCount; m++) {
+
+            double[] standardized = new double[size];
+            for (int i = 0; i < size; i++) {
+                standardized[i] = (this.targets.get(i)[m] - this.targetMean[m]) / this.targetScale[m];
+            }
+
+            double[] solution = this.forward(standardized, size);
+            for (int i = size - 1; i >= 0; i--) {
+                double sum = solution[i];
+                for (int k = i + 1; k < size; k++) {
+                    sum -= this.factor[k][i] * solution[k];
+                }
+                solution[i] = sum / this.factor[i][i];
+            }
+            this.weights[m] = solution;
+
+        }
+
+    }
+
+    // 解 L x = b.
+    private double[] forward(double[] vector, int size) {
+
+        double[] solution = new double[size];
+        for (int i = 0; i < size; i++) {
+            double[] row = this.factor[i];
+            double sum = vector[i];
+            for (int k = 0; k < i; k++) {
+                sum -= row[k] * solution[k];
+            }
+            solution[i] = sum / row[i];
+        }
+        return solution;
+
+    }
+
+    private double kernel(double[] left, double[] right) {
+
+        double distance = 0;
+        for (int j = 0; j < left.length; j++) {
+            double difference = left[j] - right[j];
+            distance += difference * difference;
+        }
+        return Math.exp(-distance / (2 * this.lengthScale * this.lengthScale));
+
+    }
+
+    private double medianDistance() {
+
+        int size = this.inputs.size();
+        double[] distances = new double[size * (size - 1) / 2];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            for (int k = i + 1; k < size; k++) {
+                double distance = 0;
+                for (int j = 0; j < this.inputs.get(i).length; j++) {
+                    double difference = this.inputs.get(i)[j] - this.inputs.get(k)[j];
+                    distance += difference * difference;
+                }
+                distances[next++] = Math.sqrt(distance);
+            }
+        }
+        if (next == 0) {
+            return 1;
+        }
+        Arrays.sort(distances);
+        return distances[next / 2] > 0 ? distances[next / 2] : 1;
+
+    }
+
+    private static double dot(double[] left, double[] right, int size) {
+
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += left[i] * right[i];
+        }
+        return sum;
+
+    }
+
+}
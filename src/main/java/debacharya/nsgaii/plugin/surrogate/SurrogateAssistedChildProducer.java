@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.surrogate;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.AbstractCrossover;
+import debacharya.nsgaii.plugin.AbstractMutation;
+import debacharya.nsgaii.plugin.ChildPopulationProducer;
+import debacharya.nsgaii.plugin.sorting.EfficientNonDominatedSort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 代理模型预筛选的子种群生成器.
+ * Lets the wrapped producer breed `poolFactor` times as many offspring as needed, predicts their objectives with a
+ * `GaussianProcessSurrogate` and only returns `populationSize` of them for the true evaluation. Most are the
+ * candidates of the best non-dominated fronts of the optimistic prediction (mean plus one standard deviation, the
+ * objectives being maximised), preferring the more uncertain ones within a front; the remaining `explorationRatio`
+ * share goes to the most uncertain of the rest, so that the model keeps learning about unexplored regions.
+ * <p>
+ * The surrogate learns from every chromosome that was truly evaluated and is feasible: the first parent population,
+ * then the children returned by the previous call, which NSGA2 has evaluated by the time it asks for the next
+ * generation. Until it has `minSamples` samples the producer passes the wrapped producer's offspring through.
+ * Genes have to be `DoubleAllele` or `BooleanAllele`, as for `Service.decisionVariables`.
+ * <p>
+ * The pool is filled in at most `2 * poolFactor` calls of the wrapped producer, and filling stops early when a call
+ * returns nothing new, as a `DeduplicatingChildProducer` may; whatever pool there is then gets screened, or passed
+ * through when it is no larger than the population.
+ */
+public class SurrogateAssistedChildProducer implements ChildPopulationProducer {
+
+    public static final int DEFAULT_POOL_FACTOR = 4;
+    public static final double DEFAULT_EXPLORATION_RATIO = 0.2;
+
+    private final ChildPopulationProducer delegate;
+    private final int poolFactor;
+    private final double explorationRatio;
+    private final int minSamples;
+
+    private GaussianProcessSurrogate surrogate;
+    private List<Chromosome> lastChildren = Collections.emptyList();
+    private boolean learnedParents = false;
+    private long candidates = 0;
+    private long screenedOut = 0;
+
+    /**
+     * @param delegate 产生候选子代的生成器.
+     */
+    public SurrogateAssistedChildProducer(ChildPopulationProducer delegate) {
+        this(delegate, SurrogateAssistedChildProducer.DEFAULT_POOL_FACTOR,
+                SurrogateAssistedChildProducer.DEFAULT_EXPLORATION_RATIO, null, 0);
+    }
+
+    /**
+     * @param delegate         产生候选子代的生成器.
+     * @param poolFactor       候选子代数与种群规模之比.
+     * @param explorationRatio 按不确定度选出的子代比例, 在 [0, 1] 之间.
+     * @param surrogate        代理模型, 为空时在首次调用时按目标数创建.
+     * @param minSamples       开始预筛选所需的最少样本数, 0 表示种群规模.
+     */
+    public SurrogateAssistedChildProducer(ChildPopulationProducer delegate,
+                                          int poolFactor,
+                                          double explorationRatio,
+                                          GaussianProcessSurrogate surrogate,
+                                          int minSamples) {
+
+        if (poolFactor < 1)
+            throw new UnsupportedOperationException("Pool factor cannot be less than 1.");
+        if (explorationRatio < 0 || explorationRatio > 1)
+            throw new UnsupportedOperationException("Exploration ratio must lie in [0, 1].");
+        if (minSamples < 0)
+            throw new UnsupportedOperationException("Minimum samples cannot be negative.");
+
+        this.delegate = delegate;
+        this.poolFactor = poolFactor;
+        this.explorationRatio = explorationRatio;
+        this.surrogate = surrogate;
+        this.minSamples = minSamples;
+
+    }
+
+    @Override
+    public Population produce(Population parentPopulation,
+                              AbstractCrossover crossover,
+                              AbstractMutation mutation,
+                              int populationSize) {
+
+        if (this.surrogate == null) {
+            this.surrogate = new GaussianProcessSurrogate(Configuration.objectives.size());
+        }
+        if (!this.learnedParents) {
+            this.learn(parentPopulation.getPopulace());
+            this.learnedParents = true;
+        }
+        this.learn(this.lastChildren);
+
+        List<Chromosome> pool = new ArrayList<>();
+        int wanted = this.surrogate.size() < (this.minSamples > 0 ? this.minSamples : populationSize)
+                ? populationSize
+                : populationSize * this.poolFactor;
+        for (int round = 0; pool.size() < wanted && round < 2 * this.poolFactor; round++) {
+            List<Chromosome> offspring =
+                    this.delegate.produce(parentPopulation, crossover, mutation, populationSize).getPopulace();
+            if (offspring.isEmpty()) {
+                break;
+            }
+            pool.addAll(offspring);
+        }
+
+        List<Chromosome> children = pool.size() <= populationSize
+                ? pool
+                : this.screen(pool, populationSize);
+        this.candidates += pool.size();
+        this.screenedOut += pool.size() - children.size();
+        this.lastChildren = children;
+        return new Population(children);
+
+    }
+
+    public GaussianProcessSurrogate getSurrogate() {
+        return this.surrogate;
+    }
+
+    /**
+     * @return 产生过的候选子代总数.
+     */
+    public long getCandidates() {
+        return this.candidates;
+    }
+
+    /**
+     * @return 被代理模型筛掉、没有真实计算的候选子代总数.
+     */
+    public long getScreenedOut() {
+        return this.screenedOut;
+    }
+
+    private void learn(List<Chromosome> chromosomes) {
+
+        for (Chromosome chromosome : chromosomes) {
+            if (chromosome.isEvaluated() && chromosome.isFeasible()) {
+                double[] objectives = new double[this.surrogate.getObjectiveCount()];
+                for (int m = 0; m < objectives.length; m++) {
+                    objectives[m] = chromosome.getObjectiveValues().get(m);
+                }
+                this.surrogate.add(Service.decisionVariables(Collections.singletonList(chromosome)), objectives);
+            }
+        }
+
+    }
+
+    // 按乐观预测的前沿选出大部分子代, 其余按不确定度选出.
+    private List<Chromosome> screen(List<Chromosome> pool, int populationSize) {
+
+        int size = pool.size();
+        int objectiveCount = this.surrogate.getObjectiveCount();
+        double[] optimistic = new double[size * objectiveCount];
+        double[] uncertainty = new double[size];
+        double[] mean = new double[objectiveCount];
+        double[] deviation = new double[objectiveCount];
+
+        for (int c = 0; c < size; c++) {
+            this.surrogate.predict(Service.decisionVariables(Collections.singletonList(pool.get(c))), mean, deviation);
+            for (int m = 0; m < objectiveCount; m++) {
+                optimistic[c * objectiveCount + m] = mean[m] + deviation[m];
+                uncertainty[c] += deviation[m] / this.surrogate.getTargetScale(m);
+            }
+        }
+
+        int[] ranks = new EfficientNonDominatedSort().sort(new ArrayObjectiveMatrix(optimistic, size, objectiveCount));
+        Integer[] order = new Integer[size];
+        for (int c = 0; c < size; c++) {
+            order[c] = c;
+        }
+        Arrays.sort(order, (left, right) -> ranks[left] != ranks[right]
+                ? Integer.compare(ranks[left], ranks[right])
+                : Double.compare(uncertainty[right], uncertainty[left]));
+
+        int exploring = (int) Math.round(populationSize * this.explorationRatio);
+        List<Chromosome> children = new ArrayList<>(populationSize);
+        for (int k = 0; k < populationSize - exploring; k++) {
+            children.add(pool.get(order[k]));
+        }
+
+        Arrays.sort(order, populationSize - exploring, size,
+                (left, right) -> Double.compare(uncertainty[right], uncertainty[left]));
+        for (int k = populationSize - exploring; k < populationSize; k++) {
+            children.add(pool.get(order[k]));
+        }
+        return children;
+
+    }
+
+}
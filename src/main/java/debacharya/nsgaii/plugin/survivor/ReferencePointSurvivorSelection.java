@@ -0,0 +1,394 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.survivor;
+
+import debacharya.nsgaii.RandomSource;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.SurvivorSelector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * NSGA-III 参考点环境选择 [DOI: 10.1109/TEVC.2013.2281535].
+ * Whole fronts are accepted in rank order as in NSGA-II; the front that does not fit is filled by niching instead of
+ * crowding distance. The candidates are normalised by their ideal point and the intercepts of the hyperplane through
+ * the extreme points, every candidate is associated with the reference line closest to it, and the last front's
+ * members are then picked one by one for the reference points with the fewest associated survivors. This keeps
+ * selection pressure towards a well spread front with five or more objectives, where almost every solution is
+ * non-dominated and crowding distance stops discriminating.
+ * <p>
+ * All geometry works on primitive row-major arrays. Objectives are maximised, like `NSGA2.isDominant`; they are
+ * negated internally so that the algorithm can be written in its usual minimisation form.
+ */
+public class ReferencePointSurvivorSelection implements SurvivorSelector {
+
+    private static final double EPSILON = 1e-10;
+
+    private final double[] referencePoints;
+    private final int objectives;
+    private final int referenceCount;
+    // 参考方向的平方长度, 关联时每次都要用到.
+    private final double[] referenceNorms;
+
+    /**
+     * 使用 Das-Dennis 参考点.
+     *
+     * @param objectives 目标数.
+     * @param divisions  每个目标的划分数.
+     */
+    public ReferencePointSurvivorSelection(int objectives, int divisions) {
+        this(ReferencePoints.dasDennis(objectives, divisions), objectives);
+    }
+
+    /**
+     * @param referencePoints 行优先存放的参考点, 例如 `ReferencePoints.twoLayer` 的结果.
+     * @param objectives      目标数.
+     */
+    public ReferencePointSurvivorSelection(double[] referencePoints, int objectives) {
+
+        if (referencePoints.length == 0 || referencePoints.length % objectives != 0)
+            throw new UnsupportedOperationException("Reference points must hold a multiple of the number of objectives.");
+
+        this.referencePoints = referencePoints.clone();
+        this.objectives = objectives;
+        this.referenceCount = referencePoints.length / objectives;
+        this.referenceNorms = new double[this.referenceCount];
+
+        for (int r = 0; r < this.referenceCount; r++) {
+            double norm = 0;
+            for (int k = 0; k < objectives; k++) {
+                double value = referencePoints[r * objectives + k];
+                norm += value * value;
+            }
+            this.referenceNorms[r] = norm;
+        }
+
+    }
+
+    @Override
+    public Population select(Population combinedPopulation, int populationSize) {
+
+        List<Chromosome> populace = combinedPopulation.getPopulace();
+        List<Chromosome> candidates = ReferencePointSurvivorSelection.candidatesByRank(populace, populationSize);
+        if (candidates.size() <= populationSize) {
+            return new Population(candidates);
+        }
+
+        // 候选中最后一个前沿之前的个体全部入选.
+        int lastRank = candidates.get(candidates.size() - 1).getRank();
+        int accepted = 0;
+        while (candidates.get(accepted).getRank() != lastRank) {
+            accepted++;
+        }
+
+        int size = candidates.size();
+        int m = this.objectives;
+        double[] normalized = new double[size * m];
+        for (int i = 0; i < size; i++) {
+            List<Double> objectiveValues = candidates.get(i).getObjectiveValues();
+            for (int k = 0; k < m; k++) {
+                normalized[i * m + k] = -objectiveValues.get(k);
+            }
+        }
+        this.normalize(normalized, size);
+
+        int[] association = new int[size];
+        double[] distance = new double[size];
+        this.associate(normalized, size, association, distance);
+
+        List<Chromosome> survivors = new ArrayList<>(candidates.subList(0, accepted));
+        int[] nicheCounts = new int[this.referenceCount];
+        for (int i = 0; i < accepted; i++) {
+            nicheCounts[association[i]]++;
+        }
+
+        this.niche(candidates, accepted, association, distance, nicheCounts, populationSize - accepted, survivors);
+        return new Population(survivors);
+
+    }
+
+    // 按排名选出前沿, 直到个体数不少于 populationSize, 不依赖合并种群已经排好序.
+    private static List<Chromosome> candidatesByRank(List<Chromosome> populace, int populationSize) {
+
+        int maximumRank = 0;
+        for (Chromosome chromosome : populace) {
+            maximumRank = Math.max(maximumRank, chromosome.getRank());
+        }
+
+        int[] counts = new int[maximumRank + 2];
+        for (Chromosome chromosome : populace) {
+            counts[chromosome.getRank() + 1]++;
+        }
+        for (int rank = 1; rank < counts.length; rank++) {
+            counts[rank] += counts[rank - 1];
+        }
+
+        Chromosome[] byRank = new Chromosome[populace.size()];
+        for (Chromosome chromosome : populace) {
+            byRank[counts[chromosome.getRank()]++] = chromosome;
+        }
+
+        int end = 0;
+        while (end < byRank.length && end < populationSize) {
+            int rank = byRank[end].getRank();
+            while (end < byRank.length && byRank[end].getRank() == rank) {
+                end++;
+            }
+        }
+
+        List<Chromosome> candidates = new ArrayList<>(end);
+        for (int i = 0; i < end; i++) {
+            candidates.add(byRank[i]);
+        }
+        return candidates;
+
+    }
+
+    // 平移到理想点, 再按极点所在超平面的截距归一化.
+    private void normalize(double[] values, int size) {
+
+        int m = this.objectives;
+        double[] ideal = new double[m];
+        Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < m; k++) {
+                ideal[k] = Math.min(ideal[k], values[i * m + k]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < m; k++) {
+                values[i * m + k] -= ideal[k];
+            }
+        }
+
+        double[] extremes = new double[m * m];
+        for (int axis = 0; axis < m; axis++) {
+            int best = 0;
+            double bestValue = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                double asf = 0;
+                for (int k = 0; k < m; k++) {
+                    asf = Math.max(asf, values[i * m + k] / (k == axis ? 1 : 1e-6));
+                }
+                if (asf < bestValue) {
+                    bestValue = asf;
+                    best = i;
+                }
+            }
+            System.arraycopy(values, best * m, extremes, axis * m, m);
+        }
+
+        double[] intercepts = ReferencePointSurvivorSelection.intercepts(extremes, m);
+        if (intercepts == null) {
+            // 超平面退化时退回到每个目标上的最差值.
+            intercepts = new double[m];
+            for (int i = 0; i < size; i++) {
+                for (int k = 0; k < m; k++) {
+                    intercepts[k] = Math.max(intercepts[k], values[i * m + k]);
+                }
+            }
+        }
+
+        for (int k = 0; k < m; k++) {
+            double intercept = intercepts[k] > ReferencePointSurvivorSelection.EPSILON ? intercepts[k] : 1;
+            for (int i = 0; i < size; i++) {
+                values[i * m + k] /= intercept;
+            }
+        }
+
+    }
+
+    // 解 E a = 1, 截距为 1 / a_k; 矩阵奇异或截距非正时返回 null.
+    private static double[] intercepts(double[] extremes, int m) {
+
+        double[] matrix = extremes.clone();
+        double[] rhs = new double[m];
+        Arrays.fill(rhs, 1);
+
+        for (int column = 0; column < m; column++) {
+
+            int pivot = column;
+            for (int row = column + 1; row < m; row++) {
+                if (Math.abs(matrix[row * m + column]) > Math.abs(matrix[pivot * m + column])) {
+                    pivot = row;
+                }
+            }
+            if (Math.abs(matrix[pivot * m + column]) < ReferencePointSurvivorSelection.EPSILON) {
+                return null;
+            }
+            if (pivot != column) {
+                for (int k = 0; k < m; k++) {
+                    double temporary = matrix[pivot * m + k];
+                    matrix[pivot * m + k] = matrix[column * m + k];
+                    matrix[column * m + k] = temporary;
+                }
+                double temporary = rhs[pivot];
+                rhs[pivot] = rhs[column];
+                rhs[column] = temporary;
+            }
+
+            for (int row = column + 1; row < m; row++) {
+                double factor = matrix[row * m + column] / matrix[column * m + column];
+                for (int k = column; k < m; k++) {
+                    matrix[row * m + k] -= factor * matrix[column * m + k];
+                }
+                rhs[row] -= factor * rhs[column];
+            }
+
+        }
+
+        double[] solution = new double[m];
+        for (int row = m - 1; row >= 0; row--) {
+            double sum = rhs[row];
+            for (int k = row + 1; k < m; k++) {
+                sum -= matrix[row * m + k] * solution[k];
+            }
+            solution[row] = sum / matrix[row * m + row];
+        }
+
+        double[] intercepts = new double[m];
+        for (int k = 0; k < m; k++) {
+            if (solution[k] <= ReferencePointSurvivorSelection.EPSILON) {
+                return null;
+            }
+            intercepts[k] = 1 / solution[k];
+        }
+        return intercepts;
+
+    }
+
+    // 每个个体关联到垂直距离最近的参考线.
+    private void associate(double[] values, int size, int[] association, double[] distance) {
+
+        int m = this.objectives;
+
+        for (int i = 0; i < size; i++) {
+
+            double squaredNorm = 0;
+            for (int k = 0; k < m; k++) {
+                squaredNorm += values[i * m + k] * values[i * m + k];
+            }
+
+            double closest = Double.POSITIVE_INFINITY;
+            int closestReference = 0;
+
+            for (int r = 0; r < this.referenceCount; r++) {
+                double dot = 0;
+                for (int k = 0; k < m; k++) {
+                    dot += values[i * m + k] * this.referencePoints[r * m + k];
+                }
+                // |f|^2 - (f.w)^2 / |w|^2 为到参考线垂直距离的平方.
+                double perpendicular = squaredNorm - dot * dot / this.referenceNorms[r];
+                if (perpendicular < closest) {
+                    closest = perpendicular;
+                    closestReference = r;
+                }
+            }
+
+            association[i] = closestReference;
+            distance[i] = Math.sqrt(Math.max(0, closest));
+
+        }
+
+    }
+
+    private void niche(List<Chromosome> candidates,
+                       int accepted,
+                       int[] association,
+                       double[] distance,
+                       int[] nicheCounts,
+                       int remaining,
+                       List<Chromosome> survivors) {
+
+        Random random = RandomSource.current();
+        int size = candidates.size();
+
+        // 最后一个前沿中关联到每个参考点的成员, 以链表形式存放在 first / next 中.
+        int[] first = new int[this.referenceCount];
+        int[] next = new int[size];
+        Arrays.fill(first, -1);
+        for (int i = size - 1; i >= accepted; i--) {
+            next[i] = first[association[i]];
+            first[association[i]] = i;
+        }
+
+        boolean[] picked = new boolean[size];
+        boolean[] excluded = new boolean[this.referenceCount];
+        int[] ties = new int[this.referenceCount];
+
+        while (remaining > 0) {
+
+            int minimum = Integer.MAX_VALUE;
+            int tieCount = 0;
+            for (int r = 0; r < this.referenceCount; r++) {
+                if (excluded[r]) {
+                    continue;
+                }
+                if (nicheCounts[r] < minimum) {
+                    minimum = nicheCounts[r];
+                    tieCount = 0;
+                }
+                if (nicheCounts[r] == minimum) {
+                    ties[tieCount++] = r;
+                }
+            }
+
+            int reference = ties[random.nextInt(tieCount)];
+            int chosen = -1;
+            int available = 0;
+
+            for (int i = first[reference]; i >= 0; i = next[i]) {
+                if (picked[i]) {
+                    continue;
+                }
+                available++;
+                if (nicheCounts[reference] == 0) {
+                    if (chosen < 0 || distance[i] < distance[chosen]) {
+                        chosen = i;
+                    }
+                } else if (random.nextInt(available) == 0) {
+                    chosen = i;
+                }
+            }
+
+            if (chosen < 0) {
+                excluded[reference] = true;
+                continue;
+            }
+
+            picked[chosen] = true;
+            survivors.add(candidates.get(chosen));
+            nicheCounts[reference]++;
+            remaining--;
+
+        }
+
+    }
+
+}
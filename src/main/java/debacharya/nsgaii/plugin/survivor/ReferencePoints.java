@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.survivor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NSGA-III 参考点生成.
+ * Reference points lie on the unit simplex and are returned as a row-major array of `count * objectives` values.
+ */
+public class ReferencePoints {
+
+    private ReferencePoints() {
+    }
+
+    /**
+     * Das-Dennis 均匀参考点: 每个坐标取 0, 1/p, ..., 1 且坐标和为 1, 共 C(M + p - 1, p) 个.
+     *
+     * @param objectives 目标数 M.
+     * @param divisions  每个目标的划分数 p.
+     * @return 行优先存放的参考点.
+     */
+    public static double[] dasDennis(int objectives, int divisions) {
+
+        if (objectives < 2)
+            throw new UnsupportedOperationException("Reference points require at least 2 objectives.");
+        if (divisions < 1)
+            throw new UnsupportedOperationException("Divisions cannot be less than 1.");
+
+        List<double[]> points = new ArrayList<>();
+        ReferencePoints.generate(new double[objectives], 0, divisions, divisions, points);
+
+        double[] flattened = new double[points.size() * objectives];
+        for (int i = 0; i < points.size(); i++) {
+            System.arraycopy(points.get(i), 0, flattened, i * objectives, objectives);
+        }
+        return flattened;
+
+    }
+
+    /**
+     * 双层参考点 [DOI: 10.1109/TEVC.2013.2281535]: 目标多时单层划分要么太粗（点全在边界上）, 要么点数过多.
+     * The inner layer uses `innerDivisions` and is shrunk halfway towards the simplex centre.
+     *
+     * @param objectives     目标数 M.
+     * @param outerDivisions 外层划分数.
+     * @param innerDivisions 内层划分数.
+     * @return 行优先存放的参考点.
+     */
+    public static double[] twoLayer(int objectives, int outerDivisions, int innerDivisions) {
+
+        double[] outer = ReferencePoints.dasDennis(objectives, outerDivisions);
+        double[] inner = ReferencePoints.dasDennis(objectives, innerDivisions);
+        double centre = 1.0 / objectives;
+
+        for (int i = 0; i < inner.length; i++) {
+            inner[i] = (inner[i] + centre) / 2;
+        }
+
+        double[] points = new double[outer.length + inner.length];
+        System.arraycopy(outer, 0, points, 0, outer.length);
+        System.arraycopy(inner, 0, points, outer.length, inner.length);
+        return points;
+
+    }
+
+    private static void generate(double[] point, int objective, int left, int divisions, List<double[]> points) {
+
+        if (objective == point.length - 1) {
+            point[objective] = (double) left / divisions;
+            points.add(point.clone());
+            return;
+        }
+
+        for (int i = 0; i <= left; i++) {
+            point[objective] = (double) i / divisions;
+            ReferencePoints.generate(point, objective + 1, left - i, divisions, points);
+        }
+
+    }
+
+}
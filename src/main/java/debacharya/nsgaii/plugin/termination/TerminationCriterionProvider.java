@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.plugin.termination;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.plugin.TerminationCriterion;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 常用的终止条件.
+ */
+public class TerminationCriterionProvider {
+
+    /**
+     * 达到给定代数后结束, 这是 `Configuration` 默认的终止条件.
+     *
+     * @param generations 最大代数.
+     * @return termination criterion.
+     */
+    public static TerminationCriterion maxGenerations(int generations) {
+
+        if (generations < 1)
+            throw new UnsupportedOperationException("Generations cannot be less than 1.");
+
+        return report -> report.getGeneration() >= generations;
+
+    }
+
+    /**
+     * 目标函数累计评价次数达到给定值后结束.
+     *
+     * @param evaluations 最大评价次数.
+     * @return termination criterion.
+     */
+    public static TerminationCriterion maxEvaluations(long evaluations) {
+
+        if (evaluations < 1)
+            throw new UnsupportedOperationException("Evaluations cannot be less than 1.");
+
+        return report -> report.getTotalEvaluations() >= evaluations;
+
+    }
+
+    /**
+     * 运行时间超过给定预算后结束. The current generation is always completed, so the budget can be overrun by at most
+     * one generation.
+     *
+     * @param duration 时间预算.
+     * @param unit     时间单位.
+     * @return termination criterion.
+     */
+    public static TerminationCriterion wallClock(long duration, TimeUnit unit) {
+
+        if (duration < 1)
+            throw new UnsupportedOperationException("Wall clock budget cannot be less than 1.");
+
+        long nanos = unit.toNanos(duration);
+        return report -> report.getElapsedNanos() >= nanos;
+
+    }
+
+    /**
+     * 使用 `Configuration.getHypervolumeReferencePoint()` 的超体积停滞条件.
+     *
+     * @param window    观察窗口（代数）.
+     * @param tolerance 窗口内允许的最小相对增长.
+     * @return termination criterion.
+     */
+    public static TerminationCriterion hypervolumeStagnation(int window, double tolerance) {
+        return TerminationCriterionProvider.hypervolumeStagnation(window, tolerance, null);
+    }
+
+    /**
+     * 超体积停滞: 父种群的超体积在最近 `window` 代内的相对增长不超过 `tolerance` 时结束.
+     * The hypervolume is taken from `GenerationReport.getHypervolume`, which uses `Hypervolume.computeOrEstimate`, so it
+     * remains affordable for many objectives and is shared with other listeners of the same generation.
+     *
+     * @param window         观察窗口（代数）.
+     * @param tolerance      窗口内允许的最小相对增长.
+     * @param referencePoint 参考点, 为 null 时使用配置中的参考点.
+     * @return termination criterion.
+     */
+    public static TerminationCriterion hypervolumeStagnation(int window, double tolerance, double[] referencePoint) {
+
+        if (window < 1)
+            throw new UnsupportedOperationException("Window cannot be less than 1.");
+        if (tolerance < 0)
+            throw new UnsupportedOperationException("Tolerance cannot be negative.");
+
+        return new TerminationCriterion() {
+
+            private final Deque<Double> history = new ArrayDeque<>(window + 1);
+            private double[] reference = referencePoint;
+
+            @Override
+            public void reset(Configuration configuration) {
+
+                this.history.clear();
+                if (referencePoint == null) {
+                    this.reference = configuration.getHypervolumeReferencePoint();
+                }
+                if (this.reference == null)
+                    throw new UnsupportedOperationException("Hypervolume stagnation requires a hypervolume reference point.");
+
+            }
+
+            @Override
+            public boolean isSatisfied(GenerationReport report) {
+
+                this.history.addLast(report.getHypervolume(this.reference));
+                if (this.history.size() <= window) {
+                    return false;
+                }
+
+                this.history.removeFirst();
+                double oldest = this.history.getFirst();
+                double improvement = this.history.getLast() - oldest;
+                return improvement <= tolerance * Math.abs(oldest);
+
+            }
+
+        };
+
+    }
+
+    /**
+     * 前沿变化率: 连续 `window` 代中, 第一前沿里新出现的目标向量所占比例都低于 `threshold` 时结束.
+     *
+     * @param threshold 前沿变化率阈值, 介于 0 和 1 之间.
+     * @param window    连续代数.
+     * @return termination criterion.
+     */
+    public static TerminationCriterion frontChangeRate(double threshold, int window) {
+
+        if (threshold < 0 || threshold > 1)
+            throw new UnsupportedOperationException("Threshold must be between 0 and 1.");
+        if (window < 1)
+            throw new UnsupportedOperationException("Window cannot be less than 1.");
+
+        return new TerminationCriterion() {
+
+            private Set<List<Double>> previousFront = null;
+            private int quietGenerations = 0;
+
+            @Override
+            public void reset(Configuration configuration) {
+                this.previousFront = null;
+                this.quietGenerations = 0;
+            }
+
+            @Override
+            public boolean isSatisfied(GenerationReport report) {
+
+                Set<List<Double>> front = new HashSet<>();
+                for (Chromosome chromosome : report.getParent().getPopulace()) {
+                    if (chromosome.getRank() == 1) {
+                        front.add(chromosome.getObjectiveValues());
+                    }
+                }
+
+                if (this.previousFront != null && !front.isEmpty()) {
+
+                    int changed = 0;
+                    for (List<Double> objectiveValues : front) {
+                        if (!this.previousFront.contains(objectiveValues)) {
+                            changed++;
+                        }
+                    }
+                    this.quietGenerations = ((double) changed / front.size()) < threshold ? this.quietGenerations + 1 : 0;
+
+                }
+
+                this.previousFront = front;
+                return this.quietGenerations >= window;
+
+            }
+
+        };
+
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+import debacharya.nsgaii.RandomSource;
+import debacharya.nsgaii.datastructure.AbstractAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+import debacharya.nsgaii.objectivefunction.BatchObjectiveFunction;
+import debacharya.nsgaii.plugin.GeneticCodeProducer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 标准测试问题.
+ * Benchmark problems are defined over a primitive `double[]` of decision variables and, as in the literature,
+ * minimise every objective. The primary entry point evaluates a whole batch at once: decision variables are passed
+ * column-major (`variables[j * count + i]` is variable j of individual i) and objectives are written column-major
+ * into a preallocated array, so every inner loop runs over one contiguous column. A single individual is just a
+ * batch of one, where column-major and row-major coincide.
+ * <p>
+ * To run a problem with `NSGA2`, use `getGeneticCodeProducer()` for the genome (`DoubleAllele`s within the bounds)
+ * and `getObjectives()` for the objective functions. The objective functions negate the values, because `NSGA2`
+ * maximises; `minimised(Population)` turns the population back into the problem's own values, for example to compare
+ * them with `getParetoFront(int)` through `GenerationalDistance`.
+ */
+public abstract class BenchmarkProblem {
+
+    public static final String GENETIC_CODE_LENGTH_MISMATCH = "The chromosome length must equal the number of " +
+            "decision variables of the benchmark problem.";
+    public static final String DOUBLE_ALLELE_REQUIRED = "Benchmark problems require DoubleAllele genetic codes.";
+
+    protected final String name;
+    protected final int numberOfVariables;
+    protected final int numberOfObjectives;
+    protected final double[] lowerBounds;
+    protected final double[] upperBounds;
+
+    protected BenchmarkProblem(String name, int numberOfObjectives, double[] lowerBounds, double[] upperBounds) {
+
+        this.name = name;
+        this.numberOfVariables = lowerBounds.length;
+        this.numberOfObjectives = numberOfObjectives;
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+
+    }
+
+    protected BenchmarkProblem(String name, int numberOfObjectives, int numberOfVariables, double lower, double upper) {
+        this(name, numberOfObjectives, BenchmarkProblem.fill(numberOfVariables, lower),
+                BenchmarkProblem.fill(numberOfVariables, upper));
+    }
+
+    /**
+     * 批量计算目标值.
+     *
+     * @param variables  按列存放的决策变量, 长度为 `numberOfVariables * count`.
+     * @param count      个体数.
+     * @param objectives 按列存放的目标值, 长度为 `numberOfObjectives * count`.
+     */
+    public abstract void evaluate(double[] variables, int count, double[] objectives);
+
+    /**
+     * 已知 Pareto 前沿上的采样点, 按目标最小化表示.
+     * Dominated parts of disconnected fronts are filtered out, so the number of points returned can be smaller than
+     * requested; fronts that are finite sets are returned whole.
+     *
+     * @param points 采样点数.
+     * @return 每行一个点.
+     */
+    public abstract double[][] getParetoFront(int points);
+
+    /**
+     * 计算单个个体.
+     *
+     * @param variables  决策变量.
+     * @param objectives 目标值.
+     */
+    public void evaluate(double[] variables, double[] objectives) {
+        this.evaluate(variables, 1, objectives);
+    }
+
+    public double[] evaluate(double[] variables) {
+        double[] objectives = new double[this.numberOfObjectives];
+        this.evaluate(variables, 1, objectives);
+        return objectives;
+    }
+
+    /**
+     * @return 在变量上下界内均匀产生 `DoubleAllele` 基因的产生器.
+     */
+    public GeneticCodeProducer getGeneticCodeProducer() {
+
+        return (length) -> {
+
+            if (length != this.numberOfVariables)
+                throw new UnsupportedOperationException(BenchmarkProblem.GENETIC_CODE_LENGTH_MISMATCH);
+
+            Random random = RandomSource.current();
+            List<DoubleAllele> geneticCode = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                geneticCode.add(new DoubleAllele(this.lowerBounds[i] +
+                        random.nextDouble() * (this.upperBounds[i] - this.lowerBounds[i])));
+            }
+            return geneticCode;
+
+        };
+
+    }
+
+    /**
+     * 供 `NSGA2` 使用的目标函数, 取值为问题目标的相反数.
+     * The functions are `BatchObjectiveFunction`s, so `Service` evaluates the whole population through
+     * `evaluate(double[], int, double[])`. They share a per-thread cache of the last evaluated batch and chromosome,
+     * so the problem is evaluated once per population (or chromosome) rather than once per objective.
+     *
+     * @return 每个目标一个目标函数.
+     */
+    public List<AbstractObjectiveFunction> getObjectives() {
+
+        ThreadLocal<LastEvaluation> cache = ThreadLocal.withInitial(LastEvaluation::new);
+        List<AbstractObjectiveFunction> objectives = new ArrayList<>(this.numberOfObjectives);
+        for (int i = 0; i < this.numberOfObjectives; i++) {
+            objectives.add(new NegatedObjective(this, i, cache));
+        }
+        return objectives;
+
+    }
+
+    /**
+     * @param chromosome 由 `DoubleAllele` 组成的染色体.
+     * @return 决策变量.
+     */
+    public static double[] decode(Chromosome chromosome) {
+
+        List<AbstractAllele> geneticCode = chromosome.getGeneticCode();
+        double[] variables = new double[geneticCode.size()];
+        for (int i = 0; i < variables.length; i++) {
+            AbstractAllele allele = geneticCode.get(i);
+            if (!(allele instanceof DoubleAllele))
+                throw new UnsupportedOperationException(BenchmarkProblem.DOUBLE_ALLELE_REQUIRED);
+            variables[i] = ((DoubleAllele) allele).getGene();
+        }
+        return variables;
+
+    }
+
+    /**
+     * 把由 `getObjectives()` 计算的种群目标值还原为问题本身的最小化取值.
+     *
+     * @param population 种群.
+     * @return 每行一个个体的目标值.
+     */
+    public static double[][] minimised(Population population) {
+
+        double[][] values = new double[population.size()][];
+        for (int i = 0; i < values.length; i++) {
+            List<Double> objectiveValues = population.get(i).getObjectiveValues();
+            values[i] = new double[objectiveValues.size()];
+            for (int k = 0; k < values[i].length; k++) {
+                values[i][k] = -objectiveValues.get(k);
+            }
+        }
+        return values;
+
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    public int getNumberOfObjectives() {
+        return numberOfObjectives;
+    }
+
+    public double[] getLowerBounds() {
+        return lowerBounds.clone();
+    }
+
+    public double[] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    @Override
+    public String toString() {
+        return this.name + " (" + this.numberOfVariables + " variables, " + this.numberOfObjectives + " objectives)";
+    }
+
+    private static double[] fill(int length, double value) {
+        double[] values = new double[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    private static class LastEvaluation {
+        private Chromosome chromosome;
+        private double[] objectives;
+        private double[] batchVariables;
+        private double[] batchObjectives;
+    }
+
+    private static class NegatedObjective extends AbstractObjectiveFunction implements BatchObjectiveFunction {
+
+        private final BenchmarkProblem problem;
+        private final int index;
+        private final ThreadLocal<LastEvaluation> cache;
+
+        private NegatedObjective(BenchmarkProblem problem, int index, ThreadLocal<LastEvaluation> cache) {
+            this.problem = problem;
+            this.index = index;
+            this.cache = cache;
+            this.objectiveFunctionTitle = "-" + problem.getName() + " f" + (index + 1);
+        }
+
+        @Override
+        public double getValue(Chromosome chromosome) {
+
+            LastEvaluation last = this.cache.get();
+            if (last.chromosome != chromosome) {
+                last.objectives = this.problem.evaluate(BenchmarkProblem.decode(chromosome));
+                last.chromosome = chromosome;
+            }
+            return -last.objectives[this.index];
+
+        }
+
+        @Override
+        public void getValues(double[] variables, int count, double[] values, int offset) {
+
+            LastEvaluation last = this.cache.get();
+            // 同一次计算的所有目标共享同一个决策变量矩阵.
+            if (last.batchVariables != variables) {
+                last.batchObjectives = new double[this.problem.getNumberOfObjectives() * count];
+                this.problem.evaluate(variables, count, last.batchObjectives);
+                last.batchVariables = variables;
+            }
+
+            int from = this.index * count;
+            for (int c = 0; c < count; c++) {
+                values[offset + c] = -last.batchObjectives[from + c];
+            }
+
+        }
+
+    }
+
+}
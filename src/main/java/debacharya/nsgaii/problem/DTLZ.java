@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * DTLZ 可扩展目标数的测试问题 [DOI: 10.1007/1-84628-137-7_6].
+ * The first M - 1 variables position a point on the front, the remaining k variables feed the distance function g,
+ * which is minimal on the Pareto-optimal set.
+ */
+public abstract class DTLZ extends BenchmarkProblem {
+
+    protected DTLZ(String name, int numberOfObjectives, int numberOfVariables) {
+        super(name, numberOfObjectives, numberOfVariables, 0, 1);
+        if (numberOfObjectives < 2 || numberOfVariables < numberOfObjectives)
+            throw new UnsupportedOperationException("DTLZ problems need at least 2 objectives and one variable more " +
+                    "than the number of position variables.");
+    }
+
+    // sum((x - 0.5)^2) over the distance variables.
+    protected double[] sphereG(double[] variables, int count) {
+
+        double[] g = new double[count];
+        for (int j = this.numberOfObjectives - 1; j < this.numberOfVariables; j++) {
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                double x = variables[offset + c] - 0.5;
+                g[c] += x * x;
+            }
+        }
+        return g;
+
+    }
+
+    // 100 * (k + sum((x - 0.5)^2 - cos(20 pi (x - 0.5)))), 有 11^k - 1 个局部前沿.
+    protected double[] rastriginG(double[] variables, int count) {
+
+        int k = this.numberOfVariables - this.numberOfObjectives + 1;
+        double[] g = new double[count];
+        for (int j = this.numberOfObjectives - 1; j < this.numberOfVariables; j++) {
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                double x = variables[offset + c] - 0.5;
+                g[c] += x * x - Math.cos(20 * Math.PI * x);
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            g[c] = 100 * (k + g[c]);
+        }
+        return g;
+
+    }
+
+    /**
+     * 球面形状: f_{M-1-j} = (1 + g) * {@code prod_{i<j}} cos(theta_i) * sin(theta_j), 最后一项没有 sin 因子.
+     *
+     * @param angles     按列存放的 M - 1 个角度 (弧度).
+     * @param g          距离函数.
+     * @param count      个体数.
+     * @param objectives 按列存放的目标值.
+     */
+    protected void sphere(double[] angles, double[] g, int count, double[] objectives) {
+
+        int m = this.numberOfObjectives;
+        double[] product = new double[count];
+        for (int c = 0; c < count; c++) {
+            product[c] = 1 + g[c];
+        }
+
+        for (int j = 0; j < m; j++) {
+            int target = (m - 1 - j) * count;
+            if (j == m - 1) {
+                System.arraycopy(product, 0, objectives, target, count);
+                break;
+            }
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                double angle = angles[offset + c];
+                objectives[target + c] = product[c] * Math.sin(angle);
+                product[c] *= Math.cos(angle);
+            }
+        }
+
+    }
+
+    // 单位球面上的前沿: 单纯形上的均匀点投影到球面.
+    protected double[][] sphereFront(int points) {
+
+        int m = this.numberOfObjectives;
+        double[] columns = ParetoFronts.simplex(m, points);
+        ParetoFronts.normalizeToSphere(columns, columns.length / m, m);
+        return ParetoFronts.rows(columns, columns.length / m, m);
+
+    }
+
+    // DTLZ5 与 DTLZ6 的退化曲线: theta_0 自由, 其余角度为 pi / 4.
+    protected double[][] curveFront(int points) {
+
+        int m = this.numberOfObjectives;
+        double[] angles = new double[(m - 1) * points];
+        for (int c = 0; c < points; c++) {
+            angles[c] = Math.PI / 2 * c / Math.max(1, points - 1);
+        }
+        for (int i = points; i < angles.length; i++) {
+            angles[i] = Math.PI / 4;
+        }
+
+        double[] objectives = new double[m * points];
+        this.sphere(angles, new double[points], points, objectives);
+        return ParetoFronts.rows(objectives, points, m);
+
+    }
+
+    // DTLZ5 与 DTLZ6 的角度: theta_i = pi / (4 (1 + g)) * (1 + 2 g x_i), i >= 1.
+    protected double[] degenerateAngles(double[] variables, double[] g, int count) {
+
+        int m = this.numberOfObjectives;
+        double[] angles = new double[(m - 1) * count];
+        for (int c = 0; c < count; c++) {
+            angles[c] = variables[c] * Math.PI / 2;
+        }
+        for (int i = 1; i < m - 1; i++) {
+            int offset = i * count;
+            for (int c = 0; c < count; c++) {
+                angles[offset + c] = Math.PI / (4 * (1 + g[c])) * (1 + 2 * g[c] * variables[offset + c]);
+            }
+        }
+        return angles;
+
+    }
+
+}
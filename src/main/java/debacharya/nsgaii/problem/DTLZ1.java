@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * DTLZ1: 线性前沿 sum(f) = 0.5, 多峰的 g 函数.
+ */
+public class DTLZ1 extends DTLZ {
+
+    public DTLZ1(int numberOfObjectives) {
+        this(numberOfObjectives, numberOfObjectives + 4);
+    }
+
+    public DTLZ1(int numberOfObjectives, int numberOfVariables) {
+        super("DTLZ1", numberOfObjectives, numberOfVariables);
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        int m = this.numberOfObjectives;
+        double[] g = this.rastriginG(variables, count);
+        double[] product = new double[count];
+        for (int c = 0; c < count; c++) {
+            product[c] = 0.5 * (1 + g[c]);
+        }
+
+        // f_{M-1-j} = 0.5 (1 + g) * x_0 ... x_{j-1} * (1 - x_j).
+        for (int j = 0; j < m; j++) {
+            int target = (m - 1 - j) * count;
+            if (j == m - 1) {
+                System.arraycopy(product, 0, objectives, target, count);
+                break;
+            }
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                double x = variables[offset + c];
+                objectives[target + c] = product[c] * (1 - x);
+                product[c] *= x;
+            }
+        }
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+
+        int m = this.numberOfObjectives;
+        double[] columns = ParetoFronts.simplex(m, points);
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] *= 0.5;
+        }
+        return ParetoFronts.rows(columns, columns.length / m, m);
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * DTLZ3: 单位球面前沿, 多峰的 g 函数 (3^k - 1 个局部前沿).
+ */
+public class DTLZ3 extends DTLZ {
+
+    public DTLZ3(int numberOfObjectives) {
+        this(numberOfObjectives, numberOfObjectives + 9);
+    }
+
+    public DTLZ3(int numberOfObjectives, int numberOfVariables) {
+        super("DTLZ3", numberOfObjectives, numberOfVariables);
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        int positions = (this.numberOfObjectives - 1) * count;
+        double[] angles = new double[positions];
+        for (int i = 0; i < positions; i++) {
+            angles[i] = variables[i] * Math.PI / 2;
+        }
+        this.sphere(angles, this.rastriginG(variables, count), count, objectives);
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return this.sphereFront(points);
+    }
+
+}
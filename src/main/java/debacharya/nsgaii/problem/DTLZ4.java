@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * DTLZ4: 单位球面前沿, 位置变量取 x^alpha 使解偏向边界.
+ */
+public class DTLZ4 extends DTLZ {
+
+    public static final double DEFAULT_ALPHA = 100;
+
+    private final double alpha;
+
+    public DTLZ4(int numberOfObjectives) {
+        this(numberOfObjectives, numberOfObjectives + 9, DTLZ4.DEFAULT_ALPHA);
+    }
+
+    public DTLZ4(int numberOfObjectives, int numberOfVariables, double alpha) {
+        super("DTLZ4", numberOfObjectives, numberOfVariables);
+        this.alpha = alpha;
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        int positions = (this.numberOfObjectives - 1) * count;
+        double[] angles = new double[positions];
+        for (int i = 0; i < positions; i++) {
+            angles[i] = Math.pow(variables[i], this.alpha) * Math.PI / 2;
+        }
+        this.sphere(angles, this.sphereG(variables, count), count, objectives);
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return this.sphereFront(points);
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * DTLZ6: 与 DTLZ5 前沿相同, g = sum(x^0.1) 使收敛更难.
+ */
+public class DTLZ6 extends DTLZ {
+
+    public DTLZ6(int numberOfObjectives) {
+        this(numberOfObjectives, numberOfObjectives + 9);
+    }
+
+    public DTLZ6(int numberOfObjectives, int numberOfVariables) {
+        super("DTLZ6", numberOfObjectives, numberOfVariables);
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        double[] g = new double[count];
+        for (int j = this.numberOfObjectives - 1; j < this.numberOfVariables; j++) {
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                g[c] += Math.pow(variables[offset + c], 0.1);
+            }
+        }
+        this.sphere(this.degenerateAngles(variables, g, count), g, count, objectives);
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return this.curveFront(points);
+    }
+
+}
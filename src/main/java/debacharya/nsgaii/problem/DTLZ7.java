@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+import java.util.Arrays;
+
+/**
+ * DTLZ7: 2^(M-1) 块不连续的前沿.
+ */
+public class DTLZ7 extends DTLZ {
+
+    public DTLZ7(int numberOfObjectives) {
+        this(numberOfObjectives, numberOfObjectives + 19);
+    }
+
+    public DTLZ7(int numberOfObjectives, int numberOfVariables) {
+        super("DTLZ7", numberOfObjectives, numberOfVariables);
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        int m = this.numberOfObjectives;
+        int k = this.numberOfVariables - m + 1;
+        double[] g = new double[count];
+
+        for (int j = m - 1; j < this.numberOfVariables; j++) {
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                g[c] += variables[offset + c];
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            g[c] = 1 + 9 * g[c] / k;
+        }
+
+        System.arraycopy(variables, 0, objectives, 0, (m - 1) * count);
+        DTLZ7.last(objectives, g, count, m);
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+
+        int m = this.numberOfObjectives;
+        double[] positions = ParetoFronts.grid(m - 1, points);
+        int count = positions.length / (m - 1);
+        double[] objectives = new double[m * count];
+        double[] g = new double[count];
+        Arrays.fill(g, 1);
+
+        System.arraycopy(positions, 0, objectives, 0, positions.length);
+        DTLZ7.last(objectives, g, count, m);
+        return ParetoFronts.nonDominatedRows(objectives, count, m);
+
+    }
+
+    // f_{M-1} = (1 + g) (M - sum(f_i / (1 + g) (1 + sin(3 pi f_i)))).
+    private static void last(double[] objectives, double[] g, int count, int m) {
+
+        int target = (m - 1) * count;
+        for (int c = 0; c < count; c++) {
+            objectives[target + c] = m;
+        }
+        for (int i = 0; i < m - 1; i++) {
+            int offset = i * count;
+            for (int c = 0; c < count; c++) {
+                double f = objectives[offset + c];
+                objectives[target + c] -= f / (1 + g[c]) * (1 + Math.sin(3 * Math.PI * f));
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            objectives[target + c] *= 1 + g[c];
+        }
+
+    }
+
+}
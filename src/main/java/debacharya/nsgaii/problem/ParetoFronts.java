@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+import debacharya.nsgaii.plugin.survivor.ReferencePoints;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pareto 前沿采样的公共方法.
+ */
+class ParetoFronts {
+
+    private ParetoFronts() {
+    }
+
+    /**
+     * 单位单纯形上不少于 `points` 个的均匀点, 按列存放; 点数为返回数组长度除以目标数.
+     */
+    static double[] simplex(int objectives, int points) {
+
+        int divisions = 1;
+        while (ParetoFronts.binomial(objectives + divisions - 1, divisions) < points) {
+            divisions++;
+        }
+
+        double[] rows = ReferencePoints.dasDennis(objectives, divisions);
+        return ParetoFronts.transpose(rows, rows.length / objectives, objectives);
+
+    }
+
+    /**
+     * [0, 1]^dimensions 上不少于 `points` 个的网格点, 按列存放; 点数为返回数组长度除以维数.
+     */
+    static double[] grid(int dimensions, int points) {
+
+        int resolution = Math.max(2, (int) Math.ceil(Math.pow(points, 1.0 / dimensions)));
+        int total = 1;
+        for (int d = 0; d < dimensions; d++) {
+            total *= resolution;
+        }
+
+        double[] columns = new double[dimensions * total];
+        for (int c = 0; c < total; c++) {
+            int rest = c;
+            for (int d = 0; d < dimensions; d++) {
+                columns[d * total + c] = (double) (rest % resolution) / (resolution - 1);
+                rest /= resolution;
+            }
+        }
+        return columns;
+
+    }
+
+    /**
+     * 按列存放的目标值转为行, 并去掉被支配的点.
+     */
+    static double[][] nonDominatedRows(double[] objectives, int count, int m) {
+
+        double[][] rows = ParetoFronts.rows(objectives, count, m);
+        List<double[]> front = new ArrayList<>();
+
+        for (double[] candidate : rows) {
+            boolean dominated = false;
+            for (int j = 0; j < rows.length && !dominated; j++) {
+                dominated = ParetoFronts.dominates(rows[j], candidate);
+            }
+            if (!dominated) {
+                front.add(candidate);
+            }
+        }
+        return front.toArray(new double[0][]);
+
+    }
+
+    static double[][] rows(double[] objectives, int count, int m) {
+
+        double[][] rows = new double[count][m];
+        for (int c = 0; c < count; c++) {
+            for (int k = 0; k < m; k++) {
+                rows[c][k] = objectives[k * count + c];
+            }
+        }
+        return rows;
+
+    }
+
+    static double[] transpose(double[] rows, int count, int m) {
+
+        double[] columns = new double[rows.length];
+        for (int c = 0; c < count; c++) {
+            for (int k = 0; k < m; k++) {
+                columns[k * count + c] = rows[c * m + k];
+            }
+        }
+        return columns;
+
+    }
+
+    // 把按列存放的单纯形点投影到单位球面上.
+    static void normalizeToSphere(double[] columns, int count, int m) {
+
+        for (int c = 0; c < count; c++) {
+            double norm = 0;
+            for (int k = 0; k < m; k++) {
+                norm += columns[k * count + c] * columns[k * count + c];
+            }
+            norm = Math.sqrt(norm);
+            for (int k = 0; k < m; k++) {
+                columns[k * count + c] /= norm;
+            }
+        }
+
+    }
+
+    // 最小化意义下 a 支配 b.
+    private static boolean dominates(double[] a, double[] b) {
+
+        boolean better = false;
+        for (int k = 0; k < a.length; k++) {
+            if (a[k] > b[k]) {
+                return false;
+            }
+            better |= a[k] < b[k];
+        }
+        return better;
+
+    }
+
+    private static long binomial(int n, int k) {
+
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+
+    }
+
+}
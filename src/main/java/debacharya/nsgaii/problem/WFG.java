@@ -0,0 +1,423 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+import java.util.Arrays;
+
+/**
+ * WFG 测试工具集 [DOI: 10.1109/TEVC.2005.861417].
+ * A WFG problem has k position and l distance variables, z_i in [0, 2i]. The variables are normalised, passed through
+ * a problem-specific chain of transformations down to M values t, and mapped onto the front by
+ * f_m = x_M + 2m * h_m(x_1, ..., x_{M-1}). On the Pareto-optimal set every distance variable equals 0.35 after
+ * normalisation, except for WFG8 and WFG9, where the optimal distance values depend on the position variables.
+ * <p>
+ * The transformations are applied column by column to a column-major working matrix of the whole batch, with values
+ * clamped to [0, 1] after each step to absorb rounding errors.
+ */
+public abstract class WFG extends BenchmarkProblem {
+
+    protected final int k;
+    protected final int l;
+
+    protected WFG(String name, int numberOfObjectives) {
+        this(name, numberOfObjectives, 2 * (numberOfObjectives - 1), 20);
+    }
+
+    /**
+     * @param k 位置变量数, 必须是 M - 1 的倍数.
+     * @param l 距离变量数.
+     */
+    protected WFG(String name, int numberOfObjectives, int k, int l) {
+
+        super(name, numberOfObjectives, WFG.lowerBounds(k + l), WFG.upperBounds(k + l));
+        if (numberOfObjectives < 2 || k < 1 || k % (numberOfObjectives - 1) != 0 || l < 1)
+            throw new UnsupportedOperationException("WFG problems need at least 2 objectives, a number of position " +
+                    "variables that is a multiple of the number of objectives minus one, and distance variables.");
+        this.k = k;
+        this.l = l;
+
+    }
+
+    /**
+     * 从归一化的变量 y (按列, k + l 行) 变换到 M 个值 t (按列).
+     */
+    protected abstract double[] transform(double[] y, int count);
+
+    /**
+     * 形状函数 h_m, 结果按列写入 `h`.
+     *
+     * @param x 按列存放的 M - 1 个位置参数.
+     */
+    protected abstract void shape(double[] x, int count, double[] h);
+
+    /**
+     * 退化常数 A_i, 为 0 时第 i 个位置参数在前沿上固定为 0.5.
+     */
+    protected double degeneracy(int position) {
+        return 1;
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        int n = this.numberOfVariables;
+        int m = this.numberOfObjectives;
+        double[] y = new double[n * count];
+        for (int i = 0; i < n; i++) {
+            int offset = i * count;
+            double scale = 1.0 / (2 * (i + 1));
+            for (int c = 0; c < count; c++) {
+                y[offset + c] = variables[offset + c] * scale;
+            }
+        }
+
+        double[] t = this.transform(y, count);
+        int distance = (m - 1) * count;
+        double[] x = new double[distance];
+        for (int i = 0; i < m - 1; i++) {
+            int offset = i * count;
+            double a = this.degeneracy(i);
+            for (int c = 0; c < count; c++) {
+                x[offset + c] = Math.max(t[distance + c], a) * (t[offset + c] - 0.5) + 0.5;
+            }
+        }
+
+        this.shape(x, count, objectives);
+        for (int i = 0; i < m; i++) {
+            int offset = i * count;
+            double scale = 2 * (i + 1);
+            for (int c = 0; c < count; c++) {
+                objectives[offset + c] = t[distance + c] + scale * objectives[offset + c];
+            }
+        }
+
+    }
+
+    // 在位置参数网格上采样并去掉被支配的点.
+    protected double[][] gridFront(int points) {
+
+        int m = this.numberOfObjectives;
+        double[] x = ParetoFronts.grid(m - 1, points);
+        int count = x.length / (m - 1);
+        return ParetoFronts.nonDominatedRows(this.scaledShape(x, count), count, m);
+
+    }
+
+    // 凹形前沿: sum((f_m / 2m)^2) = 1.
+    protected double[][] concaveFront(int points) {
+
+        int m = this.numberOfObjectives;
+        double[] columns = ParetoFronts.simplex(m, points);
+        int count = columns.length / m;
+        ParetoFronts.normalizeToSphere(columns, count, m);
+        for (int i = 0; i < m; i++) {
+            for (int c = 0; c < count; c++) {
+                columns[i * count + c] *= 2 * (i + 1);
+            }
+        }
+        return ParetoFronts.rows(columns, count, m);
+
+    }
+
+    // 距离为 0 时的目标值 2m * h_m(x).
+    protected double[] scaledShape(double[] x, int count) {
+
+        int m = this.numberOfObjectives;
+        double[] objectives = new double[m * count];
+        this.shape(x, count, objectives);
+        for (int i = 0; i < m; i++) {
+            for (int c = 0; c < count; c++) {
+                objectives[i * count + c] *= 2 * (i + 1);
+            }
+        }
+        return objectives;
+
+    }
+
+    /*
+     * 形状函数. h_{M-1-j} 含 j 个连乘因子, 最后一个目标 (j = 0) 只依赖 x_0.
+     */
+
+    protected static void linear(double[] x, int count, int m, double[] h) {
+        WFG.shape(x, count, m, h, 0);
+    }
+
+    protected static void convex(double[] x, int count, int m, double[] h) {
+        WFG.shape(x, count, m, h, 1);
+    }
+
+    protected static void concave(double[] x, int count, int m, double[] h) {
+        WFG.shape(x, count, m, h, 2);
+    }
+
+    // mixed_M = (1 - x_0 - cos(2 A pi x_0 + pi / 2) / (2 A pi))^alpha.
+    protected static void mixed(double[] x, int count, int m, double[] h, double alpha, double a) {
+
+        int target = (m - 1) * count;
+        for (int c = 0; c < count; c++) {
+            double x0 = x[c];
+            double value = 1 - x0 - Math.cos(2 * a * Math.PI * x0 + Math.PI / 2) / (2 * a * Math.PI);
+            h[target + c] = Math.pow(value, alpha);
+        }
+
+    }
+
+    // disc_M = 1 - x_0^alpha cos^2(A x_0^beta pi).
+    protected static void disc(double[] x, int count, int m, double[] h, double alpha, double beta, double a) {
+
+        int target = (m - 1) * count;
+        for (int c = 0; c < count; c++) {
+            double x0 = x[c];
+            double cos = Math.cos(a * Math.pow(x0, beta) * Math.PI);
+            h[target + c] = 1 - Math.pow(x0, alpha) * cos * cos;
+        }
+
+    }
+
+    private static void shape(double[] x, int count, int m, double[] h, int kind) {
+
+        double[] product = new double[count];
+        Arrays.fill(product, 1);
+
+        for (int j = 0; j < m; j++) {
+            int target = (m - 1 - j) * count;
+            if (j == m - 1) {
+                System.arraycopy(product, 0, h, target, count);
+                break;
+            }
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                double value = x[offset + c];
+                double factor;
+                double last;
+                if (kind == 0) {
+                    factor = value;
+                    last = 1 - value;
+                } else if (kind == 1) {
+                    factor = 1 - Math.cos(value * Math.PI / 2);
+                    last = 1 - Math.sin(value * Math.PI / 2);
+                } else {
+                    factor = Math.sin(value * Math.PI / 2);
+                    last = Math.cos(value * Math.PI / 2);
+                }
+                h[target + c] = product[c] * last;
+                product[c] *= factor;
+            }
+        }
+
+    }
+
+    /*
+     * 变换函数, 作用于 y 的第 from 到 to - 1 行.
+     */
+
+    // s_linear: |y - A| / |floor(A - y) + A|.
+    protected static void shiftLinear(double[] y, int count, int from, int to, double a) {
+        for (int i = from * count; i < to * count; i++) {
+            y[i] = WFG.clamp(Math.abs(y[i] - a) / Math.abs(Math.floor(a - y[i]) + a));
+        }
+    }
+
+    protected static void shiftDeceptive(double[] y, int count, int from, int to, double a, double b, double c) {
+
+        double left = (1 - c + (a - b) / b) / (a - b);
+        double right = (1 - c + (1 - a - b) / b) / (1 - a - b);
+        for (int i = from * count; i < to * count; i++) {
+            double value = y[i];
+            double tmp = Math.abs(value - a) - b;
+            y[i] = WFG.clamp(1 + tmp * (Math.floor(value - a + b) * left + Math.floor(a + b - value) * right + 1 / b));
+        }
+
+    }
+
+    protected static void shiftMultiModal(double[] y, int count, int from, int to, double a, double b, double c) {
+
+        for (int i = from * count; i < to * count; i++) {
+            double value = y[i];
+            double tmp = Math.abs(value - c) / (2 * (Math.floor(c - value) + c));
+            y[i] = WFG.clamp((1 + Math.cos((4 * a + 2) * Math.PI * (0.5 - tmp)) + 4 * b * tmp * tmp) / (b + 2));
+        }
+
+    }
+
+    // b_flat: 把 [B, C] 上的值压平为 A.
+    protected static void biasFlat(double[] y, int count, int from, int to, double a, double b, double c) {
+
+        for (int i = from * count; i < to * count; i++) {
+            double value = y[i];
+            y[i] = WFG.clamp(a + Math.min(0, Math.floor(value - b)) * a * (b - value) / b
+                    - Math.min(0, Math.floor(c - value)) * (1 - a) * (value - c) / (1 - c));
+        }
+
+    }
+
+    protected static void biasPolynomial(double[] y, int count, int from, int to, double alpha) {
+        for (int i = from * count; i < to * count; i++) {
+            y[i] = WFG.clamp(Math.pow(y[i], alpha));
+        }
+    }
+
+    // b_param: y^(B + (C - B)(A - (1 - 2u)|floor(0.5 - u) + A|)), u 为 `u` 中对应的值.
+    protected static void biasParameter(double[] y, int row, double[] u, int count, double a, double b, double c) {
+
+        int offset = row * count;
+        for (int i = 0; i < count; i++) {
+            double exponent = b + (c - b) * (a - (1 - 2 * u[i]) * Math.abs(Math.floor(0.5 - u[i]) + a));
+            y[offset + i] = WFG.clamp(Math.pow(y[offset + i], exponent));
+        }
+
+    }
+
+    // WFG7 - WFG9 的 b_param 常数.
+    protected static void biasParameter(double[] y, int row, double[] u, int count) {
+        WFG.biasParameter(y, row, u, count, 0.98 / 49.98, 0.02, 50);
+    }
+
+    /**
+     * r_sum 写入 `target` 的第 `targetRow` 行.
+     *
+     * @param weighted 为 true 时权重为 2(i + 1), 否则全为 1.
+     */
+    protected static void reduceSum(double[] y, int count, int from, int to, boolean weighted,
+                                    double[] target, int targetRow) {
+
+        int offset = targetRow * count;
+        double total = 0;
+        for (int c = 0; c < count; c++) {
+            target[offset + c] = 0;
+        }
+        for (int i = from; i < to; i++) {
+            double weight = weighted ? 2 * (i + 1) : 1;
+            total += weight;
+            for (int c = 0; c < count; c++) {
+                target[offset + c] += weight * y[i * count + c];
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            target[offset + c] = WFG.clamp(target[offset + c] / total);
+        }
+
+    }
+
+    // r_nonsep: 不可分的归约, A 为可分度.
+    protected static void reduceNonSeparable(double[] y, int count, int from, int to, int a,
+                                             double[] target, int targetRow) {
+
+        int size = to - from;
+        int half = (a + 1) / 2;
+        double denominator = (double) size / a * half * (1 + 2 * a - 2 * half);
+        int offset = targetRow * count;
+
+        for (int c = 0; c < count; c++) {
+            double sum = 0;
+            for (int j = 0; j < size; j++) {
+                double value = y[(from + j) * count + c];
+                sum += value;
+                for (int s = 0; s <= a - 2; s++) {
+                    sum += Math.abs(value - y[(from + (j + s + 1) % size) * count + c]);
+                }
+            }
+            target[offset + c] = WFG.clamp(sum / denominator);
+        }
+
+    }
+
+    /**
+     * 标准的最后一步: M - 1 组位置变量与全部距离变量 [k, to) 分别用 r_sum 归约.
+     */
+    protected double[] reduceBySum(double[] y, int count, int to, boolean weighted) {
+
+        int m = this.numberOfObjectives;
+        int group = this.k / (m - 1);
+        double[] t = new double[m * count];
+        for (int i = 0; i < m - 1; i++) {
+            WFG.reduceSum(y, count, i * group, (i + 1) * group, weighted, t, i);
+        }
+        WFG.reduceSum(y, count, this.k, to, weighted, t, m - 1);
+        return t;
+
+    }
+
+    // WFG6 与 WFG9 的最后一步, 用 r_nonsep 归约.
+    protected double[] reduceByNonSeparable(double[] y, int count) {
+
+        int m = this.numberOfObjectives;
+        int group = this.k / (m - 1);
+        double[] t = new double[m * count];
+        for (int i = 0; i < m - 1; i++) {
+            WFG.reduceNonSeparable(y, count, i * group, (i + 1) * group, group, t, i);
+        }
+        WFG.reduceNonSeparable(y, count, this.k, this.numberOfVariables, this.l, t, m - 1);
+        return t;
+
+    }
+
+    // WFG2 与 WFG3 的第二步: 距离变量两两以 r_nonsep 合并, 结果有 k + l / 2 行.
+    protected double[] pairDistances(double[] y, int count) {
+
+        int rows = this.k + this.l / 2;
+        double[] reduced = new double[rows * count];
+        System.arraycopy(y, 0, reduced, 0, this.k * count);
+        for (int i = this.k; i < rows; i++) {
+            int from = this.k + 2 * (i - this.k);
+            WFG.reduceNonSeparable(y, count, from, from + 2, 2, reduced, i);
+        }
+        return reduced;
+
+    }
+
+    // r_sum over rows [from, to) of every individual, as the u of b_param.
+    protected static double[] rowMean(double[] y, int count, int from, int to) {
+
+        double[] mean = new double[count];
+        for (int i = from; i < to; i++) {
+            for (int c = 0; c < count; c++) {
+                mean[c] += y[i * count + c];
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            mean[c] = WFG.clamp(mean[c] / (to - from));
+        }
+        return mean;
+
+    }
+
+    protected static double clamp(double value) {
+        return value < 0 ? 0 : value > 1 ? 1 : value;
+    }
+
+    private static double[] lowerBounds(int n) {
+        return new double[n];
+    }
+
+    private static double[] upperBounds(int n) {
+        double[] bounds = new double[n];
+        for (int i = 0; i < n; i++) {
+            bounds[i] = 2 * (i + 1);
+        }
+        return bounds;
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * WFG2: 凸形且不连续的前沿, 不可分的距离变量. 距离变量数 l 必须为偶数.
+ */
+public class WFG2 extends WFG {
+
+    public WFG2(int numberOfObjectives) {
+        super("WFG2", numberOfObjectives);
+    }
+
+    public WFG2(int numberOfObjectives, int k, int l) {
+        super("WFG2", numberOfObjectives, k, l);
+        if (l % 2 != 0)
+            throw new UnsupportedOperationException("WFG2 needs an even number of distance variables.");
+    }
+
+    @Override
+    protected double[] transform(double[] y, int count) {
+
+        WFG.shiftLinear(y, count, this.k, this.numberOfVariables, 0.35);
+        return this.reduceBySum(this.pairDistances(y, count), count, this.k + this.l / 2, false);
+
+    }
+
+    @Override
+    protected void shape(double[] x, int count, double[] h) {
+
+        WFG.convex(x, count, this.numberOfObjectives, h);
+        WFG.disc(x, count, this.numberOfObjectives, h, 1, 1, 5);
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return this.gridFront(points);
+    }
+
+}
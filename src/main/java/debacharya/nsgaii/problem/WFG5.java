@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * WFG5: 凹形前沿, 欺骗性的变量.
+ */
+public class WFG5 extends WFG {
+
+    public WFG5(int numberOfObjectives) {
+        super("WFG5", numberOfObjectives);
+    }
+
+    public WFG5(int numberOfObjectives, int k, int l) {
+        super("WFG5", numberOfObjectives, k, l);
+    }
+
+    @Override
+    protected double[] transform(double[] y, int count) {
+
+        WFG.shiftDeceptive(y, count, 0, this.numberOfVariables, 0.35, 0.001, 0.05);
+        return this.reduceBySum(y, count, this.numberOfVariables, false);
+
+    }
+
+    @Override
+    protected void shape(double[] x, int count, double[] h) {
+        WFG.concave(x, count, this.numberOfObjectives, h);
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return this.concaveFront(points);
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * WFG7: 凹形前沿, 位置变量的偏置依赖于距离变量.
+ */
+public class WFG7 extends WFG {
+
+    public WFG7(int numberOfObjectives) {
+        super("WFG7", numberOfObjectives);
+    }
+
+    public WFG7(int numberOfObjectives, int k, int l) {
+        super("WFG7", numberOfObjectives, k, l);
+    }
+
+    @Override
+    protected double[] transform(double[] y, int count) {
+
+        int n = this.numberOfVariables;
+        // 从前往后原地修改, 第 i 行只依赖尚未修改的第 i + 1 行之后.
+        for (int i = 0; i < this.k; i++) {
+            WFG.biasParameter(y, i, WFG.rowMean(y, count, i + 1, n), count);
+        }
+        WFG.shiftLinear(y, count, this.k, n, 0.35);
+        return this.reduceBySum(y, count, n, false);
+
+    }
+
+    @Override
+    protected void shape(double[] x, int count, double[] h) {
+        WFG.concave(x, count, this.numberOfObjectives, h);
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return this.concaveFront(points);
+    }
+
+}
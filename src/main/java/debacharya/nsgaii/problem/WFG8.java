@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * WFG8: 凹形前沿, 距离变量的偏置依赖于位置变量, 最优距离值随位置变化.
+ */
+public class WFG8 extends WFG {
+
+    public WFG8(int numberOfObjectives) {
+        super("WFG8", numberOfObjectives);
+    }
+
+    public WFG8(int numberOfObjectives, int k, int l) {
+        super("WFG8", numberOfObjectives, k, l);
+    }
+
+    @Override
+    protected double[] transform(double[] y, int count) {
+
+        int n = this.numberOfVariables;
+        // 从后往前原地修改, 第 i 行只依赖尚未修改的前 i 行.
+        for (int i = n - 1; i >= this.k; i--) {
+            WFG.biasParameter(y, i, WFG.rowMean(y, count, 0, i), count);
+        }
+        WFG.shiftLinear(y, count, this.k, n, 0.35);
+        return this.reduceBySum(y, count, n, false);
+
+    }
+
+    @Override
+    protected void shape(double[] x, int count, double[] h) {
+        WFG.concave(x, count, this.numberOfObjectives, h);
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return this.concaveFront(points);
+    }
+
+}
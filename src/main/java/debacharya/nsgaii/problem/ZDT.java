@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * ZDT 双目标测试问题 [DOI: 10.1162/106365600568202].
+ * Every problem has the form f1 = f1(x1), f2 = g(x2..xn) * h(f1, g); the Pareto-optimal set has g at its minimum.
+ */
+public abstract class ZDT extends BenchmarkProblem {
+
+    protected ZDT(String name, int numberOfVariables) {
+        super(name, 2, numberOfVariables, 0, 1);
+    }
+
+    protected ZDT(String name, double[] lowerBounds, double[] upperBounds) {
+        super(name, 2, lowerBounds, upperBounds);
+    }
+
+    // ZDT1 - ZDT3 的 g 函数: 1 + 9 * sum(x2..xn) / (n - 1).
+    protected static double[] linearG(double[] variables, int count, int n) {
+
+        double[] g = new double[count];
+        for (int j = 1; j < n; j++) {
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                g[c] += variables[offset + c];
+            }
+        }
+        for (int c = 0; c < count; c++) {
+            g[c] = 1 + 9 * g[c] / (n - 1);
+        }
+        return g;
+
+    }
+
+    // f2 = 1 - f1^power, f1 取 [from, 1] 上的均匀点.
+    protected static double[][] curve(int points, double from, double power) {
+
+        double[][] front = new double[points][2];
+        for (int i = 0; i < points; i++) {
+            double f1 = from + (1 - from) * i / Math.max(1, points - 1);
+            front[i][0] = f1;
+            front[i][1] = 1 - Math.pow(f1, power);
+        }
+        return front;
+
+    }
+
+}
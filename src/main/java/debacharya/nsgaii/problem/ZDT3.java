@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * ZDT3: 由五段组成的不连续前沿.
+ */
+public class ZDT3 extends ZDT {
+
+    public ZDT3() {
+        this(30);
+    }
+
+    public ZDT3(int numberOfVariables) {
+        super("ZDT3", numberOfVariables);
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        double[] g = ZDT.linearG(variables, count, this.numberOfVariables);
+        for (int c = 0; c < count; c++) {
+            double f1 = variables[c];
+            double ratio = f1 / g[c];
+            objectives[c] = f1;
+            objectives[count + c] = g[c] * (1 - Math.sqrt(ratio) - ratio * Math.sin(10 * Math.PI * f1));
+        }
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+
+        double[] objectives = new double[2 * points];
+        for (int i = 0; i < points; i++) {
+            double f1 = (double) i / Math.max(1, points - 1);
+            objectives[i] = f1;
+            objectives[points + i] = 1 - Math.sqrt(f1) - f1 * Math.sin(10 * Math.PI * f1);
+        }
+        return ParetoFronts.nonDominatedRows(objectives, points, 2);
+
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+import java.util.Arrays;
+
+/**
+ * ZDT4: 多峰的 g 函数 (21^9 个局部前沿), 前沿与 ZDT1 相同.
+ */
+public class ZDT4 extends ZDT {
+
+    public ZDT4() {
+        this(10);
+    }
+
+    public ZDT4(int numberOfVariables) {
+        super("ZDT4", ZDT4.bounds(numberOfVariables, 0), ZDT4.bounds(numberOfVariables, 1));
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        int n = this.numberOfVariables;
+        double[] g = new double[count];
+        Arrays.fill(g, 1 + 10 * (n - 1));
+
+        for (int j = 1; j < n; j++) {
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                double x = variables[offset + c];
+                g[c] += x * x - 10 * Math.cos(4 * Math.PI * x);
+            }
+        }
+
+        for (int c = 0; c < count; c++) {
+            double f1 = variables[c];
+            objectives[c] = f1;
+            objectives[count + c] = g[c] * (1 - Math.sqrt(f1 / g[c]));
+        }
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return ZDT.curve(points, 0, 0.5);
+    }
+
+    // x1 取 [0, 1], 其余变量取 [-5, 5].
+    private static double[] bounds(int numberOfVariables, int side) {
+        double[] bounds = new double[numberOfVariables];
+        Arrays.fill(bounds, side == 0 ? -5 : 5);
+        bounds[0] = side;
+        return bounds;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * ZDT5: 欺骗性的二进制问题.
+ * The original problem is defined over 80 bits, x1 with 30 bits and x2..x11 with 5 bits each. Here each bit is a
+ * decision variable in [0, 1] read as 1 when it is at least 0.5, so the problem runs on the same real-valued genome
+ * as the rest of the suite. The Pareto front is the 31 points f2 = 10 / f1 for f1 = 1..31.
+ */
+public class ZDT5 extends ZDT {
+
+    private static final int FIRST_BITS = 30;
+    private static final int GROUP_BITS = 5;
+
+    public ZDT5() {
+        this(11);
+    }
+
+    /**
+     * @param groups 二进制变量个数 (含 30 位的 x1).
+     */
+    public ZDT5(int groups) {
+        super("ZDT5", ZDT5.FIRST_BITS + (groups - 1) * ZDT5.GROUP_BITS);
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        double[] ones = new double[count];
+        double[] g = new double[count];
+
+        for (int j = 0; j < ZDT5.FIRST_BITS; j++) {
+            ZDT5.countOnes(variables, j * count, count, ones);
+        }
+        for (int c = 0; c < count; c++) {
+            objectives[c] = 1 + ones[c];
+            ones[c] = 0;
+        }
+
+        for (int j = ZDT5.FIRST_BITS; j < this.numberOfVariables; j++) {
+            ZDT5.countOnes(variables, j * count, count, ones);
+            if ((j - ZDT5.FIRST_BITS) % ZDT5.GROUP_BITS == ZDT5.GROUP_BITS - 1) {
+                for (int c = 0; c < count; c++) {
+                    g[c] += ones[c] < ZDT5.GROUP_BITS ? 2 + ones[c] : 1;
+                    ones[c] = 0;
+                }
+            }
+        }
+
+        for (int c = 0; c < count; c++) {
+            objectives[count + c] = g[c] / objectives[c];
+        }
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+
+        int groups = (this.numberOfVariables - ZDT5.FIRST_BITS) / ZDT5.GROUP_BITS;
+        double[][] front = new double[ZDT5.FIRST_BITS + 1][2];
+        for (int i = 0; i < front.length; i++) {
+            front[i][0] = 1 + i;
+            front[i][1] = groups / front[i][0];
+        }
+        return front;
+
+    }
+
+    private static void countOnes(double[] variables, int offset, int count, double[] ones) {
+        for (int c = 0; c < count; c++) {
+            if (variables[offset + c] >= 0.5) {
+                ones[c]++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.problem;
+
+/**
+ * ZDT6: 非均匀分布的凹前沿 f2 = 1 - f1^2, f1 >= 0.2808.
+ */
+public class ZDT6 extends ZDT {
+
+    // f1 在 Pareto 最优集上的最小值 1 - exp(-4 x1) sin^6(6 pi x1).
+    private static final double MINIMUM_F1 = 0.2807753191;
+
+    public ZDT6() {
+        this(10);
+    }
+
+    public ZDT6(int numberOfVariables) {
+        super("ZDT6", numberOfVariables);
+    }
+
+    @Override
+    public void evaluate(double[] variables, int count, double[] objectives) {
+
+        int n = this.numberOfVariables;
+        double[] g = new double[count];
+
+        for (int j = 1; j < n; j++) {
+            int offset = j * count;
+            for (int c = 0; c < count; c++) {
+                g[c] += variables[offset + c];
+            }
+        }
+
+        for (int c = 0; c < count; c++) {
+            double x1 = variables[c];
+            double f1 = 1 - Math.exp(-4 * x1) * Math.pow(Math.sin(6 * Math.PI * x1), 6);
+            double gc = 1 + 9 * Math.pow(g[c] / (n - 1), 0.25);
+            double ratio = f1 / gc;
+            objectives[c] = f1;
+            objectives[count + c] = gc * (1 - ratio * ratio);
+        }
+
+    }
+
+    @Override
+    public double[][] getParetoFront(int points) {
+        return ZDT.curve(points, ZDT6.MINIMUM_F1, 2);
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package debacharya.nsgaii.monitor;
+
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder 事件, Java 11+ 版本.
+ * Events are only committed while a recording has them enabled; when recording is off a phase costs one small
+ * allocation and the front count is never computed. Phase events only carry a front count after `RANKING` and
+ * `SELECTION`, the two phases that leave freshly assigned ranks behind; for the other phases it is 0.
+ */
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    @Name("debacharya.nsgaii.Phase")
+    @Label("NSGA-II Phase")
+    @Category("NSGA-II")
+    @Description("One phase of an NSGA-II generation")
+    static final class PhaseEvent extends Event {
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Population Size")
+        int populationSize;
+
+        @Label("Front Count")
+        int frontCount;
+
+    }
+
+    @Name("debacharya.nsgaii.Generation")
+    @Label("NSGA-II Generation")
+    @Category("NSGA-II")
+    @Description("One complete NSGA-II generation")
+    static final class GenerationEvent extends Event {
+
+        @Label("Generation")
+        int generation;
+
+        @Label("Parent Size")
+        int parentSize;
+
+        @Label("Child Size")
+        int childSize;
+
+        @Label("Front Count")
+        int frontCount;
+
+        @Label("First Front Size")
+        int firstFrontSize;
+
+        @Label("Evaluations")
+        long evaluations;
+
+        @Label("Evaluation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long evaluationTime;
+
+        @Label("Ranking Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long rankingTime;
+
+        @Label("Crowding Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long crowdingTime;
+
+        @Label("Selection Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long selectionTime;
+
+        @Label("Offspring Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long offspringTime;
+
+    }
+
+    public static Object beginPhase() {
+
+        PhaseEvent event = new PhaseEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+
+    }
+
+    public static void endPhase(Object handle, GenerationReport.Phase phase, Population population) {
+
+        if (handle == null) {
+            return;
+        }
+        PhaseEvent event = (PhaseEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = phase.name();
+            event.populationSize = population.size();
+            if (phase == GenerationReport.Phase.RANKING || phase == GenerationReport.Phase.SELECTION) {
+                event.frontCount = FlightRecorderEvents.countFronts(population);
+            }
+            event.commit();
+        }
+
+    }
+
+    public static Object beginGeneration() {
+
+        GenerationEvent event = new GenerationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+
+    }
+
+    public static void endGeneration(Object handle, GenerationReport report) {
+
+        if (handle == null) {
+            return;
+        }
+        GenerationEvent event = (GenerationEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.generation = report.getGeneration();
+            event.parentSize = report.getParent().size();
+            event.childSize = report.getChild().size();
+            event.frontCount = FlightRecorderEvents.countFronts(report.getParent());
+            event.firstFrontSize = FlightRecorderEvents.countRank(report.getParent(), 1);
+            event.evaluations = report.getEvaluations();
+            event.evaluationTime = report.getPhaseNanos(GenerationReport.Phase.EVALUATION);
+            event.rankingTime = report.getPhaseNanos(GenerationReport.Phase.RANKING);
+            event.crowdingTime = report.getPhaseNanos(GenerationReport.Phase.CROWDING);
+            event.selectionTime = report.getPhaseNanos(GenerationReport.Phase.SELECTION);
+            event.offspringTime = report.getPhaseNanos(GenerationReport.Phase.OFFSPRING);
+            event.commit();
+        }
+
+    }
+
+    private static int countFronts(Population population) {
+
+        int fronts = 0;
+        for (Chromosome chromosome : population.getPopulace()) {
+            if (chromosome.getRank() > fronts && chromosome.getRank() != Integer.MAX_VALUE) {
+                fronts = chromosome.getRank();
+            }
+        }
+        return fronts;
+
+    }
+
+    private static int countRank(Population population, int rank) {
+
+        int count = 0;
+        for (Chromosome chromosome : population.getPopulace()) {
+            if (chromosome.getRank() == rank) {
+                count++;
+            }
+        }
+        return count;
+
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+/**
+ * 支配关系内核, Java 17+ 版本.
+ * `best()` returns the Vector API kernel when the incubating `jdk.incubator.vector` module has been added to the
+ * runtime with `--add-modules jdk.incubator.vector`; without it loading the kernel fails with a `LinkageError` and the
+ * scalar kernel is used instead, so the jar runs unchanged either way.
+ */
+public final class DominanceKernelProvider {
+
+    private static final DominanceKernel SCALAR = new ScalarDominanceKernel();
+    private static final DominanceKernel BEST = DominanceKernelProvider.load();
+
+    private DominanceKernelProvider() {
+    }
+
+    /**
+     * @return 当前运行环境下最快的内核.
+     */
+    public static DominanceKernel best() {
+        return DominanceKernelProvider.BEST;
+    }
+
+    /**
+     * @return 逐行比较的内核.
+     */
+    public static DominanceKernel scalar() {
+        return DominanceKernelProvider.SCALAR;
+    }
+
+    private static DominanceKernel load() {
+        try {
+            return new VectorDominanceKernel();
+        } catch (LinkageError e) {
+            return DominanceKernelProvider.SCALAR;
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.NSGA2;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 基于 Vector API 的支配关系内核.
+ * Each lane holds one block row: the single row's objective `k` is broadcast and compared with a full vector of column
+ * `k`, and the "better" / "worse" masks are accumulated over all objectives before the constraint rule is applied
+ * lane-wise. Rows left over after the last full vector are compared by the scalar kernel, which avoids masked loads.
+ */
+final class VectorDominanceKernel implements DominanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public boolean isDominatedByAny(double[] block, double[] violations, int stride, int count, int objectiveCount,
+                                    double[] row, double violation) {
+
+        int lanes = VectorDominanceKernel.SPECIES.length();
+        int end = count;
+
+        // 从最后加入的行开始比较, 它们最可能支配新个体.
+        for (; end >= lanes; end -= lanes) {
+            int start = end - lanes;
+            VectorMask<Double> better = VectorDominanceKernel.SPECIES.maskAll(false);
+            VectorMask<Double> worse = VectorDominanceKernel.SPECIES.maskAll(false);
+
+            for (int k = 0, offset = start; k < objectiveCount; k++, offset += stride) {
+                DoubleVector column = DoubleVector.fromArray(VectorDominanceKernel.SPECIES, block, offset);
+                better = better.or(column.compare(VectorOperators.GT, row[k]));
+                worse = worse.or(column.compare(VectorOperators.LT, row[k]));
+            }
+
+            VectorMask<Double> dominating = better.andNot(worse);
+            if (violations != null || violation > 0) {
+                DoubleVector others = violations == null ?
+                        DoubleVector.zero(VectorDominanceKernel.SPECIES) :
+                        DoubleVector.fromArray(VectorDominanceKernel.SPECIES, violations, start);
+                VectorMask<Double> lower = others.compare(VectorOperators.LT, violation);
+                dominating = violation > 0 ?
+                        lower :
+                        lower.or(dominating.and(others.compare(VectorOperators.EQ, 0)));
+            }
+            if (dominating.anyTrue()) {
+                return true;
+            }
+        }
+
+        for (int j = end - 1; j >= 0; j--) {
+            if (ScalarDominanceKernel.relate(block, violations, stride, j, objectiveCount, row, violation) ==
+                    NSGA2.INFERIOR) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    @Override
+    public void relate(double[] block, double[] violations, int stride, int from, int to, int objectiveCount,
+                       double[] row, double violation, int[] relations) {
+
+        int lanes = VectorDominanceKernel.SPECIES.length();
+        int start = from;
+
+        for (; start + lanes <= to; start += lanes) {
+            VectorMask<Double> better = VectorDominanceKernel.SPECIES.maskAll(false);
+            VectorMask<Double> worse = VectorDominanceKernel.SPECIES.maskAll(false);
+
+            for (int k = 0, offset = start; k < objectiveCount; k++, offset += stride) {
+                DoubleVector column = DoubleVector.fromArray(VectorDominanceKernel.SPECIES, block, offset);
+                better = better.or(column.compare(VectorOperators.LT, row[k]));
+                worse = worse.or(column.compare(VectorOperators.GT, row[k]));
+            }
+
+            VectorMask<Double> dominant = better.andNot(worse);
+            VectorMask<Double> inferior = worse.andNot(better);
+            if (violations != null || violation > 0) {
+                DoubleVector others = violations == null ?
+                        DoubleVector.zero(VectorDominanceKernel.SPECIES) :
+                        DoubleVector.fromArray(VectorDominanceKernel.SPECIES, violations, start);
+                VectorMask<Double> comparable = others.compare(VectorOperators.EQ, violation);
+                if (violation > 0) {
+                    comparable = VectorDominanceKernel.SPECIES.maskAll(false);
+                }
+                dominant = dominant.and(comparable).or(others.compare(VectorOperators.GT, violation));
+                inferior = inferior.and(comparable).or(others.compare(VectorOperators.LT, violation));
+            }
+
+            long dominantBits = dominant.toLong();
+            long inferiorBits = inferior.toLong();
+            for (int lane = 0; lane < lanes; lane++) {
+                relations[start + lane] = (dominantBits >>> lane & 1) != 0 ? NSGA2.DOMINANT :
+                        (inferiorBits >>> lane & 1) != 0 ? NSGA2.INFERIOR : NSGA2.NON_DOMINATED;
+            }
+        }
+
+        for (int j = start; j < to; j++) {
+            relations[j] = ScalarDominanceKernel.relate(block, violations, stride, j, objectiveCount, row, violation);
+        }
+
+    }
+
+}
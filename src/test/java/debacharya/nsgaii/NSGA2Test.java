@@ -1,8 +1,25 @@
 package debacharya.nsgaii;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import debacharya.nsgaii.datastructure.AbstractAllele;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
 import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.objectivefunction.AbstractConstraintFunction;
+import debacharya.nsgaii.plugin.termination.TerminationCriterionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,4 +35,164 @@ public class NSGA2Test {
 
     }
 
+    @Test
+    public void testGenerationListener() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+
+        new NSGA2(configuration).run();
+
+        Assert.assertEquals(configuration.getGenerations() + 1, reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            Assert.assertEquals(i, reports.get(i).getGeneration());
+            Assert.assertEquals(configuration.getPopulationSize(), reports.get(i).getChild().size());
+        }
+        Assert.assertTrue(reports.get(1).getTotalEvaluations() > reports.get(0).getTotalEvaluations());
+
+    }
+
+    @Test
+    public void testTerminationCriterion() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setTerminationCriterion(TerminationCriterionProvider.maxEvaluations(2000)
+                .or(TerminationCriterionProvider.maxGenerations(configuration.getGenerations())));
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+
+        new NSGA2(configuration).run();
+
+        GenerationReport last = reports.get(reports.size() - 1);
+        Assert.assertTrue(last.getGeneration() < configuration.getGenerations());
+        Assert.assertTrue(last.getTotalEvaluations() >= 2000);
+        Assert.assertTrue(reports.get(reports.size() - 2).getTotalEvaluations() < 2000);
+
+    }
+
+    @Test
+    public void testOverriddenIsDominant() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(3);
+        AtomicInteger calls = new AtomicInteger();
+
+        NSGA2 nsga2 = new NSGA2(configuration) {
+
+            @Override
+            public boolean isDominant(Chromosome chromosome1, Chromosome chromosome2) {
+                calls.incrementAndGet();
+                return false;
+            }
+
+        };
+        Population child = nsga2.run();
+
+        Assert.assertTrue(calls.get() > 0);
+        for (Chromosome chromosome : child.getPopulace()) {
+            Assert.assertEquals(1, chromosome.getRank());
+        }
+        calls.set(0);
+        Assert.assertEquals(NSGA2.NON_DOMINATED, nsga2.dominates(child.get(0), child.get(1)));
+        Assert.assertEquals(2, calls.get());
+
+    }
+
+    @Test
+    public void testConstrainedRunSkipsInfeasibleObjectives() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setSkippingInfeasibleObjectives(true);
+        configuration.setConstraints(Collections.singletonList(new AbstractConstraintFunction() {
+            @Override
+            public double getViolation(Chromosome chromosome) {
+                return ((BooleanAllele) chromosome.getGeneticCode().get(0)).getGene() ? 1 : 0;
+            }
+        }));
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+
+        try {
+
+            new NSGA2(configuration).run();
+
+            GenerationReport first = reports.get(0);
+            GenerationReport last = reports.get(reports.size() - 1);
+            Assert.assertTrue(first.getEvaluations() < first.getParent().size() + first.getChild().size());
+            for (Chromosome chromosome : last.getParent().getPopulace()) {
+                if (chromosome.getRank() == 1) {
+                    Assert.assertTrue(chromosome.isFeasible());
+                }
+            }
+
+        } finally {
+            configuration.setConstraints(Collections.emptyList());
+        }
+
+    }
+
+    @Test
+    public void testVectorObjectiveEvaluatesEachIndividualOnce() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        AtomicInteger calls = new AtomicInteger();
+        configuration.setObjectives(2, (chromosome, objectives) -> {
+            calls.incrementAndGet();
+            int ones = 0;
+            for (AbstractAllele allele : chromosome.getGeneticCode()) {
+                ones += ((BooleanAllele) allele).getGene() ? 1 : 0;
+            }
+            objectives[0] = ones;
+            objectives[1] = chromosome.getLength() - ones;
+        });
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+
+        new NSGA2(configuration).run();
+
+        int populationSize = configuration.getPopulationSize();
+        GenerationReport last = reports.get(reports.size() - 1);
+        Assert.assertEquals(2 * populationSize, reports.get(0).getEvaluations());
+        Assert.assertEquals(populationSize, last.getEvaluations());
+        Assert.assertEquals(calls.get(), last.getTotalEvaluations());
+
+    }
+
+    @Test
+    public void testRequestStopFromMonitor() throws Exception {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setMonitoring(true);
+        NSGA2 nsga2 = new NSGA2(configuration);
+        List<Integer> generations = new ArrayList<>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName pattern = new ObjectName("debacharya.nsgaii:type=NSGA2,*");
+
+        configuration.addGenerationListener(report -> {
+            generations.add(report.getGeneration());
+            if (report.getGeneration() == 3) {
+                Set<ObjectName> names = server.queryNames(pattern, null);
+                Assert.assertEquals(1, names.size());
+                try {
+                    server.invoke(names.iterator().next(), "requestStop", null, null);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        nsga2.run();
+
+        Assert.assertEquals(4, generations.size());
+        Assert.assertTrue(server.queryNames(pattern, null).isEmpty());
+
+    }
+
 }
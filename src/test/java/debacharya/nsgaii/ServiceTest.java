@@ -1,10 +1,24 @@
 package debacharya.nsgaii;
 
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.objectivefunction.AbstractConstraintFunction;
+import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+import debacharya.nsgaii.objectivefunction.BatchObjectiveFunction;
+import debacharya.nsgaii.objectivefunction.VectorObjectiveFunction;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author caogaoli
  * @description: TODO
@@ -20,4 +34,138 @@ public class ServiceTest {
         Assert.assertEquals(new Double(2.222), new Double(val3));
     }
 
+    @Test
+    public void testBatchObjectiveFunction() {
+
+        AtomicInteger batchCalls = new AtomicInteger();
+        AtomicInteger singleCalls = new AtomicInteger();
+
+        class SumObjective extends AbstractObjectiveFunction implements BatchObjectiveFunction {
+
+            @Override
+            public double getValue(Chromosome chromosome) {
+                singleCalls.incrementAndGet();
+                return ((DoubleAllele) chromosome.getGeneticCode().get(0)).getGene() +
+                        ((DoubleAllele) chromosome.getGeneticCode().get(1)).getGene();
+            }
+
+            @Override
+            public void getValues(double[] variables, int count, double[] values, int offset) {
+                batchCalls.incrementAndGet();
+                for (int c = 0; c < count; c++) {
+                    values[offset + c] = variables[c] + variables[count + c];
+                }
+            }
+
+        }
+
+        AbstractObjectiveFunction product = new AbstractObjectiveFunction() {
+            @Override
+            public double getValue(Chromosome chromosome) {
+                return ((DoubleAllele) chromosome.getGeneticCode().get(0)).getGene() *
+                        ((DoubleAllele) chromosome.getGeneticCode().get(1)).getGene();
+            }
+        };
+
+        SumObjective sum = new SumObjective();
+        new Configuration(Arrays.asList(sum, product));
+
+        List<Chromosome> populace = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            populace.add(new Chromosome(Arrays.asList(new DoubleAllele(i), new DoubleAllele(0.5))));
+        }
+        Service.calculateObjectiveValues(new Population(populace));
+
+        Assert.assertEquals(1, batchCalls.get());
+        Assert.assertEquals(0, singleCalls.get());
+        for (Chromosome chromosome : populace) {
+            Assert.assertEquals(sum.getValue(chromosome), chromosome.getObjectiveValues().get(0), 0);
+            Assert.assertEquals(product.getValue(chromosome), chromosome.getObjectiveValues().get(1), 0);
+        }
+
+    }
+
+    @Test
+    public void testConstraintViolationComputedOnce() {
+
+        AtomicInteger constraintCalls = new AtomicInteger();
+        AbstractObjectiveFunction first = new AbstractObjectiveFunction() {
+            @Override
+            public double getValue(Chromosome chromosome) {
+                return ((DoubleAllele) chromosome.getGeneticCode().get(0)).getGene();
+            }
+        };
+
+        Configuration configuration = new Configuration(Collections.singletonList(first));
+        configuration.setConstraints(Collections.singletonList(new AbstractConstraintFunction() {
+            @Override
+            public double getViolation(Chromosome chromosome) {
+                constraintCalls.incrementAndGet();
+                return Math.max(0, -((DoubleAllele) chromosome.getGeneticCode().get(0)).getGene());
+            }
+        }));
+
+        List<Chromosome> populace = new ArrayList<>();
+        for (int i = -5; i < 5; i++) {
+            populace.add(new Chromosome(Collections.singletonList(new DoubleAllele(i))));
+        }
+        Population population = new Population(populace);
+
+        try {
+            for (int generation = 0; generation < 3; generation++) {
+                Service.calculateObjectiveValues(population, true);
+            }
+        } finally {
+            Configuration.constraints = Collections.emptyList();
+        }
+
+        Assert.assertEquals(populace.size(), constraintCalls.get());
+        Assert.assertEquals(5, populace.stream().filter(Chromosome::isEvaluated).count());
+        Assert.assertEquals(5, populace.stream().filter(Chromosome::isFeasible).count());
+
+    }
+
+    @Test
+    public void testVectorObjectivesWithBatchObjective() {
+
+        AtomicInteger vectorCalls = new AtomicInteger();
+        VectorObjectiveFunction vector = (chromosome, objectives) -> {
+            vectorCalls.incrementAndGet();
+            double gene = ((DoubleAllele) chromosome.getGeneticCode().get(0)).getGene();
+            objectives[0] = gene;
+            objectives[1] = -gene;
+        };
+
+        class FirstGene extends AbstractObjectiveFunction implements BatchObjectiveFunction {
+
+            @Override
+            public double getValue(Chromosome chromosome) {
+                return ((DoubleAllele) chromosome.getGeneticCode().get(0)).getGene();
+            }
+
+            @Override
+            public void getValues(double[] variables, int count, double[] values, int offset) {
+                System.arraycopy(variables, 0, values, offset, count);
+            }
+
+        }
+
+        List<AbstractObjectiveFunction> objectives = new ArrayList<>(vector.split(2));
+        objectives.add(1, new FirstGene());
+        new Configuration(objectives);
+
+        List<Chromosome> populace = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            populace.add(new Chromosome(Collections.singletonList(new DoubleAllele(i))));
+        }
+        Service.calculateObjectiveValues(new Population(populace));
+
+        Assert.assertEquals(populace.size(), vectorCalls.get());
+        for (int i = 0; i < populace.size(); i++) {
+            Assert.assertEquals(Arrays.asList((double) i, (double) i, (double) -i),
+                    populace.get(i).getObjectiveValues());
+        }
+
+    }
+
 }
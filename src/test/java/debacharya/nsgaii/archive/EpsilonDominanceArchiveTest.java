@@ -0,0 +1,67 @@
+package debacharya.nsgaii.archive;
+
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class EpsilonDominanceArchiveTest {
+
+    private static final double EPSILON = 0.05;
+
+    @Test
+    public void testEpsilonApproximation() {
+
+        Random random = new Random(29);
+        EpsilonDominanceArchive archive = new EpsilonDominanceArchive(EPSILON);
+        List<double[]> offered = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+
+            double angle = random.nextDouble() * Math.PI / 2;
+            double radius = 1 - random.nextDouble() * 0.3;
+            double[] point = {radius * Math.cos(angle), radius * Math.sin(angle)};
+            offered.add(point);
+
+            Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+            chromosome.addObjectiveValue(0, point[0]);
+            chromosome.addObjectiveValue(1, point[1]);
+            archive.offer(chromosome);
+
+        }
+
+        Population solutions = archive.getSolutions();
+        Assert.assertEquals(archive.size(), solutions.size());
+        // 1/ε 列网格中每列最多一个非支配网格.
+        Assert.assertTrue(archive.size() <= 2 / EPSILON);
+
+        for (double[] point : offered) {
+            boolean covered = false;
+            for (Chromosome member : solutions.getPopulace()) {
+                covered |= member.getObjectiveValues().get(0) + EPSILON >= point[0] - 1e-4 &&
+                        member.getObjectiveValues().get(1) + EPSILON >= point[1] - 1e-4;
+            }
+            Assert.assertTrue(covered);
+        }
+
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEpsilonCountMismatch() {
+
+        Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+        for (int k = 0; k < 3; k++) {
+            chromosome.addObjectiveValue(k, 0.5);
+        }
+        new EpsilonDominanceArchive(0.1, 0.1).offer(chromosome);
+
+    }
+
+}
@@ -0,0 +1,222 @@
+package debacharya.nsgaii.archive;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.metrics.Hypervolume;
+import debacharya.nsgaii.plugin.sorting.CrowdingDistance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class ParetoArchiveTest {
+
+    @Test
+    public void testKeepsExactlyTheNonDominatedSet() {
+
+        Random random = new Random(19);
+
+        for (int objectives = 2; objectives <= 4; objectives++) {
+
+            ParetoArchive archive = new ParetoArchive();
+            List<double[]> offered = new ArrayList<>();
+
+            for (int i = 0; i < 3000; i++) {
+                double[] point = new double[objectives];
+                double norm = 0;
+                for (int k = 0; k < objectives; k++) {
+                    point[k] = random.nextDouble();
+                    norm += point[k] * point[k];
+                }
+                // 让大部分点靠近同一个前沿, 存档因此会变大并多次分裂.
+                double scale = 1 / Math.sqrt(norm) - random.nextDouble() * 0.05;
+                for (int k = 0; k < objectives; k++) {
+                    point[k] = Math.round(point[k] * scale * 1e4) / 1e4;
+                }
+                offered.add(point);
+                archive.offer(ParetoArchiveTest.chromosome(point));
+            }
+
+            Assert.assertEquals(ParetoArchiveTest.nonDominated(offered), ParetoArchiveTest.keys(archive.getSolutions()));
+
+        }
+
+    }
+
+    @Test
+    public void testBoundedArchive() {
+
+        Random random = new Random(23);
+        ParetoArchive crowded = new ParetoArchive(50);
+        ParetoArchive contributing = new ParetoArchive(50, new double[]{0, 0});
+
+        for (int i = 0; i < 2000; i++) {
+            double angle = random.nextDouble() * Math.PI / 2;
+            double[] point = {Math.round(Math.cos(angle) * 1e4) / 1e4, Math.round(Math.sin(angle) * 1e4) / 1e4};
+            crowded.offer(ParetoArchiveTest.chromosome(point));
+            contributing.offer(ParetoArchiveTest.chromosome(point));
+        }
+
+        Assert.assertEquals(50, crowded.size());
+        Assert.assertEquals(50, crowded.getSolutions().size());
+        Assert.assertEquals(50, contributing.size());
+
+    }
+
+    @Test
+    public void testBatchPruningMatchesFullRecomputation() {
+
+        Random random = new Random(29);
+
+        for (double[] referencePoint : new double[][]{null, {0, 0}, {0, 0, 0}}) {
+            for (int objectives = 2; objectives <= 3; objectives++) {
+
+                if (referencePoint != null && referencePoint.length != objectives) {
+                    continue;
+                }
+                // 60 个点正好不超过 40 的容量加上一半容量的余量, 因此全部在 `size()` 中一次裁剪.
+                ParetoArchive archive = new ParetoArchive(40, referencePoint);
+                List<double[]> points = new ArrayList<>();
+                while (points.size() < 60) {
+                    double[] point = new double[objectives];
+                    double norm = 0;
+                    for (int k = 0; k < objectives; k++) {
+                        point[k] = random.nextDouble() + 1e-3;
+                        norm += point[k] * point[k];
+                    }
+                    for (int k = 0; k < objectives; k++) {
+                        // 与染色体一样保留四位小数, 舍入后互相支配的点不用.
+                        point[k] = Math.round(point[k] / Math.sqrt(norm) * 1e4) / 1e4;
+                    }
+                    boolean comparable = false;
+                    for (double[] other : points) {
+                        comparable |= ParetoArchive.weaklyDominates(other, point) ||
+                                ParetoArchive.weaklyDominates(point, other);
+                    }
+                    if (!comparable) {
+                        points.add(point);
+                    }
+                }
+                for (double[] point : points) {
+                    Assert.assertTrue(archive.offer(ParetoArchiveTest.chromosome(point)));
+                }
+
+                Assert.assertEquals(40, archive.size());
+                Assert.assertEquals(ParetoArchiveTest.keys(ParetoArchiveTest.pruneOneByOne(points, 40, referencePoint)),
+                        ParetoArchiveTest.keys(archive.getSolutions()));
+
+            }
+        }
+
+    }
+
+    @Test
+    public void testArchiveDuringRun() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setArchive(new ParetoArchive());
+        NSGA2 nsga2 = new NSGA2(configuration);
+
+        nsga2.run();
+
+        Population archived = nsga2.getArchivedSolutions();
+        Assert.assertTrue(archived.size() > 0);
+        for (Chromosome left : archived.getPopulace()) {
+            for (Chromosome right : archived.getPopulace()) {
+                Assert.assertFalse(nsga2.isDominant(left, right));
+            }
+        }
+
+    }
+
+    private static Chromosome chromosome(double[] point) {
+
+        Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+        for (int k = 0; k < point.length; k++) {
+            chromosome.addObjectiveValue(k, point[k]);
+        }
+        return chromosome;
+
+    }
+
+    private static Population pruneOneByOne(List<double[]> points, int capacity, double[] referencePoint) {
+
+        List<double[]> remaining = new ArrayList<>(points);
+        while (remaining.size() > capacity) {
+            int size = remaining.size();
+            int objectives = remaining.get(0).length;
+            double[] scores;
+            if (referencePoint != null) {
+                scores = Hypervolume.contributions(remaining.toArray(new double[0][]), referencePoint);
+            } else {
+                double[] values = new double[size * objectives];
+                for (int i = 0; i < size; i++) {
+                    System.arraycopy(remaining.get(i), 0, values, i * objectives, objectives);
+                }
+                int[] ranks = new int[size];
+                Arrays.fill(ranks, 1);
+                scores = CrowdingDistance.compute(new ArrayObjectiveMatrix(values, size, objectives), ranks);
+            }
+            int weakest = 0;
+            for (int i = 1; i < size; i++) {
+                if (scores[i] < scores[weakest]) {
+                    weakest = i;
+                }
+            }
+            remaining.remove(weakest);
+        }
+
+        List<Chromosome> populace = new ArrayList<>();
+        for (double[] point : remaining) {
+            populace.add(ParetoArchiveTest.chromosome(point));
+        }
+        return new Population(populace);
+
+    }
+
+    private static Set<List<Double>> keys(Population population) {
+
+        Set<List<Double>> keys = new HashSet<>();
+        for (Chromosome chromosome : population.getPopulace()) {
+            keys.add(chromosome.getObjectiveValues());
+        }
+        return keys;
+
+    }
+
+    private static Set<List<Double>> nonDominated(List<double[]> points) {
+
+        Set<List<Double>> keys = new HashSet<>();
+        for (double[] point : points) {
+            boolean dominated = false;
+            for (double[] other : points) {
+                if (ParetoArchive.weaklyDominates(other, point) && !Arrays.equals(other, point)) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                List<Double> key = new ArrayList<>();
+                for (double value : point) {
+                    key.add(value);
+                }
+                keys.add(key);
+            }
+        }
+        return keys;
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package debacharya.nsgaii.checkpoint;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.deduplication.DeduplicatingChildProducer;
+import debacharya.nsgaii.plugin.mutation.PolynomialMutation;
+import debacharya.nsgaii.problem.BenchmarkProblem;
+import debacharya.nsgaii.problem.ZDT1;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CheckpointTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndResume() throws IOException {
+
+        Path file = this.folder.getRoot().toPath().resolve("run.checkpoint");
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(10);
+        configuration.addGenerationListener(new CheckpointWriter(file, 5));
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+
+        new NSGA2(configuration).run();
+
+        Checkpoint checkpoint = Checkpoint.read(file);
+        GenerationReport last = reports.get(reports.size() - 1);
+        Assert.assertEquals(10, checkpoint.getGeneration());
+        Assert.assertEquals(last.getTotalEvaluations(), checkpoint.getTotalEvaluations());
+        CheckpointTest.assertSamePopulation(last.getParent(), checkpoint.getParent());
+        CheckpointTest.assertSamePopulation(last.getChild(), checkpoint.getChild());
+        Assert.assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+
+        reports.clear();
+        configuration.setGenerations(15);
+        new NSGA2(configuration).resume(checkpoint);
+
+        Assert.assertEquals(5, reports.size());
+        Assert.assertEquals(11, reports.get(0).getGeneration());
+        Assert.assertTrue(reports.get(0).getTotalEvaluations() > checkpoint.getTotalEvaluations());
+
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptedCheckpointIsRejected() throws IOException {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(1);
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+        new NSGA2(configuration).run();
+
+        byte[] encoded = Checkpoint.of(reports.get(1), Double.NaN).encode();
+        encoded[encoded.length / 2] ^= 1;
+        Checkpoint.decode(encoded);
+
+    }
+
+    @Test
+    public void testRealValuedGenes() throws IOException {
+
+        BenchmarkProblem problem = new ZDT1(5);
+        Configuration configuration = new Configuration(problem.getObjectives());
+        configuration.completeSilence();
+        configuration.setGenerations(2);
+        configuration.setChromosomeLength(problem.getNumberOfVariables());
+        configuration.setGeneticCodeProducer(problem.getGeneticCodeProducer());
+        configuration.setMutation(new PolynomialMutation(problem.getLowerBounds(), problem.getUpperBounds()));
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+        new NSGA2(configuration).run();
+
+        GenerationReport last = reports.get(reports.size() - 1);
+        last.getChild().get(0).setEvaluated(false);
+        Checkpoint checkpoint = Checkpoint.decode(Checkpoint.of(last, Double.NaN).encode());
+        Assert.assertFalse(checkpoint.getChild().get(0).isEvaluated());
+        CheckpointTest.assertSamePopulation(last.getParent(), checkpoint.getParent());
+        CheckpointTest.assertSamePopulation(last.getChild(), checkpoint.getChild());
+
+    }
+
+    @Test
+    public void testEmptyChildPopulation() throws IOException {
+
+        Path file = this.folder.getRoot().toPath().resolve("empty.checkpoint");
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(3);
+        configuration.setChromosomeLength(3);
+        configuration.setChildPopulationProducer(new DeduplicatingChildProducer(
+                (parent, crossover, mutation, size) -> new Population(new ArrayList<>(parent.getPopulace())),
+                false, 1));
+        configuration.addGenerationListener(new CheckpointWriter(file, 1));
+
+        Population result = new NSGA2(configuration).run();
+        Assert.assertEquals(0, result.size());
+
+        Checkpoint checkpoint = Checkpoint.read(file);
+        Assert.assertEquals(3, checkpoint.getGeneration());
+        Assert.assertEquals(0, checkpoint.getChild().size());
+        Assert.assertEquals(3, checkpoint.getChromosomeLength());
+        Assert.assertEquals(Configuration.objectives.size(), checkpoint.getObjectiveCount());
+
+        configuration.setGenerations(5);
+        Assert.assertEquals(0, new NSGA2(configuration).resume(checkpoint).size());
+
+    }
+
+    @Test
+    public void testSeededResume() throws IOException {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(10);
+        configuration.setRandomSeed(32L);
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        configuration.addGenerationListener(report -> {
+            if (report.getGeneration() == 5) {
+                checkpoints.add(Checkpoint.of(report.snapshot(), Double.NaN));
+            }
+        });
+
+        Population uninterrupted = new NSGA2(configuration).run();
+        Checkpoint checkpoint = Checkpoint.decode(checkpoints.get(0).encode());
+        Assert.assertNotNull(checkpoint.getRandomState());
+
+        Population resumed = new NSGA2(configuration).resume(checkpoint);
+        CheckpointTest.assertSamePopulation(uninterrupted, resumed);
+
+    }
+
+    private static void assertSamePopulation(Population expected, Population actual) {
+
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Chromosome left = expected.get(i);
+            Chromosome right = actual.get(i);
+            Assert.assertEquals(left.getObjectiveValues(), right.getObjectiveValues());
+            Assert.assertEquals(left.getGeneticCode().toString(), right.getGeneticCode().toString());
+            Assert.assertEquals(left.getRank(), right.getRank());
+            Assert.assertEquals(left.isEvaluated(), right.isEvaluated());
+            Assert.assertEquals(left.isConstraintsEvaluated(), right.isConstraintsEvaluated());
+        }
+
+    }
+
+}
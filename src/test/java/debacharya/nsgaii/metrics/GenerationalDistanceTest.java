@@ -0,0 +1,22 @@
+package debacharya.nsgaii.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationalDistanceTest {
+
+    @Test
+    public void testGenerationalAndInvertedDistance() {
+
+        double[][] reference = {{0, 1}, {0.5, 0.5}, {1, 0}};
+        double[][] approximation = {{0, 1.5}, {1, 0}};
+
+        // 到最近参考点的距离: 0.5 与 0.
+        Assert.assertEquals(0.25, GenerationalDistance.generational(approximation, reference), 1e-12);
+        // 参考点到最近近似点的距离: 0.5, sqrt(0.5), 0.
+        Assert.assertEquals((0.5 + Math.sqrt(0.5)) / 3, GenerationalDistance.inverted(approximation, reference), 1e-12);
+        Assert.assertEquals(0, GenerationalDistance.inverted(reference, reference), 0);
+
+    }
+
+}
@@ -0,0 +1,158 @@
+package debacharya.nsgaii.metrics;
+
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class HypervolumeTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testTwoObjectives() {
+
+        double[][] points = {{1, 3}, {2, 2}, {3, 1}, {1, 1}};
+        double[] reference = {0, 0};
+
+        Assert.assertEquals(6, Hypervolume.compute(points, reference), DELTA);
+        Assert.assertArrayEquals(new double[]{1, 1, 1, 0}, Hypervolume.contributions(points, reference), DELTA);
+
+    }
+
+    @Test
+    public void testAgainstInclusionExclusion() {
+
+        Random random = new Random(7);
+
+        for (int dimensions = 2; dimensions <= 5; dimensions++) {
+            for (int round = 0; round < 20; round++) {
+
+                double[][] points = HypervolumeTest.randomPoints(random, 7, dimensions);
+                double[] reference = new double[dimensions];
+
+                Assert.assertEquals(HypervolumeTest.inclusionExclusion(points, reference),
+                        Hypervolume.compute(points, reference), DELTA);
+
+            }
+        }
+
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+
+        Random random = new Random(11);
+
+        for (int dimensions = 2; dimensions <= 4; dimensions++) {
+
+            double[][] points = HypervolumeTest.randomPoints(random, 30, dimensions);
+            double[] reference = new double[dimensions];
+            IncrementalHypervolume incremental = new IncrementalHypervolume(reference);
+
+            for (double[] point : points) {
+                incremental.add(point);
+            }
+            Assert.assertEquals(Hypervolume.compute(points, reference), incremental.getValue(), 1e-6);
+
+            double[][] remaining = incremental.getPoints().toArray(new double[0][]);
+            double[] contributions = Hypervolume.contributions(remaining, reference);
+            double removed = incremental.remove(remaining[0]);
+
+            Assert.assertEquals(contributions[0], removed, 1e-6);
+            Assert.assertEquals(Hypervolume.compute(remaining, reference) - contributions[0], incremental.getValue(), 1e-6);
+
+        }
+
+    }
+
+    @Test
+    public void testMonteCarloEstimate() {
+
+        Random random = new Random(13);
+        MonteCarloHypervolume estimator = new MonteCarloHypervolume(200_000, 0.99, 17);
+
+        for (int dimensions = 3; dimensions <= 5; dimensions++) {
+
+            double[][] points = HypervolumeTest.randomPoints(random, 40, dimensions);
+            double[] reference = new double[dimensions];
+            double exact = Hypervolume.compute(points, reference);
+            HypervolumeEstimate estimate = estimator.estimate(points, reference);
+
+            Assert.assertTrue(estimate.toString(), estimate.getLowerBound() <= exact && exact <= estimate.getUpperBound());
+            Assert.assertEquals(estimate.getValue(), estimator.estimate(points, reference).getValue(), 0);
+
+        }
+
+    }
+
+    @Test
+    public void testRepeatableEstimate() {
+
+        int dimensions = Hypervolume.MAX_EXACT_OBJECTIVES + 1;
+        List<Chromosome> populace = new ArrayList<>();
+
+        for (double[] point : HypervolumeTest.randomPoints(new Random(19), 20, dimensions)) {
+            Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+            for (int i = 0; i < dimensions; i++) {
+                chromosome.addObjectiveValue(i, point[i]);
+            }
+            populace.add(chromosome);
+        }
+
+        Population population = new Population(populace);
+        double[] reference = new double[dimensions];
+        double estimate = Hypervolume.computeOrEstimate(population, reference);
+        GenerationReport report = new GenerationReport(1, population, population,
+                new long[GenerationReport.Phase.values().length], 0, 0, 0, 0);
+
+        Assert.assertEquals(estimate, Hypervolume.computeOrEstimate(population, reference), 0);
+        Assert.assertEquals(estimate, report.getHypervolume(reference), 0);
+        Assert.assertEquals(estimate, report.snapshot().getHypervolume(reference), 0);
+
+    }
+
+    private static double[][] randomPoints(Random random, int count, int dimensions) {
+
+        double[][] points = new double[count][dimensions];
+        for (double[] point : points) {
+            for (int k = 0; k < dimensions; k++) {
+                point[k] = random.nextDouble();
+            }
+        }
+        return points;
+
+    }
+
+    // 容斥原理: 对所有非空子集求交集体积并按大小交替加减.
+    private static double inclusionExclusion(double[][] points, double[] reference) {
+
+        double volume = 0;
+
+        for (int mask = 1; mask < (1 << points.length); mask++) {
+
+            double intersection = 1;
+            for (int k = 0; k < reference.length; k++) {
+                double lowest = Double.MAX_VALUE;
+                for (int i = 0; i < points.length; i++) {
+                    if ((mask & (1 << i)) != 0) {
+                        lowest = Math.min(lowest, points[i][k]);
+                    }
+                }
+                intersection *= Math.max(0, lowest - reference[k]);
+            }
+            volume += (Integer.bitCount(mask) % 2 == 1 ? 1 : -1) * intersection;
+
+        }
+        return volume;
+
+    }
+
+}
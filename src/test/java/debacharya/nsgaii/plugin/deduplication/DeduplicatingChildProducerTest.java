@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.deduplication;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.ChildPopulationProducer;
+import debacharya.nsgaii.plugin.DefaultPluginProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class DeduplicatingChildProducerTest {
+
+    @Test
+    public void testLongHashSet() {
+
+        LongHashSet set = new LongHashSet(4);
+        Random random = new Random(46);
+        Set<Long> expected = new HashSet<>();
+        expected.add(0L);
+        Assert.assertTrue(set.add(0));
+        Assert.assertFalse(set.add(0));
+
+        for (int i = 0; i < 5_000; i++) {
+            long value = random.nextInt(3_000) - 1_500;
+            Assert.assertEquals(expected.add(value), set.add(value));
+        }
+        Assert.assertEquals(expected.size(), set.size());
+        for (long value = -1_600; value < 1_600; value++) {
+            Assert.assertEquals(expected.contains(value), set.contains(value));
+        }
+
+        set.clear();
+        Assert.assertEquals(0, set.size());
+        Assert.assertFalse(set.contains(0));
+
+    }
+
+    @Test
+    public void testFingerprint() {
+
+        Chromosome bits = new Chromosome(Arrays.asList(new BooleanAllele(true), new BooleanAllele(false)));
+        Chromosome flipped = new Chromosome(Arrays.asList(new BooleanAllele(false), new BooleanAllele(true)));
+        Chromosome reals = new Chromosome(Arrays.asList(new DoubleAllele(0.0), new DoubleAllele(1.5)));
+        Chromosome negativeZero = new Chromosome(Arrays.asList(new DoubleAllele(-0.0), new DoubleAllele(1.5)));
+
+        Assert.assertEquals(GenomeFingerprint.of(bits), GenomeFingerprint.of(new Chromosome(bits)));
+        Assert.assertNotEquals(GenomeFingerprint.of(bits), GenomeFingerprint.of(flipped));
+        Assert.assertEquals(GenomeFingerprint.of(reals), GenomeFingerprint.of(negativeZero));
+        Assert.assertNotEquals(GenomeFingerprint.of(reals), GenomeFingerprint.of(bits));
+
+    }
+
+    @Test
+    public void testDropsCopiesOfParentsAndRepeatedChildren() {
+
+        List<Chromosome> parents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            parents.add(new Chromosome(Arrays.asList(new DoubleAllele(i), new DoubleAllele(0))));
+        }
+        int[] calls = {0};
+        // 每次返回 5 个父代的拷贝, 3 个相同的新子代和 2 个不同的新子代.
+        ChildPopulationProducer copying = (parent, crossover, mutation, size) -> {
+            calls[0]++;
+            List<Chromosome> children = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                children.add(new Chromosome(parent.get(i)));
+            }
+            for (int i = 0; i < 3; i++) {
+                children.add(new Chromosome(Arrays.asList(new DoubleAllele(-1), new DoubleAllele(calls[0]))));
+            }
+            children.add(new Chromosome(Arrays.asList(new DoubleAllele(-2), new DoubleAllele(calls[0]))));
+            children.add(new Chromosome(Arrays.asList(new DoubleAllele(-3), new DoubleAllele(calls[0]))));
+            return new Population(children);
+        };
+
+        DeduplicatingChildProducer skipping = new DeduplicatingChildProducer(copying, false, 1);
+        Population skipped = skipping.produce(new Population(parents), null, null, 10);
+        Assert.assertEquals(3, skipped.size());
+        Assert.assertEquals(7, skipping.getDuplicates());
+
+        DeduplicatingChildProducer regenerating = new DeduplicatingChildProducer(copying);
+        Population regenerated = regenerating.produce(new Population(parents), null, null, 10);
+        Assert.assertEquals(10, regenerated.size());
+        Set<Long> fingerprints = new HashSet<>();
+        for (Chromosome parent : parents) {
+            fingerprints.add(GenomeFingerprint.of(parent));
+        }
+        for (Chromosome child : regenerated.getPopulace()) {
+            Assert.assertTrue(fingerprints.add(GenomeFingerprint.of(child)));
+        }
+
+    }
+
+    @Test
+    public void testRunWithoutNewOffspring() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(3);
+        configuration.setChildPopulationProducer(new DeduplicatingChildProducer(
+                (parent, crossover, mutation, size) -> new Population(new ArrayList<>(parent.getPopulace())),
+                true, 2));
+
+        Population result = new NSGA2(configuration).run();
+        Assert.assertEquals(0, result.size());
+
+    }
+
+    @Test
+    public void testRunWithUniqueOffspring() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(10);
+        configuration.setChildPopulationProducer(new DeduplicatingChildProducer(
+                DefaultPluginProvider.defaultChildPopulationProducer(), false, 1));
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+
+        new NSGA2(configuration).run();
+
+        for (GenerationReport report : reports) {
+            Assert.assertEquals(Configuration.DEFAULT_POPULATION_SIZE, report.getParent().size());
+            Set<Long> parents = new HashSet<>();
+            for (Chromosome parent : report.getParent().getPopulace()) {
+                parents.add(GenomeFingerprint.of(parent));
+            }
+            Set<Long> fingerprints = new HashSet<>();
+            for (Chromosome child : report.getChild().getPopulace()) {
+                Assert.assertFalse(parents.contains(GenomeFingerprint.of(child)));
+                Assert.assertTrue(fingerprints.add(GenomeFingerprint.of(child)));
+            }
+        }
+
+    }
+
+}
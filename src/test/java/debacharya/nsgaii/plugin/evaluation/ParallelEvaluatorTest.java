@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.DoubleAllele;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+import debacharya.nsgaii.problem.BenchmarkProblem;
+import debacharya.nsgaii.problem.ZDT1;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelEvaluatorTest {
+
+    private static final BenchmarkProblem PROBLEM = new ZDT1(5);
+
+    private static List<Chromosome> randomChromosomes(int count) {
+
+        List<Chromosome> chromosomes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            chromosomes.add(new Chromosome(PROBLEM.getGeneticCodeProducer().produce(PROBLEM.getNumberOfVariables())));
+        }
+        return chromosomes;
+
+    }
+
+    private static double firstGene(Chromosome chromosome) {
+        return ((DoubleAllele) chromosome.getGeneticCode().get(0)).getGene();
+    }
+
+    private static List<Chromosome> genes(int count) {
+
+        List<Chromosome> chromosomes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            chromosomes.add(new Chromosome(Collections.singletonList(new DoubleAllele((i + 1) / 100.0))));
+        }
+        return chromosomes;
+
+    }
+
+    // 返回第一个基因; `hung` 的前 `hangs` 次计算一直睡眠到被中断.
+    private static void useHangingObjective(Chromosome hung, int hangs) {
+
+        Map<Chromosome, AtomicInteger> calls = new ConcurrentHashMap<>();
+        Configuration.objectives = Collections.singletonList(new AbstractObjectiveFunction() {
+            @Override
+            public double getValue(Chromosome chromosome) {
+                if (chromosome == hung
+                        && calls.computeIfAbsent(chromosome, c -> new AtomicInteger()).incrementAndGet() <= hangs) {
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return firstGene(chromosome);
+            }
+        });
+
+    }
+
+    @Test
+    public void testMatchesLocalEvaluation() {
+
+        Configuration.objectives = PROBLEM.getObjectives();
+        List<Chromosome> parallel = ParallelEvaluatorTest.randomChromosomes(200);
+        List<Chromosome> local = new ArrayList<>();
+        for (Chromosome chromosome : parallel) {
+            local.add(new Chromosome(chromosome));
+        }
+
+        OnlineCostModel costModel = new OnlineCostModel(new int[]{0}, new double[]{0}, new double[]{1}, 4);
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(4, costModel)) {
+            evaluator.evaluate(parallel);
+        }
+        Service.evaluateObjectives(local);
+
+        for (int i = 0; i < parallel.size(); i++) {
+            Assert.assertEquals(local.get(i).getObjectiveValues(), parallel.get(i).getObjectiveValues());
+        }
+        Assert.assertEquals(4, costModel.getObservedCells());
+
+    }
+
+    @Test
+    public void testLongestExpectedFirst() {
+
+        List<Chromosome> started = Collections.synchronizedList(new ArrayList<>());
+        Configuration.objectives = Collections.singletonList(new AbstractObjectiveFunction() {
+            @Override
+            public double getValue(Chromosome chromosome) {
+                started.add(chromosome);
+                return 0;
+            }
+        });
+
+        List<Chromosome> chromosomes = ParallelEvaluatorTest.randomChromosomes(50);
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(1, ParallelEvaluatorTest::firstGene)) {
+            evaluator.evaluate(chromosomes);
+        }
+
+        Assert.assertEquals(chromosomes.size(), started.size());
+        for (int i = 1; i < started.size(); i++) {
+            Assert.assertTrue(firstGene(started.get(i - 1)) >= firstGene(started.get(i)));
+        }
+
+    }
+
+    @Test
+    public void testOnlineCostModelLearnsRegions() {
+
+        OnlineCostModel costModel = new OnlineCostModel(new int[]{0}, new double[]{0}, new double[]{1}, 2, 1);
+        List<Chromosome> chromosomes = ParallelEvaluatorTest.randomChromosomes(400);
+        Chromosome cheap = null;
+        Chromosome expensive = null;
+
+        Assert.assertEquals(0, costModel.estimate(chromosomes.get(0)), 0);
+        for (Chromosome chromosome : chromosomes) {
+            if (firstGene(chromosome) < 0.5) {
+                costModel.observe(chromosome, 1_000);
+                cheap = chromosome;
+            } else if (expensive == null) {
+                expensive = chromosome;
+            }
+        }
+
+        Assert.assertNotNull(cheap);
+        Assert.assertNotNull(expensive);
+        Assert.assertEquals(1_000, costModel.estimate(expensive), 0);
+
+        costModel.observe(expensive, 50_000);
+        Assert.assertEquals(50_000, costModel.estimate(expensive), 0);
+        Assert.assertEquals(1_000, costModel.estimate(cheap), 0);
+
+        ParallelEvaluator evaluator = new ParallelEvaluator(1, costModel);
+        Assert.assertSame(expensive, chromosomes.get(evaluator.schedule(chromosomes)[0]));
+        evaluator.close();
+
+    }
+
+    @Test(timeout = 20_000)
+    public void testDeadlineMarksHungEvaluationInfeasible() {
+
+        List<Chromosome> chromosomes = ParallelEvaluatorTest.genes(10);
+        Chromosome hung = chromosomes.get(4);
+        ParallelEvaluatorTest.useHangingObjective(hung, Integer.MAX_VALUE);
+
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(4, null)) {
+            evaluator.setDeadlineMillis(200);
+            evaluator.evaluate(chromosomes);
+            Assert.assertEquals(1, evaluator.getTimeouts());
+        }
+
+        Assert.assertFalse(hung.isFeasible());
+        Assert.assertEquals(0.01, hung.getObjectiveValues().get(0), 0);
+        for (Chromosome chromosome : chromosomes) {
+            if (chromosome != hung) {
+                Assert.assertTrue(chromosome.isFeasible());
+                Assert.assertEquals(firstGene(chromosome), chromosome.getObjectiveValues().get(0), 0);
+            }
+        }
+
+    }
+
+    @Test(timeout = 20_000)
+    public void testTimeoutPolicies() {
+
+        List<Chromosome> chromosomes = ParallelEvaluatorTest.genes(10);
+        Chromosome hung = chromosomes.get(4);
+        ParallelEvaluatorTest.useHangingObjective(hung, Integer.MAX_VALUE);
+
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(4, null)) {
+            evaluator.setDeadlineMillis(100);
+            evaluator.setTimeoutPolicy(TimeoutPolicy.WORST_OBJECTIVES);
+            evaluator.evaluate(chromosomes);
+        }
+        Assert.assertTrue(hung.isFeasible());
+        Assert.assertEquals(0.01, hung.getObjectiveValues().get(0), 0);
+
+        chromosomes = ParallelEvaluatorTest.genes(10);
+        hung = chromosomes.get(4);
+        ParallelEvaluatorTest.useHangingObjective(hung, 1);
+
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(4, null)) {
+            evaluator.setDeadlineMillis(100);
+            evaluator.setTimeoutPolicy(TimeoutPolicy.RETRY);
+            evaluator.evaluate(chromosomes);
+            Assert.assertEquals(1, evaluator.getTimeouts());
+        }
+        Assert.assertTrue(hung.isFeasible());
+        Assert.assertEquals(0.05, hung.getObjectiveValues().get(0), 0);
+
+    }
+
+    @Test(timeout = 20_000)
+    public void testTimedOutChromosomesStayUnevaluated() {
+
+        List<Chromosome> lone = ParallelEvaluatorTest.genes(1);
+        ParallelEvaluatorTest.useHangingObjective(lone.get(0), Integer.MAX_VALUE);
+
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(2, null)) {
+
+            evaluator.setDeadlineMillis(100);
+            evaluator.setTimeoutPolicy(TimeoutPolicy.WORST_OBJECTIVES);
+            Assert.assertEquals(1, Service.calculateObjectiveValues(new Population(lone), evaluator));
+            Assert.assertEquals(-Double.MAX_VALUE, lone.get(0).getObjectiveValues().get(0), 0);
+            Assert.assertFalse(lone.get(0).isEvaluated());
+
+            List<Chromosome> finished = ParallelEvaluatorTest.genes(10);
+            Service.calculateObjectiveValues(new Population(finished), evaluator);
+
+            lone = ParallelEvaluatorTest.genes(1);
+            ParallelEvaluatorTest.useHangingObjective(lone.get(0), Integer.MAX_VALUE);
+            Service.calculateObjectiveValues(new Population(lone), evaluator);
+            Assert.assertEquals(0.01, lone.get(0).getObjectiveValues().get(0), 0);
+            Assert.assertFalse(lone.get(0).isEvaluated());
+            for (Chromosome chromosome : finished) {
+                Assert.assertTrue(chromosome.isEvaluated());
+            }
+
+        }
+
+    }
+
+    @Test(timeout = 20_000)
+    public void testObjectiveErrorIsRethrown() {
+
+        Configuration.objectives = Collections.singletonList(new AbstractObjectiveFunction() {
+            @Override
+            public double getValue(Chromosome chromosome) {
+                if (firstGene(chromosome) == 0.05) {
+                    throw new AssertionError("objective failed");
+                }
+                return firstGene(chromosome);
+            }
+        });
+
+        for (long deadlineMillis : new long[]{0, 10_000}) {
+            try (ParallelEvaluator evaluator = new ParallelEvaluator(4, null)) {
+                evaluator.setDeadlineMillis(deadlineMillis);
+                evaluator.evaluate(ParallelEvaluatorTest.genes(10));
+                Assert.fail();
+            } catch (AssertionError e) {
+                Assert.assertEquals("objective failed", e.getMessage());
+            }
+        }
+
+    }
+
+    @Test(timeout = 20_000)
+    public void testHedgingRescuesStraggler() {
+
+        List<Chromosome> chromosomes = ParallelEvaluatorTest.genes(60);
+        Chromosome straggler = chromosomes.get(0);
+        ParallelEvaluatorTest.useHangingObjective(straggler, 1);
+
+        try (ParallelEvaluator evaluator = new ParallelEvaluator(4, null)) {
+            evaluator.setHedging(true);
+            evaluator.evaluate(chromosomes);
+            Assert.assertTrue(evaluator.getHedges() >= 1);
+            Assert.assertEquals(0, evaluator.getTimeouts());
+        }
+
+        for (Chromosome chromosome : chromosomes) {
+            Assert.assertEquals(firstGene(chromosome), chromosome.getObjectiveValues().get(0), 0);
+        }
+
+    }
+
+}
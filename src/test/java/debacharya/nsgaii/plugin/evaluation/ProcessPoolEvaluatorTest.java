@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.mutation.PolynomialMutation;
+import debacharya.nsgaii.problem.BenchmarkProblem;
+import debacharya.nsgaii.problem.ZDT1;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ProcessPoolEvaluatorTest {
+
+    private static List<String> workerCommand(String... problem) {
+
+        List<String> command = new ArrayList<>(Arrays.asList(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                ProcessWorker.class.getName()
+        ));
+        command.addAll(Arrays.asList(problem));
+        return command;
+
+    }
+
+    @Test
+    public void testMatchesLocalEvaluation() {
+
+        BenchmarkProblem problem = new ZDT1();
+        Configuration.objectives = problem.getObjectives();
+        List<Chromosome> remote = new ArrayList<>();
+        List<Chromosome> local = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            Chromosome chromosome = new Chromosome(problem.getGeneticCodeProducer().produce(problem.getNumberOfVariables()));
+            remote.add(chromosome);
+            local.add(new Chromosome(chromosome));
+        }
+
+        try (ProcessPoolEvaluator evaluator = new ProcessPoolEvaluator(
+                ProcessPoolEvaluatorTest.workerCommand(ZDT1.class.getName()), 3, 7, 2)) {
+            evaluator.evaluate(remote);
+        }
+        Service.evaluateObjectives(local);
+
+        for (int i = 0; i < remote.size(); i++) {
+            Assert.assertEquals(local.get(i).getObjectiveValues(), remote.get(i).getObjectiveValues());
+        }
+
+    }
+
+    @Test
+    public void testRunWithWorkerPool() {
+
+        BenchmarkProblem problem = new ZDT1(5);
+        Configuration configuration = new Configuration(problem.getObjectives());
+        configuration.completeSilence();
+        configuration.setGenerations(5);
+        configuration.setChromosomeLength(problem.getNumberOfVariables());
+        configuration.setGeneticCodeProducer(problem.getGeneticCodeProducer());
+        configuration.setMutation(new PolynomialMutation(problem.getLowerBounds(), problem.getUpperBounds()));
+
+        Population result;
+        try (ProcessPoolEvaluator evaluator = PopulationEvaluatorProvider.processPool(
+                ProcessPoolEvaluatorTest.workerCommand(ZDT1.class.getName(), "5"))) {
+            configuration.setPopulationEvaluator(evaluator);
+            result = new NSGA2(configuration).run();
+        }
+
+        for (Chromosome chromosome : result.getPopulace()) {
+            Assert.assertTrue(chromosome.isEvaluated());
+            double[] expected = problem.evaluate(BenchmarkProblem.decode(chromosome));
+            Assert.assertEquals(-expected[0], chromosome.getObjectiveValues().get(0), 1e-4);
+            Assert.assertEquals(-expected[1], chromosome.getObjectiveValues().get(1), 1e-4);
+        }
+
+    }
+
+    @Test(expected = java.io.UncheckedIOException.class)
+    public void testFailsWhenEveryWorkerDies() {
+
+        BenchmarkProblem problem = new ZDT1();
+        Configuration.objectives = problem.getObjectives();
+        List<Chromosome> chromosomes = new ArrayList<>();
+        chromosomes.add(new Chromosome(problem.getGeneticCodeProducer().produce(problem.getNumberOfVariables())));
+
+        try (ProcessPoolEvaluator evaluator = new ProcessPoolEvaluator(
+                ProcessPoolEvaluatorTest.workerCommand("no.such.Problem"), 2, 0, 1)) {
+            evaluator.evaluate(chromosomes);
+        }
+
+    }
+
+    @Test(timeout = 20_000)
+    public void testCloseStopsHungEvaluation() throws InterruptedException {
+
+        BenchmarkProblem problem = new ZDT1();
+        Configuration.objectives = problem.getObjectives();
+        List<Chromosome> chromosomes = new ArrayList<>();
+        chromosomes.add(new Chromosome(problem.getGeneticCodeProducer().produce(problem.getNumberOfVariables())));
+
+        ProcessPoolEvaluator evaluator = new ProcessPoolEvaluator(Arrays.asList(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                SilentWorker.class.getName()
+        ), 1, 0, 1);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread evaluation = new Thread(() -> {
+            try {
+                evaluator.evaluate(chromosomes);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+
+        evaluation.start();
+        evaluation.join(500);
+        Assert.assertTrue(evaluation.isAlive());
+
+        evaluator.close();
+        evaluation.join(10_000);
+        Assert.assertFalse(evaluation.isAlive());
+        Assert.assertTrue(failure.get() instanceof UnsupportedOperationException);
+        Assert.assertEquals(AbstractBatchEvaluator.EVALUATOR_CLOSED, failure.get().getMessage());
+
+    }
+
+    /**
+     * 读取请求但从不回答的计算进程.
+     */
+    public static final class SilentWorker {
+
+        public static void main(String[] args) throws IOException {
+            while (System.in.read() >= 0) {
+                // 丢弃请求.
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.evaluation;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.Service;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.objectivefunction.AbstractObjectiveFunction;
+import debacharya.nsgaii.problem.BenchmarkProblem;
+import debacharya.nsgaii.problem.ZDT1;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class SocketEvaluatorTest {
+
+    private static final BenchmarkProblem PROBLEM = new ZDT1(5);
+
+    private final List<Process> workers = new ArrayList<>();
+
+    public static class ZDT1Objectives implements Supplier<List<AbstractObjectiveFunction>> {
+
+        @Override
+        public List<AbstractObjectiveFunction> get() {
+            return SocketEvaluatorTest.PROBLEM.getObjectives();
+        }
+
+    }
+
+    public static class SlowZDT1Objectives implements Supplier<List<AbstractObjectiveFunction>> {
+
+        @Override
+        public List<AbstractObjectiveFunction> get() {
+
+            List<AbstractObjectiveFunction> slow = new ArrayList<>();
+            for (AbstractObjectiveFunction objective : SocketEvaluatorTest.PROBLEM.getObjectives()) {
+                slow.add(new AbstractObjectiveFunction() {
+                    @Override
+                    public double getValue(Chromosome chromosome) {
+                        try {
+                            Thread.sleep(5);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return objective.getValue(chromosome);
+                    }
+                });
+            }
+            return slow;
+
+        }
+
+    }
+
+    @After
+    public void stopWorkers() {
+        for (Process worker : this.workers) {
+            worker.destroyForcibly();
+        }
+    }
+
+    private Process startWorker(int port, Class<?> objectives) throws IOException {
+
+        Process worker = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                SocketWorker.class.getName(),
+                InetAddress.getLoopbackAddress().getHostAddress(),
+                String.valueOf(port),
+                objectives.getName(),
+                "2000"
+        ).inheritIO().start();
+        this.workers.add(worker);
+        return worker;
+
+    }
+
+    private static SocketEvaluator coordinator(int batchSize) throws IOException {
+        return new SocketEvaluator(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), batchSize, 2, 20_000);
+    }
+
+    private static void awaitNodes(SocketEvaluator evaluator, int count) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (evaluator.getNodeCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(count, evaluator.getNodeCount());
+
+    }
+
+    private static List<Chromosome> randomChromosomes(int count) {
+
+        List<Chromosome> chromosomes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            chromosomes.add(new Chromosome(PROBLEM.getGeneticCodeProducer().produce(PROBLEM.getNumberOfVariables())));
+        }
+        return chromosomes;
+
+    }
+
+    private static void assertMatchesLocalEvaluation(List<Chromosome> remote) {
+
+        List<Chromosome> local = new ArrayList<>();
+        for (Chromosome chromosome : remote) {
+            local.add(new Chromosome(chromosome));
+        }
+        Service.evaluateObjectives(local);
+
+        for (int i = 0; i < remote.size(); i++) {
+            Assert.assertEquals(local.get(i).getObjectiveValues(), remote.get(i).getObjectiveValues());
+        }
+
+    }
+
+    @Test
+    public void testMatchesLocalEvaluationOnSeveralNodes() throws Exception {
+
+        Configuration.objectives = PROBLEM.getObjectives();
+        List<Chromosome> chromosomes = SocketEvaluatorTest.randomChromosomes(60);
+
+        try (SocketEvaluator evaluator = SocketEvaluatorTest.coordinator(4)) {
+            for (int i = 0; i < 3; i++) {
+                this.startWorker(evaluator.getPort(), ZDT1Objectives.class);
+            }
+            evaluator.evaluate(chromosomes);
+        }
+
+        SocketEvaluatorTest.assertMatchesLocalEvaluation(chromosomes);
+
+    }
+
+    @Test
+    public void testRequeuesBatchesOfLostNode() throws Exception {
+
+        Configuration.objectives = PROBLEM.getObjectives();
+        List<Chromosome> first = SocketEvaluatorTest.randomChromosomes(100);
+        List<Chromosome> second = SocketEvaluatorTest.randomChromosomes(20);
+
+        try (SocketEvaluator evaluator = SocketEvaluatorTest.coordinator(2)) {
+
+            Process lost = this.startWorker(evaluator.getPort(), SlowZDT1Objectives.class);
+            this.startWorker(evaluator.getPort(), SlowZDT1Objectives.class);
+            SocketEvaluatorTest.awaitNodes(evaluator, 2);
+
+            CompletableFuture<Void> evaluation = CompletableFuture.runAsync(() -> evaluator.evaluate(first));
+            Thread.sleep(200);
+            lost.destroyForcibly();
+            evaluation.get(60, TimeUnit.SECONDS);
+
+            this.startWorker(evaluator.getPort(), ZDT1Objectives.class);
+            SocketEvaluatorTest.awaitNodes(evaluator, 2);
+            evaluator.evaluate(second);
+
+        }
+
+        SocketEvaluatorTest.assertMatchesLocalEvaluation(first);
+        SocketEvaluatorTest.assertMatchesLocalEvaluation(second);
+
+    }
+
+    @Test
+    public void testDropsHungAndMalformedNodes() throws Exception {
+
+        Configuration.objectives = PROBLEM.getObjectives();
+        List<Chromosome> chromosomes = SocketEvaluatorTest.randomChromosomes(20);
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        try (SocketEvaluator evaluator = new SocketEvaluator(new InetSocketAddress(loopback, 0), 2, 2, 1_000);
+             Socket hung = new Socket(loopback, evaluator.getPort());
+             Socket malformed = new Socket(loopback, evaluator.getPort())) {
+
+            SocketEvaluatorTest.awaitNodes(evaluator, 2);
+            Thread answer = new Thread(() -> {
+                try {
+                    new DataInputStream(malformed.getInputStream()).readInt();
+                    DataOutputStream output = new DataOutputStream(malformed.getOutputStream());
+                    output.writeInt(-1);
+                    output.flush();
+                } catch (IOException e) {
+                    // the coordinator closed the connection.
+                }
+            });
+            answer.start();
+
+            CompletableFuture<Void> evaluation = CompletableFuture.runAsync(() -> evaluator.evaluate(chromosomes));
+            Thread.sleep(200);
+            this.startWorker(evaluator.getPort(), ZDT1Objectives.class);
+            evaluation.get(60, TimeUnit.SECONDS);
+
+            Assert.assertEquals(1, evaluator.getNodeCount());
+            Assert.assertFalse(hung.isClosed());
+            answer.join();
+
+        }
+
+        SocketEvaluatorTest.assertMatchesLocalEvaluation(chromosomes);
+
+    }
+
+    @Test
+    public void testListensOnLoopbackByDefault() throws Exception {
+
+        InetAddress external = null;
+        for (NetworkInterface network : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+            for (InetAddress address : Collections.list(network.getInetAddresses())) {
+                if (network.isUp() && !address.isLoopbackAddress() && address instanceof Inet4Address) {
+                    external = address;
+                }
+            }
+        }
+        Assume.assumeNotNull(external);
+
+        try (SocketEvaluator evaluator = new SocketEvaluator(0)) {
+            new Socket(InetAddress.getLoopbackAddress(), evaluator.getPort()).close();
+            try (Socket socket = new Socket(external, evaluator.getPort())) {
+                Assert.fail("connected through " + socket.getInetAddress());
+            } catch (ConnectException e) {
+                // only the loopback address accepts connections.
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+package debacharya.nsgaii.plugin.listener;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.GenerationListener;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncGenerationListenerTest {
+
+    @Test
+    public void testRuns() throws InterruptedException {
+
+        int generations = 5;
+        AtomicInteger starts = new AtomicInteger();
+        AtomicInteger terminations = new AtomicInteger();
+        List<GenerationReport> received = Collections.synchronizedList(new ArrayList<>());
+        Set<Chromosome> live = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        AsyncGenerationListener listener = new AsyncGenerationListener(new GenerationListener() {
+
+            @Override
+            public void onStart(Configuration configuration) {
+                starts.incrementAndGet();
+            }
+
+            @Override
+            public void onGeneration(GenerationReport report) {
+                received.add(report);
+            }
+
+            @Override
+            public void onTerminate(Population finalChild) {
+                terminations.incrementAndGet();
+            }
+
+        }, generations + 1);
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(generations);
+        configuration.addGenerationListener(report -> live.addAll(report.getParent().getPopulace()));
+        configuration.addGenerationListener(listener);
+
+        for (int run = 1; run <= 2; run++) {
+
+            new NSGA2(configuration).run();
+
+            Assert.assertTrue(listener.awaitTermination(10, TimeUnit.SECONDS));
+            Assert.assertFalse(listener.isRunning());
+            Assert.assertEquals(run, starts.get());
+            Assert.assertEquals(run, terminations.get());
+            Assert.assertEquals(run * (generations + 1) - listener.getDroppedReports(), received.size());
+
+        }
+
+        Assert.assertFalse(received.isEmpty());
+        for (GenerationReport report : received) {
+            for (Chromosome chromosome : report.getParent().getPopulace()) {
+                Assert.assertFalse(live.contains(chromosome));
+            }
+        }
+
+    }
+
+    @Test
+    public void testBackToBackRuns() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger terminations = new AtomicInteger();
+
+        AsyncGenerationListener listener = new AsyncGenerationListener(new GenerationListener() {
+
+            @Override
+            public void onGeneration(GenerationReport report) {
+            }
+
+            @Override
+            public void onTerminate(Population finalChild) {
+                if (terminations.incrementAndGet() == 1) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+        });
+
+        // 第一次运行的结束标记还在队列里时开始第二次运行.
+        listener.onStart(new Configuration());
+        listener.onTerminate(null);
+        listener.onStart(new Configuration());
+        release.countDown();
+
+        Assert.assertFalse(listener.awaitTermination(200, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(listener.isRunning());
+
+        listener.onTerminate(null);
+        Assert.assertTrue(listener.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(2, terminations.get());
+
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+
+        AsyncGenerationListener listener = new AsyncGenerationListener(report -> {
+        });
+
+        Assert.assertTrue(listener.awaitTermination(0, TimeUnit.SECONDS));
+        listener.onStart(new Configuration());
+        Assert.assertTrue(listener.isRunning());
+        Assert.assertFalse(listener.awaitTermination(10, TimeUnit.MILLISECONDS));
+
+        listener.close();
+        Assert.assertFalse(listener.isRunning());
+        Assert.assertTrue(listener.awaitTermination(0, TimeUnit.SECONDS));
+
+    }
+
+}
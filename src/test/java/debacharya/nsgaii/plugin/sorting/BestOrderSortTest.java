@@ -0,0 +1,83 @@
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+import debacharya.nsgaii.datastructure.ObjectiveMatrix;
+import debacharya.nsgaii.datastructure.Population;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class BestOrderSortTest {
+
+    @Test
+    public void testAgainstPeeling() {
+
+        Random random = new Random(17);
+
+        for (int objectives = 1; objectives <= 8; objectives++) {
+
+            double[] values = new double[300 * objectives];
+            for (int i = 0; i < values.length; i++) {
+                // 取整以制造重复值和相等的目标向量.
+                values[i] = random.nextInt(objectives < 4 ? 20 : 4);
+            }
+            ObjectiveMatrix matrix = new ArrayObjectiveMatrix(values, 300, objectives);
+
+            Assert.assertArrayEquals(RankingOracle.peel(matrix), new BestOrderSort().sort(matrix));
+
+        }
+
+    }
+
+    @Test
+    public void testConstrainedDomination() {
+
+        Random random = new Random(29);
+
+        for (int objectives = 2; objectives <= 6; objectives += 2) {
+
+            double[] values = new double[200 * objectives];
+            double[] violations = new double[200];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(10);
+            }
+            for (int i = 0; i < violations.length; i++) {
+                violations[i] = random.nextBoolean() ? 0 : random.nextInt(5);
+            }
+            ObjectiveMatrix matrix = new ArrayObjectiveMatrix(values, 200, objectives, violations);
+
+            Assert.assertArrayEquals(RankingOracle.peel(matrix), new BestOrderSort().sort(matrix));
+
+        }
+
+    }
+
+    @Test
+    public void testConfiguredSorter() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        NSGA2 nsga2 = new NSGA2(configuration);
+        Population population = configuration.getPopulationProducer().produce(configuration.getPopulationSize(),
+                configuration.getChromosomeLength(), configuration.getGeneticCodeProducer(), null);
+        nsga2.preparePopulation(population);
+
+        int[] expected = new int[population.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = population.get(i).getRank();
+        }
+        configuration.setNonDominatedSorter(new BestOrderSort());
+        nsga2.nonDominatedSort(population);
+
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], population.get(i).getRank());
+        }
+        Assert.assertTrue(nsga2.run().size() > 0);
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.plugin.DominanceComparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+public class DominanceComparatorProviderTest {
+
+    @Test
+    public void testAgainstConstrainedDomination() {
+
+        Random random = new Random(13);
+
+        for (int objectives = 1; objectives <= 6; objectives++) {
+
+            int size = 60;
+            double[] values = new double[size * objectives];
+            double[] violations = new double[size];
+            Chromosome[] chromosomes = new Chromosome[size];
+
+            for (int i = 0; i < size; i++) {
+                chromosomes[i] = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+                for (int k = 0; k < objectives; k++) {
+                    // 取整以制造相等的目标值.
+                    values[i * objectives + k] = random.nextInt(3);
+                    chromosomes[i].addObjectiveValue(k, values[i * objectives + k]);
+                }
+                violations[i] = random.nextInt(4) == 0 ? random.nextInt(3) : 0;
+                chromosomes[i].setConstraintViolation(violations[i]);
+            }
+            ArrayObjectiveMatrix matrix = new ArrayObjectiveMatrix(values, size, objectives, violations);
+
+            for (DominanceComparator comparator : new DominanceComparator[]{
+                    DominanceComparatorProvider.forObjectiveCount(objectives),
+                    DominanceComparatorProvider.general(objectives)}) {
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        int expected = EfficientNonDominatedSort.dominates(matrix, i, j) ? NSGA2.DOMINANT :
+                                EfficientNonDominatedSort.dominates(matrix, j, i) ? NSGA2.INFERIOR : NSGA2.NON_DOMINATED;
+                        Assert.assertEquals(expected, comparator.compare(chromosomes[i], chromosomes[j]));
+                    }
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class DominanceKernelTest {
+
+    /**
+     * @return 被测试的内核, 子类可替换.
+     */
+    protected DominanceKernel kernel() {
+        return DominanceKernelProvider.scalar();
+    }
+
+    @Test
+    public void testAgainstPairwiseDomination() {
+
+        Random random = new Random(11);
+        DominanceKernel kernel = this.kernel();
+
+        for (int objectives = 1; objectives <= 8; objectives++) {
+            for (int count = 0; count <= 40; count += 7) {
+
+                // 第 0 行是单独比较的行, 其余为块.
+                int size = count + 1;
+                double[] values = new double[size * objectives];
+                double[] violations = new double[size];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = random.nextInt(4);
+                }
+                for (int i = 0; i < size; i++) {
+                    violations[i] = random.nextInt(3) == 0 ? random.nextInt(3) : 0;
+                }
+                ArrayObjectiveMatrix matrix = new ArrayObjectiveMatrix(values, size, objectives, violations);
+
+                int stride = count + 3;
+                double[] block = new double[stride * objectives];
+                double[] blockViolations = new double[stride];
+                double[] row = new double[objectives];
+                for (int k = 0; k < objectives; k++) {
+                    row[k] = matrix.getObjective(0, k);
+                    for (int j = 0; j < count; j++) {
+                        block[k * stride + j] = matrix.getObjective(j + 1, k);
+                    }
+                }
+                for (int j = 0; j < count; j++) {
+                    blockViolations[j] = violations[j + 1];
+                }
+
+                int[] relations = new int[stride];
+                kernel.relate(block, blockViolations, stride, 0, count, objectives, row, violations[0], relations);
+                boolean dominated = false;
+
+                for (int j = 0; j < count; j++) {
+                    int expected = EfficientNonDominatedSort.dominates(matrix, 0, j + 1) ? NSGA2.DOMINANT :
+                            EfficientNonDominatedSort.dominates(matrix, j + 1, 0) ? NSGA2.INFERIOR : NSGA2.NON_DOMINATED;
+                    Assert.assertEquals(expected, relations[j]);
+                    dominated |= expected == NSGA2.INFERIOR;
+                }
+                Assert.assertEquals(dominated, kernel.isDominatedByAny(block, blockViolations, stride, count,
+                        objectives, row, violations[0]));
+
+            }
+        }
+
+    }
+
+    @Test
+    public void testUnconstrainedBlock() {
+
+        DominanceKernel kernel = this.kernel();
+        double[] block = {1, 3, 2, 0, 2, 1, 3, 0};
+        int[] relations = new int[4];
+
+        kernel.relate(block, null, 4, 0, 3, 2, new double[]{2, 2}, 0, relations);
+
+        Assert.assertArrayEquals(new int[]{NSGA2.DOMINANT, NSGA2.NON_DOMINATED, NSGA2.INFERIOR, 0}, relations);
+        Assert.assertTrue(kernel.isDominatedByAny(block, null, 4, 3, 2, new double[]{2, 2}, 0));
+        Assert.assertFalse(kernel.isDominatedByAny(block, null, 4, 2, 2, new double[]{2, 2}, 0));
+        Assert.assertTrue(kernel.isDominatedByAny(block, null, 4, 1, 2, new double[]{9, 9}, 1));
+
+    }
+
+}
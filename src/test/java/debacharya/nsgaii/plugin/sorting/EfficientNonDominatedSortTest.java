@@ -0,0 +1,125 @@
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.ObjectiveMatrix;
+import debacharya.nsgaii.datastructure.OffHeapPopulation;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class EfficientNonDominatedSortTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAgainstPeeling() {
+
+        Random random = new Random(3);
+
+        for (int objectives = 2; objectives <= 4; objectives++) {
+
+            double[] values = new double[300 * objectives];
+            for (int i = 0; i < values.length; i++) {
+                // 取整以制造重复值和相等的目标向量.
+                values[i] = random.nextInt(20);
+            }
+            ObjectiveMatrix matrix = new ArrayObjectiveMatrix(values, 300, objectives);
+
+            Assert.assertArrayEquals(RankingOracle.peel(matrix), new EfficientNonDominatedSort().sort(matrix));
+
+        }
+
+    }
+
+    @Test
+    public void testConstrainedDomination() {
+
+        Random random = new Random(7);
+
+        for (int objectives = 2; objectives <= 3; objectives++) {
+
+            double[] values = new double[300 * objectives];
+            double[] violations = new double[300];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(20);
+            }
+            for (int i = 0; i < violations.length; i++) {
+                violations[i] = random.nextBoolean() ? 0 : random.nextInt(5);
+            }
+            ObjectiveMatrix matrix = new ArrayObjectiveMatrix(values, 300, objectives, violations);
+            int[] ranks = new EfficientNonDominatedSort().sort(matrix);
+
+            Assert.assertArrayEquals(RankingOracle.peel(matrix), ranks);
+            for (int i = 0; i < violations.length; i++) {
+                for (int j = 0; j < violations.length; j++) {
+                    if (violations[i] == 0 && violations[j] > 0) {
+                        Assert.assertTrue(ranks[i] < ranks[j]);
+                    }
+                }
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testOffHeapPopulation() throws IOException {
+
+        Random random = new Random(5);
+        OffHeapPopulation population = OffHeapPopulation.map(this.folder.newFile().toPath(), 1000, 70, 2);
+
+        for (int i = 0; i < population.size(); i++) {
+            List<BooleanAllele> geneticCode = new ArrayList<>();
+            for (int g = 0; g < 70; g++) {
+                geneticCode.add(new BooleanAllele(random.nextBoolean()));
+            }
+            Chromosome chromosome = new Chromosome(geneticCode);
+            chromosome.addObjectiveValue(0, random.nextDouble());
+            chromosome.addObjectiveValue(1, random.nextDouble());
+            population.store(i, chromosome);
+            Assert.assertEquals(chromosome.getGeneticCode().toString(), population.load(i).getGeneticCode().toString());
+        }
+
+        int[] ranks = new EfficientNonDominatedSort().sort(population);
+        double[] crowding = CrowdingDistance.compute(population, ranks);
+        int[] survivors = CrowdedSelection.truncate(ranks, crowding, 500);
+
+        OffHeapPopulation next = OffHeapPopulation.allocateDirect(500, 70, 2);
+        for (int i = 0; i < survivors.length; i++) {
+            population.copyTo(survivors[i], next, i);
+            next.setRank(i, ranks[survivors[i]]);
+            next.setCrowdingDistance(i, crowding[survivors[i]]);
+            Assert.assertEquals(population.getGenomeWord(survivors[i], 1), next.getGenomeWord(i, 1));
+            Assert.assertEquals(population.getObjective(survivors[i], 1), next.getObjective(i, 1), 0);
+        }
+
+        for (int i = 1; i < next.size(); i++) {
+            Assert.assertTrue(next.getRank(i - 1) <= next.getRank(i));
+        }
+        int lastRank = next.getRank(next.size() - 1);
+        for (int i = 0; i < population.size(); i++) {
+            Assert.assertTrue(ranks[i] >= lastRank || contains(survivors, i));
+        }
+
+    }
+
+    private static boolean contains(int[] indices, int value) {
+        for (int index : indices) {
+            if (index == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,203 @@
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.DominanceComparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class IncrementalRankingTest {
+
+    @Test
+    public void testGenerations() {
+
+        Random random = new Random(31);
+        int size = 50;
+
+        for (int objectives = 2; objectives <= 4; objectives += 2) {
+            IncrementalRankingTest.checkGenerations(random, size,
+                    new IncrementalRanking(DominanceComparatorProvider.forObjectiveCount(objectives)), objectives);
+            IncrementalRankingTest.checkGenerations(random, size,
+                    new IncrementalRanking(DominanceKernelProvider.best()), objectives);
+        }
+
+    }
+
+    @Test
+    public void testConfiguredRun() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(8);
+        configuration.setIncrementalRanking(true);
+        DominanceComparator comparator = configuration.getDominanceComparator();
+        AtomicLong comparisons = new AtomicLong();
+        configuration.setDominanceComparator((chromosome1, chromosome2) -> {
+            comparisons.incrementAndGet();
+            return comparator.compare(chromosome1, chromosome2);
+        });
+
+        NSGA2 nsga2 = new NSGA2(configuration);
+        Configuration oracleConfiguration = new Configuration();
+        oracleConfiguration.completeSilence();
+        NSGA2 oracle = new NSGA2(oracleConfiguration);
+        AtomicLong reported = new AtomicLong();
+        AtomicInteger checked = new AtomicInteger();
+        int size = configuration.getPopulationSize();
+
+        // 每代报告之后到下一次选择之前只对父子合并种群排名一次, 父代和子代内部的关系都已缓存, 只比较父子之间的个体对.
+        configuration.addGenerationListener(report -> reported.set(comparisons.get()));
+        configuration.setSurvivorSelector((combinedPopulation, populationSize) -> {
+
+            Assert.assertEquals(2 * size, combinedPopulation.size());
+            Assert.assertEquals(size * size, comparisons.get() - reported.get());
+
+            List<Chromosome> copies = new ArrayList<>();
+            for (Chromosome chromosome : combinedPopulation.getPopulace()) {
+                copies.add(chromosome.getSnapshot());
+            }
+            oracle.fastNonDominatedSort(new Population(copies));
+            for (int i = 0; i < copies.size(); i++) {
+                Assert.assertEquals(copies.get(i).getRank(), combinedPopulation.get(i).getRank());
+            }
+
+            checked.incrementAndGet();
+            return nsga2.getChildFromCombinedPopulation(combinedPopulation);
+
+        });
+
+        Assert.assertEquals(size, nsga2.run().size());
+        Assert.assertEquals(configuration.getGenerations(), checked.get());
+
+    }
+
+    @Test
+    public void testReevaluatedChild() {
+
+        Random random = new Random(37);
+        int size = 20;
+
+        IncrementalRanking ranking = new IncrementalRanking(DominanceComparatorProvider.forObjectiveCount(2));
+        List<Chromosome> parent = IncrementalRankingTest.randomPopulace(random, size, 2);
+        ranking.rank(parent);
+
+        // 超时的子代带着占位目标值参与排名, 之后重新计算出支配所有父代的目标值.
+        List<Chromosome> child = IncrementalRankingTest.randomPopulace(random, size, 2);
+        Chromosome timedOut = child.get(0);
+        timedOut.setEvaluated(false);
+        timedOut.setConstraintViolation(0);
+        timedOut.addObjectiveValue(0, -1);
+        timedOut.addObjectiveValue(1, -1);
+        List<Chromosome> combined = new ArrayList<>(parent);
+        combined.addAll(child);
+        IncrementalRankingTest.assertRanks(child, ranking.rank(child));
+        IncrementalRankingTest.assertRanks(combined, ranking.rank(combined));
+
+        timedOut.addObjectiveValue(0, 100);
+        timedOut.addObjectiveValue(1, 100);
+        timedOut.setEvaluated(true);
+        long before = ranking.getComparisons();
+        IncrementalRankingTest.assertRanks(combined, ranking.rank(combined));
+        // 其余个体对都已缓存, 只重新比较重新计算过的个体.
+        Assert.assertEquals(combined.size() - 1, ranking.getComparisons() - before);
+
+    }
+
+    @Test
+    public void testKernelRun() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setGenerations(8);
+        configuration.setIncrementalRanking(true);
+
+        NSGA2 nsga2 = new NSGA2(configuration);
+        Configuration oracleConfiguration = new Configuration();
+        oracleConfiguration.completeSilence();
+        NSGA2 oracle = new NSGA2(oracleConfiguration);
+        AtomicInteger checked = new AtomicInteger();
+
+        // 未设置比较器时由内核比较未缓存的个体对, 排名与完整排序一致.
+        configuration.setSurvivorSelector((combinedPopulation, populationSize) -> {
+            List<Chromosome> copies = new ArrayList<>();
+            for (Chromosome chromosome : combinedPopulation.getPopulace()) {
+                copies.add(chromosome.getSnapshot());
+            }
+            oracle.fastNonDominatedSort(new Population(copies));
+            for (int i = 0; i < copies.size(); i++) {
+                Assert.assertEquals(copies.get(i).getRank(), combinedPopulation.get(i).getRank());
+            }
+            checked.incrementAndGet();
+            return nsga2.getChildFromCombinedPopulation(combinedPopulation);
+        });
+
+        Assert.assertEquals(configuration.getPopulationSize(), nsga2.run().size());
+        Assert.assertEquals(configuration.getGenerations(), checked.get());
+
+    }
+
+    private static void checkGenerations(Random random, int size, IncrementalRanking ranking, int objectives) {
+
+        List<Chromosome> parent = IncrementalRankingTest.randomPopulace(random, size, objectives);
+        IncrementalRankingTest.assertRanks(parent, ranking.rank(parent));
+
+        for (int generation = 0; generation < 5; generation++) {
+
+            List<Chromosome> child = IncrementalRankingTest.randomPopulace(random, size, objectives);
+            long before = ranking.getComparisons();
+            IncrementalRankingTest.assertRanks(child, ranking.rank(child));
+
+            List<Chromosome> combined = new ArrayList<>(parent);
+            combined.addAll(child);
+            int[] ranks = ranking.rank(combined);
+            IncrementalRankingTest.assertRanks(combined, ranks);
+            // 只比较子代内部以及父代与子代之间的个体对.
+            Assert.assertEquals(size * (size - 1) / 2 + size * size, ranking.getComparisons() - before);
+
+            for (int i = 0; i < combined.size(); i++) {
+                combined.get(i).setRank(ranks[i]);
+            }
+            combined.sort(Comparator.comparingInt(Chromosome::getRank));
+            parent = new ArrayList<>(combined.subList(0, size));
+
+        }
+
+    }
+
+    private static List<Chromosome> randomPopulace(Random random, int size, int objectives) {
+
+        List<Chromosome> populace = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+            for (int k = 0; k < objectives; k++) {
+                chromosome.addObjectiveValue(k, random.nextInt(10));
+            }
+            if (random.nextInt(5) == 0) {
+                chromosome.setConstraintViolation(random.nextInt(3));
+            }
+            chromosome.setEvaluated(true);
+            populace.add(chromosome);
+        }
+        return populace;
+
+    }
+
+    private static void assertRanks(List<Chromosome> populace, int[] ranks) {
+        ArrayObjectiveMatrix matrix = ArrayObjectiveMatrix.of(new Population(populace));
+        Assert.assertArrayEquals(RankingOracle.peel(matrix), ranks);
+    }
+
+}
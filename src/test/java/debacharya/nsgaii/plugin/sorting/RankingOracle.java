@@ -0,0 +1,47 @@
+package debacharya.nsgaii.plugin.sorting;
+
+import debacharya.nsgaii.datastructure.ObjectiveMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 排名的参照实现, 供排序测试共用.
+ * Peels the fronts off one at a time with a full pairwise scan, which is too slow for real use but obviously correct.
+ */
+final class RankingOracle {
+
+    private RankingOracle() {
+    }
+
+    static int[] peel(ObjectiveMatrix matrix) {
+
+        int[] ranks = new int[matrix.size()];
+        int assigned = 0;
+
+        for (int rank = 1; assigned < ranks.length; rank++) {
+
+            List<Integer> front = new ArrayList<>();
+            for (int i = 0; i < ranks.length; i++) {
+                if (ranks[i] != 0) {
+                    continue;
+                }
+                boolean dominated = false;
+                for (int j = 0; j < ranks.length && !dominated; j++) {
+                    dominated = ranks[j] == 0 && EfficientNonDominatedSort.dominates(matrix, j, i);
+                }
+                if (!dominated) {
+                    front.add(i);
+                }
+            }
+            for (int i : front) {
+                ranks[i] = rank;
+            }
+            assigned += front.size();
+
+        }
+        return ranks;
+
+    }
+
+}
@@ -0,0 +1,23 @@
+package debacharya.nsgaii.plugin.sorting;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 在 Java 17 层上运行 {@link DominanceKernelTest}.
+ * Only run by the `test-java17` execution, which puts `META-INF/versions/17` ahead of the base classes and adds the
+ * `jdk.incubator.vector` module, so that `best()` resolves to the Vector API kernel.
+ */
+public class VectorDominanceKernelLayerTest extends DominanceKernelTest {
+
+    @Override
+    protected DominanceKernel kernel() {
+        return DominanceKernelProvider.best();
+    }
+
+    @Test
+    public void testVectorKernelLoaded() {
+        Assert.assertEquals("VectorDominanceKernel", DominanceKernelProvider.best().getClass().getSimpleName());
+    }
+
+}
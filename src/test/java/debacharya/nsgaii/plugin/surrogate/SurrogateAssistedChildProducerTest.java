@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 Debabrata Acharya
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package debacharya.nsgaii.plugin.surrogate;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.DefaultPluginProvider;
+import debacharya.nsgaii.plugin.deduplication.DeduplicatingChildProducer;
+import debacharya.nsgaii.plugin.mutation.PolynomialMutation;
+import debacharya.nsgaii.problem.BenchmarkProblem;
+import debacharya.nsgaii.problem.ZDT1;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class SurrogateAssistedChildProducerTest {
+
+    private static double function(double[] x) {
+        return Math.sin(3 * x[0]) + x[1] * x[1];
+    }
+
+    @Test
+    public void testGaussianProcessInterpolates() {
+
+        Random random = new Random(45);
+        GaussianProcessSurrogate surrogate = new GaussianProcessSurrogate(1);
+        double[] first = null;
+
+        // 100 个样本: 最后一次完整拟合在 64 个样本时, 其后都是增量更新.
+        for (int i = 0; i < 100; i++) {
+            double[] x = {random.nextDouble(), random.nextDouble()};
+            surrogate.add(x, new double[]{function(x)});
+            if (first == null) {
+                first = x;
+            }
+        }
+
+        double[] mean = new double[1];
+        double[] deviation = new double[1];
+        for (int i = 0; i < 50; i++) {
+            double[] x = {0.1 + 0.8 * random.nextDouble(), 0.1 + 0.8 * random.nextDouble()};
+            surrogate.predict(x, mean, deviation);
+            Assert.assertEquals(function(x), mean[0], 0.02);
+        }
+
+        surrogate.predict(first, mean, deviation);
+        Assert.assertEquals(function(first), mean[0], 1e-3);
+        Assert.assertTrue(deviation[0] < 0.01 * surrogate.getTargetScale(0));
+
+    }
+
+    @Test
+    public void testScreensCandidatePool() {
+
+        BenchmarkProblem problem = new ZDT1(5);
+        Configuration configuration = new Configuration(problem.getObjectives());
+        configuration.completeSilence();
+        configuration.setPopulationSize(20);
+        configuration.setGenerations(5);
+        configuration.setChromosomeLength(problem.getNumberOfVariables());
+        configuration.setGeneticCodeProducer(problem.getGeneticCodeProducer());
+        configuration.setMutation(new PolynomialMutation(problem.getLowerBounds(), problem.getUpperBounds()));
+        SurrogateAssistedChildProducer producer =
+                new SurrogateAssistedChildProducer(DefaultPluginProvider.defaultChildPopulationProducer());
+        configuration.setChildPopulationProducer(producer);
+
+        Population result = new NSGA2(configuration).run();
+
+        Assert.assertEquals(20, result.size());
+        for (Chromosome chromosome : result.getPopulace()) {
+            Assert.assertTrue(chromosome.isEvaluated());
+        }
+        // 初代与 5 次迭代, 每次从 80 个候选中只计算 20 个.
+        Assert.assertEquals(6 * 80, producer.getCandidates());
+        Assert.assertEquals(6 * 60, producer.getScreenedOut());
+        Assert.assertTrue(producer.getSurrogate().size() >= 100);
+
+    }
+
+    @Test(timeout = 20_000)
+    public void testDelegateWithoutOffspring() {
+
+        BenchmarkProblem problem = new ZDT1(5);
+        Configuration configuration = new Configuration(problem.getObjectives());
+        configuration.completeSilence();
+        configuration.setPopulationSize(20);
+        configuration.setGenerations(3);
+        configuration.setChromosomeLength(problem.getNumberOfVariables());
+        configuration.setGeneticCodeProducer(problem.getGeneticCodeProducer());
+        SurrogateAssistedChildProducer producer = new SurrogateAssistedChildProducer(new DeduplicatingChildProducer(
+                (parent, crossover, mutation, size) -> new Population(new ArrayList<>(parent.getPopulace())),
+                false, 1));
+        configuration.setChildPopulationProducer(producer);
+
+        Population result = new NSGA2(configuration).run();
+
+        Assert.assertEquals(0, result.size());
+        Assert.assertEquals(0, producer.getCandidates());
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package debacharya.nsgaii.plugin.survivor;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.ArrayObjectiveMatrix;
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.Population;
+import debacharya.nsgaii.plugin.sorting.CrowdingDistance;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class ReferencePointSurvivorSelectionTest {
+
+    @Test
+    public void testDasDennis() {
+
+        // C(M + p - 1, p) = C(6, 4) = 15.
+        double[] points = ReferencePoints.dasDennis(3, 4);
+        Assert.assertEquals(15 * 3, points.length);
+
+        for (int r = 0; r < points.length / 3; r++) {
+            Assert.assertEquals(1, points[r * 3] + points[r * 3 + 1] + points[r * 3 + 2], 1e-12);
+        }
+
+    }
+
+    @Test
+    public void testSelectionKeepsEarlierFronts() {
+
+        Random random = new Random(37);
+        List<Chromosome> populace = new ArrayList<>();
+
+        for (int rank = 1; rank <= 3; rank++) {
+            for (int i = 0; i < 30; i++) {
+                Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+                for (int k = 0; k < 5; k++) {
+                    chromosome.addObjectiveValue(k, random.nextDouble() - rank);
+                }
+                chromosome.setRank(rank);
+                populace.add(chromosome);
+            }
+        }
+        Collections.shuffle(populace, random);
+
+        Population selected = new ReferencePointSurvivorSelection(5, 4).select(new Population(populace), 45);
+        Assert.assertEquals(45, selected.size());
+
+        int firstFront = 0;
+        for (Chromosome chromosome : selected.getPopulace()) {
+            Assert.assertTrue(chromosome.getRank() <= 2);
+            if (chromosome.getRank() == 1) {
+                firstFront++;
+            }
+        }
+        Assert.assertEquals(30, firstFront);
+
+    }
+
+    @Test
+    public void testNichingSpreadsLastFront() {
+
+        // 一个前沿 x + y = 1, 四个参考方向; 拥挤度会留下 0.05 而丢掉 0.34 和 0.36, 让第二个方向空着.
+        double[] xs = {0, 0.05, 0.34, 0.36, 0.66, 1};
+        List<Chromosome> populace = new ArrayList<>();
+        double[] values = new double[xs.length * 2];
+        for (int i = 0; i < xs.length; i++) {
+            Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+            chromosome.addObjectiveValue(0, xs[i]);
+            chromosome.addObjectiveValue(1, 1 - xs[i]);
+            chromosome.setRank(1);
+            populace.add(chromosome);
+            values[i * 2] = xs[i];
+            values[i * 2 + 1] = 1 - xs[i];
+        }
+
+        int[] ranks = new int[xs.length];
+        Arrays.fill(ranks, 1);
+        double[] crowding = CrowdingDistance.compute(new ArrayObjectiveMatrix(values, xs.length, 2), ranks);
+        Assert.assertTrue(crowding[1] > crowding[2] && crowding[1] > crowding[3]);
+
+        Population selected = new ReferencePointSurvivorSelection(2, 3).select(new Population(populace), 4);
+
+        // 每个方向一个幸存者, 且是离参考线最近的那个.
+        Set<Double> survivors = new HashSet<>();
+        for (Chromosome chromosome : selected.getPopulace()) {
+            survivors.add(chromosome.getObjectiveValues().get(0));
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList(0.0, 0.34, 0.66, 1.0)), survivors);
+
+    }
+
+    @Test
+    public void testRunWithReferencePoints() {
+
+        Configuration configuration = new Configuration();
+        configuration.completeSilence();
+        configuration.setSurvivorSelector(new ReferencePointSurvivorSelection(Configuration.objectives.size(), 12));
+
+        Population child = new NSGA2(configuration).run();
+        Assert.assertEquals(configuration.getPopulationSize(), child.size());
+
+    }
+
+}
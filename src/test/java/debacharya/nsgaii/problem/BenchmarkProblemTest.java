@@ -0,0 +1,167 @@
+package debacharya.nsgaii.problem;
+
+import debacharya.nsgaii.Configuration;
+import debacharya.nsgaii.NSGA2;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.metrics.GenerationalDistance;
+import debacharya.nsgaii.plugin.DefaultPluginProvider;
+import debacharya.nsgaii.plugin.crossover.CrossoverParticipantCreatorProvider;
+import debacharya.nsgaii.plugin.crossover.UniformCrossover;
+import debacharya.nsgaii.plugin.mutation.PolynomialMutation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BenchmarkProblemTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testBatchMatchesSingleEvaluation() {
+
+        Random random = new Random(41);
+        List<BenchmarkProblem> problems = Arrays.asList(
+                new ZDT1(), new ZDT2(), new ZDT3(), new ZDT4(), new ZDT5(), new ZDT6(),
+                new DTLZ1(3), new DTLZ2(3), new DTLZ3(3), new DTLZ4(3), new DTLZ5(4), new DTLZ6(4), new DTLZ7(3),
+                new WFG1(3), new WFG2(3), new WFG3(3), new WFG4(3), new WFG5(3), new WFG6(3), new WFG7(3),
+                new WFG8(3), new WFG9(3)
+        );
+
+        for (BenchmarkProblem problem : problems) {
+
+            int n = problem.getNumberOfVariables();
+            int m = problem.getNumberOfObjectives();
+            int count = 17;
+            double[] lower = problem.getLowerBounds();
+            double[] upper = problem.getUpperBounds();
+            double[] variables = new double[n * count];
+            for (int j = 0; j < n; j++) {
+                for (int c = 0; c < count; c++) {
+                    variables[j * count + c] = lower[j] + random.nextDouble() * (upper[j] - lower[j]);
+                }
+            }
+
+            double[] objectives = new double[m * count];
+            problem.evaluate(variables, count, objectives);
+
+            for (int c = 0; c < count; c++) {
+                double[] row = new double[n];
+                for (int j = 0; j < n; j++) {
+                    row[j] = variables[j * count + c];
+                }
+                double[] single = problem.evaluate(row);
+                for (int k = 0; k < m; k++) {
+                    Assert.assertEquals(problem.getName(), single[k], objectives[k * count + c], DELTA);
+                    Assert.assertFalse(problem.getName(), Double.isNaN(single[k]));
+                }
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testParetoOptimalSolutionsLieOnFront() {
+
+        Random random = new Random(43);
+
+        for (int i = 0; i < 50; i++) {
+
+            double x1 = random.nextDouble();
+            double[] zdt = new double[30];
+            zdt[0] = x1;
+            Assert.assertEquals(1 - Math.sqrt(x1), new ZDT1().evaluate(zdt)[1], DELTA);
+            Assert.assertEquals(1 - x1 * x1, new ZDT2().evaluate(zdt)[1], DELTA);
+            Assert.assertEquals(1 - Math.sqrt(x1) - x1 * Math.sin(10 * Math.PI * x1),
+                    new ZDT3().evaluate(zdt)[1], DELTA);
+            double[] zdt6 = new ZDT6().evaluate(Arrays.copyOf(zdt, 10));
+            Assert.assertEquals(1 - zdt6[0] * zdt6[0], zdt6[1], DELTA);
+
+            double[] dtlz = new double[12];
+            for (int j = 0; j < dtlz.length; j++) {
+                dtlz[j] = j < 2 ? random.nextDouble() : 0.5;
+            }
+            Assert.assertEquals(0.5, BenchmarkProblemTest.sum(new DTLZ1(3, 12).evaluate(dtlz), 1), DELTA);
+            Assert.assertEquals(1, BenchmarkProblemTest.sum(new DTLZ2(3, 12).evaluate(dtlz), 2), DELTA);
+            Assert.assertEquals(1, BenchmarkProblemTest.sum(new DTLZ3(3, 12).evaluate(dtlz), 2), DELTA);
+            Assert.assertEquals(1, BenchmarkProblemTest.sum(new DTLZ4(3, 12, 100).evaluate(dtlz), 2), DELTA);
+            Assert.assertEquals(1, BenchmarkProblemTest.sum(new DTLZ5(3, 12).evaluate(dtlz), 2), DELTA);
+
+            for (WFG problem : Arrays.asList(new WFG4(3), new WFG5(3), new WFG6(3), new WFG7(3))) {
+                double[] f = problem.evaluate(BenchmarkProblemTest.wfgOptimum(problem, random));
+                double sum = 0;
+                for (int k = 0; k < f.length; k++) {
+                    sum += Math.pow(f[k] / (2 * (k + 1)), 2);
+                }
+                Assert.assertEquals(problem.getName(), 1, sum, 1e-6);
+            }
+
+        }
+
+        // WFG1 不参与: b_poly(y, 0.02) 把距离变量的舍入误差 1e-16 放大到 0.5 左右.
+        WFG3 wfg3 = new WFG3(3);
+        double[][] optimal = new double[100][];
+        for (int i = 0; i < optimal.length; i++) {
+            optimal[i] = wfg3.evaluate(BenchmarkProblemTest.wfgOptimum(wfg3, random));
+        }
+        Assert.assertTrue(GenerationalDistance.generational(optimal, wfg3.getParetoFront(2000)) < 0.01);
+
+    }
+
+    @Test
+    public void testRunOnZDT1() {
+
+        BenchmarkProblem problem = new ZDT1();
+        Configuration configuration = new Configuration(
+                100,
+                100,
+                problem.getNumberOfVariables(),
+                DefaultPluginProvider.defaultPopulationProducer(),
+                DefaultPluginProvider.defaultChildPopulationProducer(),
+                problem.getGeneticCodeProducer(),
+                problem.getObjectives(),
+                new UniformCrossover(CrossoverParticipantCreatorProvider.selectByBinaryTournamentSelection()),
+                new PolynomialMutation(problem.getLowerBounds(), problem.getUpperBounds()),
+                true,
+                false,
+                false
+        );
+        List<GenerationReport> reports = new ArrayList<>();
+        configuration.addGenerationListener(reports::add);
+
+        new NSGA2(configuration).run();
+
+        double[][] front = problem.getParetoFront(500);
+        double initial = GenerationalDistance.inverted(
+                BenchmarkProblem.minimised(reports.get(0).getChild()), front);
+        double last = GenerationalDistance.inverted(
+                BenchmarkProblem.minimised(reports.get(reports.size() - 1).getChild()), front);
+        Assert.assertTrue(initial + " -> " + last, last < initial / 4);
+
+    }
+
+    // 位置变量随机, 距离变量取最优值 0.35 (归一化后).
+    private static double[] wfgOptimum(WFG problem, Random random) {
+
+        double[] z = new double[problem.getNumberOfVariables()];
+        for (int i = 0; i < z.length; i++) {
+            z[i] = 2 * (i + 1) * (i < problem.k ? random.nextDouble() : 0.35);
+        }
+        return z;
+
+    }
+
+    private static double sum(double[] values, int power) {
+        double sum = 0;
+        for (double value : values) {
+            sum += Math.pow(value, power);
+        }
+        return sum;
+    }
+
+}
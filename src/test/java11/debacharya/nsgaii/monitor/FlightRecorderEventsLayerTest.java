@@ -0,0 +1,106 @@
+package debacharya.nsgaii.monitor;
+
+import debacharya.nsgaii.datastructure.BooleanAllele;
+import debacharya.nsgaii.datastructure.Chromosome;
+import debacharya.nsgaii.datastructure.GenerationReport;
+import debacharya.nsgaii.datastructure.Population;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FlightRecorderEventsLayerTest {
+
+    @Test
+    public void testDisabled() {
+        Assert.assertNull(FlightRecorderEvents.beginPhase());
+        Assert.assertNull(FlightRecorderEvents.beginGeneration());
+    }
+
+    @Test
+    public void testRecording() throws IOException {
+
+        Population population = FlightRecorderEventsLayerTest.ranked(1, 2, 2, 3);
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+
+            recording.enable("debacharya.nsgaii.Phase").withoutThreshold();
+            recording.enable("debacharya.nsgaii.Generation").withoutThreshold();
+            recording.start();
+
+            for (GenerationReport.Phase phase : GenerationReport.Phase.values()) {
+                Object handle = FlightRecorderEvents.beginPhase();
+                Assert.assertNotNull(handle);
+                FlightRecorderEvents.endPhase(handle, phase, population);
+            }
+
+            long[] phaseNanos = new long[GenerationReport.Phase.values().length];
+            phaseNanos[GenerationReport.Phase.RANKING.ordinal()] = 42;
+            FlightRecorderEvents.endGeneration(
+                    FlightRecorderEvents.beginGeneration(),
+                    new GenerationReport(7, population, population, phaseNanos, 100, 4, 28, 1_000)
+            );
+
+            recording.stop();
+            Path file = Files.createTempFile("nsgaii", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+
+        }
+
+        Map<String, Integer> fronts = new HashMap<>();
+        RecordedEvent generation = null;
+
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals("debacharya.nsgaii.Phase")) {
+                Assert.assertEquals(4, event.getInt("populationSize"));
+                fronts.put(event.getString("phase"), event.getInt("frontCount"));
+            } else if (event.getEventType().getName().equals("debacharya.nsgaii.Generation")) {
+                generation = event;
+            }
+        }
+
+        Assert.assertEquals(GenerationReport.Phase.values().length, fronts.size());
+        for (GenerationReport.Phase phase : GenerationReport.Phase.values()) {
+            boolean ranked = phase == GenerationReport.Phase.RANKING || phase == GenerationReport.Phase.SELECTION;
+            Assert.assertEquals(ranked ? 3 : 0, (int) fronts.get(phase.name()));
+        }
+
+        Assert.assertNotNull(generation);
+        Assert.assertEquals(7, generation.getInt("generation"));
+        Assert.assertEquals(3, generation.getInt("frontCount"));
+        Assert.assertEquals(1, generation.getInt("firstFrontSize"));
+        Assert.assertEquals(42, generation.getLong("rankingTime"));
+
+    }
+
+    private static Population ranked(int... ranks) {
+
+        List<Chromosome> populace = new ArrayList<>();
+
+        for (int rank : ranks) {
+            Chromosome chromosome = new Chromosome(Collections.singletonList(new BooleanAllele(true)));
+            chromosome.setRank(rank);
+            populace.add(chromosome);
+        }
+
+        return new Population(populace);
+    }
+
+}